@@ -25,6 +25,7 @@ import org.guvnor.structure.repositories.Repository;
 import org.jboss.errai.bus.server.annotations.Remote;
 import org.kie.workbench.common.screens.examples.model.ExampleProject;
 import org.kie.workbench.common.services.shared.project.KieProject;
+import org.uberfire.backend.vfs.Path;
 
 @Remote
 public interface LibraryService {
@@ -54,6 +55,8 @@ public interface LibraryService {
 
     Boolean hasAssets(final Project project);
 
+    Boolean assetExists(final Path asset);
+
     Set<ExampleProject> getExampleProjects();
 
     Project importProject(final OrganizationalUnit organizationalUnit,
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.screens.impl;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.kie.workbench.common.screens.library.api.index.LibraryAssetPageRow;
+import org.kie.workbench.common.screens.library.api.index.LibraryCreatedTimeIndexTerm;
+import org.kie.workbench.common.screens.library.api.index.LibraryLastModifiedTimeIndexTerm;
+import org.kie.workbench.common.services.refactoring.backend.server.query.response.ResponseBuilder;
+import org.kie.workbench.common.services.refactoring.model.query.RefactoringPageRow;
+import org.uberfire.backend.server.util.Paths;
+import org.uberfire.ext.metadata.model.KObject;
+import org.uberfire.ext.metadata.model.KProperty;
+import org.uberfire.io.IOService;
+import org.uberfire.paging.PageResponse;
+
+import static org.uberfire.commons.validation.PortablePreconditions.checkNotNull;
+
+/**
+ * Builds {@link LibraryAssetPageRow}s from the file times stored by {@link LibraryIndexer}, so no file attributes
+ * have to be read from the VFS.
+ */
+@ApplicationScoped
+public class LibraryAssetsResponseBuilder
+        implements ResponseBuilder {
+
+    private static final Set<String> STORED_FIELDS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(LibraryLastModifiedTimeIndexTerm.TERM,
+                                                                                                             LibraryCreatedTimeIndexTerm.TERM)));
+
+    private IOService ioService;
+
+    public LibraryAssetsResponseBuilder() {
+        //Make proxyable
+    }
+
+    @Inject
+    public LibraryAssetsResponseBuilder(@Named("ioStrategy") final IOService ioService) {
+        this.ioService = checkNotNull("ioService",
+                                      ioService);
+    }
+
+    @Override
+    public Set<String> getStoredFields() {
+        return STORED_FIELDS;
+    }
+
+    @Override
+    public PageResponse<RefactoringPageRow> buildResponse(final int pageSize,
+                                                          final int startRow,
+                                                          final List<KObject> kObjects) {
+        final int hits = kObjects.size();
+        final PageResponse<RefactoringPageRow> response = new PageResponse<>();
+        final List<RefactoringPageRow> result = buildResponse(kObjects);
+        response.setTotalRowSize(hits);
+        response.setPageRowList(result);
+        response.setTotalRowSizeExact(true);
+        response.setStartRowIndex(startRow);
+        response.setLastPage((pageSize * startRow + 2) >= hits);
+
+        return response;
+    }
+
+    @Override
+    public List<RefactoringPageRow> buildResponse(final List<KObject> kObjects) {
+        final List<RefactoringPageRow> result = new ArrayList<>(kObjects.size());
+        for (final KObject kObject : kObjects) {
+            final LibraryAssetPageRow row = new LibraryAssetPageRow();
+            row.setValue(Paths.convert(ioService.get(URI.create(kObject.getKey()))));
+            for (KProperty<?> property : kObject.getProperties()) {
+                if (LibraryLastModifiedTimeIndexTerm.TERM.equals(property.getName())) {
+                    row.setLastModifiedTime(toDate(property.getValue()));
+                } else if (LibraryCreatedTimeIndexTerm.TERM.equals(property.getName())) {
+                    row.setCreatedTime(toDate(property.getValue()));
+                }
+            }
+            result.add(row);
+        }
+        return result;
+    }
+
+    private Date toDate(final Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return new Date(Long.parseLong(value.toString()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -17,12 +17,16 @@ package org.kie.workbench.common.screens.impl;
 
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 
 import org.guvnor.common.services.project.model.Package;
+import org.kie.workbench.common.screens.library.api.LibraryService;
+import org.kie.workbench.common.screens.library.api.index.LibraryCreatedTimeIndexTerm;
 import org.kie.workbench.common.screens.library.api.index.LibraryFileNameIndexTerm;
+import org.kie.workbench.common.screens.library.api.index.LibraryLastModifiedTimeIndexTerm;
 import org.kie.workbench.common.screens.library.api.index.LibraryProjectRootPathIndexTerm;
 import org.kie.workbench.common.services.refactoring.KPropertyImpl;
 import org.kie.workbench.common.services.refactoring.backend.server.indexing.AbstractFileIndexer;
@@ -41,6 +45,7 @@ import org.uberfire.ext.metadata.model.KObjectKey;
 import org.uberfire.ext.metadata.model.KProperty;
 import org.uberfire.io.IOService;
 import org.uberfire.java.nio.file.Path;
+import org.uberfire.java.nio.file.attribute.FileTime;
 
 @ApplicationScoped
 public class LibraryIndexer extends AbstractFileIndexer {
@@ -83,6 +88,10 @@ public class LibraryIndexer extends AbstractFileIndexer {
             return null;
         }
 
+        final Map<String, Object> attributes = readAttributes(path);
+        final Object lastModifiedTime = attributes.get(LibraryService.LAST_MODIFIED_TIME);
+        final Object createdTime = attributes.get(LibraryService.CREATED_TIME);
+
         // responsible for basic index info: project name, branch, etc
         final DefaultIndexBuilder builder = new DefaultIndexBuilder(Paths.convert(path).getFileName(),
                                                                     project,
@@ -109,6 +118,16 @@ public class LibraryIndexer extends AbstractFileIndexer {
                                                           projectName));
                 }
 
+                //File times are stored so asset listings do not need to read them from the VFS
+                if (lastModifiedTime instanceof FileTime) {
+                    indexElements.add(new KPropertyImpl<>(LibraryLastModifiedTimeIndexTerm.TERM,
+                                                          Long.toString(((FileTime) lastModifiedTime).toMillis())));
+                }
+                if (createdTime instanceof FileTime) {
+                    indexElements.add(new KPropertyImpl<>(LibraryCreatedTimeIndexTerm.TERM,
+                                                          Long.toString(((FileTime) createdTime).toMillis())));
+                }
+
                 if (pkgName == null) {
                     pkgName = pkg.getPackageName();
                 }
@@ -157,6 +176,15 @@ public class LibraryIndexer extends AbstractFileIndexer {
                                         LIBRARY_CLASSIFIER);
     }
 
+    protected Map<String, Object> readAttributes(final Path path) {
+        try {
+            return ioService.readAttributes(path);
+        } catch (Exception e) {
+            logger.debug("Unable to read attributes of " + path.toUri().toString() + ": " + e.getMessage());
+            return Collections.emptyMap();
+        }
+    }
+
     protected KieProject getProject(final Path path) {
         return projectService.resolveProject(Paths.convert(path));
     }
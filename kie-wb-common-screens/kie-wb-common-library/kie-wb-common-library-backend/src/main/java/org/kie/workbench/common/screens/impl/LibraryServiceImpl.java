@@ -50,12 +50,14 @@ import org.kie.workbench.common.screens.examples.model.ExampleTargetRepository;
 import org.kie.workbench.common.screens.examples.service.ExamplesService;
 import org.kie.workbench.common.screens.explorer.backend.server.ExplorerServiceHelper;
 import org.kie.workbench.common.screens.explorer.model.FolderItem;
+import org.kie.workbench.common.screens.explorer.model.FolderItemOperation;
 import org.kie.workbench.common.screens.explorer.model.FolderItemType;
 import org.kie.workbench.common.screens.library.api.AssetInfo;
 import org.kie.workbench.common.screens.library.api.LibraryInfo;
 import org.kie.workbench.common.screens.library.api.LibraryService;
 import org.kie.workbench.common.screens.library.api.OrganizationalUnitRepositoryInfo;
 import org.kie.workbench.common.screens.library.api.ProjectAssetsQuery;
+import org.kie.workbench.common.screens.library.api.index.LibraryAssetPageRow;
 import org.kie.workbench.common.screens.library.api.index.LibraryValueFileNameIndexTerm;
 import org.kie.workbench.common.screens.library.api.index.LibraryValueProjectRootPathIndexTerm;
 import org.kie.workbench.common.screens.library.api.preferences.LibraryInternalPreferences;
@@ -222,46 +224,65 @@ public class LibraryServiceImpl implements LibraryService {
                                                                                                                                   queryTerms,
                                                                                                                                   query.getStartIndex(),
                                                                                                                                   query.getAmount()));
-        final List<FolderItem> assets = findRulesByProjectQuery
-                .getPageRowList()
-                .stream()
+        final List<RefactoringPageRow> rows = findRulesByProjectQuery.getPageRowList();
+        if (rows.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        //Locks and restrictions are resolved for the whole page at once
+        final Map<String, String> lockedBy = explorerServiceHelper.getLockedBy(query.getProject().getRootPath());
+        final Map<Path, List<FolderItemOperation>> restrictedOperations = explorerServiceHelper.getRestrictedOperations(rows.stream()
+                                                                                                                              .map(row -> (Path) row.getValue())
+                                                                                                                              .collect(Collectors.toList()));
+
+        return rows.stream()
                 .map(row -> {
                     final Path path = (Path) row.getValue();
-                    return new FolderItem(path,
-                                          path.getFileName(),
-                                          FolderItemType.FILE,
-                                          false,
-                                          Paths.readLockedBy(path),
-                                          Collections.<String>emptyList(),
-                                          explorerServiceHelper.getRestrictedOperations(path));
-                })
-                .collect(Collectors.toList());
-
-        return assets.stream()
-                .map(asset -> {
-                    AssetInfo info = null;
-                    try {
-                        final Map<String, Object> attributes = ioService.readAttributes(Paths.convert((Path) asset.getItem()));
-
-                        final FileTime lastModifiedFileTime = (FileTime) getAttribute(LibraryService.LAST_MODIFIED_TIME,
-                                                                                      attributes).get();
-                        final FileTime createdFileTime = (FileTime) getAttribute(LibraryService.CREATED_TIME,
-                                                                                 attributes).get();
-                        final Date lastModifiedTime = new Date(lastModifiedFileTime.toMillis());
-                        final Date createdTime = new Date(createdFileTime.toMillis());
-                        info = new AssetInfo(asset,
-                                             lastModifiedTime,
-                                             createdTime);
-                    } catch (NoSuchFileException nfe) {
-                        log.debug("File '" + asset.getFileName() + "' in LibraryIndex but not VFS. Suspected deletion. Skipping.");
-                    }
-                    return Optional.ofNullable(info);
+                    final FolderItem asset = new FolderItem(path,
+                                                            path.getFileName(),
+                                                            FolderItemType.FILE,
+                                                            false,
+                                                            lockedBy.get(path.toURI()),
+                                                            Collections.<String>emptyList(),
+                                                            restrictedOperations.getOrDefault(path,
+                                                                                             Collections.emptyList()));
+                    return toAssetInfo(asset,
+                                       row);
                 })
                 .filter(Optional::isPresent)
                 .map(Optional::get)
                 .collect(Collectors.toList());
     }
 
+    private Optional<AssetInfo> toAssetInfo(final FolderItem asset,
+                                            final RefactoringPageRow row) {
+        //File times are stored in the index; they are only read from the VFS for assets indexed before that.
+        //Files deleted before the index caught up can still be listed, they are checked when opened (assetExists)
+        if (row instanceof LibraryAssetPageRow && ((LibraryAssetPageRow) row).hasFileTimes()) {
+            final LibraryAssetPageRow assetRow = (LibraryAssetPageRow) row;
+            return Optional.of(new AssetInfo(asset,
+                                             assetRow.getLastModifiedTime(),
+                                             assetRow.getCreatedTime()));
+        }
+
+        try {
+            final Map<String, Object> attributes = ioService.readAttributes(Paths.convert((Path) asset.getItem()));
+
+            final FileTime lastModifiedFileTime = (FileTime) getAttribute(LibraryService.LAST_MODIFIED_TIME,
+                                                                          attributes).get();
+            final FileTime createdFileTime = (FileTime) getAttribute(LibraryService.CREATED_TIME,
+                                                                     attributes).get();
+            final Date lastModifiedTime = new Date(lastModifiedFileTime.toMillis());
+            final Date createdTime = new Date(createdFileTime.toMillis());
+            return Optional.of(new AssetInfo(asset,
+                                             lastModifiedTime,
+                                             createdTime));
+        } catch (NoSuchFileException nfe) {
+            log.debug("File '" + asset.getFileName() + "' in LibraryIndex but not VFS. Suspected deletion. Skipping.");
+            return Optional.empty();
+        }
+    }
+
     @Override
     public Boolean hasProjects(final Repository repository,
                                final String branch) {
@@ -277,6 +298,13 @@ public class LibraryServiceImpl implements LibraryService {
         return explorerServiceHelper.hasAssets(defaultPackage);
     }
 
+    @Override
+    public Boolean assetExists(final Path asset) {
+        checkNotNull("asset",
+                     asset);
+        return ioService.exists(Paths.convert(asset));
+    }
+
     @Override
     public Set<ExampleProject> getExampleProjects() {
         final String importProjectsUrl = getPreferences().getImportProjectsUrl();
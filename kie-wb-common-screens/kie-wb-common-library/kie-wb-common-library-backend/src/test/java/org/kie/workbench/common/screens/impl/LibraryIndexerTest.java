@@ -0,0 +1,80 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.screens.impl;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+import org.kie.workbench.common.screens.library.api.LibraryService;
+import org.kie.workbench.common.screens.library.api.index.LibraryCreatedTimeIndexTerm;
+import org.kie.workbench.common.screens.library.api.index.LibraryLastModifiedTimeIndexTerm;
+import org.kie.workbench.common.services.shared.project.KieProjectService;
+import org.uberfire.ext.metadata.model.KObject;
+import org.uberfire.ext.metadata.model.KProperty;
+import org.uberfire.java.nio.file.Path;
+import org.uberfire.java.nio.file.attribute.FileTime;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
+
+public class LibraryIndexerTest
+        extends BaseLibraryIndexingTest {
+
+    private static final String TEST_PROJECT_ROOT = "/library/indexer/test/a/mock/project/root";
+    private static final String TEST_PROJECT_NAME = "mock-project";
+
+    @Override
+    protected KieProjectService getProjectService() {
+        final KieProjectService mock = super.getProjectService();
+        when(mock.resolveProject(any(org.uberfire.backend.vfs.Path.class))).thenReturn(getKieProjectMock(TEST_PROJECT_ROOT,
+                                                                                                          TEST_PROJECT_NAME));
+        return mock;
+    }
+
+    @Test
+    public void fileTimesAreStored() throws Exception {
+        addTestFile(TEST_PROJECT_ROOT,
+                    "drl1.drl");
+        final Path path = basePath.resolve(TEST_PROJECT_ROOT + "/drl1.drl");
+
+        final LibraryIndexer indexer = new LibraryIndexer(new LibraryAssetTypeDefinition());
+        indexer.setIOService(ioService());
+        indexer.setProjectService(getProjectService());
+
+        final Map<String, Object> attributes = ioService().readAttributes(path);
+        final KObject kObject = indexer.toKObject(path);
+        assertNotNull(kObject);
+
+        final Map<String, Object> properties = new HashMap<>();
+        for (KProperty<?> property : kObject.getProperties()) {
+            properties.put(property.getName(),
+                           property.getValue());
+        }
+
+        assertEquals(Long.toString(((FileTime) attributes.get(LibraryService.LAST_MODIFIED_TIME)).toMillis()),
+                     properties.get(LibraryLastModifiedTimeIndexTerm.TERM));
+        assertEquals(Long.toString(((FileTime) attributes.get(LibraryService.CREATED_TIME)).toMillis()),
+                     properties.get(LibraryCreatedTimeIndexTerm.TERM));
+    }
+
+    @Override
+    protected String getRepositoryName() {
+        return this.getClass().getSimpleName();
+    }
+}
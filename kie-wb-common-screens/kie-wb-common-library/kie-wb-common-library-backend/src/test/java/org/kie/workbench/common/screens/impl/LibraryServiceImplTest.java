@@ -18,6 +18,7 @@ package org.kie.workbench.common.screens.impl;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -46,6 +47,7 @@ import org.kie.workbench.common.screens.library.api.AssetInfo;
 import org.kie.workbench.common.screens.library.api.LibraryInfo;
 import org.kie.workbench.common.screens.library.api.OrganizationalUnitRepositoryInfo;
 import org.kie.workbench.common.screens.library.api.ProjectAssetsQuery;
+import org.kie.workbench.common.screens.library.api.index.LibraryAssetPageRow;
 import org.kie.workbench.common.screens.library.api.preferences.LibraryInternalPreferences;
 import org.kie.workbench.common.screens.library.api.preferences.LibraryOrganizationalUnitPreferences;
 import org.kie.workbench.common.screens.library.api.preferences.LibraryPreferences;
@@ -443,6 +445,95 @@ public class LibraryServiceImplTest {
         assertTrue(projectAssets.isEmpty());
     }
 
+    @Test
+    public void queryAssetsUsingStoredFileTimesAndBulkLocks() throws Exception {
+
+        final Path path = mockPath("file://the_project");
+
+        final Project project = mock(Project.class);
+        when(project.getRootPath()).thenReturn(path);
+
+        doReturn(true).when(ioService).exists(any());
+
+        final ProjectAssetsQuery query = new ProjectAssetsQuery(project,
+                                                                "",
+                                                                0,
+                                                                20);
+
+        final Path filePath = mockPath("file://the_project/file.drl");
+        when(filePath.getFileName()).thenReturn("file.drl");
+        final LibraryAssetPageRow pageRow = new LibraryAssetPageRow();
+        pageRow.setValue(filePath);
+        pageRow.setLastModifiedTime(new Date(2000));
+        pageRow.setCreatedTime(new Date(1000));
+
+        final PageResponse<RefactoringPageRow> pageRowPageResponse = new PageResponse<>();
+        pageRowPageResponse.setPageRowList(singletonList(pageRow));
+        when(refactoringQueryService.query(any(RefactoringPageRequest.class))).thenReturn(pageRowPageResponse);
+        when(explorerServiceHelper.getLockedBy(path)).thenReturn(Collections.singletonMap("file://the_project/file.drl",
+                                                                                          "admin"));
+
+        final List<AssetInfo> projectAssets = libraryService.getProjectAssets(query);
+
+        assertEquals(1,
+                     projectAssets.size());
+        final AssetInfo assetInfo = projectAssets.get(0);
+        assertEquals(new Date(2000),
+                     assetInfo.getLastModifiedTime());
+        assertEquals(new Date(1000),
+                     assetInfo.getCreatedTime());
+        assertEquals("admin",
+                     assetInfo.getFolderItem().getLockedBy());
+        verify(ioService,
+               never()).readAttributes(any(org.uberfire.java.nio.file.Path.class));
+        verify(explorerServiceHelper,
+               never()).getRestrictedOperations(any(Path.class));
+    }
+
+    @Test
+    public void queryAssetsWithStoredFileTimesDoesNotReadEachFile() throws Exception {
+
+        final Path path = mockPath("file://the_project");
+
+        final Project project = mock(Project.class);
+        when(project.getRootPath()).thenReturn(path);
+
+        doReturn(true).when(ioService).exists(any());
+
+        final ProjectAssetsQuery query = new ProjectAssetsQuery(project,
+                                                                "",
+                                                                0,
+                                                                20);
+
+        final LibraryAssetPageRow row1 = new LibraryAssetPageRow();
+        row1.setValue(mockPath("file://the_project/file1.drl"));
+        row1.setLastModifiedTime(new Date(2000));
+        row1.setCreatedTime(new Date(1000));
+        final LibraryAssetPageRow row2 = new LibraryAssetPageRow();
+        row2.setValue(mockPath("file://the_project/file2.drl"));
+        row2.setLastModifiedTime(new Date(2000));
+        row2.setCreatedTime(new Date(1000));
+
+        final PageResponse<RefactoringPageRow> pageRowPageResponse = new PageResponse<>();
+        pageRowPageResponse.setPageRowList(Arrays.asList(row1,
+                                                         row2));
+        when(refactoringQueryService.query(any(RefactoringPageRequest.class))).thenReturn(pageRowPageResponse);
+
+        final List<AssetInfo> projectAssets = libraryService.getProjectAssets(query);
+
+        assertEquals(2,
+                     projectAssets.size());
+        //Only the project root is checked; locks and restrictions are resolved once for the page
+        verify(ioService,
+               times(1)).exists(any());
+        verify(ioService,
+               never()).readAttributes(any(org.uberfire.java.nio.file.Path.class));
+        verify(explorerServiceHelper,
+               times(1)).getLockedBy(path);
+        verify(explorerServiceHelper,
+               times(1)).getRestrictedOperations(anyCollectionOf(Path.class));
+    }
+
     private Path mockPath(final String uri) {
         final Path path = mock(Path.class);
         when(path.toURI()).thenReturn(uri);
@@ -492,6 +583,16 @@ public class LibraryServiceImplTest {
         assertFalse(libraryService.hasAssets(project2));
     }
 
+    @Test
+    public void assetExistsTest() {
+        final Path existingAsset = mockPath("file://the_project/existing.drl");
+        final Path deletedAsset = mockPath("file://the_project/deleted.drl");
+        doAnswer(invocation -> ((org.uberfire.java.nio.file.Path) invocation.getArguments()[0]).getFileName().toString().equals("existing.drl")).when(ioService).exists(any());
+
+        assertTrue(libraryService.assetExists(existingAsset));
+        assertFalse(libraryService.assetExists(deletedAsset));
+    }
+
     @Test
     public void getExampleProjectsImportUrlDefinedTest() {
         final Set<ExampleProject> exampleProjects = new HashSet<>();
@@ -16,6 +16,7 @@
 
 package org.kie.workbench.common.screens.library.client.screens;
 
+import java.util.ArrayList;
 import java.util.List;
 import javax.enterprise.event.Event;
 import javax.enterprise.event.Observes;
@@ -189,8 +190,29 @@ public class ProjectScreen {
     }
 
     Command selectCommand(final Path assetPath) {
-        return () -> libraryPlaces.goToAsset(projectInfo,
-                                             assetPath);
+        //The assets are listed from the index, which can still hold assets that have just been deleted
+        return () -> libraryService.call(new RemoteCallback<Boolean>() {
+            @Override
+            public void callback(final Boolean exists) {
+                if (Boolean.TRUE.equals(exists)) {
+                    libraryPlaces.goToAsset(projectInfo,
+                                            assetPath);
+                } else {
+                    removeAsset(assetPath);
+                }
+            }
+        }).assetExists(assetPath);
+    }
+
+    private void removeAsset(final Path assetPath) {
+        if (assets == null) {
+            return;
+        }
+        final List<AssetInfo> remainingAssets = new ArrayList<>(assets);
+        if (remainingAssets.removeIf(asset -> assetPath.equals(asset.getFolderItem().getItem()))) {
+            assets = remainingAssets;
+            setupAssets(assets);
+        }
     }
 
     Command detailsCommand(final Path assetPath) {
@@ -23,6 +23,7 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.kie.workbench.common.screens.library.api.AssetInfo;
 import org.kie.workbench.common.screens.library.api.ProjectAssetsQuery;
+import org.kie.workbench.common.screens.library.api.ProjectInfo;
 import org.kie.workbench.common.screens.library.api.search.FilterUpdateEvent;
 import org.kie.workbench.common.screens.library.client.events.AssetDetailEvent;
 import org.kie.workbench.common.screens.library.client.events.ProjectDetailEvent;
@@ -222,6 +223,7 @@ public class ProjectScreenTest
     @Test
     public void selectCommandTest() {
         final Path assetPath = mock(Path.class);
+        doReturn(true).when(libraryService).assetExists(assetPath);
 
         projectScreen.selectCommand(assetPath).execute();
 
@@ -229,9 +231,33 @@ public class ProjectScreenTest
                                         assetPath);
     }
 
+    @Test
+    public void selectCommandOfDeletedAssetRemovesItTest() {
+        final Path assetPath = (Path) assets.get(1).getFolderItem().getItem();
+        doReturn(false).when(libraryService).assetExists(assetPath);
+        reset(view);
+
+        projectScreen.selectCommand(assetPath).execute();
+
+        verify(libraryPlaces,
+               never()).goToAsset(any(ProjectInfo.class),
+                                  any(Path.class));
+        verify(view).clearAssets();
+        verify(view,
+               times(1)).addAsset(anyString(),
+                                  anyString(),
+                                  anyString(),
+                                  any(IsWidget.class),
+                                  anyString(),
+                                  anyString(),
+                                  any(Command.class),
+                                  any(Command.class));
+    }
+
     @Test
     public void detailsCommandTest() {
         final Path assetPath = mock(Path.class);
+        doReturn(true).when(libraryService).assetExists(assetPath);
 
         projectScreen.detailsCommand(assetPath).execute();
 
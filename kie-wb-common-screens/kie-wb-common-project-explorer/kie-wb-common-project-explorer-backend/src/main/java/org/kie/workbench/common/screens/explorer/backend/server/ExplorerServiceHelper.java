@@ -18,8 +18,12 @@ package org.kie.workbench.common.screens.explorer.backend.server;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import javax.inject.Inject;
@@ -48,6 +52,7 @@ import org.uberfire.backend.server.UserServicesImpl;
 import org.uberfire.backend.server.VFSLockServiceImpl;
 import org.uberfire.backend.server.util.Paths;
 import org.uberfire.backend.vfs.Path;
+import org.uberfire.backend.vfs.impl.LockInfo;
 import org.uberfire.commons.async.DescriptiveRunnable;
 import org.uberfire.commons.concurrent.Managed;
 import org.uberfire.ext.editor.commons.service.CopyService;
@@ -524,4 +529,35 @@ public class ExplorerServiceHelper {
 
         return restrictedOperations;
     }
+
+    /**
+     * Resolves the restricted operations of several paths at once. Each path is checked through the copy, rename and
+     * delete services, so every restrictor they know about is consulted.
+     * @return The restricted operations, by path, in the iteration order of the given paths.
+     */
+    public Map<Path, List<FolderItemOperation>> getRestrictedOperations(final Collection<Path> paths) {
+        final Map<Path, List<FolderItemOperation>> restrictedOperations = new LinkedHashMap<>();
+        for (Path path : paths) {
+            restrictedOperations.put(path,
+                                     getRestrictedOperations(path));
+        }
+        return restrictedOperations;
+    }
+
+    /**
+     * Resolves the users holding locks on the files within a folder, with a single lookup of the folder's locks
+     * rather than reading the lock of each file.
+     * @return The user holding the lock, by file URI. Files not locked are not included.
+     */
+    public Map<String, String> getLockedBy(final Path folder) {
+        final Map<String, String> lockedBy = new HashMap<>();
+        for (LockInfo lockInfo : lockService.retrieveLockInfos(folder,
+                                                               false)) {
+            if (lockInfo.isLocked() && lockInfo.getFile() != null) {
+                lockedBy.put(lockInfo.getFile().toURI(),
+                             lockInfo.lockedBy());
+            }
+        }
+        return lockedBy;
+    }
 }
@@ -16,9 +16,12 @@
 package org.kie.workbench.common.screens.explorer.backend.server;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
@@ -284,6 +287,33 @@ public class ExplorerServiceHelperTest {
                                           restrictedOperations);
     }
 
+    @Test
+    public void testPageOfRestrictedOperationsChecksEveryPathThroughServices() {
+        givenThatOperationHasRestrictions(FolderItemOperation.DELETE);
+        givenThatOperationHasNoRestrictions(FolderItemOperation.RENAME);
+        givenThatOperationHasNoRestrictions(FolderItemOperation.COPY);
+
+        final Path lockedPath = getPath("locked.txt");
+        final Path unlockedPath = getPath("file.txt");
+
+        final Map<Path, List<FolderItemOperation>> restrictedOperations = helper.getRestrictedOperations(Arrays.asList(lockedPath,
+                                                                                                                       unlockedPath));
+
+        assertEquals(Arrays.asList(lockedPath,
+                                   unlockedPath),
+                     new ArrayList<>(restrictedOperations.keySet()));
+        assertEquals(Collections.singletonList(FolderItemOperation.DELETE),
+                     restrictedOperations.get(lockedPath));
+        assertEquals(Collections.singletonList(FolderItemOperation.DELETE),
+                     restrictedOperations.get(unlockedPath));
+        verify(deleteService,
+               times(2)).hasRestriction(any(Path.class));
+        verify(renameService,
+               times(2)).hasRestriction(any(Path.class));
+        verify(copyService,
+               times(2)).hasRestriction(any(Path.class));
+    }
+
     @Test
     public void packageHasNoAssetsTest() {
         doReturn(false).when(helper).hasAssets(srcPath);
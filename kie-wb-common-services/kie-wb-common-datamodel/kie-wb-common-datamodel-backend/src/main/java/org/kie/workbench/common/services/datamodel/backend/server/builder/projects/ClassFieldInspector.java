@@ -46,7 +46,7 @@ public class ClassFieldInspector {
 
     public ClassFieldInspector( final Class<?> clazz ) {
         //Handle fields
-        final List<Field> fields = new ArrayList<Field>( getAllFields( clazz ).values() );
+        final List<Field> fields = new ArrayList<Field>( ClassMetadataCache.getAllFields( clazz ).values() );
         final List<Field> declaredFields = Arrays.asList( clazz.getDeclaredFields() );
         final Map<String, Field> inaccessibleFields = new HashMap<>();
 
@@ -77,7 +77,7 @@ public class ClassFieldInspector {
         }
 
         //Handle methods
-        final List<Method> methods = new ArrayList<Method>( getAllMethods( clazz ).values() );
+        final List<Method> methods = new ArrayList<Method>( ClassMetadataCache.getAllMethods( clazz ).values() );
         for ( Method method : methods ) {
             final int modifiers = method.getModifiers();
             if ( Modifier.isPublic( modifiers ) && !Modifier.isStatic( method.getModifiers() ) ) {
@@ -210,28 +210,6 @@ public class ClassFieldInspector {
         return this.fieldTypesFieldInfo;
     }
 
-    //class.getDeclaredField(String) doesn't walk the inheritance tree; this does
-    private Map<String, Field> getAllFields( Class<?> type ) {
-        Map<String, Field> fields = new HashMap<String, Field>();
-        for ( Class<?> c = type; c != null; c = c.getSuperclass() ) {
-            for ( Field f : c.getDeclaredFields() ) {
-                fields.put( f.getName(), f );
-            }
-        }
-        return fields;
-    }
-
-    //class.getDeclaredMethods() doesn't walk the inheritance tree; this does
-    private Map<String, Method> getAllMethods( Class<?> type ) {
-        Map<String, Method> methods = new HashMap<String, Method>();
-        for ( Class<?> c = type; c != null; c = c.getSuperclass() ) {
-            for ( Method m : c.getDeclaredMethods() ) {
-                methods.put( m.getName(), m );
-            }
-        }
-        return methods;
-    }
-
     public static class FieldInfo {
 
         private FieldAccessorsAndMutators accessorAndMutator;
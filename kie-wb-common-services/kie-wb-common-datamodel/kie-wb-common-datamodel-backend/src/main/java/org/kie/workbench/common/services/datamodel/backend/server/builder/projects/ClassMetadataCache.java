@@ -0,0 +1,189 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.datamodel.backend.server.builder.projects;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache of reflection metadata used to build Fact Types. Entries are attached to the Class itself (see
+ * {@link ClassValue}) so they are shared by every Project using the same ClassLoader and are released together with
+ * the ClassLoader. Super types shared by many Fact Types are therefore only inspected once per ClassLoader.
+ * Classes loaded by the bootstrap or platform ClassLoaders are never cached: they outlive the application, so any
+ * entry attached to them would pin the ClassLoader of this class (and of the cached values) until the JVM exits.
+ */
+public final class ClassMetadataCache {
+
+    private static final LongAdder lookups = new LongAdder();
+
+    private static final LongAdder misses = new LongAdder();
+
+    private static final ClassToGenericClassConverter converter = new JavaTypeSystemTranslator();
+
+    //Parent of the application ClassLoader: the platform ClassLoader, or the extension ClassLoader before Java 9
+    private static final ClassLoader platformClassLoader = getPlatformClassLoader();
+
+    private static final ClassValue<Map<String, Field>> allFields = new ClassValue<Map<String, Field>>() {
+        @Override
+        protected Map<String, Field> computeValue(final Class<?> type) {
+            misses.increment();
+            return inspectAllFields(type);
+        }
+    };
+
+    private static final ClassValue<Map<String, Method>> allMethods = new ClassValue<Map<String, Method>>() {
+        @Override
+        protected Map<String, Method> computeValue(final Class<?> type) {
+            misses.increment();
+            return inspectAllMethods(type);
+        }
+    };
+
+    private static final ClassValue<ClassFieldInspector> fieldInspectors = new ClassValue<ClassFieldInspector>() {
+        @Override
+        protected ClassFieldInspector computeValue(final Class<?> type) {
+            misses.increment();
+            return new ClassFieldInspector(type);
+        }
+    };
+
+    private static final ClassValue<ClassMethodInspector> methodInspectors = new ClassValue<ClassMethodInspector>() {
+        @Override
+        protected ClassMethodInspector computeValue(final Class<?> type) {
+            misses.increment();
+            try {
+                return new ClassMethodInspector(type,
+                                                converter);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    };
+
+    private ClassMetadataCache() {
+    }
+
+    /**
+     * @return Fields declared by the class and its super classes. The returned Map must not be modified.
+     */
+    public static Map<String, Field> getAllFields(final Class<?> type) {
+        if (!isCacheable(type)) {
+            return inspectAllFields(type);
+        }
+        lookups.increment();
+        return allFields.get(type);
+    }
+
+    /**
+     * @return Methods declared by the class and its super classes. The returned Map must not be modified.
+     */
+    public static Map<String, Method> getAllMethods(final Class<?> type) {
+        if (!isCacheable(type)) {
+            return inspectAllMethods(type);
+        }
+        lookups.increment();
+        return allMethods.get(type);
+    }
+
+    /**
+     * @return A shared ClassFieldInspector for the class. The returned inspector must not be modified.
+     */
+    public static ClassFieldInspector getFieldInspector(final Class<?> type) {
+        if (!isCacheable(type)) {
+            return new ClassFieldInspector(type);
+        }
+        lookups.increment();
+        return fieldInspectors.get(type);
+    }
+
+    /**
+     * @return A shared ClassMethodInspector for the class, using {@link JavaTypeSystemTranslator}.
+     */
+    public static ClassMethodInspector getMethodInspector(final Class<?> type) throws IOException {
+        if (!isCacheable(type)) {
+            return new ClassMethodInspector(type,
+                                            converter);
+        }
+        lookups.increment();
+        try {
+            return methodInspectors.get(type);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    static boolean isCacheable(final Class<?> type) {
+        final ClassLoader classLoader = type.getClassLoader();
+        return classLoader != null && classLoader != platformClassLoader;
+    }
+
+    //Declared fields of the class and all of its super classes, by name. As ClassFieldInspector always did, the
+    //declaration in the top-most super class wins when a name is declared more than once.
+    private static Map<String, Field> inspectAllFields(final Class<?> type) {
+        final Map<String, Field> fields = new HashMap<>();
+        for (Field f : type.getDeclaredFields()) {
+            fields.put(f.getName(),
+                       f);
+        }
+        if (type.getSuperclass() != null) {
+            fields.putAll(getAllFields(type.getSuperclass()));
+        }
+        return Collections.unmodifiableMap(fields);
+    }
+
+    //Declared methods of the class and all of its super classes, by name, resolved as for fields.
+    private static Map<String, Method> inspectAllMethods(final Class<?> type) {
+        final Map<String, Method> methods = new HashMap<>();
+        for (Method m : type.getDeclaredMethods()) {
+            methods.put(m.getName(),
+                        m);
+        }
+        if (type.getSuperclass() != null) {
+            methods.putAll(getAllMethods(type.getSuperclass()));
+        }
+        return Collections.unmodifiableMap(methods);
+    }
+
+    private static ClassLoader getPlatformClassLoader() {
+        try {
+            final ClassLoader systemClassLoader = ClassLoader.getSystemClassLoader();
+            return systemClassLoader != null ? systemClassLoader.getParent() : null;
+        } catch (SecurityException e) {
+            return null;
+        }
+    }
+
+    public static long getHits() {
+        return Math.max(0,
+                        lookups.sum() - misses.sum());
+    }
+
+    public static long getMisses() {
+        return misses.sum();
+    }
+
+    public static void resetStatistics() {
+        lookups.reset();
+        misses.reset();
+    }
+}
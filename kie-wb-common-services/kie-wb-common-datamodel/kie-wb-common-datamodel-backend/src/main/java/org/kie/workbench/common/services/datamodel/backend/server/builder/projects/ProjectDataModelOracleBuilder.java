@@ -18,24 +18,37 @@ package org.kie.workbench.common.services.datamodel.backend.server.builder.proje
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.drools.workbench.models.commons.backend.oracle.ProjectDataModelOracleImpl;
 import org.drools.workbench.models.datamodel.oracle.ProjectDataModelOracle;
 import org.drools.workbench.models.datamodel.oracle.TypeSource;
 import org.kie.workbench.common.services.datamodel.backend.server.builder.util.DataEnumLoader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Builder for DataModelOracle
  */
 public final class ProjectDataModelOracleBuilder {
 
+    private static final Logger log = LoggerFactory.getLogger( ProjectDataModelOracleBuilder.class );
+
+    //Below this number of classes the overhead of splitting the work outweighs the benefit
+    static final int PARALLEL_THRESHOLD = 64;
+
     private ProjectDataModelOracleImpl oracle = new ProjectDataModelOracleImpl();
 
     private Map<String, FactBuilder> factTypeBuilders = new HashMap<String, FactBuilder>();
-    private Map<String, String[]> factFieldEnums = new HashMap<String, String[]>();
+    //ClassFactBuilders add enums for their fields whilst being constructed, possibly from different threads
+    private Map<String, String[]> factFieldEnums = Collections.synchronizedMap( new HashMap<String, String[]>() );
     private List<String> packageNames = new ArrayList<String>();
 
     private final Map<String, FactBuilder> discoveredFieldFactBuilders = new HashMap<String, FactBuilder>();
@@ -101,6 +114,88 @@ public final class ProjectDataModelOracleBuilder {
         return this;
     }
 
+    /**
+     * Adds Fact Types for the given classes. Classes are inspected in up to the given number of contiguous slices,
+     * run on the given executor. Classes that cannot be inspected are skipped.
+     * @param classes Classes to add
+     * @param executor Executor to inspect the slices on. The calling thread inspects the slices not yet started.
+     * @param parallelism Maximum number of slices. Values lower than 2 inspect classes on the calling thread.
+     */
+    public ProjectDataModelOracleBuilder addClasses( final List<FactClass> classes,
+                                                     final Executor executor,
+                                                     final int parallelism ) {
+        if ( parallelism < 2 || classes.size() < PARALLEL_THRESHOLD ) {
+            for ( final FactClass factClass : classes ) {
+                try {
+                    addClass( factClass.getClazz(),
+                              factClass.isEvent(),
+                              factClass.getTypeSource() );
+                } catch ( Throwable e ) {
+                    log.debug( e.getMessage() );
+                }
+            }
+            return this;
+        }
+
+        final int sliceSize = ( classes.size() + parallelism - 1 ) / parallelism;
+        final List<FutureTask<ClassSlice>> tasks = new ArrayList<FutureTask<ClassSlice>>();
+        for ( int i = 0; i < classes.size(); i += sliceSize ) {
+            final List<FactClass> slice = classes.subList( i,
+                                                           Math.min( i + sliceSize,
+                                                                     classes.size() ) );
+            final FutureTask<ClassSlice> task = new FutureTask<ClassSlice>( () -> inspect( slice ) );
+            tasks.add( task );
+            try {
+                executor.execute( task );
+            } catch ( RejectedExecutionException e ) {
+                //The slice is inspected on the calling thread instead
+                log.debug( e.getMessage() );
+            }
+        }
+
+        try {
+            //Merge in submission order so the result does not depend on thread scheduling
+            for ( final FutureTask<ClassSlice> task : tasks ) {
+                //Runs the slice here unless the executor already started it, so a busy executor cannot stall the build
+                task.run();
+                final ClassSlice result = task.get();
+                factTypeBuilders.putAll( result.factTypeBuilders );
+                for ( Map.Entry<String, FactBuilder> e : result.discoveredFieldFactBuilders.entrySet() ) {
+                    if ( e.getValue() != null && !discoveredFieldFactBuilders.containsKey( e.getKey() ) ) {
+                        discoveredFieldFactBuilders.put( e.getKey(),
+                                                         e.getValue() );
+                    }
+                }
+            }
+
+        } catch ( InterruptedException e ) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException( e );
+
+        } catch ( ExecutionException e ) {
+            throw new IllegalStateException( e.getCause() );
+        }
+        return this;
+    }
+
+    //Each slice has its own map of discovered field types so recursive inspection remains thread confined
+    private ClassSlice inspect( final List<FactClass> classes ) {
+        final ClassSlice result = new ClassSlice();
+        for ( final FactClass factClass : classes ) {
+            try {
+                result.factTypeBuilders.put( factClass.getClazz().getName(),
+                                             new ClassFactBuilder( this,
+                                                                   result.discoveredFieldFactBuilders,
+                                                                   factClass.getClazz(),
+                                                                   factClass.isEvent(),
+                                                                   factClass.getTypeSource() ) );
+            } catch ( Throwable e ) {
+                log.debug( e.getMessage() );
+            }
+        }
+        return result;
+    }
+
     public ProjectDataModelOracleBuilder addEnum( final String factType,
                                                   final String fieldName,
                                                   final String[] values ) {
@@ -173,4 +268,40 @@ public final class ProjectDataModelOracleBuilder {
     public void addPackages( Collection<String> packageNames ) {
         this.packageNames.addAll( packageNames );
     }
+
+    /**
+     * A class to be added as a Fact Type
+     */
+    public static class FactClass {
+
+        private final Class<?> clazz;
+        private final boolean isEvent;
+        private final TypeSource typeSource;
+
+        public FactClass( final Class<?> clazz,
+                          final boolean isEvent,
+                          final TypeSource typeSource ) {
+            this.clazz = clazz;
+            this.isEvent = isEvent;
+            this.typeSource = typeSource;
+        }
+
+        public Class<?> getClazz() {
+            return clazz;
+        }
+
+        public boolean isEvent() {
+            return isEvent;
+        }
+
+        public TypeSource getTypeSource() {
+            return typeSource;
+        }
+    }
+
+    private static class ClassSlice {
+
+        private final Map<String, FactBuilder> factTypeBuilders = new HashMap<String, FactBuilder>();
+        private final Map<String, FactBuilder> discoveredFieldFactBuilders = new HashMap<String, FactBuilder>();
+    }
 }
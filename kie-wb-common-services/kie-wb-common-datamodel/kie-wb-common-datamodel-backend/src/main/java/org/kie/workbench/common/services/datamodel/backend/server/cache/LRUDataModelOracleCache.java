@@ -17,7 +17,11 @@ package org.kie.workbench.common.services.datamodel.backend.server.cache;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Observes;
 import javax.inject.Inject;
@@ -70,6 +74,12 @@ public class LRUDataModelOracleCache extends LRUCache<Package, PackageDataModelO
 
     private BuildInfoService buildInfoService;
 
+    //Index of cached Packages by Project root URI, so that invalidating a Project only visits its own Packages
+    private final Map<String, Set<Package>> projectPackages = new HashMap<String, Set<Package>>();
+
+    //Project root URI of each cached Package
+    private final Map<Package, String> packageProjects = new HashMap<Package, String>();
+
     public LRUDataModelOracleCache() {
         //CDI proxy
     }
@@ -95,7 +105,7 @@ public class LRUDataModelOracleCache extends LRUCache<Package, PackageDataModelO
 
         //If resource was not within a Package there's nothing to invalidate
         if (pkg != null) {
-            invalidateCache(pkg);
+            invalidatePackage(pkg);
         }
     }
 
@@ -110,28 +120,78 @@ public class LRUDataModelOracleCache extends LRUCache<Package, PackageDataModelO
             return;
         }
 
-        final String projectUri = project.getRootPath().toURI();
-        final List<Package> cacheEntriesToInvalidate = new ArrayList<Package>();
-        for (final Package pkg : getKeys()) {
-            final Path packageMainSrcPath = pkg.getPackageMainSrcPath();
-            final Path packageTestSrcPath = pkg.getPackageTestSrcPath();
-            final Path packageMainResourcesPath = pkg.getPackageMainResourcesPath();
-            final Path packageTestResourcesPath = pkg.getPackageTestResourcesPath();
-            if (packageMainSrcPath != null && packageMainSrcPath.toURI().startsWith(projectUri)) {
-                cacheEntriesToInvalidate.add(pkg);
-            } else if (packageTestSrcPath != null && packageTestSrcPath.toURI().startsWith(projectUri)) {
-                cacheEntriesToInvalidate.add(pkg);
-            } else if (packageMainResourcesPath != null && packageMainResourcesPath.toURI().startsWith(projectUri)) {
-                cacheEntriesToInvalidate.add(pkg);
-            } else if (packageTestResourcesPath != null && packageTestResourcesPath.toURI().startsWith(projectUri)) {
-                cacheEntriesToInvalidate.add(pkg);
+        //Enumerations, DSLs and Globals only contribute to the DataModelOracle of their own Package
+        if (isPackageScopedResource(resourcePath)) {
+            final Package pkg = projectService.resolvePackage(resourcePath);
+            if (pkg != null) {
+                invalidatePackage(pkg);
             }
+            return;
+        }
+
+        final Set<Package> cacheEntriesToInvalidate = projectPackages.remove(project.getRootPath().toURI());
+        if (cacheEntriesToInvalidate == null) {
+            return;
         }
         for (final Package pkg : cacheEntriesToInvalidate) {
             invalidateCache(pkg);
+            packageProjects.remove(pkg);
+        }
+    }
+
+    /**
+     * Resources that only affect the DataModelOracle of the Package containing them, rather than the Project's.
+     * @param resourcePath Path of the changed resource
+     * @return true if the resource is an Enumeration, DSL or Globals definition
+     */
+    static boolean isPackageScopedResource(final Path resourcePath) {
+        if (resourcePath == null) {
+            return false;
+        }
+        final org.uberfire.java.nio.file.Path nioResourcePath = Paths.convert(resourcePath);
+        if (nioResourcePath.getFileName() == null) {
+            return false;
+        }
+        return FILTER_ENUMERATIONS.accept(nioResourcePath)
+                || FILTER_DSLS.accept(nioResourcePath)
+                || FILTER_GLOBALS.accept(nioResourcePath);
+    }
+
+    private void invalidatePackage(final Package pkg) {
+        invalidateCache(pkg);
+        final String projectUri = packageProjects.remove(pkg);
+        if (projectUri != null) {
+            unindexPackage(projectUri,
+                           pkg);
+        }
+    }
+
+    private void indexPackage(final KieProject project,
+                              final Package pkg) {
+        final String projectUri = project.getRootPath().toURI();
+        Set<Package> packages = projectPackages.get(projectUri);
+        if (packages == null) {
+            packages = new HashSet<Package>();
+            projectPackages.put(projectUri,
+                                packages);
+        }
+        packages.add(pkg);
+        packageProjects.put(pkg,
+                            projectUri);
+    }
+
+    private void unindexPackage(final String projectUri,
+                                final Package pkg) {
+        final Set<Package> packages = projectPackages.get(projectUri);
+        if (packages != null && packages.remove(pkg) && packages.isEmpty()) {
+            projectPackages.remove(projectUri);
         }
     }
 
+    int getIndexedPackagesCount() {
+        return packageProjects.size();
+    }
+
     //Check the DataModelOracle for the Package has been created, otherwise create one!
     public synchronized PackageDataModelOracle assertPackageDataModelOracle(final KieProject project,
                                                                             final Package pkg) {
@@ -141,12 +201,36 @@ public class LRUDataModelOracleCache extends LRUCache<Package, PackageDataModelO
                                                 pkg);
             setEntry(pkg,
                      oracle);
+            indexPackage(project,
+                         pkg);
         }
         return oracle;
     }
 
-    private PackageDataModelOracle makePackageDataModelOracle(final KieProject project,
-                                                              final Package pkg) {
+    /**
+     * Adding an entry is the only operation on which the LRU policy evicts entries, so the Packages evicted
+     * by it are dropped from the Project index here.
+     */
+    @Override
+    public synchronized void setEntry(final Package pkg,
+                                      final PackageDataModelOracle oracle) {
+        super.setEntry(pkg,
+                       oracle);
+        final Set<Package> cachedPackages = getKeys();
+        final List<Package> evictedPackages = new ArrayList<Package>();
+        for (final Package indexedPackage : packageProjects.keySet()) {
+            if (!cachedPackages.contains(indexedPackage)) {
+                evictedPackages.add(indexedPackage);
+            }
+        }
+        for (final Package evictedPackage : evictedPackages) {
+            unindexPackage(packageProjects.remove(evictedPackage),
+                           evictedPackage);
+        }
+    }
+
+    PackageDataModelOracle makePackageDataModelOracle(final KieProject project,
+                                                      final Package pkg) {
         final String packageName = pkg.getPackageName();
         final PackageDataModelOracleBuilder dmoBuilder = PackageDataModelOracleBuilder.newPackageOracleBuilder(packageName);
         final ProjectDataModelOracle projectOracle = cacheProjects.assertProjectDataModelOracle(project);
@@ -23,6 +23,7 @@ import javax.inject.Named;
 import org.drools.workbench.models.datamodel.oracle.ProjectDataModelOracle;
 import org.guvnor.common.services.backend.cache.LRUCache;
 import org.guvnor.common.services.project.builder.events.InvalidateDMOProjectCacheEvent;
+import org.kie.workbench.common.services.backend.builder.service.BuildInfo;
 import org.kie.workbench.common.services.backend.builder.service.BuildInfoService;
 import org.kie.workbench.common.services.shared.project.KieProject;
 import org.kie.workbench.common.services.shared.project.KieProjectService;
@@ -40,6 +41,7 @@ public class LRUProjectDataModelOracleCache
     private ProjectDataModelOracleBuilderProvider builderProvider;
     private KieProjectService projectService;
     private BuildInfoService buildInfoService;
+    private ProjectDataModelOracleSnapshotStore snapshotStore;
 
     public LRUProjectDataModelOracleCache() {
     }
@@ -47,10 +49,12 @@ public class LRUProjectDataModelOracleCache
     @Inject
     public LRUProjectDataModelOracleCache( final ProjectDataModelOracleBuilderProvider builderProvider,
                                            final KieProjectService projectService,
-                                           final BuildInfoService buildInfoService ) {
+                                           final BuildInfoService buildInfoService,
+                                           final ProjectDataModelOracleSnapshotStore snapshotStore ) {
         this.builderProvider = builderProvider;
         this.projectService = projectService;
         this.buildInfoService = buildInfoService;
+        this.snapshotStore = snapshotStore;
     }
 
     public synchronized void invalidateProjectCache( @Observes final InvalidateDMOProjectCacheEvent event ) {
@@ -59,8 +63,9 @@ public class LRUProjectDataModelOracleCache
         final Path resourcePath = event.getResourcePath();
         final KieProject project = projectService.resolveProject( resourcePath );
 
-        //If resource was not within a Project there's nothing to invalidate
-        if ( project != null ) {
+        //If resource was not within a Project there's nothing to invalidate. Enumerations, DSLs and Globals are
+        //only used by Package DataModelOracles so the Project DataModelOracle remains valid.
+        if ( project != null && !LRUDataModelOracleCache.isPackageScopedResource( resourcePath ) ) {
             invalidateCache( project );
         }
     }
@@ -76,9 +81,21 @@ public class LRUProjectDataModelOracleCache
         return projectOracle;
     }
 
+    //Reuse the oracle persisted by a previous run if the project has not changed since; otherwise build (and persist) it
     private ProjectDataModelOracle makeProjectOracle( final KieProject project ) {
-        return builderProvider.newBuilder( project,
-                                           buildInfoService.getBuildInfo( project ) ).build();
+        final BuildInfo buildInfo = buildInfoService.getBuildInfo( project );
+        final String fingerprint = snapshotStore.fingerprint( project,
+                                                              buildInfo );
+        ProjectDataModelOracle projectOracle = snapshotStore.load( project,
+                                                                   fingerprint );
+        if ( projectOracle == null ) {
+            projectOracle = builderProvider.newBuilder( project,
+                                                        buildInfo ).build();
+            snapshotStore.store( project,
+                                 fingerprint,
+                                 projectOracle );
+        }
+        return projectOracle;
     }
 
 }
\ No newline at end of file
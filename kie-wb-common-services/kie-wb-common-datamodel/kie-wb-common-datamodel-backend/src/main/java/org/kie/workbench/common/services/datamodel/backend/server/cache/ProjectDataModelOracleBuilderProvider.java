@@ -16,8 +16,9 @@
 package org.kie.workbench.common.services.datamodel.backend.server.cache;
 
 import java.io.IOException;
-import java.util.Collection;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 import javax.inject.Inject;
 
 import org.drools.workbench.models.datamodel.imports.Import;
@@ -27,6 +28,7 @@ import org.kie.scanner.KieModuleMetaData;
 import org.kie.workbench.common.services.backend.builder.service.BuildInfo;
 import org.kie.workbench.common.services.backend.builder.core.TypeSourceResolver;
 import org.kie.workbench.common.services.datamodel.backend.server.builder.projects.ProjectDataModelOracleBuilder;
+import org.kie.workbench.common.services.datamodel.backend.server.builder.projects.ProjectDataModelOracleBuilder.FactClass;
 import org.kie.workbench.common.services.shared.project.KieProject;
 import org.kie.workbench.common.services.shared.project.ProjectImportsService;
 import org.kie.workbench.common.services.shared.whitelist.PackageNameWhiteListService;
@@ -34,14 +36,22 @@ import org.kie.workbench.common.services.shared.whitelist.WhiteList;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.uberfire.backend.server.util.Paths;
+import org.uberfire.commons.concurrent.Managed;
 import org.uberfire.java.nio.file.Files;
 
 public class ProjectDataModelOracleBuilderProvider {
 
     private static final Logger log = LoggerFactory.getLogger(ProjectDataModelOracleBuilderProvider.class);
 
+    public static final String PARALLELISM_PROPERTY = "org.kie.workbench.datamodel.builder.parallelism";
+
+    //Classes are inspected sequentially unless configured otherwise
+    private static final int PARALLELISM = Integer.getInteger(PARALLELISM_PROPERTY,
+                                                              1);
+
     private ProjectImportsService importsService;
     private PackageNameWhiteListService packageNameWhiteListService;
+    private ExecutorService executorService;
 
     public ProjectDataModelOracleBuilderProvider() {
         //CDI proxy
@@ -49,9 +59,11 @@ public class ProjectDataModelOracleBuilderProvider {
 
     @Inject
     public ProjectDataModelOracleBuilderProvider(final PackageNameWhiteListService packageNameWhiteListService,
-                                                 final ProjectImportsService importsService) {
+                                                 final ProjectImportsService importsService,
+                                                 @Managed final ExecutorService executorService) {
         this.packageNameWhiteListService = packageNameWhiteListService;
         this.importsService = importsService;
+        this.executorService = executorService;
     }
 
     public InnerBuilder newBuilder( final KieProject project,
@@ -102,11 +114,21 @@ public class ProjectDataModelOracleBuilderProvider {
         }
 
         private void addFromKieModuleMetadata() {
+            //Classes are loaded on this thread; inspecting them, the expensive part, can be done in parallel
+            final List<FactClass> classes = new ArrayList<>();
             for (final String packageName : getFilteredPackageNames()) {
                 pdBuilder.addPackage(packageName);
-                addClasses(packageName,
-                           kieModuleMetaData.getClasses(packageName));
+                for (final String className : kieModuleMetaData.getClasses(packageName)) {
+                    final FactClass factClass = loadClass(packageName,
+                                                          className);
+                    if (factClass != null) {
+                        classes.add(factClass);
+                    }
+                }
             }
+            pdBuilder.addClasses(classes,
+                                 executorService,
+                                 PARALLELISM);
         }
 
         /**
@@ -117,14 +139,6 @@ public class ProjectDataModelOracleBuilderProvider {
                                                                   kieModuleMetaData.getPackages());
         }
 
-        private void addClasses(final String packageName,
-                                final Collection<String> classes) {
-            for (final String className : classes) {
-                addClass(packageName,
-                         className);
-            }
-        }
-
         private void addClass(final Import item) {
             try {
                 Class clazz = this.getClass().getClassLoader().loadClass(item.getType());
@@ -139,17 +153,18 @@ public class ProjectDataModelOracleBuilderProvider {
             }
         }
 
-        private void addClass(final String packageName,
-                              final String className) {
+        private FactClass loadClass(final String packageName,
+                                    final String className) {
             try {
                 final Class clazz = kieModuleMetaData.getClass(packageName,
                                                                className);
-                pdBuilder.addClass(clazz,
-                                   kieModuleMetaData.getTypeMetaInfo(clazz).isEvent(),
-                                   typeSourceResolver.getTypeSource(clazz));
+                return new FactClass(clazz,
+                                     kieModuleMetaData.getTypeMetaInfo(clazz).isEvent(),
+                                     typeSourceResolver.getTypeSource(clazz));
             } catch (Throwable e) {
                 //Class resolution would have happened in Builder and reported as warnings so log error here at debug level to avoid flooding logs
                 log.debug(e.getMessage());
+                return null;
             }
         }
 
@@ -0,0 +1,341 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.datamodel.backend.server.cache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import com.thoughtworks.xstream.XStream;
+import com.thoughtworks.xstream.io.binary.BinaryStreamDriver;
+import com.thoughtworks.xstream.security.ArrayTypePermission;
+import com.thoughtworks.xstream.security.NoTypePermission;
+import com.thoughtworks.xstream.security.NullPermission;
+import com.thoughtworks.xstream.security.PrimitiveTypePermission;
+import org.drools.compiler.kie.builder.impl.InternalKieModule;
+import org.drools.workbench.models.commons.backend.oracle.ProjectDataModelOracleImpl;
+import org.drools.workbench.models.datamodel.oracle.Annotation;
+import org.drools.workbench.models.datamodel.oracle.FieldAccessorsAndMutators;
+import org.drools.workbench.models.datamodel.oracle.MethodInfo;
+import org.drools.workbench.models.datamodel.oracle.ModelField;
+import org.drools.workbench.models.datamodel.oracle.ProjectDataModelOracle;
+import org.drools.workbench.models.datamodel.oracle.TypeSource;
+import org.guvnor.common.services.project.model.Dependency;
+import org.kie.api.builder.KieModule;
+import org.kie.workbench.common.services.backend.builder.core.LRUProjectDependenciesClassLoaderCache;
+import org.kie.workbench.common.services.backend.builder.service.BuildInfo;
+import org.kie.workbench.common.services.shared.project.KieProject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.uberfire.backend.server.util.Paths;
+
+/**
+ * Persists ProjectDataModelOracles to the local file system so they survive server restarts. A snapshot is only
+ * used if its fingerprint, calculated from the project's pom.xml, imports, package white list and compiled KieModule,
+ * matches the current state of the project. Projects depending, directly or transitively, on SNAPSHOT artifacts are
+ * never persisted, since their dependencies could change without the project changing.
+ * <p>
+ * Persistence is disabled unless a folder is set with {@link #SNAPSHOT_DIR_PROPERTY}. The folder must not be within
+ * java.io.tmpdir, and it must only be writable by the server's user: snapshots are deserialized on load, so anyone
+ * able to write them could make the server load arbitrary oracles. Only the oracle model types are deserialized.
+ */
+@ApplicationScoped
+public class ProjectDataModelOracleSnapshotStore {
+
+    public static final String SNAPSHOT_DIR_PROPERTY = "org.kie.workbench.datamodel.snapshot.dir";
+
+    private static final Logger log = LoggerFactory.getLogger(ProjectDataModelOracleSnapshotStore.class);
+
+    private static final int FORMAT_VERSION = 1;
+
+    private static final String SNAPSHOT_EXTENSION = ".dmo";
+
+    private static final String SNAPSHOT_VERSION_SUFFIX = "-SNAPSHOT";
+
+    //The java.util types used by the oracle model and the builders creating it
+    private static final String[] COLLECTION_TYPES = {
+            "java.util.ArrayList",
+            "java.util.LinkedList",
+            "java.util.HashMap",
+            "java.util.LinkedHashMap",
+            "java.util.TreeMap",
+            "java.util.HashSet",
+            "java.util.LinkedHashSet",
+            "java.util.TreeSet",
+            "java.util.Arrays$ArrayList",
+            "java.util.Collections$EmptyList",
+            "java.util.Collections$EmptySet",
+            "java.util.Collections$EmptyMap",
+            "java.util.Collections$SingletonList",
+            "java.util.Collections$SingletonSet",
+            "java.util.Collections$SingletonMap"
+    };
+
+    private final Path snapshotDir;
+
+    private final LRUProjectDependenciesClassLoaderCache dependenciesClassLoaderCache;
+
+    private final XStream xStream;
+
+    public ProjectDataModelOracleSnapshotStore() {
+        //CDI proxy
+        this(null,
+             null);
+    }
+
+    @Inject
+    public ProjectDataModelOracleSnapshotStore(final @Named("LRUProjectDependenciesClassLoaderCache") LRUProjectDependenciesClassLoaderCache dependenciesClassLoaderCache) {
+        this(getConfiguredSnapshotDir(System.getProperty(SNAPSHOT_DIR_PROPERTY),
+                                      System.getProperty("java.io.tmpdir")),
+             dependenciesClassLoaderCache);
+    }
+
+    /**
+     * @param snapshotDir Folder where snapshots are kept; null disables persistence.
+     * @param dependenciesClassLoaderCache Cache of the projects' resolved dependencies, used to find SNAPSHOT ones.
+     */
+    public ProjectDataModelOracleSnapshotStore(final Path snapshotDir,
+                                               final LRUProjectDependenciesClassLoaderCache dependenciesClassLoaderCache) {
+        this.snapshotDir = snapshotDir;
+        this.dependenciesClassLoaderCache = dependenciesClassLoaderCache;
+        this.xStream = createXStream();
+    }
+
+    /**
+     * @return The configured snapshot folder, or null if none is configured or it is within the temporary folder.
+     */
+    static Path getConfiguredSnapshotDir(final String snapshotDir,
+                                         final String tempDir) {
+        if (snapshotDir == null || snapshotDir.trim().isEmpty()) {
+            return null;
+        }
+        final Path path = java.nio.file.Paths.get(snapshotDir).toAbsolutePath().normalize();
+        if (tempDir != null && path.startsWith(java.nio.file.Paths.get(tempDir).toAbsolutePath().normalize())) {
+            log.warn("ProjectDataModelOracle snapshots disabled: the folder " + path + " set with " + SNAPSHOT_DIR_PROPERTY
+                             + " is within the temporary folder, where other users could write snapshots.");
+            return null;
+        }
+        return path;
+    }
+
+    /**
+     * @return The fingerprint of the project's current state, or null if the project cannot be persisted.
+     */
+    public String fingerprint(final KieProject project,
+                              final BuildInfo buildInfo) {
+        if (snapshotDir == null || dependenciesClassLoaderCache == null) {
+            return null;
+        }
+        try {
+            if (hasSnapshotDependencies(project)) {
+                return null;
+            }
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            update(digest,
+                   project.getPomXMLPath());
+            update(digest,
+                   project.getImportsPath());
+            update(digest,
+                   project.getPackageNamesWhiteListPath());
+
+            final KieModule kieModule = buildInfo.getKieModuleIgnoringErrors();
+            if (!(kieModule instanceof InternalKieModule)) {
+                return null;
+            }
+            final InternalKieModule internalKieModule = (InternalKieModule) kieModule;
+            final List<String> fileNames = new ArrayList<>(internalKieModule.getFileNames());
+            Collections.sort(fileNames);
+            for (String fileName : fileNames) {
+                digest.update(fileName.getBytes(StandardCharsets.UTF_8));
+                final byte[] bytes = internalKieModule.getBytes(fileName);
+                if (bytes != null) {
+                    digest.update(bytes);
+                }
+            }
+            return toHex(digest.digest());
+        } catch (NoSuchAlgorithmException | RuntimeException e) {
+            log.debug("Unable to fingerprint project " + project.getProjectName(),
+                      e);
+            return null;
+        }
+    }
+
+    /**
+     * @return The persisted ProjectDataModelOracle, or null if there is none or it does not match the fingerprint.
+     */
+    public ProjectDataModelOracle load(final KieProject project,
+                                       final String fingerprint) {
+        if (fingerprint == null) {
+            return null;
+        }
+        final Path snapshot = snapshotPath(project);
+        if (!Files.isRegularFile(snapshot)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshot)))) {
+            if (in.readInt() != FORMAT_VERSION || !fingerprint.equals(in.readUTF())) {
+                return null;
+            }
+            try (InputStream content = new GZIPInputStream(in)) {
+                return (ProjectDataModelOracle) xStream.fromXML(content);
+            }
+        } catch (Exception e) {
+            log.debug("Discarding unreadable ProjectDataModelOracle snapshot " + snapshot,
+                      e);
+            return null;
+        }
+    }
+
+    public void store(final KieProject project,
+                      final String fingerprint,
+                      final ProjectDataModelOracle oracle) {
+        if (fingerprint == null || oracle == null) {
+            return;
+        }
+        final Path snapshot = snapshotPath(project);
+        try {
+            createSnapshotDir();
+            //Write to a temporary file first so concurrent readers never see a partial snapshot
+            final Path temp = Files.createTempFile(snapshotDir,
+                                                   snapshot.getFileName().toString(),
+                                                   ".tmp");
+            try {
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                    out.writeInt(FORMAT_VERSION);
+                    out.writeUTF(fingerprint);
+                    final GZIPOutputStream content = new GZIPOutputStream(out);
+                    xStream.toXML(oracle,
+                                  content);
+                    content.finish();
+                }
+                Files.move(temp,
+                           snapshot,
+                           StandardCopyOption.REPLACE_EXISTING,
+                           StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (Exception e) {
+            log.warn("Unable to persist ProjectDataModelOracle for project " + project.getProjectName() + ": " + e.getMessage());
+        }
+    }
+
+    Path snapshotPath(final KieProject project) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            digest.update(project.getRootPath().toURI().getBytes(StandardCharsets.UTF_8));
+            return snapshotDir.resolve(toHex(digest.digest()) + SNAPSHOT_EXTENSION);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void createSnapshotDir() throws IOException {
+        if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+            Files.createDirectories(snapshotDir,
+                                    PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+        } else {
+            Files.createDirectories(snapshotDir);
+        }
+    }
+
+    private boolean hasSnapshotDependencies(final KieProject project) {
+        if (project.getPom() == null) {
+            return true;
+        }
+        for (Dependency dependency : project.getPom().getDependencies()) {
+            final String version = dependency.getVersion();
+            if (version != null && version.endsWith(SNAPSHOT_VERSION_SUFFIX)) {
+                return true;
+            }
+        }
+        //Transitive dependencies are only known once resolved, so the artifacts in the project's dependencies
+        //ClassLoader are checked too. SNAPSHOT artifacts are kept in a folder named after their version.
+        final ClassLoader dependenciesClassLoader = dependenciesClassLoaderCache.assertDependenciesClassLoader(project);
+        if (!(dependenciesClassLoader instanceof URLClassLoader)) {
+            return true;
+        }
+        for (URL url : ((URLClassLoader) dependenciesClassLoader).getURLs()) {
+            if (url.getPath().contains(SNAPSHOT_VERSION_SUFFIX)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void update(final MessageDigest digest,
+                        final org.uberfire.backend.vfs.Path path) {
+        if (path == null) {
+            return;
+        }
+        final org.uberfire.java.nio.file.Path nioPath = Paths.convert(path);
+        if (org.uberfire.java.nio.file.Files.exists(nioPath)) {
+            digest.update(org.uberfire.java.nio.file.Files.readAllBytes(nioPath));
+        }
+    }
+
+    private static String toHex(final byte[] bytes) {
+        final StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(String.format("%02x",
+                                    b));
+        }
+        return sb.toString();
+    }
+
+    private static XStream createXStream() {
+        final XStream xStream = new XStream(new BinaryStreamDriver());
+        xStream.addPermission(NoTypePermission.NONE);
+        xStream.addPermission(NullPermission.NULL);
+        xStream.addPermission(PrimitiveTypePermission.PRIMITIVES);
+        xStream.addPermission(ArrayTypePermission.ARRAYS);
+        xStream.allowTypes(new Class[]{
+                String.class,
+                ProjectDataModelOracleImpl.class,
+                ModelField.class,
+                ModelField.FIELD_CLASS_TYPE.class,
+                ModelField.FIELD_ORIGIN.class,
+                FieldAccessorsAndMutators.class,
+                MethodInfo.class,
+                Annotation.class,
+                TypeSource.class
+        });
+        xStream.allowTypes(COLLECTION_TYPES);
+        return xStream;
+    }
+}
@@ -19,6 +19,7 @@ import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Predicate;
 import javax.enterprise.event.Event;
 import javax.enterprise.inject.Instance;
@@ -98,6 +99,7 @@ import org.kie.workbench.common.services.backend.whitelist.PackageNameWhiteListS
 import org.kie.workbench.common.services.datamodel.backend.server.cache.LRUDataModelOracleCache;
 import org.kie.workbench.common.services.datamodel.backend.server.cache.LRUProjectDataModelOracleCache;
 import org.kie.workbench.common.services.datamodel.backend.server.cache.ProjectDataModelOracleBuilderProvider;
+import org.kie.workbench.common.services.datamodel.backend.server.cache.ProjectDataModelOracleSnapshotStore;
 import org.kie.workbench.common.services.datamodel.backend.server.service.DataModelService;
 import org.kie.workbench.common.services.shared.dependencies.DependencyService;
 import org.kie.workbench.common.services.shared.project.KieProject;
@@ -396,11 +398,14 @@ public class DataModelServiceConstructorTest {
         BuildInfoService buildInfoService = new BuildInfoService( buildService, builderCache );
 
         ProjectDataModelOracleBuilderProvider builderProvider = new ProjectDataModelOracleBuilderProvider(packageNameWhiteListService,
-                                                                                                          importsService);
+                                                                                                          importsService,
+                                                                                                          mock(ExecutorService.class));
 
         LRUProjectDataModelOracleCache cacheProjects = new LRUProjectDataModelOracleCache(builderProvider,
                                                                                           projectService,
-                                                                                          buildInfoService );
+                                                                                          buildInfoService,
+                                                                                          new ProjectDataModelOracleSnapshotStore( null,
+                                                                                                                                   dependenciesClassLoaderCache ) );
 
         dependenciesClassLoaderCache.setBuildInfoService( buildInfoService );
         LRUDataModelOracleCache cachePackages = new LRUDataModelOracleCache(ioService,
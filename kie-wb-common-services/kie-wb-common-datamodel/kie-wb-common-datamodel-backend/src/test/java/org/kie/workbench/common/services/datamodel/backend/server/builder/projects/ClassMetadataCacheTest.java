@@ -0,0 +1,137 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.datamodel.backend.server.builder.projects;
+
+import java.lang.reflect.Field;
+import java.util.Map;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ClassMetadataCacheTest {
+
+    @Test
+    public void testFieldInspectorIsShared() {
+        final long misses = ClassMetadataCache.getMisses();
+        final long hits = ClassMetadataCache.getHits();
+
+        final ClassFieldInspector inspector1 = ClassMetadataCache.getFieldInspector( Child.class );
+        final ClassFieldInspector inspector2 = ClassMetadataCache.getFieldInspector( Child.class );
+
+        assertSame( inspector1,
+                    inspector2 );
+        assertTrue( ClassMetadataCache.getMisses() > misses );
+        assertTrue( ClassMetadataCache.getHits() > hits );
+    }
+
+    @Test
+    public void testSuperClassIsInspectedOnce() {
+        ClassMetadataCache.getAllFields( Sibling1.class );
+        final long misses = ClassMetadataCache.getMisses();
+
+        //Only Sibling2 itself is inspected; the shared super classes are already cached
+        ClassMetadataCache.getAllFields( Sibling2.class );
+
+        assertEquals( misses + 1,
+                      ClassMetadataCache.getMisses() );
+    }
+
+    @Test
+    public void testAllFieldsMatchesInspection() {
+        final Map<String, Field> fields = ClassMetadataCache.getAllFields( Child.class );
+
+        assertTrue( fields.containsKey( "parentField" ) );
+        assertTrue( fields.containsKey( "childField" ) );
+        //When a field is hidden the declaration of the top-most super class is used
+        assertEquals( Parent.class,
+                      fields.get( "hidden" ).getDeclaringClass() );
+    }
+
+    @Test
+    public void testMethodInspectorIsShared() throws Exception {
+        assertSame( ClassMetadataCache.getMethodInspector( Child.class ),
+                    ClassMetadataCache.getMethodInspector( Child.class ) );
+    }
+
+    @Test
+    public void testCachedFieldInspectorMatchesNewInspector() {
+        final ClassFieldInspector cached = ClassMetadataCache.getFieldInspector( Child.class );
+        final ClassFieldInspector inspector = new ClassFieldInspector( Child.class );
+
+        assertEquals( inspector.getFieldNames(),
+                      cached.getFieldNames() );
+    }
+
+    @Test
+    public void testPlatformClassesAreNotCached() throws Exception {
+        assertFalse( ClassMetadataCache.isCacheable( Object.class ) );
+        assertFalse( ClassMetadataCache.isCacheable( java.util.Date.class ) );
+        assertTrue( ClassMetadataCache.isCacheable( Child.class ) );
+
+        final long misses = ClassMetadataCache.getMisses();
+        final long hits = ClassMetadataCache.getHits();
+
+        assertNotSame( ClassMetadataCache.getFieldInspector( java.math.BigDecimal.class ),
+                       ClassMetadataCache.getFieldInspector( java.math.BigDecimal.class ) );
+        assertNotSame( ClassMetadataCache.getMethodInspector( java.math.BigDecimal.class ),
+                       ClassMetadataCache.getMethodInspector( java.math.BigDecimal.class ) );
+        assertTrue( ClassMetadataCache.getAllFields( java.math.BigDecimal.class ).containsKey( "scale" ) );
+
+        //Uncached classes do not count as cache lookups
+        assertEquals( misses,
+                      ClassMetadataCache.getMisses() );
+        assertEquals( hits,
+                      ClassMetadataCache.getHits() );
+    }
+
+    public static class Parent {
+
+        private String parentField;
+
+        private String hidden;
+
+        public String getParentField() {
+            return parentField;
+        }
+
+        public String getHidden() {
+            return hidden;
+        }
+    }
+
+    public static class Child extends Parent {
+
+        private int childField;
+
+        private String hidden;
+
+        public int getChildField() {
+            return childField;
+        }
+    }
+
+    public static class Sibling1 extends Parent {
+
+        private String sibling1;
+    }
+
+    public static class Sibling2 extends Parent {
+
+        private String sibling2;
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.datamodel.backend.server.builder.projects;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.drools.workbench.models.datamodel.oracle.ModelField;
+import org.drools.workbench.models.datamodel.oracle.ProjectDataModelOracle;
+import org.drools.workbench.models.datamodel.oracle.TypeSource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.workbench.common.services.datamodel.backend.server.builder.projects.ProjectDataModelOracleBuilder.FactClass;
+import org.kie.workbench.common.services.datamodel.backend.server.testclasses.Product;
+import org.kie.workbench.common.services.datamodel.backend.server.testclasses.ProductOrder;
+import org.kie.workbench.common.services.datamodel.backend.server.testclasses.annotations.SmurfHouse;
+import org.kie.workbench.common.services.datamodel.backend.server.testclasses.superclasses.PapaSmurf;
+
+import static org.junit.Assert.*;
+
+public class ProjectDataModelOracleBuilderTest {
+
+    private static final Class<?>[] CLASSES = {
+            Product.class,
+            ProductOrder.class,
+            SmurfHouse.class,
+            PapaSmurf.class,
+            java.util.Date.class,
+            java.math.BigDecimal.class,
+            java.lang.Thread.State.class
+    };
+
+    private ExecutorService executor;
+
+    @Before
+    public void setup() {
+        executor = Executors.newFixedThreadPool( 2 );
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testParallelInspectionMatchesSequential() {
+        final List<FactClass> classes = makeClasses();
+        assertTrue( classes.size() >= ProjectDataModelOracleBuilder.PARALLEL_THRESHOLD );
+
+        final ProjectDataModelOracle sequential = ProjectDataModelOracleBuilder.newProjectOracleBuilder()
+                .addClasses( classes,
+                             executor,
+                             1 )
+                .build();
+        final ProjectDataModelOracle parallel = ProjectDataModelOracleBuilder.newProjectOracleBuilder()
+                .addClasses( classes,
+                             executor,
+                             4 )
+                .build();
+
+        assertSameOracle( sequential,
+                          parallel );
+    }
+
+    @Test
+    public void testSlicesNotStartedByTheExecutorAreInspectedByTheCaller() {
+        final List<FactClass> classes = makeClasses();
+
+        final ProjectDataModelOracle sequential = ProjectDataModelOracleBuilder.newProjectOracleBuilder()
+                .addClasses( classes,
+                             executor,
+                             1 )
+                .build();
+        final ProjectDataModelOracle idleExecutor = ProjectDataModelOracleBuilder.newProjectOracleBuilder()
+                .addClasses( classes,
+                             task -> {
+                             },
+                             4 )
+                .build();
+        final ProjectDataModelOracle rejectingExecutor = ProjectDataModelOracleBuilder.newProjectOracleBuilder()
+                .addClasses( classes,
+                             task -> {
+                                 throw new RejectedExecutionException();
+                             },
+                             4 )
+                .build();
+
+        assertSameOracle( sequential,
+                          idleExecutor );
+        assertSameOracle( sequential,
+                          rejectingExecutor );
+    }
+
+    private void assertSameOracle( final ProjectDataModelOracle sequential,
+                                   final ProjectDataModelOracle parallel ) {
+        assertEquals( sequential.getProjectModelFields().keySet(),
+                      parallel.getProjectModelFields().keySet() );
+        for ( Map.Entry<String, ModelField[]> e : sequential.getProjectModelFields().entrySet() ) {
+            assertEquals( fieldNames( e.getValue() ),
+                          fieldNames( parallel.getProjectModelFields().get( e.getKey() ) ) );
+        }
+        assertEquals( sequential.getProjectSuperTypes(),
+                      parallel.getProjectSuperTypes() );
+        assertEquals( sequential.getProjectJavaEnumDefinitions().keySet(),
+                      parallel.getProjectJavaEnumDefinitions().keySet() );
+        assertEquals( sequential.getProjectTypeSources(),
+                      parallel.getProjectTypeSources() );
+    }
+
+    @Test
+    public void testSmallNumberOfClasses() {
+        final List<FactClass> classes = new ArrayList<FactClass>();
+        classes.add( new FactClass( Product.class,
+                                    false,
+                                    TypeSource.JAVA_PROJECT ) );
+
+        final ProjectDataModelOracle oracle = ProjectDataModelOracleBuilder.newProjectOracleBuilder()
+                .addClasses( classes,
+                             executor,
+                             4 )
+                .build();
+
+        assertTrue( oracle.getProjectModelFields().containsKey( Product.class.getName() ) );
+    }
+
+    private List<FactClass> makeClasses() {
+        final List<FactClass> classes = new ArrayList<FactClass>();
+        while ( classes.size() < ProjectDataModelOracleBuilder.PARALLEL_THRESHOLD * 2 ) {
+            for ( Class<?> clazz : CLASSES ) {
+                classes.add( new FactClass( clazz,
+                                            false,
+                                            TypeSource.JAVA_PROJECT ) );
+            }
+        }
+        return classes;
+    }
+
+    private List<String> fieldNames( final ModelField[] fields ) {
+        final List<String> names = new ArrayList<String>();
+        for ( ModelField field : fields ) {
+            names.add( field.getName() );
+        }
+        names.sort( String::compareTo );
+        return names;
+    }
+}
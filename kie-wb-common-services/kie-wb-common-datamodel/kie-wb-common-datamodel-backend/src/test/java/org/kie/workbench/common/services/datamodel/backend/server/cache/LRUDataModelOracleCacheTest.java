@@ -0,0 +1,193 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.datamodel.backend.server.cache;
+
+import java.net.URI;
+
+import org.drools.workbench.models.datamodel.oracle.PackageDataModelOracle;
+import org.guvnor.common.services.project.builder.events.InvalidateDMOPackageCacheEvent;
+import org.guvnor.common.services.project.builder.events.InvalidateDMOProjectCacheEvent;
+import org.guvnor.common.services.project.model.Package;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.services.shared.project.KieProject;
+import org.kie.workbench.common.services.shared.project.KieProjectService;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.backend.server.util.Paths;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.java.nio.fs.file.SimpleFileSystemProvider;
+import org.uberfire.rpc.SessionInfo;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class LRUDataModelOracleCacheTest {
+
+    private final SimpleFileSystemProvider fs = new SimpleFileSystemProvider();
+
+    @Mock
+    private KieProjectService projectService;
+
+    @Mock
+    private SessionInfo sessionInfo;
+
+    @Mock
+    private KieProject project1;
+
+    @Mock
+    private KieProject project2;
+
+    @Mock
+    private Path project1RootPath;
+
+    @Mock
+    private Path project2RootPath;
+
+    private LRUDataModelOracleCache cache;
+
+    @Before
+    public void setUp() {
+        when(project1.getRootPath()).thenReturn(project1RootPath);
+        when(project1RootPath.toURI()).thenReturn("file:///project1");
+        when(project2.getRootPath()).thenReturn(project2RootPath);
+        when(project2RootPath.toURI()).thenReturn("file:///project2");
+
+        cache = new LRUDataModelOracleCache(null,
+                                            null,
+                                            null,
+                                            projectService,
+                                            null) {
+            @Override
+            PackageDataModelOracle makePackageDataModelOracle(final KieProject project,
+                                                              final Package pkg) {
+                return mock(PackageDataModelOracle.class);
+            }
+        };
+    }
+
+    @Test
+    public void testPackageScopedResources() throws Exception {
+        assertTrue(LRUDataModelOracleCache.isPackageScopedResource(path("file:///project1/src/main/resources/org/kie/colours.enumeration")));
+        assertTrue(LRUDataModelOracleCache.isPackageScopedResource(path("file:///project1/src/main/resources/org/kie/language.dsl")));
+        assertTrue(LRUDataModelOracleCache.isPackageScopedResource(path("file:///project1/src/main/resources/org/kie/globals.gdrl")));
+    }
+
+    @Test
+    public void testProjectScopedResources() throws Exception {
+        assertFalse(LRUDataModelOracleCache.isPackageScopedResource(null));
+        assertFalse(LRUDataModelOracleCache.isPackageScopedResource(path("file:///project1/pom.xml")));
+        assertFalse(LRUDataModelOracleCache.isPackageScopedResource(path("file:///project1/src/main/java/org/kie/Person.java")));
+        assertFalse(LRUDataModelOracleCache.isPackageScopedResource(path("file:///project1/src/main/resources/org/kie/rules.drl")));
+    }
+
+    @Test
+    public void testPackageScopedChangeInvalidatesOnlyItsPackage() throws Exception {
+        final Package pkg1 = mock(Package.class);
+        final Package pkg2 = mock(Package.class);
+        final Package otherProjectPkg = mock(Package.class);
+        final PackageDataModelOracle oracle1 = cache.assertPackageDataModelOracle(project1,
+                                                                                  pkg1);
+        final PackageDataModelOracle oracle2 = cache.assertPackageDataModelOracle(project1,
+                                                                                  pkg2);
+        final PackageDataModelOracle otherProjectOracle = cache.assertPackageDataModelOracle(project2,
+                                                                                             otherProjectPkg);
+
+        final Path enumeration = path("file:///project1/src/main/resources/org/kie/colours.enumeration");
+        when(projectService.resolveProject(enumeration)).thenReturn(project1);
+        when(projectService.resolvePackage(enumeration)).thenReturn(pkg1);
+        cache.invalidateProjectPackagesCache(new InvalidateDMOProjectCacheEvent(sessionInfo,
+                                                                                project1,
+                                                                                enumeration));
+
+        assertNotSame(oracle1,
+                      cache.assertPackageDataModelOracle(project1,
+                                                         pkg1));
+        assertSame(oracle2,
+                   cache.assertPackageDataModelOracle(project1,
+                                                      pkg2));
+        assertSame(otherProjectOracle,
+                   cache.assertPackageDataModelOracle(project2,
+                                                      otherProjectPkg));
+    }
+
+    @Test
+    public void testProjectScopedChangeInvalidatesOnlyItsProject() throws Exception {
+        final Package pkg1 = mock(Package.class);
+        final Package pkg2 = mock(Package.class);
+        final Package otherProjectPkg = mock(Package.class);
+        final PackageDataModelOracle oracle1 = cache.assertPackageDataModelOracle(project1,
+                                                                                  pkg1);
+        final PackageDataModelOracle oracle2 = cache.assertPackageDataModelOracle(project1,
+                                                                                  pkg2);
+        final PackageDataModelOracle otherProjectOracle = cache.assertPackageDataModelOracle(project2,
+                                                                                             otherProjectPkg);
+
+        final Path javaFile = path("file:///project1/src/main/java/org/kie/Person.java");
+        when(projectService.resolveProject(javaFile)).thenReturn(project1);
+        cache.invalidateProjectPackagesCache(new InvalidateDMOProjectCacheEvent(sessionInfo,
+                                                                                project1,
+                                                                                javaFile));
+
+        assertNotSame(oracle1,
+                      cache.assertPackageDataModelOracle(project1,
+                                                         pkg1));
+        assertNotSame(oracle2,
+                      cache.assertPackageDataModelOracle(project1,
+                                                         pkg2));
+        assertSame(otherProjectOracle,
+                   cache.assertPackageDataModelOracle(project2,
+                                                      otherProjectPkg));
+    }
+
+    @Test
+    public void testPackageInvalidation() throws Exception {
+        final Package pkg1 = mock(Package.class);
+        final Package pkg2 = mock(Package.class);
+        final PackageDataModelOracle oracle1 = cache.assertPackageDataModelOracle(project1,
+                                                                                  pkg1);
+        final PackageDataModelOracle oracle2 = cache.assertPackageDataModelOracle(project1,
+                                                                                  pkg2);
+
+        final Path drl = path("file:///project1/src/main/resources/org/kie/rules.drl");
+        when(projectService.resolvePackage(drl)).thenReturn(pkg1);
+        cache.invalidatePackageCache(new InvalidateDMOPackageCacheEvent(drl));
+
+        assertNotSame(oracle1,
+                      cache.assertPackageDataModelOracle(project1,
+                                                         pkg1));
+        assertSame(oracle2,
+                   cache.assertPackageDataModelOracle(project1,
+                                                      pkg2));
+    }
+
+    @Test
+    public void testEvictedPackagesAreRemovedFromTheIndex() {
+        for (int i = 0; i < 100; i++) {
+            cache.assertPackageDataModelOracle(i % 2 == 0 ? project1 : project2,
+                                               mock(Package.class));
+            assertEquals(cache.getKeys().size(),
+                         cache.getIndexedPackagesCount());
+        }
+    }
+
+    private Path path(final String uri) throws Exception {
+        return Paths.convert(fs.getPath(new URI(uri)));
+    }
+}
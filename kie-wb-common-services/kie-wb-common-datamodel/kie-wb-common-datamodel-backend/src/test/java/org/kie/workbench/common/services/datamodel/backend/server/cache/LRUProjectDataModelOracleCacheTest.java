@@ -0,0 +1,154 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.datamodel.backend.server.cache;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.drools.compiler.kie.builder.impl.InternalKieModule;
+import org.drools.workbench.models.datamodel.oracle.ProjectDataModelOracle;
+import org.guvnor.common.services.project.model.GAV;
+import org.guvnor.common.services.project.model.POM;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.services.backend.builder.core.LRUProjectDependenciesClassLoaderCache;
+import org.kie.workbench.common.services.backend.builder.service.BuildInfo;
+import org.kie.workbench.common.services.backend.builder.service.BuildInfoService;
+import org.kie.workbench.common.services.shared.project.KieProject;
+import org.kie.workbench.common.services.shared.project.KieProjectService;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static java.util.Collections.*;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class LRUProjectDataModelOracleCacheTest {
+
+    @Mock
+    private KieProject project;
+
+    @Mock
+    private org.uberfire.backend.vfs.Path rootPath;
+
+    @Mock
+    private KieProjectService projectService;
+
+    @Mock
+    private BuildInfoService buildInfoService;
+
+    @Mock
+    private BuildInfo buildInfo;
+
+    @Mock
+    private InternalKieModule kieModule;
+
+    @Mock
+    private LRUProjectDependenciesClassLoaderCache dependenciesClassLoaderCache;
+
+    @Mock
+    private ProjectDataModelOracleBuilderProvider builderProvider;
+
+    @Mock
+    private ProjectDataModelOracleBuilderProvider.InnerBuilder builder;
+
+    private Path snapshotDir;
+
+    private ProjectDataModelOracleSnapshotStore store;
+
+    @Before
+    public void setUp() throws Exception {
+        snapshotDir = Files.createTempDirectory("dmo-snapshots");
+        store = new ProjectDataModelOracleSnapshotStore(snapshotDir,
+                                                        dependenciesClassLoaderCache);
+
+        when(project.getPom()).thenReturn(new POM(new GAV("org.kie",
+                                                          "project",
+                                                          "1.0")));
+        when(project.getRootPath()).thenReturn(rootPath);
+        when(rootPath.toURI()).thenReturn("default://master@repo/project");
+        when(buildInfoService.getBuildInfo(project)).thenReturn(buildInfo);
+        when(buildInfo.getKieModuleIgnoringErrors()).thenReturn(kieModule);
+        when(kieModule.getFileNames()).thenReturn(singletonList("org/kie/Person.class"));
+        when(kieModule.getBytes("org/kie/Person.class")).thenReturn(new byte[]{1, 2, 3});
+        when(dependenciesClassLoaderCache.assertDependenciesClassLoader(project)).thenReturn(new URLClassLoader(new URL[0],
+                                                                                                                null));
+        when(builderProvider.newBuilder(project,
+                                        buildInfo)).thenReturn(builder);
+        when(builder.build()).thenAnswer(invocation -> ProjectDataModelOracleSnapshotStoreTest.makeOracle());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        ProjectDataModelOracleSnapshotStoreTest.deleteRecursively(snapshotDir);
+    }
+
+    @Test
+    public void testOracleIsLoadedFromSnapshotAfterRestart() {
+        assertPersonOracle(newCache().assertProjectDataModelOracle(project));
+        verify(builder,
+               times(1)).build();
+
+        assertPersonOracle(newCache().assertProjectDataModelOracle(project));
+        verify(builder,
+               times(1)).build();
+    }
+
+    @Test
+    public void testCorruptSnapshotIsRebuiltAndReplaced() throws Exception {
+        newCache().assertProjectDataModelOracle(project);
+        Files.write(store.snapshotPath(project),
+                    new byte[]{0, 0, 0, 1, 0, 2, 'x'});
+
+        assertPersonOracle(newCache().assertProjectDataModelOracle(project));
+        verify(builder,
+               times(2)).build();
+
+        //The rebuilt oracle replaced the corrupt snapshot
+        assertPersonOracle(newCache().assertProjectDataModelOracle(project));
+        verify(builder,
+               times(2)).build();
+    }
+
+    @Test
+    public void testStaleSnapshotIsRebuilt() {
+        newCache().assertProjectDataModelOracle(project);
+        when(kieModule.getBytes("org/kie/Person.class")).thenReturn(new byte[]{1, 2, 3, 4});
+
+        assertPersonOracle(newCache().assertProjectDataModelOracle(project));
+        verify(builder,
+               times(2)).build();
+    }
+
+    private LRUProjectDataModelOracleCache newCache() {
+        return new LRUProjectDataModelOracleCache(builderProvider,
+                                                  projectService,
+                                                  buildInfoService,
+                                                  store);
+    }
+
+    private void assertPersonOracle(final ProjectDataModelOracle oracle) {
+        assertNotNull(oracle);
+        assertEquals("name",
+                     oracle.getProjectModelFields().get("org.kie.Person")[0].getName());
+    }
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.datamodel.backend.server.cache;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import com.thoughtworks.xstream.XStream;
+import com.thoughtworks.xstream.io.binary.BinaryStreamDriver;
+
+import org.drools.compiler.kie.builder.impl.InternalKieModule;
+import org.drools.workbench.models.commons.backend.oracle.ProjectDataModelOracleImpl;
+import org.drools.workbench.models.datamodel.oracle.DataType;
+import org.drools.workbench.models.datamodel.oracle.FieldAccessorsAndMutators;
+import org.drools.workbench.models.datamodel.oracle.ModelField;
+import org.drools.workbench.models.datamodel.oracle.ProjectDataModelOracle;
+import org.drools.workbench.models.datamodel.oracle.TypeSource;
+import org.guvnor.common.services.project.model.Dependency;
+import org.guvnor.common.services.project.model.GAV;
+import org.guvnor.common.services.project.model.POM;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.services.backend.builder.core.LRUProjectDependenciesClassLoaderCache;
+import org.kie.workbench.common.services.backend.builder.service.BuildInfo;
+import org.kie.workbench.common.services.shared.project.KieProject;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static java.util.Collections.*;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ProjectDataModelOracleSnapshotStoreTest {
+
+    @Mock
+    private KieProject project;
+
+    @Mock
+    private org.uberfire.backend.vfs.Path rootPath;
+
+    @Mock
+    private BuildInfo buildInfo;
+
+    @Mock
+    private InternalKieModule kieModule;
+
+    @Mock
+    private LRUProjectDependenciesClassLoaderCache dependenciesClassLoaderCache;
+
+    private POM pom;
+
+    private Path snapshotDir;
+
+    private ProjectDataModelOracleSnapshotStore store;
+
+    @Before
+    public void setUp() throws Exception {
+        snapshotDir = Files.createTempDirectory("dmo-snapshots");
+        store = new ProjectDataModelOracleSnapshotStore(snapshotDir,
+                                                        dependenciesClassLoaderCache);
+
+        pom = new POM(new GAV("org.kie",
+                              "project",
+                              "1.0"));
+        when(project.getPom()).thenReturn(pom);
+        when(project.getRootPath()).thenReturn(rootPath);
+        when(rootPath.toURI()).thenReturn("default://master@repo/project");
+        when(buildInfo.getKieModuleIgnoringErrors()).thenReturn(kieModule);
+        when(kieModule.getFileNames()).thenReturn(singletonList("org/kie/Person.class"));
+        when(kieModule.getBytes("org/kie/Person.class")).thenReturn(new byte[]{1, 2, 3});
+        setResolvedDependencies("file:/repository/org/kie/model/1.0/model-1.0.jar");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        deleteRecursively(snapshotDir);
+    }
+
+    @Test
+    public void testRoundTrip() {
+        final String fingerprint = store.fingerprint(project,
+                                                     buildInfo);
+        assertNotNull(fingerprint);
+
+        store.store(project,
+                    fingerprint,
+                    makeOracle());
+
+        final ProjectDataModelOracle oracle = store.load(project,
+                                                         fingerprint);
+        assertNotNull(oracle);
+        assertEquals(1,
+                     oracle.getProjectModelFields().size());
+        assertEquals("name",
+                     oracle.getProjectModelFields().get("org.kie.Person")[0].getName());
+        assertEquals(TypeSource.JAVA_PROJECT,
+                     oracle.getProjectTypeSources().get("org.kie.Person"));
+    }
+
+    @Test
+    public void testFingerprintChangesWithCompiledClasses() {
+        final String fingerprint = store.fingerprint(project,
+                                                     buildInfo);
+        store.store(project,
+                    fingerprint,
+                    makeOracle());
+
+        when(kieModule.getBytes("org/kie/Person.class")).thenReturn(new byte[]{1, 2, 3, 4});
+        final String newFingerprint = store.fingerprint(project,
+                                                        buildInfo);
+
+        assertNotEquals(fingerprint,
+                        newFingerprint);
+        assertNull(store.load(project,
+                              newFingerprint));
+    }
+
+    @Test
+    public void testProjectsWithSnapshotDependenciesAreNotPersisted() {
+        pom.getDependencies().add(new Dependency(new GAV("org.kie",
+                                                         "model",
+                                                         "1.0-SNAPSHOT")));
+
+        assertNull(store.fingerprint(project,
+                                     buildInfo));
+    }
+
+    @Test
+    public void testProjectsWithTransitiveSnapshotDependenciesAreNotPersisted() throws Exception {
+        setResolvedDependencies("file:/repository/org/kie/model/1.0/model-1.0.jar",
+                                "file:/repository/org/kie/common/2.0-SNAPSHOT/common-2.0-SNAPSHOT.jar");
+
+        assertNull(store.fingerprint(project,
+                                     buildInfo));
+    }
+
+    @Test
+    public void testDisabledStore() {
+        final ProjectDataModelOracleSnapshotStore disabled = new ProjectDataModelOracleSnapshotStore(null,
+                                                                                                   dependenciesClassLoaderCache);
+
+        assertNull(disabled.fingerprint(project,
+                                        buildInfo));
+        assertNull(disabled.load(project,
+                                 null));
+    }
+
+    @Test
+    public void testCorruptSnapshotIsIgnored() throws Exception {
+        final String fingerprint = store.fingerprint(project,
+                                                     buildInfo);
+        Files.write(store.snapshotPath(project),
+                    new byte[]{0, 0, 0, 1, 0, 2, 'x'});
+
+        assertNull(store.load(project,
+                              fingerprint));
+    }
+
+    @Test
+    public void testSnapshotWithTypesOtherThanTheOracleModelIsIgnored() throws Exception {
+        final String fingerprint = store.fingerprint(project,
+                                                     buildInfo);
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(store.snapshotPath(project)))) {
+            out.writeInt(1);
+            out.writeUTF(fingerprint);
+            final GZIPOutputStream content = new GZIPOutputStream(out);
+            new XStream(new BinaryStreamDriver()).toXML(new File("planted"),
+                                                        content);
+            content.finish();
+        }
+
+        assertNull(store.load(project,
+                              fingerprint));
+    }
+
+    @Test
+    public void testConfiguredSnapshotDir() {
+        assertNull(ProjectDataModelOracleSnapshotStore.getConfiguredSnapshotDir(null,
+                                                                                "/tmp"));
+        assertNull(ProjectDataModelOracleSnapshotStore.getConfiguredSnapshotDir(" ",
+                                                                                "/tmp"));
+        assertEquals(java.nio.file.Paths.get("/var/lib/kie/dmo").toAbsolutePath(),
+                     ProjectDataModelOracleSnapshotStore.getConfiguredSnapshotDir("/var/lib/kie/dmo",
+                                                                                  "/tmp"));
+    }
+
+    @Test
+    public void testSnapshotDirWithinTempDirIsRejected() {
+        assertNull(ProjectDataModelOracleSnapshotStore.getConfiguredSnapshotDir("/tmp",
+                                                                                "/tmp"));
+        assertNull(ProjectDataModelOracleSnapshotStore.getConfiguredSnapshotDir("/tmp/kie-wb-dmo-snapshots",
+                                                                                "/tmp/"));
+        assertNull(ProjectDataModelOracleSnapshotStore.getConfiguredSnapshotDir("/var/../tmp/dmo",
+                                                                                "/tmp"));
+    }
+
+    private void setResolvedDependencies(final String... urls) throws Exception {
+        final URL[] dependencies = new URL[urls.length];
+        for (int i = 0; i < urls.length; i++) {
+            dependencies[i] = new URL(urls[i]);
+        }
+        when(dependenciesClassLoaderCache.assertDependenciesClassLoader(project)).thenReturn(new URLClassLoader(dependencies,
+                                                                                                                null));
+    }
+
+    static void deleteRecursively(final Path dir) throws Exception {
+        if (dir == null || !Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder())
+                    .forEach(path -> path.toFile().delete());
+        }
+    }
+
+    static ProjectDataModelOracle makeOracle() {
+        final ProjectDataModelOracleImpl oracle = new ProjectDataModelOracleImpl();
+        oracle.addProjectModelFields(singletonMap("org.kie.Person",
+                                                  new ModelField[]{
+                                                          new ModelField("name",
+                                                                         String.class.getName(),
+                                                                         ModelField.FIELD_CLASS_TYPE.REGULAR_CLASS,
+                                                                         ModelField.FIELD_ORIGIN.DECLARED,
+                                                                         FieldAccessorsAndMutators.BOTH,
+                                                                         DataType.TYPE_STRING)
+                                                  }));
+        oracle.addProjectTypeSources(singletonMap("org.kie.Person",
+                                                  TypeSource.JAVA_PROJECT));
+        return oracle;
+    }
+}
@@ -32,4 +32,13 @@ public interface IndexQuery {
 
     ResponseBuilder getResponseBuilder();
 
+    /**
+     * Stored fields to load for each hit, besides those identifying the KObject. Defaults to the fields read by the
+     * query's {@link ResponseBuilder}.
+     * @return The field names, or null to load every stored field.
+     */
+    default Set<String> getStoredFields() {
+        return getResponseBuilder().getStoredFields();
+    }
+
 }
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.refactoring.backend.server.query;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.apache.lucene.index.FilterLeafReader;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.SegmentCommitInfo;
+import org.apache.lucene.index.SegmentReader;
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.util.StringHelper;
+import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueIndexTerm;
+
+/**
+ * Remembers where each page of a query ended, so the following page can be collected with a "search after" cursor
+ * rather than sorting every hit from the first row again. Cursors are only valid for the index segments they were
+ * created against; any change to the index invalidates them. Segments are identified by their name and generations
+ * rather than by their readers, so remembered cursors do not keep closed readers reachable.
+ */
+class PageCursors {
+
+    static final int MAX_CURSORS = 100;
+
+    private final Map<String, PageCursor> cursors = new LinkedHashMap<String, PageCursor>( 16,
+                                                                                           0.75f,
+                                                                                           true ) {
+        @Override
+        protected boolean removeEldestEntry( final Map.Entry<String, PageCursor> eldest ) {
+            return size() > MAX_CURSORS;
+        }
+    };
+
+    /**
+     * @return The last hit of the page preceding the requested start row, or null if unknown or no longer valid.
+     */
+    synchronized FieldDoc find( final String cursorKey,
+                                final IndexReader reader ) {
+        final PageCursor cursor = cursors.get( cursorKey );
+        if ( cursor == null ) {
+            return null;
+        }
+        if ( !cursor.segments.equals( segments( reader ) ) ) {
+            cursors.remove( cursorKey );
+            return null;
+        }
+        return cursor.after;
+    }
+
+    synchronized void put( final String cursorKey,
+                           final IndexReader reader,
+                           final FieldDoc after ) {
+        final List<String> segments = segments( reader );
+        if ( segments == null ) {
+            return;
+        }
+        cursors.put( cursorKey,
+                     new PageCursor( after,
+                                     segments ) );
+    }
+
+    synchronized int size() {
+        return cursors.size();
+    }
+
+    static String cursorKey( final String queryName,
+                             final Set<ValueIndexTerm> queryTerms,
+                             final int startRowIndex ) {
+        //Terms do not implement equals() so the key is built from their content, in a stable order
+        final Set<String> terms = new TreeSet<String>();
+        for ( ValueIndexTerm term : queryTerms ) {
+            terms.add( term.getTerm() + ":" + term.getSearchType() + "=" + term.getValue() );
+        }
+        return queryName + terms + "@" + startRowIndex;
+    }
+
+    /**
+     * @return An identifier for each segment of the reader, or null if any of them is not a segment of an index.
+     */
+    static List<String> segments( final IndexReader reader ) {
+        final List<String> segments = new ArrayList<String>();
+        for ( LeafReaderContext context : reader.leaves() ) {
+            final LeafReader leaf = FilterLeafReader.unwrap( context.reader() );
+            if ( !( leaf instanceof SegmentReader ) ) {
+                return null;
+            }
+            //The id tells apart segments with the same name in different or recreated indexes
+            final SegmentCommitInfo info = ( (SegmentReader) leaf ).getSegmentInfo();
+            segments.add( StringHelper.idToString( info.info.getId() ) + ":" + info.info.name
+                                  + ":" + info.getDelGen() + ":" + info.getFieldInfosGen() + ":" + info.getDocValuesGen()
+                                  + ":" + info.getDelCount() );
+        }
+        return segments;
+    }
+
+    private static class PageCursor {
+
+        private final FieldDoc after;
+
+        private final List<String> segments;
+
+        private PageCursor( final FieldDoc after,
+                            final List<String> segments ) {
+            this.after = after;
+            this.segments = segments;
+        }
+    }
+}
@@ -15,25 +15,25 @@
  */
 package org.kie.workbench.common.services.refactoring.backend.server.query;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.function.Function;
-import java.util.function.IntFunction;
-import java.util.function.Supplier;
 import javax.annotation.PostConstruct;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 import javax.inject.Named;
 
+import org.apache.lucene.search.FieldDoc;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.ScoreDoc;
 import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TopFieldCollector;
 import org.apache.lucene.search.TopFieldDocs;
-import org.apache.lucene.search.TopScoreDocCollector;
 import org.apache.lucene.search.TotalHitCountCollector;
 import org.drools.workbench.models.datamodel.util.PortablePreconditions;
 import org.jboss.errai.bus.server.annotations.Service;
@@ -62,6 +62,7 @@ public class RefactoringQueryServiceImpl implements RefactoringQueryService {
     private LuceneConfig config;
     private NamedQueries namedQueries;
     private PageResponse<RefactoringPageRow> emptyResponse;
+    private final PageCursors pageCursors = new PageCursors();
 
     public RefactoringQueryServiceImpl() {
         //Make proxyable
@@ -105,12 +106,13 @@ public class RefactoringQueryServiceImpl implements RefactoringQueryService {
         final int pageSize = request.getPageSize();
         final int startIndex = request.getStartRowIndex();
 
-        final List<KObject> kObjects
-            = search(query,
-                     sort,
-                     () -> ( startIndex ), // start index of docs to get
-                     (numHits) -> ( numHits - startIndex > pageSize ? pageSize : numHits - startIndex ) // num docs to add to response
-                    );
+        final List<KObject> kObjects = searchPage( query,
+                                                   sort,
+                                                   namedQuery.getStoredFields(),
+                                                   queryName,
+                                                   request.getQueryTerms(),
+                                                   startIndex,
+                                                   pageSize );
 
         if( ! kObjects.isEmpty() ) {
             final ResponseBuilder responseBuilder = namedQuery.getResponseBuilder();
@@ -137,12 +139,9 @@ public class RefactoringQueryServiceImpl implements RefactoringQueryService {
         final Query query = namedQuery.toQuery( queryTerms );
         final Sort sort = namedQuery.getSortOrder();
 
-        final List<KObject> kObjects
-            = search(query,
-                     sort,
-                     () -> (0), // start index of docs to get
-                     (numHits) -> (numHits) // num docs to add to response
-                    );
+        final List<KObject> kObjects = searchAll( query,
+                                                  sort,
+                                                  namedQuery.getStoredFields() );
 
         if( ! kObjects.isEmpty() ) {
             final ResponseBuilder responseBuilder = namedQuery.getResponseBuilder();
@@ -152,42 +151,137 @@ public class RefactoringQueryServiceImpl implements RefactoringQueryService {
         }
     }
 
-    private List<KObject> search(final Query query,
-                                 final Sort sort,
-                                 final Supplier<Integer> startIndexSupplier,
-                                 final IntFunction<Integer> numOfHitsToReturnSupplier,
-                                 final ClusterSegment... clusterSegments) {
+    /**
+     * Collects a single page of sorted hits. Only startIndex + pageSize hits are kept while collecting, or just
+     * pageSize when the previous page of the same query was served from the same index segments.
+     */
+    private List<KObject> searchPage( final Query query,
+                                      final Sort sort,
+                                      final Set<String> storedFields,
+                                      final String queryName,
+                                      final Set<ValueIndexTerm> queryTerms,
+                                      final int startIndex,
+                                      final int pageSize,
+                                      final ClusterSegment... clusterSegments ) {
+        if ( pageSize <= 0 ) {
+            return Collections.emptyList();
+        }
 
         final LuceneIndexManager indexManager = ( (LuceneIndexManager) config.getIndexManager() );
         final IndexSearcher index = indexManager.getIndexSearcher( clusterSegments );
 
+        try {
+            //Never size the collector beyond the number of documents in the index
+            final int maxDoc = index.getIndexReader().maxDoc();
+            if ( maxDoc == 0 || startIndex >= maxDoc ) {
+                return Collections.emptyList();
+            }
+            final FieldDoc after = startIndex > 0 ? pageCursors.find( PageCursors.cursorKey( queryName,
+                                                                                             queryTerms,
+                                                                                             startIndex ),
+                                                                      index.getIndexReader() ) : null;
+            final TopDocs docsHit;
+            if ( after != null ) {
+                final TopFieldCollector collector = TopFieldCollector.create( sort,
+                                                                              Math.min( pageSize,
+                                                                                        maxDoc ),
+                                                                              after,
+                                                                              true,
+                                                                              false,
+                                                                              false );
+                index.search( query,
+                              collector );
+                docsHit = collector.topDocs();
+            } else {
+                final TopFieldCollector collector = TopFieldCollector.create( sort,
+                                                                              (int) Math.min( (long) startIndex + pageSize,
+                                                                                              maxDoc ),
+                                                                              true,
+                                                                              false,
+                                                                              false );
+                index.search( query,
+                              collector );
+                docsHit = collector.topDocs( startIndex,
+                                             pageSize );
+            }
+
+            final ScoreDoc[] scoreDocs = docsHit.scoreDocs;
+            if ( scoreDocs.length > 0 ) {
+                pageCursors.put( PageCursors.cursorKey( queryName,
+                                                        queryTerms,
+                                                        startIndex + scoreDocs.length ),
+                                 index.getIndexReader(),
+                                 (FieldDoc) scoreDocs[ scoreDocs.length - 1 ] );
+            }
+            return toKObjects( index,
+                               scoreDocs,
+                               storedFields );
+        } catch ( final Exception ex ) {
+            throw new RuntimeException( "Error during Query!",
+                                        ex );
+        } finally {
+            indexManager.release( index );
+        }
+    }
+
+    private List<KObject> searchAll( final Query query,
+                                     final Sort sort,
+                                     final Set<String> storedFields,
+                                     final ClusterSegment... clusterSegments ) {
+
+        final LuceneIndexManager indexManager = ( (LuceneIndexManager) config.getIndexManager() );
+        final IndexSearcher index = indexManager.getIndexSearcher( clusterSegments );
 
-        final List<KObject> result = new ArrayList<KObject>();
         try {
             final TotalHitCountCollector totalHitCountCollector = new TotalHitCountCollector();
             index.search( query,
                           totalHitCountCollector );
 
-            int numHits = totalHitCountCollector.getTotalHits();
-            if( numHits > 0 ) {
-                final TopFieldDocs docsHit = index.search(query,
-                                                          Integer.MAX_VALUE,
-                                                          sort );
-                final int startIndex = startIndexSupplier.get();
-                final int numOfHitsToReturn = numOfHitsToReturnSupplier.apply(docsHit.totalHits);
-
-                for ( int i = startIndex; i < startIndex+numOfHitsToReturn; i++ ) {
-                    result.add( toKObject( index.doc(docsHit.scoreDocs[ i ].doc) ) );
-                }
+            final int numHits = totalHitCountCollector.getTotalHits();
+            if ( numHits == 0 ) {
+                return Collections.emptyList();
             }
+            final TopFieldDocs docsHit = index.search( query,
+                                                       numHits,
+                                                       sort );
+            return toKObjects( index,
+                               docsHit.scoreDocs,
+                               storedFields );
         } catch ( final Exception ex ) {
             throw new RuntimeException( "Error during Query!",
                                         ex );
         } finally {
             indexManager.release( index );
         }
+    }
+
+    /**
+     * Loads the hits' documents in index order, which is the order stored fields are laid out on disk, and returns
+     * the KObjects in the order of the hits. Only the given stored fields, plus those identifying the KObject, are read.
+     */
+    private List<KObject> toKObjects( final IndexSearcher index,
+                                      final ScoreDoc[] scoreDocs,
+                                      final Set<String> storedFields ) throws IOException {
+        final Set<String> fieldsToLoad = storedFields == null ? null : new HashSet<String>( storedFields );
+        if ( fieldsToLoad != null ) {
+            fieldsToLoad.addAll( ResponseBuilder.KOBJECT_FIELDS );
+        }
 
-        return result;
+        final Integer[] docOrder = new Integer[ scoreDocs.length ];
+        for ( int i = 0; i < docOrder.length; i++ ) {
+            docOrder[ i ] = i;
+        }
+        Arrays.sort( docOrder,
+                     ( i1, i2 ) -> Integer.compare( scoreDocs[ i1 ].doc,
+                                                    scoreDocs[ i2 ].doc ) );
+
+        final KObject[] result = new KObject[ scoreDocs.length ];
+        for ( int i : docOrder ) {
+            final int doc = scoreDocs[ i ].doc;
+            result[ i ] = toKObject( fieldsToLoad == null ? index.doc( doc ) : index.doc( doc,
+                                                                                           fieldsToLoad ) );
+        }
+        return Arrays.asList( result );
     }
 
     /* (non-Javadoc)
@@ -17,7 +17,9 @@ package org.kie.workbench.common.services.refactoring.backend.server.query.respo
 
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -47,6 +49,12 @@ public class FileDetailsResponseBuilder
                                                              ioService );
     }
 
+    @Override
+    public Set<String> getStoredFields() {
+        //Only the KObject's key is used
+        return Collections.emptySet();
+    }
+
     @Override
     public PageResponse<RefactoringPageRow> buildResponse( final int pageSize,
                                                            final int startRow,
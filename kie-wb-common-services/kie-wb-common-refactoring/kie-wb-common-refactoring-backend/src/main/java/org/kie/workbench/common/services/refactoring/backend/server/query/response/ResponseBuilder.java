@@ -15,7 +15,11 @@
  */
 package org.kie.workbench.common.services.refactoring.backend.server.query.response;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.kie.workbench.common.services.refactoring.model.query.RefactoringPageRow;
 import org.uberfire.ext.metadata.model.KObject;
@@ -23,6 +27,24 @@ import org.uberfire.paging.PageResponse;
 
 public interface ResponseBuilder {
 
+    /**
+     * Stored fields identifying a KObject. These are always loaded, whatever {@link #getStoredFields()} returns.
+     * uberfire's KObjectUtil does not expose their names, so they are pinned by RefactoringQueryServiceImplStoredFieldsTest.
+     */
+    Set<String> KOBJECT_FIELDS = Collections.unmodifiableSet( new HashSet<String>( Arrays.asList( "id",
+                                                                                                  "type",
+                                                                                                  "cluster.id",
+                                                                                                  "segment.id",
+                                                                                                  "key" ) ) );
+
+    /**
+     * Stored fields, besides {@link #KOBJECT_FIELDS}, read from the KObjects passed to this builder.
+     * @return The field names, or null if every stored field is needed.
+     */
+    default Set<String> getStoredFields() {
+        return null;
+    }
+
     PageResponse<RefactoringPageRow> buildResponse( final int pageSize,
                                                     final int startRow,
                                                     final List<KObject> kObjects );
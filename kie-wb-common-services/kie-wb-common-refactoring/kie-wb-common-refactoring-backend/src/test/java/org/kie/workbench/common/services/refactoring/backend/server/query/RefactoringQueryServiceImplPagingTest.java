@@ -0,0 +1,192 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.workbench.common.services.refactoring.backend.server.query;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.apache.lucene.analysis.core.KeywordAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.store.RAMDirectory;
+import org.junit.Test;
+import org.kie.workbench.common.services.refactoring.backend.server.BaseIndexingTest;
+import org.kie.workbench.common.services.refactoring.backend.server.TestIndexer;
+import org.kie.workbench.common.services.refactoring.backend.server.drl.TestDrlFileIndexer;
+import org.kie.workbench.common.services.refactoring.backend.server.drl.TestDrlFileTypeDefinition;
+import org.kie.workbench.common.services.refactoring.backend.server.query.response.DefaultResponseBuilder;
+import org.kie.workbench.common.services.refactoring.backend.server.query.response.ResponseBuilder;
+import org.kie.workbench.common.services.refactoring.backend.server.query.standard.FindResourcesQuery;
+import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueIndexTerm;
+import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueIndexTerm.TermSearchType;
+import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueProjectNameIndexTerm;
+import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueResourceIndexTerm;
+import org.kie.workbench.common.services.refactoring.model.query.RefactoringPageRequest;
+import org.kie.workbench.common.services.refactoring.model.query.RefactoringPageRow;
+import org.kie.workbench.common.services.refactoring.service.ResourceType;
+import org.uberfire.java.nio.file.Path;
+import org.uberfire.paging.PageResponse;
+
+public class RefactoringQueryServiceImplPagingTest extends BaseIndexingTest<TestDrlFileTypeDefinition> {
+
+    protected Set<NamedQuery> getQueries() {
+        return new HashSet<NamedQuery>() {{
+            add( new FindResourcesQuery() {
+                @Override
+                public ResponseBuilder getResponseBuilder() {
+                    return new DefaultResponseBuilder( ioService() );
+                }
+            } );
+        }};
+    }
+
+    @Test
+    public void testPagesDoNotOverlap() throws IOException, InterruptedException {
+        //Add test files
+        final Path[] path = {
+                basePath.resolve( "drl1.drl" ),
+                basePath.resolve( "drl2.drl" ),
+                basePath.resolve( "drl3.drl" )
+        };
+
+        final String[] content = {
+                loadText( "findresources/drl1.drl" ),
+                loadText( "findresources/drl2.drl" ),
+                loadText( "findresources/drl3.drl" )
+        };
+
+        for ( int i = 0; i < path.length; ++i ) {
+            ioService().write( path[ i ], content[ i ] );
+        }
+
+        Thread.sleep( 5000 ); //wait for events to be consumed from jgit -> (notify changes -> watcher -> index) -> lucene index
+
+        final Set<Object> rows = new HashSet<Object>();
+        for ( int startRowIndex = 0; startRowIndex < path.length; startRowIndex++ ) {
+            final PageResponse<RefactoringPageRow> response = service.query( newRequest( startRowIndex ) );
+            assertEquals( 1,
+                          response.getPageRowList().size() );
+            rows.add( response.getPageRowList().get( 0 ).getValue() );
+        }
+        assertEquals( path.length,
+                      rows.size() );
+
+        final PageResponse<RefactoringPageRow> beyondLastPage = service.query( newRequest( path.length ) );
+        assertTrue( beyondLastPage.getPageRowList().isEmpty() );
+    }
+
+    @Test
+    public void testCursorKeyIgnoresTermOrder() {
+        final ValueIndexTerm term1 = new ValueResourceIndexTerm( "myRule",
+                                                                 ResourceType.RULE );
+        final ValueIndexTerm term2 = new ValueProjectNameIndexTerm( "myProject" );
+
+        final Set<ValueIndexTerm> terms1 = new LinkedHashSet<ValueIndexTerm>();
+        terms1.add( term1 );
+        terms1.add( term2 );
+        final Set<ValueIndexTerm> terms2 = new LinkedHashSet<ValueIndexTerm>();
+        terms2.add( term2 );
+        terms2.add( term1 );
+
+        assertEquals( PageCursors.cursorKey( "query", terms1, 10 ),
+                      PageCursors.cursorKey( "query", terms2, 10 ) );
+        assertTrue( !PageCursors.cursorKey( "query", terms1, 10 ).equals( PageCursors.cursorKey( "query", terms1, 20 ) ) );
+    }
+
+    @Test
+    public void testCursorsAreValidUntilTheIndexChanges() throws IOException {
+        final PageCursors cursors = new PageCursors();
+        final FieldDoc after = new FieldDoc( 0,
+                                             1.0f );
+        try ( RAMDirectory directory = new RAMDirectory();
+              IndexWriter writer = new IndexWriter( directory,
+                                                    new IndexWriterConfig( new KeywordAnalyzer() ) ) ) {
+            writer.addDocument( newDocument( "1" ) );
+            writer.addDocument( newDocument( "2" ) );
+            writer.commit();
+
+            try ( DirectoryReader reader = DirectoryReader.open( directory ) ) {
+                cursors.put( "key",
+                             reader,
+                             after );
+            }
+
+            //The same segments read through another reader
+            try ( DirectoryReader reader = DirectoryReader.open( directory ) ) {
+                assertSame( after,
+                            cursors.find( "key",
+                                          reader ) );
+            }
+
+            writer.deleteDocuments( new Term( "id",
+                                              "1" ) );
+            writer.commit();
+
+            try ( DirectoryReader reader = DirectoryReader.open( directory ) ) {
+                assertNull( cursors.find( "key",
+                                          reader ) );
+            }
+        }
+    }
+
+    private Document newDocument( final String id ) {
+        final Document document = new Document();
+        document.add( new StringField( "id",
+                                       id,
+                                       Field.Store.NO ) );
+        return document;
+    }
+
+    private RefactoringPageRequest newRequest( final int startRowIndex ) {
+        return new RefactoringPageRequest( FindResourcesQuery.NAME,
+                                           new HashSet<ValueIndexTerm>() {{
+                                               add( new ValueResourceIndexTerm( "org.kie.workbench.mock.package.myRule*",
+                                                                                ResourceType.RULE,
+                                                                                TermSearchType.WILDCARD ) );
+                                           }},
+                                           startRowIndex,
+                                           1 );
+    }
+
+    @Override
+    protected TestIndexer getIndexer() {
+        return new TestDrlFileIndexer();
+    }
+
+    @Override
+    protected TestDrlFileTypeDefinition getResourceTypeDefinition() {
+        return new TestDrlFileTypeDefinition();
+    }
+
+    @Override
+    protected String getRepositoryName() {
+        return this.getClass().getSimpleName();
+    }
+
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+*/
+
+package org.kie.workbench.common.services.refactoring.backend.server.query;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.ScoreDoc;
+import org.junit.Test;
+import org.kie.workbench.common.services.refactoring.backend.server.BaseIndexingTest;
+import org.kie.workbench.common.services.refactoring.backend.server.TestIndexer;
+import org.kie.workbench.common.services.refactoring.backend.server.drl.TestDrlFileIndexer;
+import org.kie.workbench.common.services.refactoring.backend.server.drl.TestDrlFileTypeDefinition;
+import org.kie.workbench.common.services.refactoring.backend.server.query.response.DefaultResponseBuilder;
+import org.kie.workbench.common.services.refactoring.backend.server.query.response.ResponseBuilder;
+import org.kie.workbench.common.services.refactoring.backend.server.query.standard.FindResourceReferencesQuery;
+import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueIndexTerm;
+import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueReferenceIndexTerm;
+import org.kie.workbench.common.services.refactoring.model.query.RefactoringPageRequest;
+import org.kie.workbench.common.services.refactoring.model.query.RefactoringPageRow;
+import org.kie.workbench.common.services.refactoring.service.ResourceType;
+import org.uberfire.ext.metadata.backend.lucene.index.LuceneIndexManager;
+import org.uberfire.ext.metadata.model.KObject;
+import org.uberfire.java.nio.file.Path;
+import org.uberfire.paging.PageResponse;
+
+import static org.uberfire.ext.metadata.backend.lucene.util.KObjectUtil.toKObject;
+
+/**
+ * The stored fields identifying a KObject are named by uberfire's Lucene backend. This pins
+ * {@link ResponseBuilder#KOBJECT_FIELDS} to them, so the field-restricted search keeps working if they change.
+ */
+public class RefactoringQueryServiceImplStoredFieldsTest extends BaseIndexingTest<TestDrlFileTypeDefinition> {
+
+    protected Set<NamedQuery> getQueries() {
+        return new HashSet<NamedQuery>() {{
+            add( new FindResourceReferencesQuery() {
+                @Override
+                public ResponseBuilder getResponseBuilder() {
+                    return new DefaultResponseBuilder( ioService() );
+                }
+            } );
+        }};
+    }
+
+    @Test
+    public void testKObjectFieldsRoundTrip() throws Exception {
+        final Path path = basePath.resolve( "drl1.drl" );
+        ioService().write( path,
+                           loadText( "findresources/drl1.drl" ) );
+
+        Thread.sleep( 5000 ); //wait for events to be consumed from jgit -> (notify changes -> watcher -> index) -> lucene index
+
+        final LuceneIndexManager indexManager = (LuceneIndexManager) getConfig().getIndexManager();
+        final IndexSearcher searcher = indexManager.getIndexSearcher();
+        try {
+            final ScoreDoc[] hits = searcher.search( new MatchAllDocsQuery(),
+                                                     100 ).scoreDocs;
+            assertTrue( hits.length > 0 );
+            for ( ScoreDoc hit : hits ) {
+                final Document document = searcher.doc( hit.doc );
+                for ( String field : ResponseBuilder.KOBJECT_FIELDS ) {
+                    assertNotNull( "KObject field '" + field + "' is not stored",
+                                   document.get( field ) );
+                }
+
+                final KObject expected = toKObject( document );
+                final KObject actual = toKObject( searcher.doc( hit.doc,
+                                                                ResponseBuilder.KOBJECT_FIELDS ) );
+                assertEquals( expected.getId(),
+                              actual.getId() );
+                assertEquals( expected.getType(),
+                              actual.getType() );
+                assertEquals( expected.getClusterId(),
+                              actual.getClusterId() );
+                assertEquals( expected.getSegmentId(),
+                              actual.getSegmentId() );
+                assertEquals( expected.getKey(),
+                              actual.getKey() );
+            }
+        } finally {
+            indexManager.release( searcher );
+        }
+
+        //DefaultResponseBuilder only declares the KObject fields, so the rows are built from them alone
+        final RefactoringPageRequest request = new RefactoringPageRequest( FindResourceReferencesQuery.NAME,
+                                                                           new HashSet<ValueIndexTerm>() {{
+                                                                               add( new ValueReferenceIndexTerm( "org.kie.workbench.common.services.refactoring.backend.server.drl.classes.Applicant",
+                                                                                                                 ResourceType.JAVA ) );
+                                                                           }},
+                                                                           0,
+                                                                           10 );
+        final PageResponse<RefactoringPageRow> response = service.query( request );
+        assertEquals( 1,
+                      response.getPageRowList().size() );
+        assertResponseContains( response.getPageRowList(),
+                                path );
+    }
+
+    @Override
+    protected TestIndexer getIndexer() {
+        return new TestDrlFileIndexer();
+    }
+
+    @Override
+    protected TestDrlFileTypeDefinition getResourceTypeDefinition() {
+        return new TestDrlFileTypeDefinition();
+    }
+
+    @Override
+    protected String getRepositoryName() {
+        return this.getClass().getSimpleName();
+    }
+
+}
@@ -17,8 +17,13 @@
 package org.kie.workbench.common.services.backend.builder.core;
 
 import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.context.ContextNotActiveException;
 import javax.enterprise.inject.Instance;
@@ -65,6 +70,10 @@ public class BuildHelper {
 
     private Instance< PostBuildHandler > handlers;
 
+    private final IncrementalBuildMetrics incrementalBuildMetrics = new IncrementalBuildMetrics( );
+
+    private final Map< Path, PendingBatch > pendingBatches = new HashMap<>( );
+
     public BuildHelper( ) {
     }
 
@@ -108,6 +117,7 @@ public class BuildHelper {
     }
 
     public IncrementalBuildResults addPackageResource( final Path resource ) {
+        final long start = System.nanoTime( );
         try {
             IncrementalBuildResults results = new IncrementalBuildResults( );
             final KieProject project = projectService.resolveProject( resource );
@@ -121,9 +131,11 @@ public class BuildHelper {
                 results = builder.addResource( Paths.convert( resource ) );
             }
 
+            incrementalBuildMetrics.record( 1, System.nanoTime( ) - start );
             return results;
 
         } catch ( Exception e ) {
+            incrementalBuildMetrics.recordFailure( System.nanoTime( ) - start );
             logger.error( e.getMessage( ),
                     e );
             throw ExceptionUtilities.handleException( e );
@@ -131,6 +143,7 @@ public class BuildHelper {
     }
 
     public IncrementalBuildResults deletePackageResource( final Path resource ) {
+        final long start = System.nanoTime( );
         try {
             IncrementalBuildResults results = new IncrementalBuildResults( );
             final KieProject project = projectService.resolveProject( resource );
@@ -144,9 +157,11 @@ public class BuildHelper {
                 results = builder.deleteResource( Paths.convert( resource ) );
             }
 
+            incrementalBuildMetrics.record( 1, System.nanoTime( ) - start );
             return results;
 
         } catch ( Exception e ) {
+            incrementalBuildMetrics.recordFailure( System.nanoTime( ) - start );
             logger.error( e.getMessage( ),
                     e );
             throw ExceptionUtilities.handleException( e );
@@ -154,6 +169,7 @@ public class BuildHelper {
     }
 
     public IncrementalBuildResults updatePackageResource( final Path resource ) {
+        final long start = System.nanoTime( );
         try {
             final Project project = projectService.resolveProject( resource );
 
@@ -167,9 +183,13 @@ public class BuildHelper {
                 throw new IllegalStateException( "Incremental Build requires a full build be completed first." );
             }
 
-            return builder.updateResource( Paths.convert( resource ) );
+            final IncrementalBuildResults results = builder.updateResource( Paths.convert( resource ) );
+
+            incrementalBuildMetrics.record( 1, System.nanoTime( ) - start );
+            return results;
 
         } catch ( Exception e ) {
+            incrementalBuildMetrics.recordFailure( System.nanoTime( ) - start );
             logger.error( e.getMessage( ),
                     e );
             throw ExceptionUtilities.handleException( e );
@@ -178,6 +198,7 @@ public class BuildHelper {
 
     public IncrementalBuildResults applyBatchResourceChanges( final Project project,
                                                               final Map< Path, Collection< ResourceChange > > changes ) {
+        final long start = System.nanoTime( );
         IncrementalBuildResults results = new IncrementalBuildResults( );
         try {
             if ( project == null ) {
@@ -186,19 +207,71 @@ public class BuildHelper {
             final Builder builder = cache.assertBuilder( project );
             if ( !builder.isBuilt( ) ) {
                 throw new IllegalStateException( "Incremental Build requires a full build be completed first." );
-            } else {
-                results = builder.applyBatchResourceChanges( changes );
             }
 
+            //Batches for the same project arriving while another one is being built are merged, and built once by
+            //the first of them. A batch arriving when the project is idle is built straight away.
+            final PendingBatch batch;
+            final boolean leader;
+            synchronized ( pendingBatches ) {
+                final PendingBatch pending = pendingBatches.get( project.getRootPath( ) );
+                leader = pending == null;
+                batch = leader ? new PendingBatch( ) : pending;
+                if ( leader ) {
+                    pendingBatches.put( project.getRootPath( ),
+                                        batch );
+                }
+                batch.add( changes );
+            }
+
+            if ( !leader ) {
+                results = batch.getResults( );
+                incrementalBuildMetrics.recordLatency( System.nanoTime( ) - start );
+                return results;
+            }
+
+            //One batch of the builder is built at a time, no more changes are merged once it starts
+            synchronized ( builder ) {
+                synchronized ( pendingBatches ) {
+                    pendingBatches.remove( project.getRootPath( ),
+                                           batch );
+                }
+                try {
+                    results = builder.applyBatchResourceChanges( batch.changes );
+                    batch.complete( results );
+                } catch ( RuntimeException | Error e ) {
+                    batch.fail( e );
+                    throw e;
+                }
+            }
+
+            //Repeated changes to a resource are coalesced into one, so the batch holds a change per distinct resource
+            incrementalBuildMetrics.record( batch.changes.size( ), System.nanoTime( ) - start );
             return results;
 
         } catch ( Exception e ) {
+            incrementalBuildMetrics.recordFailure( System.nanoTime( ) - start );
             logger.error( e.getMessage( ),
                     e );
             throw ExceptionUtilities.handleException( e );
         }
     }
 
+    int getPendingBatchCount( final Project project ) {
+        synchronized ( pendingBatches ) {
+            final PendingBatch pending = pendingBatches.get( project.getRootPath( ) );
+            return pending == null ? 0 : pending.count;
+        }
+    }
+
+    /**
+     * Throughput and latency of the incremental builds served by this helper.
+     * @return The metrics collected since start-up or the last reset.
+     */
+    public IncrementalBuildMetrics getIncrementalBuildMetrics( ) {
+        return incrementalBuildMetrics;
+    }
+
     private StringBuffer buildResultMessage( final Project project,
                                              final BuildResults results ) {
         StringBuffer message = new StringBuffer( );
@@ -290,6 +363,42 @@ public class BuildHelper {
         }
     }
 
+    /**
+     * Resource changes of the batches merged while waiting to be built, and the results of building them.
+     */
+    private static class PendingBatch {
+
+        private final Map< Path, Collection< ResourceChange > > changes = new LinkedHashMap<>( );
+
+        private int count;
+
+        private final CompletableFuture< IncrementalBuildResults > results = new CompletableFuture<>( );
+
+        private void add( final Map< Path, Collection< ResourceChange > > batchChanges ) {
+            count++;
+            for ( Map.Entry< Path, Collection< ResourceChange > > entry : batchChanges.entrySet( ) ) {
+                changes.computeIfAbsent( entry.getKey( ),
+                                         path -> new ArrayList<>( ) ).addAll( entry.getValue( ) );
+            }
+        }
+
+        private void complete( final IncrementalBuildResults incrementalBuildResults ) {
+            results.complete( incrementalBuildResults );
+        }
+
+        private void fail( final Throwable e ) {
+            results.completeExceptionally( e );
+        }
+
+        private IncrementalBuildResults getResults( ) throws Exception {
+            try {
+                return results.get( );
+            } catch ( ExecutionException e ) {
+                throw e.getCause( ) instanceof Exception ? ( Exception ) e.getCause( ) : e;
+            }
+        }
+    }
+
     private BuildResults doBuildAndDeploy( final Project project,
                                            final boolean suppressHandlers ) {
         try {
@@ -22,8 +22,10 @@ import java.io.Serializable;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -111,6 +113,8 @@ public class Builder implements Serializable {
 
     private final Set<String> javaResources = new HashSet<String>();
 
+    private final Object batchLock = new Object();
+
     private LRUProjectDependenciesClassLoaderCache dependenciesClassLoaderCache;
     private LRUPomModelCache pomModelCache;
     private PackageNameWhiteListService packageNameWhiteListService;
@@ -269,9 +273,9 @@ public class Builder implements Serializable {
             // X references another external class Y, Y is also accessible by the class loader.
             final KieModuleMetaData kieModuleMetaData = getKieModuleMetaDataIgnoringErrors();
 
-            //store the project dependencies ClassLoader for optimization purposes.
-            updateDependenciesClassLoader( project,
-                                           kieModuleMetaData );
+            //Building the ClassLoader acquires the pooled dependencies ClassLoader and stores it as the project entry
+            //of the dependencies ClassLoader cache, even if there are no classes to verify below.
+            kieModuleMetaData.getClassLoader();
 
             results.addAllBuildMessages( verifyClasses( kieModuleMetaData ) );
 
@@ -310,16 +314,6 @@ public class Builder implements Serializable {
         return kieBuilder;
     }
 
-    private void updateDependenciesClassLoader( final Project project,
-                                                final KieModuleMetaData kieModuleMetaData ) {
-        KieProject kieProject = projectService.resolveProject( project.getPomXMLPath() );
-        if ( kieProject != null ) {
-            dependenciesClassLoaderCache.setDependenciesClassLoader( kieProject,
-                                                                     LRUProjectDependenciesClassLoaderCache.buildClassLoader( kieProject,
-                                                                                                                              kieModuleMetaData ) );
-        }
-    }
-
     public IncrementalBuildResults addResource( final Path resource ) {
         return addResource( resource, ioService.newInputStream( resource ) );
     }
@@ -414,30 +408,30 @@ public class Builder implements Serializable {
     }
 
     public IncrementalBuildResults applyBatchResourceChanges( final Map<org.uberfire.backend.vfs.Path, Collection<ResourceChange>> changes ) {
-        synchronized ( kieFileSystem ) {
-            checkNotNull( "changes",
-                          changes );
+        checkNotNull( "changes",
+                      changes );
 
-            checkAFullBuildHasBeenPerformed();
+        checkAFullBuildHasBeenPerformed();
 
-            //Add all changes to KieFileSystem before executing the build
-            final List<String> changedFilesKieBuilderPaths = new ArrayList<String>();
-            final List<ValidationMessage> nonKieResourceValidatorAddedMessages = new ArrayList<ValidationMessage>();
-            final List<ValidationMessage> nonKieResourceValidatorRemovedMessages = new ArrayList<ValidationMessage>();
+        //Only the final state of each resource matters, so repeated changes to the same Path are applied once
+        final Map<Path, ResourceChangeType> coalescedChanges = coalesceResourceChanges( changes );
 
-            for ( final Map.Entry<org.uberfire.backend.vfs.Path, Collection<ResourceChange>> pathCollectionEntry : changes.entrySet() ) {
-                for ( final ResourceChange change : pathCollectionEntry.getValue() ) {
-                    final ResourceChangeType type = change.getType();
-                    final Path resource = Paths.convert( pathCollectionEntry.getKey() );
+        //Batches are applied one at a time, in the order they take the batch lock. Their non-KIE validations run
+        //without the KieFileSystem lock, so single resource changes in the project do not wait for them.
+        synchronized ( batchLock ) {
+            final Map<Path, List<ValidationMessage>> nonKieResourceValidations = validateNonKieResources( coalescedChanges );
 
-                    checkNotNull( "type",
-                                  type );
-                    checkNotNull( "resource",
-                                  resource );
+            synchronized ( kieFileSystem ) {
+                //Add all changes to KieFileSystem before executing the build
+                final List<String> changedFilesKieBuilderPaths = new ArrayList<String>();
+                final List<ValidationMessage> nonKieResourceValidatorAddedMessages = new ArrayList<ValidationMessage>();
+                final List<ValidationMessage> nonKieResourceValidatorRemovedMessages = new ArrayList<ValidationMessage>();
 
+                for ( final Map.Entry<Path, ResourceChangeType> change : coalescedChanges.entrySet() ) {
+                    final Path resource = change.getKey();
                     final String destinationPath = destinationPath( resource );
                     changedFilesKieBuilderPaths.add( destinationPath );
-                    switch ( type ) {
+                    switch ( change.getValue() ) {
                         case ADD:
                         case UPDATE:
                             //Only files can be processed
@@ -448,7 +442,8 @@ public class Builder implements Serializable {
                             update( nonKieResourceValidatorAddedMessages,
                                     nonKieResourceValidatorRemovedMessages,
                                     resource,
-                                    destinationPath );
+                                    destinationPath,
+                                    nonKieResourceValidations.get( resource ) );
 
                             break;
                         case DELETE:
@@ -458,19 +453,62 @@ public class Builder implements Serializable {
 
                     }
                 }
+
+                //Perform the Incremental build and get messages from incremental build
+                final IncrementalBuildResults results = new IncrementalBuildResults( projectGAV );
+                buildIncrementally( results,
+                                    toArray( changedFilesKieBuilderPaths ) );
+
+                //Copy in BuildMessages for non-KIE resources
+                results.addAllAddedMessages( convertValidationMessages( nonKieResourceValidatorAddedMessages ) );
+                results.addAllRemovedMessages( convertValidationMessages( nonKieResourceValidatorRemovedMessages ) );
+
+                return results;
             }
+        }
+    }
 
-            //Perform the Incremental build and get messages from incremental build
-            final IncrementalBuildResults results = new IncrementalBuildResults( projectGAV );
-            buildIncrementally( results,
-                                toArray( changedFilesKieBuilderPaths ) );
+    private Map<Path, ResourceChangeType> coalesceResourceChanges( final Map<org.uberfire.backend.vfs.Path, Collection<ResourceChange>> changes ) {
+        final Map<Path, ResourceChangeType> coalescedChanges = new LinkedHashMap<Path, ResourceChangeType>();
+        for ( final Map.Entry<org.uberfire.backend.vfs.Path, Collection<ResourceChange>> pathCollectionEntry : changes.entrySet() ) {
+            final Path resource = Paths.convert( pathCollectionEntry.getKey() );
+            for ( final ResourceChange change : pathCollectionEntry.getValue() ) {
+                final ResourceChangeType type = change.getType();
 
-            //Copy in BuildMessages for non-KIE resources
-            results.addAllAddedMessages( convertValidationMessages( nonKieResourceValidatorAddedMessages ) );
-            results.addAllRemovedMessages( convertValidationMessages( nonKieResourceValidatorRemovedMessages ) );
+                checkNotNull( "type",
+                              type );
+                checkNotNull( "resource",
+                              resource );
 
-            return results;
+                //Later changes supersede earlier ones (e.g. ADD followed by DELETE results in a DELETE)
+                coalescedChanges.remove( resource );
+                coalescedChanges.put( resource,
+                                      type );
+            }
+        }
+        return coalescedChanges;
+    }
+
+    private Map<Path, List<ValidationMessage>> validateNonKieResources( final Map<Path, ResourceChangeType> coalescedChanges ) {
+        final List<Path> resources = new ArrayList<Path>();
+        for ( final Map.Entry<Path, ResourceChangeType> change : coalescedChanges.entrySet() ) {
+            if ( change.getValue() != ResourceChangeType.DELETE && Files.isRegularFile( change.getKey() ) ) {
+                resources.add( change.getKey() );
+            }
+        }
+
+        //Resources without a validator have no entry; the ones validated "externally" (i.e. not covered by Kie) do
+        //The validators are CDI beans, so they run in the calling thread rather than in a shared thread pool
+        final Map<Path, List<ValidationMessage>> validations = new HashMap<Path, List<ValidationMessage>>();
+        for ( final Path resource : resources ) {
+            final BuildValidationHelper validator = getBuildValidationHelper( resource );
+            if ( validator != null ) {
+                final List<ValidationMessage> messages = validator.validate( Paths.convert( resource ) );
+                validations.put( resource,
+                                 messages == null ? Collections.<ValidationMessage>emptyList() : messages );
+            }
         }
+        return validations;
     }
 
     private String[] toArray( List<String> stringList ) {
@@ -499,17 +537,10 @@ public class Builder implements Serializable {
     private void update( final List<ValidationMessage> nonKieResourceValidatorAddedMessages,
                          final List<ValidationMessage> nonKieResourceValidatorRemovedMessages,
                          final Path resource,
-                         final String destinationPath ) {
-        //Resource Type might require "external" validation (i.e. it's not covered by Kie)
-        final BuildValidationHelper validator = getBuildValidationHelper( resource );
-        if ( validator != null ) {
-            final List<ValidationMessage> addedValidationMessages = validator.validate( Paths.convert( resource ) );
-
-            if ( !( addedValidationMessages == null || addedValidationMessages.isEmpty() ) ) {
-                for ( ValidationMessage validationMessage : addedValidationMessages ) {
-                    nonKieResourceValidatorAddedMessages.add( validationMessage );
-                }
-            }
+                         final String destinationPath,
+                         final List<ValidationMessage> addedValidationMessages ) {
+        if ( addedValidationMessages != null ) {
+            nonKieResourceValidatorAddedMessages.addAll( addedValidationMessages );
 
             final List<ValidationMessage> removedValidationMessages = nonKieResourceValidationHelperMessages.remove( resource );
             if ( !( removedValidationMessages == null || removedValidationMessages.isEmpty() ) ) {
@@ -518,7 +549,7 @@ public class Builder implements Serializable {
                 }
             }
             nonKieResourceValidationHelpers.put( resource,
-                                                 validator );
+                                                 getBuildValidationHelper( resource ) );
             nonKieResourceValidationHelperMessages.put( resource,
                                                         addedValidationMessages );
         }
@@ -586,9 +617,17 @@ public class Builder implements Serializable {
     }
 
     public KieModuleMetaData getKieModuleMetaDataIgnoringErrors() {
-        return KieModuleMetaData.Factory.newKieModuleMetaData( getKieModuleIgnoringErrors(),
-                                                               DependencyFilter.COMPILE_FILTER );
+        final KieModule kieModule = getKieModuleIgnoringErrors();
+        final KieProject kieProject = projectService.resolveProject( project.getPomXMLPath() );
+        if ( kieProject == null ) {
+            return KieModuleMetaData.Factory.newKieModuleMetaData( kieModule,
+                                                                   DependencyFilter.COMPILE_FILTER );
+        }
 
+        //Projects with the same dependencies share the ClassLoader of the dependency classes
+        return dependenciesClassLoaderCache.newKieModuleMetaData( kieProject,
+                                                                  kieModule,
+                                                                  DependencyFilter.COMPILE_FILTER );
     }
 
     public TypeSourceResolver getTypeSourceResolver( KieModuleMetaData kieModuleMetaData ) {
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.builder.core;
+
+import java.io.File;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reference counted pool of project dependencies ClassLoaders. Projects resolving to the same set of dependency
+ * artifacts share a single ClassLoader, and hence a single copy of the dependency classes. Artifacts are identified
+ * by their location plus size and last modification time, so a re-deployed SNAPSHOT results in a new ClassLoader.
+ * <p>
+ * The dependencies are still resolved for every project. {@link PooledKieModuleMetaData} hands the resulting
+ * ClassLoader to the pool before loading any class through it, and builds the project ClassLoader on top of the
+ * pooled one, so the dependency classes are loaded and verified once.
+ * <p>
+ * ClassLoaders are never closed by the pool. A released ClassLoader can still be the parent of project ClassLoaders
+ * or KieContainers created while it was pooled. Closing it would break the lazy loading of their classes and
+ * resources, so it is left to the garbage collector once no longer referenced.
+ */
+class DependenciesClassLoaderPool<P> {
+
+    private final Map<DependenciesKey, PooledClassLoader> pool = new HashMap<>();
+
+    private final Map<P, DependenciesKey> projectKeys = new HashMap<>();
+
+    /**
+     * Registers the dependencies ClassLoader resolved for a project.
+     * @param project The project owning the ClassLoader
+     * @param classLoader The dependencies ClassLoader just resolved for the project
+     * @return A pooled ClassLoader with the same dependencies, or the given one if none was pooled yet.
+     */
+    synchronized ClassLoader acquire(final P project,
+                                     final ClassLoader classLoader) {
+        if (!(classLoader instanceof URLClassLoader)) {
+            release(project);
+            return classLoader;
+        }
+
+        final DependenciesKey key = new DependenciesKey((URLClassLoader) classLoader);
+        //A project acquiring its unchanged dependencies again keeps its reference
+        if (key.equals(projectKeys.get(project))) {
+            return pool.get(key).classLoader;
+        }
+
+        release(project);
+        PooledClassLoader pooled = pool.get(key);
+        if (pooled == null) {
+            pooled = new PooledClassLoader(classLoader);
+            pool.put(key,
+                     pooled);
+        }
+        pooled.references++;
+        projectKeys.put(project,
+                        key);
+        return pooled.classLoader;
+    }
+
+    synchronized void release(final P project) {
+        final DependenciesKey key = projectKeys.remove(project);
+        if (key == null) {
+            return;
+        }
+        final PooledClassLoader pooled = pool.get(key);
+        if (pooled != null && --pooled.references <= 0) {
+            pool.remove(key);
+        }
+    }
+
+    /**
+     * Releases the ClassLoaders of every project no longer in use.
+     * @param activeProjects Projects whose ClassLoaders are still referenced.
+     */
+    synchronized void retainAll(final Collection<P> activeProjects) {
+        final List<P> inactiveProjects = new ArrayList<>();
+        for (P project : projectKeys.keySet()) {
+            if (!activeProjects.contains(project)) {
+                inactiveProjects.add(project);
+            }
+        }
+        inactiveProjects.forEach(this::release);
+    }
+
+    synchronized int size() {
+        return pool.size();
+    }
+
+    private static class PooledClassLoader {
+
+        private final ClassLoader classLoader;
+
+        private int references;
+
+        private PooledClassLoader(final ClassLoader classLoader) {
+            this.classLoader = classLoader;
+        }
+    }
+
+    static class DependenciesKey {
+
+        private final ClassLoader parent;
+
+        private final List<String> artifacts = new ArrayList<>();
+
+        DependenciesKey(final URLClassLoader classLoader) {
+            this.parent = classLoader.getParent();
+            //URL order is preserved as it determines class resolution order
+            for (URL url : classLoader.getURLs()) {
+                artifacts.add(describe(url));
+            }
+        }
+
+        private static String describe(final URL url) {
+            final String location = url.toExternalForm();
+            if (!"file".equals(url.getProtocol())) {
+                return location;
+            }
+            try {
+                final File file = new File(url.toURI());
+                return location + "#" + file.length() + "#" + file.lastModified();
+            } catch (URISyntaxException | IllegalArgumentException e) {
+                return location;
+            }
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof DependenciesKey)) {
+                return false;
+            }
+            final DependenciesKey that = (DependenciesKey) o;
+            return parent == that.parent && artifacts.equals(that.artifacts);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(parent) + artifacts.hashCode();
+        }
+    }
+}
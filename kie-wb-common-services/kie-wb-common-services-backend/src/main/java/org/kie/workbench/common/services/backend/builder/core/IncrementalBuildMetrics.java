@@ -0,0 +1,125 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.builder.core;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects throughput and latency figures for incremental builds executed through {@link BuildHelper}.
+ * Latencies are kept for the most recent {@link #SAMPLE_SIZE} incremental build requests.
+ */
+public class IncrementalBuildMetrics {
+
+    static final int SAMPLE_SIZE = 1024;
+
+    private final long[] latencies = new long[ SAMPLE_SIZE ];
+
+    private int samples;
+
+    private int next;
+
+    private long totalChanges;
+
+    private long totalNanos;
+
+    private long failures;
+
+    /**
+     * Records an incremental build request.
+     * @param changes Number of distinct resources affected by the request
+     * @param elapsedNanos Time from receiving the request to having the results
+     */
+    public synchronized void record( final int changes,
+                                     final long elapsedNanos ) {
+        recordLatency( elapsedNanos );
+        totalChanges += changes;
+        totalNanos += elapsedNanos;
+    }
+
+    /**
+     * Records an incremental build request that failed. Its latency is kept with the others, but as its changes
+     * were not processed it does not count towards the throughput.
+     * @param elapsedNanos Time from receiving the request to the failure
+     */
+    public synchronized void recordFailure( final long elapsedNanos ) {
+        recordLatency( elapsedNanos );
+        failures++;
+    }
+
+    /**
+     * Records the latency of an incremental build request whose changes were merged into, and counted with,
+     * the batch of another request.
+     * @param elapsedNanos Time from receiving the request to having the results
+     */
+    public synchronized void recordLatency( final long elapsedNanos ) {
+        latencies[ next ] = elapsedNanos;
+        next = ( next + 1 ) % SAMPLE_SIZE;
+        samples = Math.min( samples + 1,
+                            SAMPLE_SIZE );
+    }
+
+    public synchronized long getTotalChanges() {
+        return totalChanges;
+    }
+
+    public synchronized long getFailures() {
+        return failures;
+    }
+
+    /**
+     * @return Resource changes processed per second of incremental build time.
+     */
+    public synchronized double getThroughput() {
+        if ( totalNanos == 0 ) {
+            return 0;
+        }
+        return totalChanges / ( (double) totalNanos / TimeUnit.SECONDS.toNanos( 1 ) );
+    }
+
+    /**
+     * @param percentile Value between 0 and 100
+     * @return The latency, in milliseconds, below which the given percentile of the recent requests fall.
+     */
+    public long getLatencyPercentile( final double percentile ) {
+        final long[] sorted;
+        synchronized ( this ) {
+            if ( samples == 0 ) {
+                return 0;
+            }
+            sorted = Arrays.copyOf( latencies,
+                                    samples );
+        }
+        Arrays.sort( sorted );
+        final int index = (int) Math.ceil( percentile / 100 * sorted.length ) - 1;
+        return TimeUnit.NANOSECONDS.toMillis( sorted[ Math.max( 0,
+                                                                Math.min( index,
+                                                                          sorted.length - 1 ) ) ] );
+    }
+
+    public long getP99Latency() {
+        return getLatencyPercentile( 99 );
+    }
+
+    public synchronized void reset() {
+        samples = 0;
+        next = 0;
+        totalChanges = 0;
+        totalNanos = 0;
+        failures = 0;
+    }
+}
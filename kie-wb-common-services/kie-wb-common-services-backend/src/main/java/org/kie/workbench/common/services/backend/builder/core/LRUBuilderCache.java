@@ -16,7 +16,16 @@
 package org.kie.workbench.common.services.backend.builder.core;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Predicate;
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -27,7 +36,6 @@ import javax.enterprise.inject.Instance;
 import javax.inject.Inject;
 import javax.inject.Named;
 
-import org.guvnor.common.services.backend.cache.LRUCache;
 import org.guvnor.common.services.project.builder.events.InvalidateDMOProjectCacheEvent;
 import org.guvnor.common.services.project.builder.service.BuildValidationHelper;
 import org.guvnor.common.services.project.model.POM;
@@ -44,10 +52,14 @@ import static java.util.stream.Collectors.toCollection;
 import static java.util.stream.StreamSupport.stream;
 
 /**
- * A simple LRU cache for Builders
+ * A concurrent LRU cache for Builders. Each Project owns its own entry, holding the (possibly still under
+ * construction) Builder, so constructing the Builder for one Project never blocks readers or writers of
+ * another Project. Concurrent requests for the same Project wait for, and share, a single Builder instance.
  */
 @ApplicationScoped
-public class LRUBuilderCache extends LRUCache<Project, Builder> {
+public class LRUBuilderCache {
+
+    static final int MAX_ENTRIES = 20;
 
     private IOService ioService;
 
@@ -69,6 +81,10 @@ public class LRUBuilderCache extends LRUCache<Project, Builder> {
 
     private final List<Predicate<String>> classFilters = new ArrayList<>();
 
+    private final Map<Project, BuilderEntry> entries = new ConcurrentHashMap<>();
+
+    private final AtomicLong accessCounter = new AtomicLong();
+
     public LRUBuilderCache() {
         //CDI proxy
     }
@@ -106,7 +122,7 @@ public class LRUBuilderCache extends LRUCache<Project, Builder> {
         classFilters.forEach(filter -> classFilterBeans.destroy(filter));
     }
 
-    public synchronized void invalidateProjectCache(@Observes final InvalidateDMOProjectCacheEvent event) {
+    public void invalidateProjectCache(@Observes final InvalidateDMOProjectCacheEvent event) {
         PortablePreconditions.checkNotNull("event",
                                            event);
         final Project project = event.getProject();
@@ -117,9 +133,33 @@ public class LRUBuilderCache extends LRUCache<Project, Builder> {
         }
     }
 
-    public synchronized Builder assertBuilder(POM pom)
+    public void invalidateCache() {
+        entries.clear();
+    }
+
+    public void invalidateCache(final Project project) {
+        entries.remove(project);
+    }
+
+    public Set<Project> getKeys() {
+        return Collections.unmodifiableSet(entries.keySet());
+    }
+
+    public void setEntry(final Project project,
+                         final Builder builder) {
+        final BuilderEntry entry = new BuilderEntry(() -> builder);
+        entry.run();
+        putEntry(project,
+                 entry);
+    }
+
+    public Builder getEntry(final Project project) {
+        return getBuilder(project);
+    }
+
+    public Builder assertBuilder(POM pom)
             throws NoBuilderFoundException {
-        for (Project project : getKeys()) {
+        for (Project project : entries.keySet()) {
             if (project.getPom().getGav().equals(pom.getGav())) {
                 return makeBuilder(project);
             }
@@ -127,35 +167,143 @@ public class LRUBuilderCache extends LRUCache<Project, Builder> {
         throw new NoBuilderFoundException();
     }
 
-    public synchronized Builder assertBuilder(final Project project) {
+    public Builder assertBuilder(final Project project) {
         return makeBuilder(project);
     }
 
-    public synchronized Builder getBuilder(final Project project) {
-        return getEntry(project);
+    /**
+     * Returns the cached Builder for the Project, or null if none exists. If the Builder is being constructed by
+     * another thread this waits for that construction only; other Projects are unaffected. If that construction
+     * fails this returns null too, as the failure is reported to the caller that requested the Builder.
+     */
+    public Builder getBuilder(final Project project) {
+        final BuilderEntry entry = entries.get(project);
+        if (entry == null) {
+            return null;
+        }
+        entry.touch(accessCounter.incrementAndGet());
+        try {
+            return await(project,
+                         entry);
+        } catch (RuntimeException | Error e) {
+            return null;
+        }
     }
 
-    private Builder makeBuilder(Project project) {
-        Builder builder = getEntry(project);
-        if (builder == null) {
-            builder = new Builder(project,
-                                  ioService,
-                                  projectService,
-                                  importsService,
-                                  buildValidationHelpers,
-                                  dependenciesClassLoaderCache,
-                                  pomModelCache,
-                                  packageNameWhiteListService,
-                                  createSingleClassFilterPredicate());
+    private Builder makeBuilder(final Project project) {
+        BuilderEntry entry = entries.get(project);
+        if (entry == null) {
+            final BuilderEntry newEntry = new BuilderEntry(() -> createBuilder(project));
+            entry = entries.putIfAbsent(project,
+                                        newEntry);
+            if (entry == null) {
+                entry = newEntry;
+                evictIfNecessary(project);
+                //Construction happens outside of any shared lock; concurrent callers for this Project wait on the entry
+                entry.run();
+            }
+        }
+        entry.touch(accessCounter.incrementAndGet());
+        return await(project,
+                     entry);
+    }
 
-            setEntry(project,
-                     builder);
+    private Builder await(final Project project,
+                          final BuilderEntry entry) {
+        try {
+            return entry.await(project);
+        } catch (RuntimeException | Error e) {
+            //Do not cache failures; the next request will try to construct the Builder again
+            entries.remove(project,
+                           entry);
+            throw e;
+        }
+    }
+
+    protected Builder createBuilder(final Project project) {
+        return new Builder(project,
+                           ioService,
+                           projectService,
+                           importsService,
+                           buildValidationHelpers,
+                           dependenciesClassLoaderCache,
+                           pomModelCache,
+                           packageNameWhiteListService,
+                           createSingleClassFilterPredicate());
+    }
+
+    private void putEntry(final Project project,
+                          final BuilderEntry entry) {
+        entry.touch(accessCounter.incrementAndGet());
+        entries.put(project,
+                    entry);
+        evictIfNecessary(project);
+    }
+
+    private void evictIfNecessary(final Project retain) {
+        while (entries.size() > MAX_ENTRIES) {
+            Map.Entry<Project, BuilderEntry> eldest = null;
+            for (Map.Entry<Project, BuilderEntry> e : entries.entrySet()) {
+                if (e.getKey().equals(retain)) {
+                    continue;
+                }
+                if (eldest == null || e.getValue().lastAccess < eldest.getValue().lastAccess) {
+                    eldest = e;
+                }
+            }
+            if (eldest == null) {
+                return;
+            }
+            entries.remove(eldest.getKey(),
+                           eldest.getValue());
         }
-        return builder;
     }
 
     private Predicate<String> createSingleClassFilterPredicate() {
         return classFilters.stream().reduce(o -> true,
                                             (p1, p2) -> p1.and(p2));
     }
+
+    private static class BuilderEntry extends FutureTask<Builder> {
+
+        private volatile long lastAccess;
+
+        BuilderEntry(final Callable<Builder> callable) {
+            super(callable);
+        }
+
+        void touch(final long access) {
+            this.lastAccess = access;
+        }
+
+        Builder await(final Project project) {
+            boolean interrupted = false;
+            try {
+                while (true) {
+                    try {
+                        return get();
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+            } catch (ExecutionException e) {
+                final Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new RuntimeException("Unable to create Builder for project: " + project.getProjectName(),
+                                           cause);
+            } catch (CancellationException e) {
+                throw new RuntimeException("Builder creation was cancelled for project: " + project.getProjectName(),
+                                           e);
+            } finally {
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
 }
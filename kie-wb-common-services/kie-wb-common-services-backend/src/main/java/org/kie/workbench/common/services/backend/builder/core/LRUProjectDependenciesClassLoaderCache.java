@@ -21,6 +21,8 @@ import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 import javax.inject.Named;
 
+import org.appformer.maven.support.DependencyFilter;
+import org.drools.compiler.kie.builder.impl.InternalKieModule;
 import org.guvnor.common.services.backend.cache.LRUCache;
 import org.kie.api.builder.KieModule;
 import org.kie.scanner.KieModuleMetaData;
@@ -33,6 +35,8 @@ public class LRUProjectDependenciesClassLoaderCache extends LRUCache<KieProject,
 
     private BuildInfoService buildInfoService;
 
+    private final DependenciesClassLoaderPool<KieProject> classLoaderPool = new DependenciesClassLoaderPool<>();
+
     public LRUProjectDependenciesClassLoaderCache( ) {
     }
 
@@ -49,16 +53,56 @@ public class LRUProjectDependenciesClassLoaderCache extends LRUCache<KieProject,
         ClassLoader classLoader = getEntry(project);
         if (classLoader == null) {
             classLoader = buildClassLoader(project);
-            setEntry(project,
-                     classLoader);
+            setDependenciesClassLoader(project,
+                                       classLoader);
+            classLoader = getEntry(project);
         }
         return classLoader;
     }
 
+    /**
+     * Projects with the same dependencies share the same ClassLoader, see {@link DependenciesClassLoaderPool}.
+     */
     public synchronized void setDependenciesClassLoader(final KieProject project,
                                                         ClassLoader classLoader) {
+        acquireDependenciesClassLoader(project,
+                                       classLoader);
+    }
+
+    /**
+     * Creates the KieModuleMetaData of a project. Its ClassLoader is built on top of the pooled dependencies
+     * ClassLoader, which is also stored as the project entry of this cache.
+     */
+    public KieModuleMetaData newKieModuleMetaData(final KieProject project,
+                                                  final KieModule module,
+                                                  final DependencyFilter dependencyFilter) {
+        return new PooledKieModuleMetaData((InternalKieModule) module,
+                                           dependencyFilter,
+                                           classLoader -> acquireDependenciesClassLoader(project,
+                                                                                         classLoader));
+    }
+
+    private synchronized ClassLoader acquireDependenciesClassLoader(final KieProject project,
+                                                                    final ClassLoader classLoader) {
+        final ClassLoader pooledClassLoader = classLoaderPool.acquire(project,
+                                                                      classLoader);
         setEntry(project,
-                 classLoader);
+                 pooledClassLoader);
+        //Entries evicted by the LRU policy no longer hold a reference to their pooled ClassLoader
+        classLoaderPool.retainAll(getKeys());
+        return pooledClassLoader;
+    }
+
+    @Override
+    public synchronized void invalidateCache(final KieProject project) {
+        super.invalidateCache(project);
+        classLoaderPool.release(project);
+    }
+
+    @Override
+    public synchronized void invalidateCache() {
+        super.invalidateCache();
+        classLoaderPool.retainAll(getKeys());
     }
 
     private ClassLoader buildClassLoader(final KieProject project) {
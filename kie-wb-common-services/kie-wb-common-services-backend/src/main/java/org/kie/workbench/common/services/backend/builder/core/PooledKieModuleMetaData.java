@@ -0,0 +1,87 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.builder.core;
+
+import java.net.URLClassLoader;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.appformer.maven.support.DependencyFilter;
+import org.drools.compiler.kie.builder.impl.InternalKieModule;
+import org.drools.core.common.ProjectClassLoader;
+import org.kie.scanner.KieModuleMetaDataImpl;
+
+import static org.drools.core.util.ClassUtils.convertResourceToClassName;
+
+/**
+ * KieModuleMetaData whose project ClassLoader is built on top of a pooled dependencies ClassLoader. The dependency
+ * artifacts resolved for the module are handed to the pool before any class is loaded, so projects with the same
+ * dependencies load the dependency classes once. Classes returned by {@link #getClass(String, String)} are loaded
+ * through this ClassLoader as well.
+ */
+class PooledKieModuleMetaData extends KieModuleMetaDataImpl {
+
+    private final InternalKieModule kieModule;
+
+    private final Function<URLClassLoader, ClassLoader> dependenciesClassLoaderPool;
+
+    private ClassLoader classLoader;
+
+    /**
+     * @param kieModule The module to inspect
+     * @param dependencyFilter The dependencies of the module to resolve
+     * @param dependenciesClassLoaderPool Given the ClassLoader of the resolved dependencies, returns the pooled one
+     * to use instead.
+     */
+    PooledKieModuleMetaData(final InternalKieModule kieModule,
+                            final DependencyFilter dependencyFilter,
+                            final Function<URLClassLoader, ClassLoader> dependenciesClassLoaderPool) {
+        super(kieModule,
+              dependencyFilter);
+        this.kieModule = kieModule;
+        this.dependenciesClassLoaderPool = dependenciesClassLoaderPool;
+    }
+
+    @Override
+    public synchronized ClassLoader getClassLoader() {
+        if (classLoader == null) {
+            //The parent of the ClassLoader built by KieModuleMetaDataImpl has the resolved dependencies. No class has been
+            //loaded through it yet, so it is only used as the key to the pool.
+            final ClassLoader moduleClassLoader = super.getClassLoader();
+            final ClassLoader dependenciesClassLoader = moduleClassLoader.getParent();
+            if (!(dependenciesClassLoader instanceof URLClassLoader)) {
+                classLoader = moduleClassLoader;
+                return classLoader;
+            }
+
+            final ClassLoader pooledClassLoader = dependenciesClassLoaderPool.apply((URLClassLoader) dependenciesClassLoader);
+            if (pooledClassLoader == dependenciesClassLoader) {
+                classLoader = moduleClassLoader;
+                return classLoader;
+            }
+
+            final ProjectClassLoader projectClassLoader = ProjectClassLoader.createProjectClassLoader(pooledClassLoader);
+            for (Map.Entry<String, byte[]> entry : kieModule.getClassesMap(true).entrySet()) {
+                projectClassLoader.storeClass(convertResourceToClassName(entry.getKey()),
+                                              entry.getKey(),
+                                              entry.getValue());
+            }
+            classLoader = projectClassLoader;
+        }
+        return classLoader;
+    }
+}
@@ -19,12 +19,20 @@ package org.kie.workbench.common.services.backend.builder.core;
 import java.io.InputStream;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import javax.enterprise.inject.Instance;
 
 import com.google.common.base.Charsets;
+import org.guvnor.common.services.project.builder.model.IncrementalBuildResults;
 import org.guvnor.common.services.project.builder.service.PostBuildHandler;
 import org.guvnor.common.services.project.model.GAV;
 import org.guvnor.common.services.project.model.MavenRepositoryMetadata;
@@ -50,6 +58,7 @@ import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.uberfire.backend.server.util.Paths;
 import org.uberfire.backend.vfs.Path;
+import org.uberfire.workbench.events.ResourceUpdated;
 
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
@@ -340,8 +349,65 @@ public class BuildHelperTest {
         assertTrue(cachedFileSystemDoesNotChange());
     }
 
+    @Test
+    public void testBatchesArrivingDuringABuildAreBuiltOnce() throws Exception {
+        final Path rule1 = path("rule1.drl");
+        final Path rule2 = path();
+        final KieProject project = projectService.resolveProject(rule2);
+
+        buildHelper.build(project);
+        final Builder builder = cache.assertBuilder(project);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            final List<Future<IncrementalBuildResults>> futures = new ArrayList<>();
+            //Holding the builder keeps the first batch waiting, as if another one was being built
+            synchronized (builder) {
+                for (Path resource : new Path[]{rule1, rule2, rule2}) {
+                    futures.add(executor.submit(() -> buildHelper.applyBatchResourceChanges(project,
+                                                                                            Collections.singletonMap(resource,
+                                                                                                                     Collections.singletonList(new ResourceUpdated(""))))));
+                }
+                while (buildHelper.getPendingBatchCount(project) < 3) {
+                    Thread.sleep(10);
+                }
+            }
+            for (Future<IncrementalBuildResults> future : futures) {
+                assertNotNull(future.get(60,
+                                         TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        //The three batches are merged into one change per distinct resource
+        assertEquals(2,
+                     buildHelper.getIncrementalBuildMetrics().getTotalChanges());
+        assertEquals(0,
+                     buildHelper.getPendingBatchCount(project));
+    }
+
+    @Test
+    public void testBatchIsBuiltWithoutWaitingWhenTheProjectIsIdle() throws Exception {
+        final Path rule2 = path();
+        final KieProject project = projectService.resolveProject(rule2);
+
+        buildHelper.build(project);
+        assertNotNull(buildHelper.applyBatchResourceChanges(project,
+                                                            Collections.singletonMap(rule2,
+                                                                                     Collections.singletonList(new ResourceUpdated("")))));
+        assertEquals(1,
+                     buildHelper.getIncrementalBuildMetrics().getTotalChanges());
+        assertEquals(0,
+                     buildHelper.getPendingBatchCount(project));
+    }
+
     private Path path() throws URISyntaxException {
-        final URL urlToValidate = this.getClass().getResource("/GuvnorM2RepoDependencyExample1/src/main/resources/rule2.drl");
+        return path("rule2.drl");
+    }
+
+    private Path path(final String fileName) throws URISyntaxException {
+        final URL urlToValidate = this.getClass().getResource("/GuvnorM2RepoDependencyExample1/src/main/resources/" + fileName);
         return Paths.convert(testFileSystem.fileSystemProvider.getPath(urlToValidate.toURI()));
     }
 
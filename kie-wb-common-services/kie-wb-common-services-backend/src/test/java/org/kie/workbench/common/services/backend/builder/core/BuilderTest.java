@@ -20,19 +20,35 @@ import java.io.File;
 import java.net.URL;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 import java.util.function.Predicate;
 
 import com.google.common.io.Resources;
 import org.drools.core.rule.TypeMetaInfo;
 import org.guvnor.common.services.project.builder.model.BuildMessage;
 import org.guvnor.common.services.project.builder.model.BuildResults;
+import org.guvnor.common.services.project.builder.model.IncrementalBuildResults;
 import org.guvnor.common.services.project.builder.service.BuildService;
+import org.guvnor.common.services.project.builder.service.BuildValidationHelper;
 import org.guvnor.common.services.project.model.POM;
 import org.guvnor.common.services.project.model.Project;
+import org.guvnor.common.services.shared.message.Level;
 import org.guvnor.common.services.shared.validation.model.ValidationMessage;
 import org.junit.After;
 import org.junit.Before;
@@ -46,6 +62,7 @@ import org.kie.workbench.common.services.backend.whitelist.PackageNameSearchProv
 import org.kie.workbench.common.services.backend.whitelist.PackageNameWhiteListLoader;
 import org.kie.workbench.common.services.backend.whitelist.PackageNameWhiteListSaver;
 import org.kie.workbench.common.services.backend.whitelist.PackageNameWhiteListServiceImpl;
+import org.kie.workbench.common.services.shared.project.KieProject;
 import org.kie.workbench.common.services.shared.project.KieProjectService;
 import org.kie.workbench.common.services.shared.project.ProjectImportsService;
 import org.kie.workbench.common.services.shared.whitelist.PackageNameWhiteListService;
@@ -54,8 +71,12 @@ import org.mockito.runners.MockitoJUnitRunner;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.uberfire.backend.server.util.Paths;
+import org.uberfire.backend.vfs.Path;
 import org.uberfire.io.IOService;
 import org.uberfire.java.nio.fs.file.SimpleFileSystemProvider;
+import org.uberfire.workbench.events.ResourceChange;
+import org.uberfire.workbench.events.ResourceDeleted;
+import org.uberfire.workbench.events.ResourceUpdated;
 
 import static org.junit.Assert.*;
 import static org.mockito.Matchers.any;
@@ -67,6 +88,8 @@ public class BuilderTest
 
     private static final Logger logger = LoggerFactory.getLogger( BuilderTest.class );
 
+    private static final String VALIDATION_PREFIX = "validation-";
+
     private final Predicate<String> alwaysTrue = o -> true;
 
     @Mock
@@ -345,6 +368,183 @@ public class BuilderTest
                                new ArrayList<String>() );
     }
 
+    @Test
+    public void testKieModuleMetaDataUsesThePooledDependenciesClassLoader() throws Exception {
+        final URL url = this.getClass().getResource( "/GuvnorM2RepoDependencyExample2" );
+        final SimpleFileSystemProvider p = new SimpleFileSystemProvider();
+        final org.uberfire.java.nio.file.Path path = p.getPath( url.toURI() );
+
+        final KieProject project = projectService.resolveProject( Paths.convert( path ) );
+
+        final Builder builder = new Builder( project,
+                                             ioService,
+                                             projectService,
+                                             importsService,
+                                             new ArrayList<>(),
+                                             dependenciesClassLoaderCache,
+                                             pomModelCache,
+                                             getPackageNameWhiteListService(),
+                                             alwaysTrue );
+        builder.build();
+
+        final ClassLoader dependenciesClassLoader = dependenciesClassLoaderCache.getEntry( project );
+        assertNotNull( dependenciesClassLoader );
+
+        //A new KieModuleMetaData for the project reuses the dependencies ClassLoader registered by the build
+        final KieModuleMetaData kieModuleMetaData = builder.getKieModuleMetaDataIgnoringErrors();
+        assertSame( dependenciesClassLoader,
+                    kieModuleMetaData.getClassLoader().getParent() );
+        assertSame( dependenciesClassLoader,
+                    dependenciesClassLoaderCache.getEntry( project ) );
+    }
+
+    @Test
+    public void testBatchResourceChangesAreCoalesced() throws Exception {
+        final Map<String, AtomicInteger> validations = new ConcurrentHashMap<>();
+        final BuildValidationHelper validationHelper = mockDrlValidationHelper( path -> {
+            validations.computeIfAbsent( path.getFileName(),
+                                         name -> new AtomicInteger() ).incrementAndGet();
+            return new ArrayList<>();
+        } );
+        final Builder builder = makeBuilder( "/GuvnorM2RepoDependencyExample1",
+                                             validationHelper );
+        builder.build();
+        validations.clear();
+
+        final Map<Path, Collection<ResourceChange>> batch = new HashMap<>();
+        batch.put( getDrlPath( "rule1.drl" ),
+                   Arrays.asList( new ResourceUpdated( "" ),
+                                  new ResourceUpdated( "" ),
+                                  new ResourceUpdated( "" ) ) );
+        batch.put( getDrlPath( "rule2.drl" ),
+                   Arrays.asList( new ResourceUpdated( "" ),
+                                  new ResourceDeleted( "" ) ) );
+        builder.applyBatchResourceChanges( batch );
+
+        //Each resource is applied once, in its final state
+        assertEquals( 1,
+                      validations.get( "rule1.drl" ).get() );
+        assertFalse( validations.containsKey( "rule2.drl" ) );
+    }
+
+    @Test
+    public void testBatchResourceChangesAreValidatedInTheCallingThread() throws Exception {
+        final Set<Thread> validationThreads = Collections.newSetFromMap( new ConcurrentHashMap<>() );
+        final BuildValidationHelper validationHelper = mockDrlValidationHelper( path -> {
+            validationThreads.add( Thread.currentThread() );
+            return new ArrayList<>();
+        } );
+        final Builder builder = makeBuilder( "/GuvnorM2RepoDependencyExample1",
+                                             validationHelper );
+        builder.build();
+        validationThreads.clear();
+
+        final Map<Path, Collection<ResourceChange>> batch = new HashMap<>();
+        batch.put( getDrlPath( "rule1.drl" ),
+                   Collections.singletonList( new ResourceUpdated( "" ) ) );
+        batch.put( getDrlPath( "rule2.drl" ),
+                   Collections.singletonList( new ResourceUpdated( "" ) ) );
+        builder.applyBatchResourceChanges( batch );
+
+        assertEquals( Collections.singleton( Thread.currentThread() ),
+                      validationThreads );
+    }
+
+    @Test
+    public void testConcurrentBatchResourceChangesAreAppliedInOrder() throws Exception {
+        final AtomicInteger validationCount = new AtomicInteger();
+        final AtomicBoolean validatedUnderLock = new AtomicBoolean();
+        final Builder[] builderHolder = new Builder[ 1 ];
+        final BuildValidationHelper validationHelper = mockDrlValidationHelper( path -> {
+            if ( builderHolder[ 0 ] != null && Thread.holdsLock( builderHolder[ 0 ].getKieFileSystem() ) ) {
+                validatedUnderLock.set( true );
+            }
+            if ( !path.getFileName().equals( "rule1.drl" ) ) {
+                return new ArrayList<>();
+            }
+            final ValidationMessage message = new ValidationMessage();
+            message.setLevel( Level.WARNING );
+            message.setText( VALIDATION_PREFIX + validationCount.incrementAndGet() );
+            return new ArrayList<>( Collections.singletonList( message ) );
+        } );
+        final Builder builder = makeBuilder( "/GuvnorM2RepoDependencyExample1",
+                                             validationHelper );
+        builder.build();
+        builderHolder[ 0 ] = builder;
+        final int firstValidation = validationCount.get();
+
+        final int batches = 16;
+        final ExecutorService executor = Executors.newFixedThreadPool( 4 );
+        try {
+            final List<Future<IncrementalBuildResults>> futures = new ArrayList<>();
+            for ( int i = 0; i < batches; i++ ) {
+                futures.add( executor.submit( () -> builder.applyBatchResourceChanges( Collections.singletonMap( getDrlPath( "rule1.drl" ),
+                                                                                                                  Collections.singletonList( new ResourceUpdated( "" ) ) ) ) ) );
+            }
+
+            //Each batch removes exactly the message added by the batch applied before it
+            final Set<Integer> removed = new HashSet<>();
+            for ( Future<IncrementalBuildResults> future : futures ) {
+                final IncrementalBuildResults results = future.get( 60,
+                                                                    TimeUnit.SECONDS );
+                final List<Integer> added = getValidationNumbers( results.getAddedMessages() );
+                final List<Integer> previous = getValidationNumbers( results.getRemovedMessages() );
+                assertEquals( 1,
+                              added.size() );
+                assertEquals( 1,
+                              previous.size() );
+                assertTrue( added.get( 0 ) > firstValidation );
+                assertTrue( removed.add( previous.get( 0 ) ) );
+                assertEquals( added.get( 0 ) - 1,
+                              (int) previous.get( 0 ) );
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertFalse( validatedUnderLock.get() );
+    }
+
+    private List<Integer> getValidationNumbers( final List<BuildMessage> messages ) {
+        final List<Integer> numbers = new ArrayList<>();
+        for ( BuildMessage message : messages ) {
+            if ( message.getText() != null && message.getText().startsWith( VALIDATION_PREFIX ) ) {
+                numbers.add( Integer.parseInt( message.getText().substring( VALIDATION_PREFIX.length() ) ) );
+            }
+        }
+        return numbers;
+    }
+
+    private Builder makeBuilder( final String projectResource,
+                                 final BuildValidationHelper validationHelper ) throws Exception {
+        final URL url = this.getClass().getResource( projectResource );
+        final SimpleFileSystemProvider p = new SimpleFileSystemProvider();
+        final org.uberfire.java.nio.file.Path path = p.getPath( url.toURI() );
+
+        final Project project = projectService.resolveProject( Paths.convert( path ) );
+
+        return new Builder( project,
+                            ioService,
+                            projectService,
+                            importsService,
+                            Collections.singletonList( validationHelper ),
+                            dependenciesClassLoaderCache,
+                            pomModelCache,
+                            getPackageNameWhiteListService(),
+                            alwaysTrue );
+    }
+
+    private Path getDrlPath( final String fileName ) throws Exception {
+        final URL url = this.getClass().getResource( "/GuvnorM2RepoDependencyExample1/src/main/resources/" + fileName );
+        return Paths.convert( new SimpleFileSystemProvider().getPath( url.toURI() ) );
+    }
+
+    private BuildValidationHelper mockDrlValidationHelper( final Function<Path, List<ValidationMessage>> validation ) {
+        final BuildValidationHelper validationHelper = mock( BuildValidationHelper.class );
+        when( validationHelper.accepts( any( Path.class ) ) ).thenAnswer( invocation -> ( (Path) invocation.getArguments()[ 0 ] ).getFileName().endsWith( ".drl" ) );
+        when( validationHelper.validate( any( Path.class ) ) ).thenAnswer( invocation -> validation.apply( (Path) invocation.getArguments()[ 0 ] ) );
+        return validationHelper;
+    }
+
     private PackageNameWhiteListService getPackageNameWhiteListService() {
         return new PackageNameWhiteListServiceImpl( ioService,
                                                     mock( KieProjectService.class ),
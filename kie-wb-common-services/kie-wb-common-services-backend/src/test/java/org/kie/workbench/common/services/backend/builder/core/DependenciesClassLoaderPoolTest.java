@@ -0,0 +1,173 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.builder.core;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Collections;
+
+import org.guvnor.test.TempFiles;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class DependenciesClassLoaderPoolTest {
+
+    private DependenciesClassLoaderPool<String> pool;
+
+    private URL dependency1;
+
+    private URL dependency2;
+
+    private TempFiles tempFiles;
+
+    @Before
+    public void setUp() throws Exception {
+        pool = new DependenciesClassLoaderPool<>();
+        dependency1 = new URL( "http://localhost/repository/org/acme/a/1.0/a-1.0.jar" );
+        dependency2 = new URL( "http://localhost/repository/org/acme/b/1.0/b-1.0.jar" );
+        tempFiles = new TempFiles();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        tempFiles.deleteFiles();
+    }
+
+    @Test
+    public void testProjectsWithSameDependenciesShareClassLoader() {
+        final ClassLoader classLoader1 = newClassLoader( dependency1, dependency2 );
+        final ClassLoader classLoader2 = newClassLoader( dependency1, dependency2 );
+
+        assertSame( classLoader1, pool.acquire( "project1", classLoader1 ) );
+        assertSame( classLoader1, pool.acquire( "project2", classLoader2 ) );
+        assertEquals( 1, pool.size() );
+    }
+
+    @Test
+    public void testProjectsWithDifferentDependenciesDoNotShareClassLoader() {
+        final ClassLoader classLoader1 = newClassLoader( dependency1 );
+        final ClassLoader classLoader2 = newClassLoader( dependency1, dependency2 );
+
+        assertSame( classLoader1, pool.acquire( "project1", classLoader1 ) );
+        assertSame( classLoader2, pool.acquire( "project2", classLoader2 ) );
+        assertEquals( 2, pool.size() );
+    }
+
+    @Test
+    public void testProjectAcquiringSameDependenciesAgainKeepsClassLoader() {
+        final ClassLoader classLoader1 = newClassLoader( dependency1 );
+
+        assertSame( classLoader1, pool.acquire( "project1", classLoader1 ) );
+        assertSame( classLoader1, pool.acquire( "project1", newClassLoader( dependency1 ) ) );
+        assertEquals( 1, pool.size() );
+    }
+
+    @Test
+    public void testClassLoaderIsRemovedWhenLastProjectIsReleased() {
+        pool.acquire( "project1", newClassLoader( dependency1 ) );
+        pool.acquire( "project2", newClassLoader( dependency1 ) );
+
+        pool.release( "project1" );
+        assertEquals( 1, pool.size() );
+
+        pool.release( "project2" );
+        assertEquals( 0, pool.size() );
+    }
+
+    @Test
+    public void testReacquireReleasesPreviousClassLoader() {
+        pool.acquire( "project1", newClassLoader( dependency1 ) );
+        final ClassLoader updated = newClassLoader( dependency2 );
+
+        assertSame( updated, pool.acquire( "project1", updated ) );
+        assertEquals( 1, pool.size() );
+    }
+
+    @Test
+    public void testRetainAll() {
+        pool.acquire( "project1", newClassLoader( dependency1 ) );
+        pool.acquire( "project2", newClassLoader( dependency2 ) );
+
+        pool.retainAll( Collections.singleton( "project2" ) );
+
+        assertEquals( 1, pool.size() );
+    }
+
+    @Test
+    public void testUnchangedSnapshotJarIsShared() throws Exception {
+        final File jar = tempFiles.createTempFile( "c-1.0-SNAPSHOT.jar" );
+        writeJar( jar,
+                  "content" );
+        final ClassLoader classLoader1 = newClassLoader( jar.toURI().toURL() );
+        final ClassLoader classLoader2 = newClassLoader( jar.toURI().toURL() );
+
+        assertSame( classLoader1, pool.acquire( "project1", classLoader1 ) );
+        assertSame( classLoader1, pool.acquire( "project2", classLoader2 ) );
+    }
+
+    @Test
+    public void testRedeployedSnapshotJarWithDifferentSizeIsNotShared() throws Exception {
+        final File jar = tempFiles.createTempFile( "c-1.0-SNAPSHOT.jar" );
+        writeJar( jar,
+                  "content" );
+        final long lastModified = jar.lastModified();
+        final ClassLoader classLoader1 = newClassLoader( jar.toURI().toURL() );
+        pool.acquire( "project1", classLoader1 );
+
+        writeJar( jar,
+                  "redeployed content" );
+        assertTrue( jar.setLastModified( lastModified ) );
+        final ClassLoader classLoader2 = newClassLoader( jar.toURI().toURL() );
+
+        assertSame( classLoader2, pool.acquire( "project2", classLoader2 ) );
+        assertEquals( 2, pool.size() );
+    }
+
+    @Test
+    public void testRedeployedSnapshotJarWithDifferentModificationTimeIsNotShared() throws Exception {
+        final File jar = tempFiles.createTempFile( "c-1.0-SNAPSHOT.jar" );
+        writeJar( jar,
+                  "content" );
+        final ClassLoader classLoader1 = newClassLoader( jar.toURI().toURL() );
+        pool.acquire( "project1", classLoader1 );
+
+        writeJar( jar,
+                  "CONTENT" );
+        assertTrue( jar.setLastModified( jar.lastModified() + 60000 ) );
+        final ClassLoader classLoader2 = newClassLoader( jar.toURI().toURL() );
+
+        assertSame( classLoader2, pool.acquire( "project2", classLoader2 ) );
+        assertEquals( 2, pool.size() );
+    }
+
+    private void writeJar( final File jar,
+                           final String content ) throws Exception {
+        try ( FileOutputStream out = new FileOutputStream( jar ) ) {
+            out.write( content.getBytes( "UTF-8" ) );
+        }
+    }
+
+    private ClassLoader newClassLoader( final URL... urls ) {
+        return new URLClassLoader( urls,
+                                   getClass().getClassLoader() );
+    }
+}
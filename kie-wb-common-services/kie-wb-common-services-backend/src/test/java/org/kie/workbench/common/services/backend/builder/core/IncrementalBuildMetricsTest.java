@@ -0,0 +1,93 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.builder.core;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class IncrementalBuildMetricsTest {
+
+    @Test
+    public void testEmpty() {
+        final IncrementalBuildMetrics metrics = new IncrementalBuildMetrics();
+
+        assertEquals( 0, metrics.getTotalChanges() );
+        assertEquals( 0, metrics.getThroughput(), 0 );
+        assertEquals( 0, metrics.getP99Latency() );
+    }
+
+    @Test
+    public void testThroughput() {
+        final IncrementalBuildMetrics metrics = new IncrementalBuildMetrics();
+        metrics.record( 300, TimeUnit.SECONDS.toNanos( 2 ) );
+        metrics.record( 100, TimeUnit.SECONDS.toNanos( 2 ) );
+
+        assertEquals( 400, metrics.getTotalChanges() );
+        assertEquals( 100, metrics.getThroughput(), 0.001 );
+    }
+
+    @Test
+    public void testP99Latency() {
+        final IncrementalBuildMetrics metrics = new IncrementalBuildMetrics();
+        for ( int i = 1; i <= 100; i++ ) {
+            metrics.record( 1, TimeUnit.MILLISECONDS.toNanos( i ) );
+        }
+
+        assertEquals( 99, metrics.getP99Latency() );
+        assertEquals( 50, metrics.getLatencyPercentile( 50 ) );
+    }
+
+    @Test
+    public void testLatencyOnlyKeepsRecentSamples() {
+        final IncrementalBuildMetrics metrics = new IncrementalBuildMetrics();
+        for ( int i = 0; i < IncrementalBuildMetrics.SAMPLE_SIZE; i++ ) {
+            metrics.record( 1, TimeUnit.MILLISECONDS.toNanos( 1000 ) );
+        }
+        for ( int i = 0; i < IncrementalBuildMetrics.SAMPLE_SIZE; i++ ) {
+            metrics.record( 1, TimeUnit.MILLISECONDS.toNanos( 1 ) );
+        }
+
+        assertEquals( 1, metrics.getP99Latency() );
+    }
+
+    @Test
+    public void testFailures() {
+        final IncrementalBuildMetrics metrics = new IncrementalBuildMetrics();
+        metrics.record( 10, TimeUnit.SECONDS.toNanos( 1 ) );
+        metrics.recordFailure( TimeUnit.SECONDS.toNanos( 3 ) );
+
+        assertEquals( 1, metrics.getFailures() );
+        assertEquals( 10, metrics.getTotalChanges() );
+        assertEquals( 10, metrics.getThroughput(), 0.001 );
+        assertEquals( 3000, metrics.getP99Latency() );
+    }
+
+    @Test
+    public void testReset() {
+        final IncrementalBuildMetrics metrics = new IncrementalBuildMetrics();
+        metrics.record( 5, TimeUnit.MILLISECONDS.toNanos( 10 ) );
+        metrics.recordFailure( TimeUnit.MILLISECONDS.toNanos( 10 ) );
+        metrics.reset();
+
+        assertEquals( 0, metrics.getTotalChanges() );
+        assertEquals( 0, metrics.getFailures() );
+        assertEquals( 0, metrics.getP99Latency() );
+    }
+}
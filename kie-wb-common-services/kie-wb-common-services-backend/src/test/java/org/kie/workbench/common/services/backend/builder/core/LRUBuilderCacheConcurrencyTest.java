@@ -0,0 +1,225 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.builder.core;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.guvnor.common.services.project.model.Project;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class LRUBuilderCacheConcurrencyTest {
+
+    private final Project slowProject = mock( Project.class );
+
+    private final Project fastProject = mock( Project.class );
+
+    private final CountDownLatch slowBuilderStarted = new CountDownLatch( 1 );
+
+    private final CountDownLatch releaseSlowBuilder = new CountDownLatch( 1 );
+
+    private final Map<Project, AtomicInteger> creations = new ConcurrentHashMap<>();
+
+    private ExecutorService executor;
+
+    private LRUBuilderCache cache;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool( 8 );
+        cache = new LRUBuilderCache() {
+            @Override
+            protected Builder createBuilder( final Project project ) {
+                creations.computeIfAbsent( project,
+                                           p -> new AtomicInteger() ).incrementAndGet();
+                if ( project == slowProject ) {
+                    slowBuilderStarted.countDown();
+                    try {
+                        releaseSlowBuilder.await();
+                    } catch ( InterruptedException e ) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return mock( Builder.class );
+            }
+        };
+    }
+
+    @After
+    public void tearDown() {
+        releaseSlowBuilder.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testIndependentProjectsDoNotSerialize() throws Exception {
+        final Future<Builder> slowBuilder = executor.submit( () -> cache.assertBuilder( slowProject ) );
+        assertTrue( slowBuilderStarted.await( 10,
+                                              TimeUnit.SECONDS ) );
+
+        //While the slow Project's Builder is still being constructed other Projects must be fully served
+        final Future<Builder> fastBuilder = executor.submit( () -> cache.assertBuilder( fastProject ) );
+        assertNotNull( fastBuilder.get( 10,
+                                        TimeUnit.SECONDS ) );
+        assertSame( fastBuilder.get(),
+                    cache.getBuilder( fastProject ) );
+
+        final Future<?> invalidation = executor.submit( () -> cache.invalidateCache( fastProject ) );
+        invalidation.get( 10,
+                          TimeUnit.SECONDS );
+        assertNull( cache.getBuilder( fastProject ) );
+        assertFalse( slowBuilder.isDone() );
+
+        releaseSlowBuilder.countDown();
+        assertNotNull( slowBuilder.get( 10,
+                                        TimeUnit.SECONDS ) );
+    }
+
+    @Test
+    public void testConcurrentRequestsForSameProjectShareOneBuilder() throws Exception {
+        final int requests = 16;
+        final Future<?>[] futures = new Future<?>[requests];
+        for ( int i = 0; i < requests; i++ ) {
+            futures[ i ] = executor.submit( () -> cache.assertBuilder( slowProject ) );
+        }
+        assertTrue( slowBuilderStarted.await( 10,
+                                              TimeUnit.SECONDS ) );
+        releaseSlowBuilder.countDown();
+
+        final Builder builder = cache.getBuilder( slowProject );
+        for ( Future<?> future : futures ) {
+            assertSame( builder,
+                        future.get( 10,
+                                    TimeUnit.SECONDS ) );
+        }
+        assertEquals( 1,
+                      creations.get( slowProject ).get() );
+    }
+
+    @Test
+    public void testFailedCreationIsNotCached() {
+        final Project project = mock( Project.class );
+        final LRUBuilderCache failingCache = new LRUBuilderCache() {
+            private final AtomicInteger attempts = new AtomicInteger();
+
+            @Override
+            protected Builder createBuilder( final Project p ) {
+                if ( attempts.getAndIncrement() == 0 ) {
+                    throw new IllegalStateException( "boom" );
+                }
+                return mock( Builder.class );
+            }
+        };
+
+        try {
+            failingCache.assertBuilder( project );
+            fail( "Expected exception" );
+        } catch ( IllegalStateException e ) {
+            assertEquals( "boom",
+                          e.getMessage() );
+        }
+        assertNull( failingCache.getBuilder( project ) );
+        assertNotNull( failingCache.assertBuilder( project ) );
+    }
+
+    @Test
+    public void testFailedCreationWithErrorIsNotCached() {
+        final Project project = mock( Project.class );
+        final LRUBuilderCache failingCache = new LRUBuilderCache() {
+            private final AtomicInteger attempts = new AtomicInteger();
+
+            @Override
+            protected Builder createBuilder( final Project p ) {
+                if ( attempts.getAndIncrement() == 0 ) {
+                    throw new NoClassDefFoundError( "boom" );
+                }
+                return mock( Builder.class );
+            }
+        };
+
+        try {
+            failingCache.assertBuilder( project );
+            fail( "Expected error" );
+        } catch ( NoClassDefFoundError e ) {
+            assertEquals( "boom",
+                          e.getMessage() );
+        }
+        assertFalse( failingCache.getKeys().contains( project ) );
+        assertNotNull( failingCache.assertBuilder( project ) );
+    }
+
+    @Test
+    public void testGetBuilderReturnsNullWhenConcurrentCreationFails() throws Exception {
+        final Project project = mock( Project.class );
+        final CountDownLatch creationStarted = new CountDownLatch( 1 );
+        final CountDownLatch releaseCreation = new CountDownLatch( 1 );
+        final LRUBuilderCache failingCache = new LRUBuilderCache() {
+            @Override
+            protected Builder createBuilder( final Project p ) {
+                creationStarted.countDown();
+                try {
+                    releaseCreation.await();
+                } catch ( InterruptedException e ) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new IllegalStateException( "boom" );
+            }
+        };
+
+        final Future<Builder> creation = executor.submit( () -> failingCache.assertBuilder( project ) );
+        assertTrue( creationStarted.await( 10,
+                                           TimeUnit.SECONDS ) );
+        final Future<Builder> lookup = executor.submit( () -> failingCache.getBuilder( project ) );
+        releaseCreation.countDown();
+
+        assertNull( lookup.get( 10,
+                                TimeUnit.SECONDS ) );
+        try {
+            creation.get( 10,
+                          TimeUnit.SECONDS );
+            fail( "Expected exception" );
+        } catch ( ExecutionException e ) {
+            assertTrue( e.getCause() instanceof IllegalStateException );
+        }
+        assertFalse( failingCache.getKeys().contains( project ) );
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntryIsEvicted() {
+        final Project first = mock( Project.class );
+        cache.assertBuilder( first );
+        for ( int i = 0; i < LRUBuilderCache.MAX_ENTRIES; i++ ) {
+            cache.assertBuilder( mock( Project.class ) );
+        }
+
+        assertEquals( LRUBuilderCache.MAX_ENTRIES,
+                      cache.getKeys().size() );
+        assertFalse( cache.getKeys().contains( first ) );
+    }
+}
@@ -18,9 +18,11 @@ package org.kie.workbench.common.stunner.backend.service;
 
 import java.util.List;
 import java.util.Map;
+import javax.enterprise.inject.Instance;
 
 import org.apache.commons.lang3.StringUtils;
 import org.kie.workbench.common.stunner.core.backend.lookup.impl.AbstractVFSLookupManager;
+import org.kie.workbench.common.stunner.core.definition.service.DefinitionSetService;
 import org.kie.workbench.common.stunner.core.diagram.Diagram;
 import org.kie.workbench.common.stunner.core.diagram.Metadata;
 import org.kie.workbench.common.stunner.core.graph.Graph;
@@ -36,19 +38,25 @@ import org.slf4j.LoggerFactory;
 import org.uberfire.backend.vfs.Path;
 import org.uberfire.io.IOService;
 
+/**
+ * Looks up the diagrams by only loading their metadata, as the diagram representations do not require the graphs.
+ */
 public abstract class AbstractDiagramLookupService<M extends Metadata, D extends Diagram<Graph, M>>
-        extends AbstractVFSLookupManager<D, DiagramRepresentation, DiagramLookupRequest>
+        extends AbstractVFSLookupManager<M, DiagramRepresentation, DiagramLookupRequest>
         implements DiagramLookupManager,
                    DiagramLookupService {
 
     private static final Logger LOG = LoggerFactory.getLogger(AbstractDiagramLookupService.class.getName());
 
     private final BaseDiagramService<M, D> diagramService;
+    private final Instance<DefinitionSetService> definitionSetServiceInstances;
 
     public AbstractDiagramLookupService(final IOService ioService,
-                                        final BaseDiagramService<M, D> diagramService) {
+                                        final BaseDiagramService<M, D> diagramService,
+                                        final Instance<DefinitionSetService> definitionSetServiceInstances) {
         super(ioService);
         this.diagramService = diagramService;
+        this.definitionSetServiceInstances = definitionSetServiceInstances;
     }
 
     @Override
@@ -57,25 +65,44 @@ public abstract class AbstractDiagramLookupService<M extends Metadata, D extends
     }
 
     @Override
-    protected D getItemByPath(final Path path) {
-        return diagramService.getDiagramByPath(path);
+    protected M getItemByPath(final Path path) {
+        return diagramService.getMetadataByPath(path);
     }
 
     @Override
-    protected List<D> getItems(final DiagramLookupRequest request) {
+    protected List<M> getItems(final DiagramLookupRequest request) {
         org.uberfire.java.nio.file.Path root = parseCriteriaPath(request);
         return getItemsByPath(root);
     }
 
     @Override
     protected boolean matches(final String criteria,
-                              final Diagram item) {
+                              final M item) {
         return true;
     }
 
     @Override
-    protected DiagramRepresentation buildResult(final Diagram item) {
-        return new DiagramRepresentationImpl.DiagramRepresentationBuilder(item).build();
+    protected DiagramRepresentation buildResult(final M item) {
+        return new DiagramRepresentationImpl.DiagramRepresentationBuilder(getDiagramName(item),
+                                                                          item).build();
+    }
+
+    /**
+     * Returns the name for the diagram, which is its file name without the Definition Set's suffix, same as
+     * the diagram services name the diagrams they load.
+     */
+    protected String getDiagramName(final M metadata) {
+        final String fileName = metadata.getPath().getFileName();
+        for (final DefinitionSetService definitionSetService : definitionSetServiceInstances) {
+            if (definitionSetService.accepts(metadata.getDefinitionSetId())) {
+                final String suffix = "." + definitionSetService.getResourceType().getSuffix();
+                if (fileName.endsWith(suffix)) {
+                    return fileName.substring(0,
+                                              fileName.length() - suffix.length());
+                }
+            }
+        }
+        return fileName;
     }
 
     protected org.uberfire.java.nio.file.Path parseCriteriaPath(final DiagramLookupRequest request) {
@@ -18,12 +18,15 @@ package org.kie.workbench.common.stunner.backend.service;
 
 import java.util.Collection;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.Instance;
 import javax.inject.Inject;
 import javax.inject.Named;
 
 import org.apache.commons.lang3.StringUtils;
 import org.jboss.errai.bus.server.annotations.Service;
+import org.kie.workbench.common.stunner.core.definition.service.DefinitionSetService;
 import org.kie.workbench.common.stunner.core.diagram.Diagram;
 import org.kie.workbench.common.stunner.core.diagram.Metadata;
 import org.kie.workbench.common.stunner.core.graph.Graph;
@@ -32,6 +35,7 @@ import org.kie.workbench.common.stunner.core.lookup.diagram.DiagramLookupRequest
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.uberfire.backend.server.util.Paths;
+import org.uberfire.commons.concurrent.Managed;
 import org.uberfire.io.IOService;
 
 @ApplicationScoped
@@ -43,14 +47,20 @@ public class DiagramLookupServiceImpl
 
     protected DiagramLookupServiceImpl() {
         this(null,
+             null,
+             null,
              null);
     }
 
     @Inject
     public DiagramLookupServiceImpl(final @Named("ioStrategy") IOService ioService,
-                                    final DiagramServiceImpl diagramService) {
+                                    final DiagramServiceImpl diagramService,
+                                    final Instance<DefinitionSetService> definitionSetServiceInstances,
+                                    final @Managed ExecutorService executorService) {
         super(ioService,
-              diagramService);
+              diagramService,
+              definitionSetServiceInstances);
+        setLoadingExecutor(executorService);
     }
 
     protected org.uberfire.java.nio.file.Path parseCriteriaPath(final DiagramLookupRequest request) {
@@ -61,15 +71,15 @@ public class DiagramLookupServiceImpl
             Map<String, String> criteriaMap = AbstractCriteriaLookupManager.parseCriteria(criteria);
             String name = criteriaMap.get("name");
             if (!StringUtils.isEmpty(name)) {
-                Collection<Diagram<Graph, Metadata>> diagrams = getItemsByPath(getServiceImpl().getDiagramsPath());
-                if (null != diagrams) {
-                    final Diagram d = diagrams
+                Collection<Metadata> items = getItemsByPath(getServiceImpl().getDiagramsPath());
+                if (null != items) {
+                    final Metadata metadata = items
                             .stream()
-                            .filter(diagram -> name.equals(diagram.getName()))
+                            .filter(item -> name.equals(getDiagramName(item)))
                             .findFirst()
                             .orElse(null);
-                    if (null != d) {
-                        return Paths.convert(d.getMetadata().getPath());
+                    if (null != metadata) {
+                        return Paths.convert(metadata.getPath());
                     }
                 }
                 LOG.error("Diagram with name [" + name + "] not found.");
@@ -22,7 +22,11 @@ import java.io.InputStream;
 import java.net.URI;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.concurrent.ExecutorService;
 import javax.annotation.PostConstruct;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.enterprise.event.Reception;
 import javax.enterprise.inject.Instance;
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -47,11 +51,18 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.uberfire.backend.server.util.Paths;
 import org.uberfire.backend.vfs.Path;
+import org.uberfire.backend.vfs.PathFactory;
+import org.uberfire.commons.concurrent.Managed;
 import org.uberfire.io.IOService;
 import org.uberfire.java.nio.file.FileSystem;
 import org.uberfire.java.nio.file.FileSystemAlreadyExistsException;
 import org.uberfire.java.nio.file.StandardDeleteOption;
+import org.uberfire.workbench.events.ResourceBatchChangesEvent;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
+import org.uberfire.workbench.events.ResourceRenamedEvent;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
 
+@ApplicationScoped
 @Service
 public class DiagramServiceImpl
         extends AbstractVFSDiagramService<Metadata, Diagram<Graph, Metadata>>
@@ -72,6 +83,7 @@ public class DiagramServiceImpl
              null,
              null,
              null,
+             null,
              null);
     }
 
@@ -80,12 +92,14 @@ public class DiagramServiceImpl
                               final FactoryManager factoryManager,
                               final Instance<DefinitionSetService> definitionSetServiceInstances,
                               final @Named("ioStrategy") IOService ioService,
-                              final BackendRegistryFactory registryFactory) {
+                              final BackendRegistryFactory registryFactory,
+                              final @Managed ExecutorService executorService) {
         super(definitionManager,
               factoryManager,
               definitionSetServiceInstances,
               ioService,
               registryFactory);
+        setLoadingExecutor(executorService);
     }
 
     @PostConstruct
@@ -115,6 +129,40 @@ public class DiagramServiceImpl
                                                   name));
     }
 
+    // The metadata cache is only evicted if the service already exists, otherwise any resource event would
+    // create it, which loads all the diagrams.
+    public void onResourceUpdated(@Observes(notifyObserver = Reception.IF_EXISTS) final ResourceUpdatedEvent event) {
+        evictMetadata(event.getPath());
+    }
+
+    public void onResourceDeleted(@Observes(notifyObserver = Reception.IF_EXISTS) final ResourceDeletedEvent event) {
+        evictMetadata(event.getPath());
+    }
+
+    public void onResourceRenamed(@Observes(notifyObserver = Reception.IF_EXISTS) final ResourceRenamedEvent event) {
+        evictMetadata(event.getPath());
+    }
+
+    public void onBatchResourceChanges(@Observes(notifyObserver = Reception.IF_EXISTS) final ResourceBatchChangesEvent event) {
+        evictMetadata(event);
+    }
+
+    @Override
+    public void evictMetadata(final Path path) {
+        // The metadata files are stored along with the diagrams, and named after them.
+        if (null != path && isMetadataFile(path.getFileName())) {
+            final String fileName = path.getFileName();
+            final String uri = path.toURI();
+            final int extensionLength = METADATA_EXTENSION.length() + 1;
+            super.evictMetadata(PathFactory.newPath(fileName.substring(0,
+                                                                       fileName.length() - extensionLength),
+                                                    uri.substring(0,
+                                                                  uri.length() - extensionLength)));
+        } else {
+            super.evictMetadata(path);
+        }
+    }
+
     @Override
     protected Metadata buildMetadataInstance(final org.uberfire.backend.vfs.Path path,
                                              String defSetId,
@@ -136,6 +184,12 @@ public class DiagramServiceImpl
         return Metadata.class;
     }
 
+    @Override
+    protected Metadata copyMetadata(final Metadata metadata) {
+        return copyMetadataValues(metadata,
+                                  new MetadataImpl.MetadataImplBuilder(metadata.getDefinitionSetId()).build());
+    }
+
     @Override
     protected Metadata doSave(final Diagram diagram,
                               final String raw,
@@ -232,7 +286,8 @@ public class DiagramServiceImpl
     }
 
     private void deployAppDiagrams(final String path) {
-        ServletContext servletContext = RpcContext.getServletRequest().getServletContext();
+        // The servlet context is only available when the service is created during a remote call.
+        ServletContext servletContext = null != RpcContext.getMessage() ? RpcContext.getServletRequest().getServletContext() : null;
         if (null != servletContext) {
             String dir = servletContext.getRealPath(path);
             if (dir != null && new File(dir).exists()) {
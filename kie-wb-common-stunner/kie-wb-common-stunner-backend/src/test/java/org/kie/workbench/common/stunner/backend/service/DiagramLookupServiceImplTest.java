@@ -0,0 +1,117 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.backend.service;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import javax.enterprise.inject.Instance;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.stunner.core.definition.DefinitionSetResourceType;
+import org.kie.workbench.common.stunner.core.definition.service.DefinitionSetService;
+import org.kie.workbench.common.stunner.core.diagram.Metadata;
+import org.kie.workbench.common.stunner.core.diagram.MetadataImpl;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.backend.vfs.PathFactory;
+import org.uberfire.io.IOService;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DiagramLookupServiceImplTest {
+
+    @Mock
+    private IOService ioService;
+
+    @Mock
+    private DiagramServiceImpl diagramService;
+
+    @Mock
+    private Instance<DefinitionSetService> definitionSetServiceInstances;
+
+    @Mock
+    private ExecutorService executorService;
+
+    @Mock
+    private DefinitionSetService bpmnService;
+
+    @Mock
+    private DefinitionSetResourceType bpmnResourceType;
+
+    @Mock
+    private DefinitionSetService caseService;
+
+    @Mock
+    private DefinitionSetResourceType caseResourceType;
+
+    private DiagramLookupServiceImpl tested;
+
+    @Before
+    public void setup() {
+        when(definitionSetServiceInstances.iterator()).thenAnswer(invocation -> Arrays.asList(bpmnService,
+                                                                                              caseService).iterator());
+        when(bpmnService.accepts("bpmn")).thenReturn(true);
+        when(bpmnService.getResourceType()).thenReturn(bpmnResourceType);
+        when(bpmnResourceType.getSuffix()).thenReturn("bpmn");
+        when(caseService.accepts("case")).thenReturn(true);
+        when(caseService.getResourceType()).thenReturn(caseResourceType);
+        when(caseResourceType.getSuffix()).thenReturn("bpmn-cm");
+        tested = new DiagramLookupServiceImpl(ioService,
+                                              diagramService,
+                                              definitionSetServiceInstances,
+                                              executorService);
+    }
+
+    @Test
+    public void testDiagramNameWithoutSuffix() {
+        assertEquals("process1",
+                     tested.getDiagramName(metadata("bpmn",
+                                                    "process1.bpmn")));
+        assertEquals("case1",
+                     tested.getDiagramName(metadata("case",
+                                                    "case1.bpmn-cm")));
+    }
+
+    @Test
+    public void testDiagramNameWithDots() {
+        assertEquals("my.process.v1",
+                     tested.getDiagramName(metadata("bpmn",
+                                                    "my.process.v1.bpmn")));
+    }
+
+    @Test
+    public void testDiagramNameWithOtherSuffix() {
+        assertEquals("process1.bpmn2",
+                     tested.getDiagramName(metadata("bpmn",
+                                                    "process1.bpmn2")));
+        assertEquals("process1.bpmn",
+                     tested.getDiagramName(metadata("unknown",
+                                                    "process1.bpmn")));
+    }
+
+    private static Metadata metadata(final String defSetId,
+                                     final String fileName) {
+        return new MetadataImpl.MetadataImplBuilder(defSetId)
+                .setPath(PathFactory.newPath(fileName,
+                                             "default://master@diagrams/" + fileName))
+                .build();
+    }
+}
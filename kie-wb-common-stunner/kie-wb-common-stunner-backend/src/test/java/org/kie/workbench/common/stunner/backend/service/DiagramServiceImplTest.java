@@ -0,0 +1,191 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.backend.service;
+
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import javax.enterprise.inject.Instance;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.stunner.core.api.DefinitionManager;
+import org.kie.workbench.common.stunner.core.api.FactoryManager;
+import org.kie.workbench.common.stunner.core.definition.DefinitionSetResourceType;
+import org.kie.workbench.common.stunner.core.definition.service.DefinitionSetService;
+import org.kie.workbench.common.stunner.core.diagram.Metadata;
+import org.kie.workbench.common.stunner.core.registry.BackendRegistryFactory;
+import org.kie.workbench.common.stunner.core.registry.definition.TypeDefinitionSetRegistry;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.backend.vfs.PathFactory;
+import org.uberfire.io.IOService;
+import org.uberfire.workbench.events.ResourceBatchChangesEvent;
+import org.uberfire.workbench.events.ResourceChange;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
+import org.uberfire.workbench.events.ResourceRenamedEvent;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DiagramServiceImplTest {
+
+    private static final String URI = "default://master@stunner/diagrams/";
+
+    @Mock
+    private DefinitionManager definitionManager;
+
+    @Mock
+    private TypeDefinitionSetRegistry definitionSetRegistry;
+
+    @Mock
+    private FactoryManager factoryManager;
+
+    @Mock
+    private Instance<DefinitionSetService> definitionSetServiceInstances;
+
+    @Mock
+    private DefinitionSetService definitionSetService;
+
+    @Mock
+    private DefinitionSetResourceType resourceType;
+
+    @Mock
+    private IOService ioService;
+
+    @Mock
+    private BackendRegistryFactory registryFactory;
+
+    private Path path;
+    private TestDiagramService tested;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        path = PathFactory.newPath("diagram1.bpmn",
+                                   URI + "diagram1.bpmn");
+        when(definitionManager.definitionSets()).thenReturn(definitionSetRegistry);
+        when(definitionSetServiceInstances.iterator()).thenReturn(Collections.singletonList(definitionSetService).iterator());
+        when(definitionSetService.getResourceType()).thenReturn(resourceType);
+        when(resourceType.accept(any(Path.class))).thenReturn(true);
+        when(resourceType.getSuffix()).thenReturn("bpmn");
+        when(resourceType.getDefinitionSetType()).thenReturn((Class) Object.class);
+        tested = new TestDiagramService();
+    }
+
+    @Test
+    public void testMetadataIsEvictedOnResourceUpdated() {
+        final Metadata metadata = tested.getMetadataByPath(path);
+        tested.onResourceUpdated(updatedEvent(path));
+        assertEvicted(metadata);
+    }
+
+    @Test
+    public void testMetadataIsEvictedOnResourceDeleted() {
+        final Metadata metadata = tested.getMetadataByPath(path);
+        final ResourceDeletedEvent event = mock(ResourceDeletedEvent.class);
+        when(event.getPath()).thenReturn(path);
+        tested.onResourceDeleted(event);
+        assertEvicted(metadata);
+    }
+
+    @Test
+    public void testMetadataIsEvictedOnResourceRenamed() {
+        final Metadata metadata = tested.getMetadataByPath(path);
+        final ResourceRenamedEvent event = mock(ResourceRenamedEvent.class);
+        when(event.getPath()).thenReturn(path);
+        tested.onResourceRenamed(event);
+        assertEvicted(metadata);
+    }
+
+    @Test
+    public void testMetadataIsEvictedOnBatchResourceChanges() {
+        final Metadata metadata = tested.getMetadataByPath(path);
+        final Map<Path, Collection<ResourceChange>> batch = new HashMap<>();
+        batch.put(path,
+                  Collections.singletonList(mock(ResourceChange.class)));
+        final ResourceBatchChangesEvent event = mock(ResourceBatchChangesEvent.class);
+        when(event.getBatch()).thenReturn(batch);
+        tested.onBatchResourceChanges(event);
+        assertEvicted(metadata);
+    }
+
+    @Test
+    public void testMetadataIsEvictedOnMetadataFileUpdated() {
+        final Metadata metadata = tested.getMetadataByPath(path);
+        tested.onResourceUpdated(updatedEvent(PathFactory.newPath("diagram1.bpmn.meta",
+                                                                  URI + "diagram1.bpmn.meta")));
+        assertEvicted(metadata);
+    }
+
+    @Test
+    public void testMetadataIsKeptOnOtherResourceUpdated() {
+        final Metadata metadata = tested.getMetadataByPath(path);
+        tested.onResourceUpdated(updatedEvent(PathFactory.newPath("diagram2.bpmn.meta",
+                                                                  URI + "diagram2.bpmn.meta")));
+        tested.onResourceUpdated(updatedEvent(PathFactory.newPath("diagram2.bpmn",
+                                                                  URI + "diagram2.bpmn")));
+        assertSame(metadata,
+                   tested.getMetadataByPath(path));
+        assertEquals(1,
+                     tested.loadCount);
+    }
+
+    private void assertEvicted(final Metadata metadata) {
+        assertNotSame(metadata,
+                      tested.getMetadataByPath(path));
+        assertEquals(2,
+                     tested.loadCount);
+    }
+
+    private static ResourceUpdatedEvent updatedEvent(final Path path) {
+        final ResourceUpdatedEvent event = mock(ResourceUpdatedEvent.class);
+        when(event.getPath()).thenReturn(path);
+        return event;
+    }
+
+    private class TestDiagramService extends DiagramServiceImpl {
+
+        private int loadCount = 0;
+
+        private TestDiagramService() {
+            super(definitionManager,
+                  factoryManager,
+                  definitionSetServiceInstances,
+                  ioService,
+                  registryFactory);
+            // The file system is not initialized, only the services are.
+            initialize();
+        }
+
+        @Override
+        protected InputStream loadMetadataForPath(final Path path) {
+            loadCount++;
+            return null;
+        }
+    }
+}
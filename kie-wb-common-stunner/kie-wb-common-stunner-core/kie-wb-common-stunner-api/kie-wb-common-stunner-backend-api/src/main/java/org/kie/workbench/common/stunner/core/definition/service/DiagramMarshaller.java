@@ -17,6 +17,8 @@ package org.kie.workbench.common.stunner.core.definition.service;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 
 import org.kie.workbench.common.stunner.core.diagram.Diagram;
 import org.kie.workbench.common.stunner.core.diagram.Metadata;
@@ -48,9 +50,46 @@ public interface DiagramMarshaller<G extends Graph, M extends Metadata, D extend
      */
     String marshall(final D diagram) throws IOException;
 
+    /**
+     * Serializes a diagram instance of type <code>D</code> into the given output stream, which is not closed.
+     * @param diagram The diagram instance to serialize.
+     * @param output The output stream for the serialized diagram.
+     * @throws IOException System I/O error.
+     */
+    default void marshall(final D diagram,
+                          final OutputStream output) throws IOException {
+        marshallContent(diagram).writeTo(output);
+    }
+
+    /**
+     * Serializes a diagram instance of type <code>D</code>, and returns the content to write for it.
+     * Callers can open the target stream once this method returns, so nothing is written if the diagram
+     * cannot be serialized.
+     * By default the content is the UTF-8 encoded value from {@link #marshall(Diagram)}, marshallers that can
+     * write the diagram directly should override it.
+     * @param diagram The diagram instance to serialize.
+     * @return The content for the serialized diagram.
+     * @throws IOException System I/O error.
+     */
+    default Content marshallContent(final D diagram) throws IOException {
+        final byte[] content = marshall(diagram).getBytes(StandardCharsets.UTF_8);
+        return output -> output.write(content);
+    }
+
     /**
      * Provides a un/marshaller instance for the Diagram's metadata.
      * @return The diagram's metadata marshaller.
      */
     DiagramMetadataMarshaller<M> getMetadataMarshaller();
+
+    /**
+     * The serialized content for a diagram.
+     */
+    interface Content {
+
+        /**
+         * Writes the content into the given output stream, which is not closed.
+         */
+        void writeTo(final OutputStream output) throws IOException;
+    }
 }
@@ -24,4 +24,15 @@ import org.kie.workbench.common.stunner.core.graph.content.view.View;
 public interface GraphBoundsIndexer extends NodeBoundsIndexer<Graph<View, Node<View, Edge>>> {
 
     GraphBoundsIndexer setRootUUID(final String uuid);
+
+    /**
+     * Indexes the given node, or updates the bounds of an already indexed node and of its children,
+     * without traversing the whole graph again.
+     */
+    GraphBoundsIndexer update(final Node<View, Edge> node);
+
+    /**
+     * Removes the given node from the index.
+     */
+    GraphBoundsIndexer remove(final Node<View, Edge> node);
 }
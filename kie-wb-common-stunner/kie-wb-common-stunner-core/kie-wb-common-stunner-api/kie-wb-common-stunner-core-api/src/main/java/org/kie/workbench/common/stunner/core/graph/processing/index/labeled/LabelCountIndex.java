@@ -0,0 +1,43 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.graph.processing.index.labeled;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.kie.workbench.common.stunner.core.graph.Edge;
+import org.kie.workbench.common.stunner.core.graph.Node;
+import org.kie.workbench.common.stunner.core.graph.processing.index.Index;
+
+/**
+ * <p>A graph index that keeps the number of nodes for each label, so the cardinality of a label
+ * can be known without going through all the graph nodes.</p>
+ */
+public interface LabelCountIndex<N extends Node, E extends Edge> extends Index<N, E> {
+
+    /**
+     * Returns the number of indexed nodes with the given label.
+     */
+    int getLabelCount(final String label);
+
+    /**
+     * Returns the number of indexed nodes for each of the labels in the <code>filter</code>,
+     * or for all labels if no filter is given.
+     * Labels not being used by any node are not included.
+     */
+    Map<String, Integer> getLabelsCount(final Set<String> filter);
+}
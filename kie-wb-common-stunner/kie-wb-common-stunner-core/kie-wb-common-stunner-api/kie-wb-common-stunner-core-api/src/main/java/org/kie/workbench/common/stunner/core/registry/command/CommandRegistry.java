@@ -46,6 +46,7 @@ public interface CommandRegistry<C extends Command> extends DynamicRegistry<C>,
 
     /**
      * Returns the registered commands, can be composite commands as well.
+     * The most recently registered command comes first. The resulting list can be a read-only view.
      */
     List<C> getCommandHistory();
 
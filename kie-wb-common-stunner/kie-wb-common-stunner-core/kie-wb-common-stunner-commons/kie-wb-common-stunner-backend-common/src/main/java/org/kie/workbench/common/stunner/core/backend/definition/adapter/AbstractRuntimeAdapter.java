@@ -80,8 +80,8 @@ public abstract class AbstractRuntimeAdapter<T> implements PriorityAdapter {
 
     protected static <T extends Annotation> Collection<Field> getFieldAnnotations(final Class<?> type,
                                                                                   final Class<T> annotationType) {
-        return RuntimeAdapterUtils.getFieldAnnotations(type,
-                                                       annotationType);
+        return RuntimeAdapterUtils.getCachedFieldAnnotations(type,
+                                                             annotationType);
     }
 
     protected String getDefinitionId(final Class<?> type) {
@@ -17,21 +17,51 @@
 package org.kie.workbench.common.stunner.core.backend.definition.adapter;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
-import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.kie.workbench.common.stunner.core.definition.adapter.binding.BindableAdapterUtils;
 
+/**
+ * Reflection helpers for the runtime adapters.
+ * The fields of each class are resolved just once and kept, together with <code>MethodHandle</code> accessors,
+ * so reading or writing definition and property metadata does not need to look up the declared fields again.
+ */
 public class RuntimeAdapterUtils {
 
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class,
+                                                                        Object.class);
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class,
+                                                                        Object.class,
+                                                                        Object.class);
+
+    private static final ClassValue<ClassAccessors> ACCESSORS = new ClassValue<ClassAccessors>() {
+        @Override
+        protected ClassAccessors computeValue(final Class<?> type) {
+            return new ClassAccessors(type);
+        }
+    };
+
     @SuppressWarnings("unchecked")
     public static <T, A extends Annotation, V> V getAnnotatedFieldValue(final T object,
                                                                         final Class<A> annotationType) throws IllegalAccessException {
         Class<?> c = object.getClass();
-        while (!c.getName().equals(Object.class.getName())) {
+        while (isInspectable(c)) {
             V result = getAnnotatedFieldValue(object,
                                               c,
                                               annotationType);
@@ -49,7 +79,7 @@ public class RuntimeAdapterUtils {
         if (null != fieldNames) {
             for (String fieldName : fieldNames) {
                 Class<?> c = object.getClass();
-                while (!c.getName().equals(Object.class.getName())) {
+                while (isInspectable(c)) {
                     V result1 = getFieldValue(object,
                                               c,
                                               fieldName);
@@ -66,7 +96,7 @@ public class RuntimeAdapterUtils {
     public static <T, V> V getFieldValue(final T object,
                                          final String fieldName) throws IllegalAccessException {
         Class<?> c = object.getClass();
-        while (!c.getName().equals(Object.class.getName())) {
+        while (isInspectable(c)) {
             V result = getFieldValue(object,
                                      c,
                                      fieldName);
@@ -82,43 +112,44 @@ public class RuntimeAdapterUtils {
     public static <T, A extends Annotation, V> V getAnnotatedFieldValue(final T object,
                                                                         final Class<?> sourceType,
                                                                         final Class<A> annotationType) throws IllegalAccessException {
-        V result = null;
-        Field[] fields = sourceType.getDeclaredFields();
-        if (null != fields) {
-            for (Field field : fields) {
-                A annotation = field.getAnnotation(annotationType);
-                if (null != annotation) {
-                    field.setAccessible(true);
-                    result = (V) field.get(object);
-                    break;
-                }
-            }
-        }
-        return result;
+        final FieldAccessor accessor = ACCESSORS.get(sourceType).getFirstAnnotated(annotationType);
+        return null != accessor ? (V) accessor.get(object) : null;
     }
 
     @SuppressWarnings("unchecked")
     public static <T, V> V getFieldValue(final T object,
                                          final Class<?> sourceType,
                                          final String fieldName) throws IllegalAccessException {
-        V result = null;
-        Field[] fields = sourceType.getDeclaredFields();
-        if (null != fields) {
-            for (Field field : fields) {
-                if (field.getName().equals(fieldName)) {
-                    field.setAccessible(true);
-                    result = (V) field.get(object);
-                    break;
-                }
-            }
-        }
-        return result;
+        final FieldAccessor accessor = ACCESSORS.get(sourceType).getDeclared(fieldName);
+        return null != accessor ? (V) accessor.get(object) : null;
+    }
+
+    /**
+     * Returns the value for the given field, which must be declared by the object's class or by any of its
+     * super classes.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, V> V getFieldValue(final T object,
+                                         final Field field) throws IllegalAccessException {
+        final FieldAccessor accessor = ACCESSORS.get(field.getDeclaringClass()).getDeclared(field.getName());
+        return (V) accessor.get(object);
+    }
+
+    /**
+     * Sets the value for the given field, which must be declared by the object's class or by any of its
+     * super classes.
+     */
+    public static <T> void setFieldValue(final T object,
+                                         final Field field,
+                                         final Object value) throws IllegalAccessException {
+        ACCESSORS.get(field.getDeclaringClass()).getDeclared(field.getName()).set(object,
+                                                                                  value);
     }
 
     public static <T> Field getField(final T object,
                                      final String fieldName) throws IllegalAccessException {
         Class<?> c = object.getClass();
-        while (!c.getName().equals(Object.class.getName())) {
+        while (isInspectable(c)) {
             Field result = getField(c,
                                     fieldName);
             if (null != result) {
@@ -131,21 +162,14 @@ public class RuntimeAdapterUtils {
 
     public static Field getField(final Class<?> sourceType,
                                  final String fieldName) throws IllegalAccessException {
-        Field[] fields = sourceType.getDeclaredFields();
-        if (null != fields) {
-            for (Field field : fields) {
-                if (field.getName().equals(fieldName)) {
-                    return field;
-                }
-            }
-        }
-        return null;
+        final FieldAccessor accessor = ACCESSORS.get(sourceType).getDeclared(fieldName);
+        return null != accessor ? accessor.field : null;
     }
 
     public static <T extends Annotation> T getClassAnnotation(final Class<?> type,
                                                               final Class<T> annotationType) {
         Class<?> c = type;
-        while (!c.getName().equals(Object.class.getName())) {
+        while (isInspectable(c)) {
             T result = c.getAnnotation(annotationType);
             if (null != result) {
                 return result;
@@ -155,36 +179,25 @@ public class RuntimeAdapterUtils {
         return null;
     }
 
+    /**
+     * Returns the fields annotated with the given annotation type, declared by the given type or by any of
+     * its super classes. The fields are looked up once per type, but each call returns a new collection.
+     */
     public static <T extends Annotation> Collection<Field> getFieldAnnotations(final Class<?> type,
                                                                                final Class<T> annotationType) {
-        if (null != type && null != annotationType) {
-            Collection<Field> result = new LinkedList<>();
-            Class<?> c = type;
-            while (!c.getName().equals(Object.class.getName())) {
-                Collection<Field> fields = _getFieldAnnotations(c,
-                                                                annotationType);
-                if (null != fields && !fields.isEmpty()) {
-                    result.addAll(fields);
-                }
-                c = c.getSuperclass();
-            }
-            return result;
-        }
-        return null;
+        final Collection<Field> fields = getCachedFieldAnnotations(type,
+                                                                   annotationType);
+        return null != fields ? new ArrayList<>(fields) : null;
     }
 
-    private static <T extends Annotation> Collection<Field> _getFieldAnnotations(final Class<?> type,
-                                                                                 final Class<T> annotationType) {
-        Field[] fields = type.getDeclaredFields();
-        if (null != fields) {
-            Collection<Field> result = new LinkedList<>();
-            for (Field field : fields) {
-                T annotation = field.getAnnotation(annotationType);
-                if (null != annotation) {
-                    result.add(field);
-                }
-            }
-            return result;
+    /**
+     * Same as {@link #getFieldAnnotations(Class, Class)}, but returns the cached, unmodifiable collection,
+     * as the adapters look up the annotated fields on every property read or write.
+     */
+    static <T extends Annotation> Collection<Field> getCachedFieldAnnotations(final Class<?> type,
+                                                                              final Class<T> annotationType) {
+        if (null != type && null != annotationType) {
+            return ACCESSORS.get(type).getAnnotatedInHierarchy(annotationType);
         }
         return null;
     }
@@ -196,4 +209,147 @@ public class RuntimeAdapterUtils {
     public static String getPropertyId(final Object pojo) {
         return BindableAdapterUtils.getPropertyId(pojo.getClass());
     }
+
+    private static boolean isInspectable(final Class<?> type) {
+        return null != type && !Object.class.equals(type);
+    }
+
+    private static class ClassAccessors {
+
+        private final Class<?> type;
+        private final FieldAccessor[] declared;
+        private final Map<String, FieldAccessor> declaredByName;
+        private final ConcurrentMap<Class<? extends Annotation>, Optional<FieldAccessor>> firstAnnotated = new ConcurrentHashMap<>();
+        private final ConcurrentMap<Class<? extends Annotation>, Collection<Field>> annotatedInHierarchy = new ConcurrentHashMap<>();
+
+        private ClassAccessors(final Class<?> type) {
+            this.type = type;
+            final Field[] fields = type.getDeclaredFields();
+            this.declared = new FieldAccessor[fields.length];
+            this.declaredByName = new HashMap<>(fields.length);
+            for (int i = 0; i < fields.length; i++) {
+                declared[i] = new FieldAccessor(fields[i]);
+                declaredByName.put(fields[i].getName(),
+                                   declared[i]);
+            }
+        }
+
+        private FieldAccessor getDeclared(final String fieldName) {
+            return declaredByName.get(fieldName);
+        }
+
+        private FieldAccessor getFirstAnnotated(final Class<? extends Annotation> annotationType) {
+            return firstAnnotated.computeIfAbsent(annotationType,
+                                                  a -> {
+                                                      for (final FieldAccessor accessor : declared) {
+                                                          if (null != accessor.field.getAnnotation(a)) {
+                                                              return Optional.of(accessor);
+                                                          }
+                                                      }
+                                                      return Optional.empty();
+                                                  })
+                    .orElse(null);
+        }
+
+        private Collection<Field> getAnnotatedInHierarchy(final Class<? extends Annotation> annotationType) {
+            return annotatedInHierarchy.computeIfAbsent(annotationType,
+                                                        a -> {
+                                                            final List<Field> result = new ArrayList<>();
+                                                            Class<?> c = type;
+                                                            while (isInspectable(c)) {
+                                                                for (final FieldAccessor accessor : ACCESSORS.get(c).declared) {
+                                                                    if (null != accessor.field.getAnnotation(a)) {
+                                                                        result.add(accessor.field);
+                                                                    }
+                                                                }
+                                                                c = c.getSuperclass();
+                                                            }
+                                                            return Collections.unmodifiableList(result);
+                                                        });
+        }
+    }
+
+    private static class FieldAccessor {
+
+        private final Field field;
+        // Null if the field cannot be made accessible, then reading it fails as plain reflection does.
+        private final MethodHandle getter;
+        // Created on the first write, as most fields are only read. Empty for the final fields, written by reflection.
+        private volatile Optional<MethodHandle> setter;
+
+        private FieldAccessor(final Field field) {
+            this.field = field;
+            this.getter = unreflectGetter(field);
+        }
+
+        private Object get(final Object object) throws IllegalAccessException {
+            if (null == getter) {
+                return field.get(object);
+            }
+            try {
+                return (Object) getter.invokeExact(object);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException("Cannot read field [" + field.getName() + "]",
+                                                t);
+            }
+        }
+
+        private void set(final Object object,
+                         final Object value) throws IllegalAccessException {
+            Optional<MethodHandle> handle = setter;
+            if (null == handle) {
+                handle = Optional.ofNullable(unreflectSetter(field));
+                setter = handle;
+            }
+            if (!handle.isPresent()) {
+                field.set(object,
+                          value);
+                return;
+            }
+            try {
+                handle.get().invokeExact(object,
+                                         value);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException("Cannot write field [" + field.getName() + "]",
+                                                t);
+            }
+        }
+
+        private static MethodHandle unreflectGetter(final Field field) {
+            try {
+                field.setAccessible(true);
+                final MethodHandle getter = MethodHandles.lookup().unreflectGetter(field);
+                if (Modifier.isStatic(field.getModifiers())) {
+                    return MethodHandles.dropArguments(getter.asType(MethodType.methodType(Object.class)),
+                                                       0,
+                                                       Object.class);
+                }
+                return getter.asType(GETTER_TYPE);
+            } catch (IllegalAccessException | RuntimeException e) {
+                return null;
+            }
+        }
+
+        private static MethodHandle unreflectSetter(final Field field) {
+            if (Modifier.isFinal(field.getModifiers())) {
+                return null;
+            }
+            try {
+                final MethodHandle setter = MethodHandles.lookup().unreflectSetter(field);
+                if (Modifier.isStatic(field.getModifiers())) {
+                    return MethodHandles.dropArguments(setter.asType(MethodType.methodType(void.class,
+                                                                                           Object.class)),
+                                                       0,
+                                                       Object.class);
+                }
+                return setter.asType(SETTER_TYPE);
+            } catch (IllegalAccessException | RuntimeException e) {
+                return null;
+            }
+        }
+    }
 }
@@ -26,6 +26,7 @@ import javax.enterprise.context.Dependent;
 import javax.inject.Inject;
 
 import org.kie.workbench.common.stunner.core.backend.definition.adapter.AbstractRuntimeAdapter;
+import org.kie.workbench.common.stunner.core.backend.definition.adapter.RuntimeAdapterUtils;
 import org.kie.workbench.common.stunner.core.definition.adapter.DefinitionAdapter;
 import org.kie.workbench.common.stunner.core.definition.adapter.binding.HasInheritance;
 import org.kie.workbench.common.stunner.core.definition.annotation.Definition;
@@ -189,8 +190,8 @@ public class RuntimeDefinitionAdapter<T> extends AbstractRuntimeAdapter<T>
                             final Object annotation,
                             final T definition) throws IllegalAccessException {
         if (null != annotation) {
-            field.setAccessible(true);
-            return (V) field.get(definition);
+            return RuntimeAdapterUtils.getFieldValue(definition,
+                                                     field);
         }
         return null;
     }
@@ -23,6 +23,7 @@ import java.util.Map;
 import javax.enterprise.context.Dependent;
 
 import org.kie.workbench.common.stunner.core.backend.definition.adapter.AbstractRuntimeAdapter;
+import org.kie.workbench.common.stunner.core.backend.definition.adapter.RuntimeAdapterUtils;
 import org.kie.workbench.common.stunner.core.definition.adapter.PropertyAdapter;
 import org.kie.workbench.common.stunner.core.definition.adapter.binding.BindableAdapterUtils;
 import org.kie.workbench.common.stunner.core.definition.annotation.Description;
@@ -106,25 +107,15 @@ public class RuntimePropertyAdapter<T> extends AbstractRuntimeAdapter<T> impleme
     @Override
     public Object getValue(final T property) {
         if (null != property) {
-            Class<?> c = property.getClass();
-            while (!c.getName().equals(Object.class.getName())) {
-                Field[] fields = c.getDeclaredFields();
-                if (null != fields) {
-                    for (Field field : fields) {
-                        Value annotation = field.getAnnotation(Value.class);
-                        if (null != annotation) {
-                            try {
-                                return _getValue(field,
-                                                 annotation,
-                                                 property);
-                            } catch (Exception e) {
-                                LOG.error("Error obtaining annotated value for Property with id " + getId(property),
-                                          e);
-                            }
-                        }
-                    }
+            for (final Field field : getFieldAnnotations(property.getClass(),
+                                                         Value.class)) {
+                try {
+                    return _getValue(field,
+                                     property);
+                } catch (Exception e) {
+                    LOG.error("Error obtaining annotated value for Property with id " + getId(property),
+                              e);
                 }
-                c = c.getSuperclass();
             }
         }
         return null;
@@ -133,24 +124,14 @@ public class RuntimePropertyAdapter<T> extends AbstractRuntimeAdapter<T> impleme
     @Override
     public Object getDefaultValue(final T property) {
         if (null != property) {
-            Class<?> c = property.getClass();
-            while (!c.getName().equals(Object.class.getName())) {
-                Field[] fields = c.getDeclaredFields();
-                if (null != fields) {
-                    for (Field field : fields) {
-                        DefaultValue annotation = field.getAnnotation(DefaultValue.class);
-                        if (null != annotation) {
-                            try {
-                                return _getValue(field,
-                                                 annotation,
-                                                 property);
-                            } catch (Exception e) {
-                                LOG.error("Error obtaining annotated default value for Property with id " + getId(property));
-                            }
-                        }
-                    }
+            for (final Field field : getFieldAnnotations(property.getClass(),
+                                                         DefaultValue.class)) {
+                try {
+                    return _getValue(field,
+                                     property);
+                } catch (Exception e) {
+                    LOG.error("Error obtaining annotated default value for Property with id " + getId(property));
                 }
-                c = c.getSuperclass();
             }
         }
         return null;
@@ -160,34 +141,23 @@ public class RuntimePropertyAdapter<T> extends AbstractRuntimeAdapter<T> impleme
     public Map<Object, String> getAllowedValues(final T property) {
         Map<Object, String> result = new LinkedHashMap<>();
         if (null != property) {
-            Class<?> c = property.getClass();
-            boolean done = false;
-            while (!done && !c.getName().equals(Object.class.getName())) {
-                Field[] fields = c.getDeclaredFields();
-                if (null != fields) {
-                    for (Field field : fields) {
-                        AllowedValues annotation = field.getAnnotation(AllowedValues.class);
-                        if (null != annotation) {
-                            try {
-                                Iterable<?> value = _getValue(field,
-                                                              annotation,
-                                                              property);
-                                if (null != value && value.iterator().hasNext()) {
-                                    Iterator<?> vIt = value.iterator();
-                                    while (vIt.hasNext()) {
-                                        Object v = vIt.next();
-                                        result.put(v,
-                                                   v.toString());
-                                    }
-                                }
-                                done = true;
-                            } catch (Exception e) {
-                                LOG.error("Error obtaining annotated allowed values for Property with id " + getId(property));
-                            }
+            for (final Field field : getFieldAnnotations(property.getClass(),
+                                                         AllowedValues.class)) {
+                try {
+                    Iterable<?> value = _getValue(field,
+                                                  property);
+                    if (null != value && value.iterator().hasNext()) {
+                        Iterator<?> vIt = value.iterator();
+                        while (vIt.hasNext()) {
+                            Object v = vIt.next();
+                            result.put(v,
+                                       v.toString());
                         }
                     }
+                    break;
+                } catch (Exception e) {
+                    LOG.error("Error obtaining annotated allowed values for Property with id " + getId(property));
                 }
-                c = c.getSuperclass();
             }
         }
         return !result.isEmpty() ? result : null;
@@ -195,14 +165,9 @@ public class RuntimePropertyAdapter<T> extends AbstractRuntimeAdapter<T> impleme
 
     @SuppressWarnings("unchecked")
     private <V> V _getValue(final Field field,
-                            final Object annotation,
                             final T property) throws IllegalAccessException {
-        if (null != annotation) {
-            field.setAccessible(true);
-            V result = (V) field.get(property);
-            return result;
-        }
-        return null;
+        return RuntimeAdapterUtils.getFieldValue(property,
+                                                 field);
     }
 
     @Override
@@ -213,28 +178,17 @@ public class RuntimePropertyAdapter<T> extends AbstractRuntimeAdapter<T> impleme
                 // throw new RuntimeException( "Cannot set new value for property [" + getId( property ) + "] as it is read only! " );
                 return;
             }
-            Class<?> c = property.getClass();
-            boolean done = false;
-            while (!done && !c.getName().equals(Object.class.getName())) {
-                Field[] fields = c.getDeclaredFields();
-                if (null != fields) {
-                    for (Field field : fields) {
-                        Value annotation = field.getAnnotation(Value.class);
-                        if (null != annotation) {
-                            try {
-                                field.setAccessible(true);
-                                field.set(property,
-                                          value);
-                                done = true;
-                                break;
-                            } catch (Exception e) {
-                                LOG.error("Error setting value for Property with id [" + getId(property) + "] " +
-                                                  "and value [" + (value != null ? value.toString() : "null") + "]");
-                            }
-                        }
-                    }
+            for (final Field field : getFieldAnnotations(property.getClass(),
+                                                         Value.class)) {
+                try {
+                    RuntimeAdapterUtils.setFieldValue(property,
+                                                      field,
+                                                      value);
+                    break;
+                } catch (Exception e) {
+                    LOG.error("Error setting value for Property with id [" + getId(property) + "] " +
+                                      "and value [" + (value != null ? value.toString() : "null") + "]");
                 }
-                c = c.getSuperclass();
             }
         }
     }
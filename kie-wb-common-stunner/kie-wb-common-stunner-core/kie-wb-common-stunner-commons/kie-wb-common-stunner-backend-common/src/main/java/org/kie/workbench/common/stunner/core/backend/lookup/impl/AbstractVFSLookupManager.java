@@ -18,7 +18,9 @@ package org.kie.workbench.common.stunner.core.backend.lookup.impl;
 
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 
+import org.kie.workbench.common.stunner.core.backend.util.BoundedParallelLoader;
 import org.kie.workbench.common.stunner.core.lookup.AbstractLookupManager;
 import org.kie.workbench.common.stunner.core.lookup.LookupManager;
 import org.slf4j.Logger;
@@ -39,6 +41,7 @@ public abstract class AbstractVFSLookupManager<I, T, R extends LookupManager.Loo
             LoggerFactory.getLogger(AbstractVFSLookupManager.class.getName());
 
     private final IOService ioService;
+    private BoundedParallelLoader loader = new BoundedParallelLoader();
 
     public AbstractVFSLookupManager(IOService ioService) {
         this.ioService = ioService;
@@ -50,7 +53,7 @@ public abstract class AbstractVFSLookupManager<I, T, R extends LookupManager.Loo
 
     public List<I> getItemsByPath(final org.uberfire.java.nio.file.Path root) {
         try {
-            final List<I> result = new LinkedList<I>();
+            final List<org.uberfire.backend.vfs.Path> paths = new LinkedList<>();
             if (ioService.exists(root)) {
                 walkFileTree(checkNotNull("root",
                                           root),
@@ -64,23 +67,24 @@ public abstract class AbstractVFSLookupManager<I, T, R extends LookupManager.Loo
                                                   attrs);
                                      final org.uberfire.backend.vfs.Path file = org.uberfire.backend.server.util.Paths.convert(_file);
                                      if (acceptsPath(file)) {
-                                         I item = null;
-                                         try {
-                                             // portable diagram representation.
-                                             item = getItemByPath(file);
-                                         } catch (final Exception e) {
-                                             LOG.error("Cannot load diagram for path [" + file + "]",
-                                                       e);
-                                         }
-                                         if (null != item) {
-                                             result.add(item);
-                                         }
+                                         paths.add(file);
                                      }
                                      return FileVisitResult.CONTINUE;
                                  }
                              });
             }
-            return result;
+            // The items are loaded once the walk completes, so they can be loaded in parallel.
+            return new LinkedList<>(loader.load(paths,
+                                                file -> {
+                                                    try {
+                                                        // portable diagram representation.
+                                                        return getItemByPath(file);
+                                                    } catch (final Exception e) {
+                                                        LOG.error("Cannot load diagram for path [" + file + "]",
+                                                                  e);
+                                                    }
+                                                    return null;
+                                                }));
         } catch (Exception e) {
             LOG.error("Error while loading from VFS the item with path [" + root + "].",
                       e);
@@ -88,6 +92,13 @@ public abstract class AbstractVFSLookupManager<I, T, R extends LookupManager.Loo
         return null;
     }
 
+    /**
+     * Sets the executor used to load the items in parallel, see {@link BoundedParallelLoader}.
+     */
+    public void setLoadingExecutor(final ExecutorService executor) {
+        this.loader = new BoundedParallelLoader(executor);
+    }
+
     protected IOService getIoService() {
         return ioService;
     }
@@ -18,15 +18,21 @@ package org.kie.workbench.common.stunner.core.backend.service;
 
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 import javax.enterprise.inject.Instance;
 
 import org.kie.workbench.common.stunner.core.api.DefinitionManager;
 import org.kie.workbench.common.stunner.core.api.FactoryManager;
+import org.kie.workbench.common.stunner.core.backend.util.BoundedParallelLoader;
 import org.kie.workbench.common.stunner.core.definition.adapter.binding.BindableAdapterUtils;
 import org.kie.workbench.common.stunner.core.definition.service.DefinitionSetService;
 import org.kie.workbench.common.stunner.core.definition.service.DiagramMarshaller;
@@ -46,8 +52,12 @@ import org.uberfire.io.IOService;
 import org.uberfire.java.nio.IOException;
 import org.uberfire.java.nio.file.FileAlreadyExistsException;
 import org.uberfire.java.nio.file.FileVisitResult;
+import org.uberfire.java.nio.file.OpenOption;
 import org.uberfire.java.nio.file.SimpleFileVisitor;
 import org.uberfire.java.nio.file.attribute.BasicFileAttributes;
+import org.uberfire.workbench.events.ResourceBatchChangesEvent;
+import org.uberfire.workbench.events.ResourceChange;
+import org.uberfire.workbench.events.ResourceRename;
 import org.uberfire.workbench.type.ResourceTypeDefinition;
 
 import static org.uberfire.commons.validation.PortablePreconditions.checkNotNull;
@@ -59,6 +69,8 @@ public abstract class AbstractVFSDiagramService<M extends Metadata, D extends Di
     private static final Logger LOG =
             LoggerFactory.getLogger(AbstractVFSDiagramService.class.getName());
 
+    private static final int METADATA_CACHE_SIZE = 1000;
+
     private final DefinitionManager definitionManager;
     private final FactoryManager factoryManager;
     private final IOService ioService;
@@ -66,6 +78,17 @@ public abstract class AbstractVFSDiagramService<M extends Metadata, D extends Di
     private final BackendRegistryFactory registryFactory;
     private Collection<DefinitionSetService> definitionSetServices = new LinkedList<>();
     private DiagramRegistry<D> registry;
+    private BoundedParallelLoader loader = new BoundedParallelLoader();
+    // The metadata by path uri, least recently used first. Guarded by itself.
+    private final Map<String, M> metadataCache = new LinkedHashMap<String, M>(16,
+                                                                               0.75f,
+                                                                               true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, M> eldest) {
+            return size() > METADATA_CACHE_SIZE;
+        }
+    };
+    private long metadataEvictions = 0;
 
     public AbstractVFSDiagramService(final DefinitionManager definitionManager,
                                      final FactoryManager factoryManager,
@@ -104,10 +127,11 @@ public abstract class AbstractVFSDiagramService<M extends Metadata, D extends Di
             final D diagram = factoryManager.newDiagram(name,
                                                         defSetId,
                                                         metadata);
-            final String[] raw = serizalize(diagram);
-            ioService.write(kiePath,
-                            raw[0]);
-            return Paths.convert(kiePath);
+            write(kiePath,
+                  diagram);
+            final Path result = Paths.convert(kiePath);
+            evictMetadata(result);
+            return result;
         } catch (final Exception e) {
             LOG.error("Cannot create diagram in path [" + kiePath + "]",
                       e);
@@ -133,26 +157,11 @@ public abstract class AbstractVFSDiagramService<M extends Metadata, D extends Di
         if (accepts(file)) {
             DefinitionSetService services = getServiceByPath(file);
             if (null != services) {
-                final String defSetId = getDefinitionSetId(services);
                 final String name = parseFileName(file,
                                                   services);
-                // Check if any metadata definition exist.
-                M metadata = null;
-                InputStream metaDataStream = loadMetadataForPath(file);
-                if (null != metaDataStream) {
-                    try {
-                        metadata = (M) services.getDiagramMarshaller().getMetadataMarshaller().unmarshall(metaDataStream);
-                    } catch (java.io.IOException e) {
-                        LOG.error("Cannot unmarshall metadata for diagram's path [" + file + "]",
-                                  e);
-                    }
-                }
-                if (null == metadata) {
-                    metadata = (M) buildMetadataInstance(file,
-                                                         defSetId,
-                                                         name);
-                }
-                metadata.setPath(file);
+                final M metadata = loadMetadata(file,
+                                                services,
+                                                name);
                 // Parse and load the diagram raw data.
                 final InputStream is = loadPath(file);
                 try {
@@ -173,6 +182,98 @@ public abstract class AbstractVFSDiagramService<M extends Metadata, D extends Di
         throw new UnsupportedOperationException("Diagram format not supported [" + file + "]");
     }
 
+    /**
+     * Returns the metadata for the diagram in the given path, without loading the diagram's graph.
+     * The metadata is cached by path until the diagram is modified. The cached instances are not shared, a copy
+     * of them is returned instead, see {@link #copyMetadata(Metadata)}.
+     */
+    public M getMetadataByPath(final org.uberfire.backend.vfs.Path file) {
+        if (accepts(file)) {
+            final DefinitionSetService services = getServiceByPath(file);
+            if (null != services) {
+                final String key = file.toURI();
+                final long evictions;
+                synchronized (metadataCache) {
+                    final M cached = metadataCache.get(key);
+                    if (null != cached) {
+                        return copyMetadata(cached);
+                    }
+                    evictions = metadataEvictions;
+                }
+                final M metadata = loadMetadata(file,
+                                                services,
+                                                parseFileName(file,
+                                                              services));
+                synchronized (metadataCache) {
+                    // Do not cache it if the diagram has been modified meanwhile.
+                    if (evictions == metadataEvictions && null != metadata) {
+                        metadataCache.put(key,
+                                          copyMetadata(metadata));
+                    }
+                }
+                return metadata;
+            }
+        }
+        throw new UnsupportedOperationException("Diagram format not supported [" + file + "]");
+    }
+
+    /**
+     * Discards the cached metadata for the given path, as the diagram has been modified.
+     */
+    public void evictMetadata(final org.uberfire.backend.vfs.Path path) {
+        if (null != path) {
+            synchronized (metadataCache) {
+                metadataEvictions++;
+                metadataCache.remove(path.toURI());
+            }
+        }
+    }
+
+    /**
+     * Discards the cached metadata for the paths modified in the given batch. The whole cache is discarded
+     * if the batch contains any rename, as only the target paths are present.
+     */
+    public void evictMetadata(final ResourceBatchChangesEvent event) {
+        for (final Map.Entry<org.uberfire.backend.vfs.Path, Collection<ResourceChange>> entry : event.getBatch().entrySet()) {
+            if (entry.getValue().stream().anyMatch(change -> change instanceof ResourceRename)) {
+                clearMetadata();
+                return;
+            }
+            evictMetadata(entry.getKey());
+        }
+    }
+
+    public void clearMetadata() {
+        synchronized (metadataCache) {
+            metadataEvictions++;
+            metadataCache.clear();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private M loadMetadata(final org.uberfire.backend.vfs.Path file,
+                           final DefinitionSetService services,
+                           final String name) {
+        // Check if any metadata definition exist.
+        M metadata = null;
+        InputStream metaDataStream = loadMetadataForPath(file);
+        if (null != metaDataStream) {
+            try {
+                metadata = (M) services.getDiagramMarshaller().getMetadataMarshaller().unmarshall(metaDataStream);
+            } catch (java.io.IOException e) {
+                LOG.error("Cannot unmarshall metadata for diagram's path [" + file + "]",
+                          e);
+            }
+        }
+        if (null == metadata) {
+            metadata = (M) buildMetadataInstance(file,
+                                                 getDefinitionSetId(services),
+                                                 name);
+        }
+        metadata.setPath(file);
+        return metadata;
+    }
+
     private String parseFileName(final org.uberfire.backend.vfs.Path file,
                                  final DefinitionSetService services) {
         final String n = file.getFileName();
@@ -190,7 +291,11 @@ public abstract class AbstractVFSDiagramService<M extends Metadata, D extends Di
 
     public boolean delete(final D diagram) {
         Path path = diagram.getMetadata().getPath();
-        return doDelete(path);
+        try {
+            return doDelete(path);
+        } finally {
+            evictMetadata(path);
+        }
     }
 
     protected abstract boolean doDelete(final Path path);
@@ -199,13 +304,24 @@ public abstract class AbstractVFSDiagramService<M extends Metadata, D extends Di
                                 final String raw,
                                 final String metadata);
 
+    /**
+     * Saves the given diagram. By default it serializes both the diagram and its metadata and delegates
+     * to {@link #doSave(Diagram, String, String)}, services which only store the diagram content can
+     * override it and stream the diagram by using {@link #write(org.uberfire.java.nio.file.Path, Diagram, OpenOption...)}.
+     */
+    protected M doSave(final D diagram) throws java.io.IOException {
+        final String[] raw = serizalize(diagram);
+        return doSave(diagram,
+                      raw[0],
+                      raw[1]);
+    }
+
     @SuppressWarnings("unchecked")
     private M register(final D diagram) {
         try {
-            String[] raw = serizalize(diagram);
-            return doSave(diagram,
-                          raw[0],
-                          raw[1]);
+            final M metadata = doSave(diagram);
+            evictMetadata(diagram.getMetadata().getPath());
+            return metadata;
         } catch (Exception e) {
             LOG.error("Error while saving diagram with UUID [" + diagram.getName() + "].",
                       e);
@@ -225,13 +341,31 @@ public abstract class AbstractVFSDiagramService<M extends Metadata, D extends Di
         return new String[]{rawData, metadataRaw};
     }
 
+    /**
+     * Writes the serialized diagram straight into the given path, so the whole document does not need
+     * to be kept in memory as a String. The path is only opened once the diagram has been marshalled, so
+     * a marshalling error does not leave an empty or truncated file behind.
+     */
+    @SuppressWarnings("unchecked")
+    protected void write(final org.uberfire.java.nio.file.Path path,
+                         final D diagram,
+                         final OpenOption... options) throws java.io.IOException {
+        final DefinitionSetService services = getServiceById(diagram.getMetadata().getDefinitionSetId());
+        final DiagramMarshaller<Graph, Metadata, Diagram<Graph, Metadata>> marshaller = services.getDiagramMarshaller();
+        final DiagramMarshaller.Content content = marshaller.marshallContent((Diagram<Graph, Metadata>) diagram);
+        try (final OutputStream output = ioService.newOutputStream(path,
+                                                                   options)) {
+            content.writeTo(output);
+        }
+    }
+
     public boolean contains(final D item) {
         return null != getDiagramByPath(item.getMetadata().getPath());
     }
 
     public Collection<D> getDiagramsByPath(final org.uberfire.java.nio.file.Path root) {
         try {
-            final Collection<D> result = new ArrayList<D>();
+            final List<org.uberfire.backend.vfs.Path> paths = new ArrayList<>();
             if (ioService.exists(root)) {
                 walkFileTree(checkNotNull("root",
                                           root),
@@ -245,17 +379,15 @@ public abstract class AbstractVFSDiagramService<M extends Metadata, D extends Di
                                                   attrs);
                                      org.uberfire.backend.vfs.Path file = org.uberfire.backend.server.util.Paths.convert(_file);
                                      if (accepts(file)) {
-                                         // portable diagram representation.
-                                         D diagram = getDiagramByPath(file);
-                                         if (null != diagram) {
-                                             result.add(diagram);
-                                         }
+                                         paths.add(file);
                                      }
                                      return FileVisitResult.CONTINUE;
                                  }
                              });
             }
-            return result;
+            // The diagrams are loaded once the walk completes, so they can be loaded in parallel.
+            return loader.load(paths,
+                               this::getDiagramByPath);
         } catch (Exception e) {
             LOG.error("Error while obtaining diagrams.",
                       e);
@@ -263,8 +395,30 @@ public abstract class AbstractVFSDiagramService<M extends Metadata, D extends Di
         }
     }
 
+    /**
+     * Sets the executor used to load the diagrams in parallel, see {@link BoundedParallelLoader}.
+     */
+    public void setLoadingExecutor(final ExecutorService executor) {
+        this.loader = new BoundedParallelLoader(executor);
+    }
+
     protected abstract InputStream loadMetadataForPath(final org.uberfire.backend.vfs.Path path);
 
+    /**
+     * Returns a new metadata instance with the same values as the given one.
+     */
+    protected abstract M copyMetadata(final M metadata);
+
+    protected static <T extends Metadata> T copyMetadataValues(final Metadata source,
+                                                               final T target) {
+        target.setTitle(source.getTitle());
+        target.setShapeSetId(source.getShapeSetId());
+        target.setCanvasRootUUID(source.getCanvasRootUUID());
+        target.setThumbData(source.getThumbData());
+        target.setPath(source.getPath());
+        return target;
+    }
+
     protected abstract Metadata buildMetadataInstance(final org.uberfire.backend.vfs.Path path,
                                                       final String defSetId,
                                                       final String title);
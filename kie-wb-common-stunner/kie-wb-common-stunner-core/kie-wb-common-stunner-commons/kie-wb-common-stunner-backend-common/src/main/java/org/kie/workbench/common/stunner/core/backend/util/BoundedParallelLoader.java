@@ -0,0 +1,151 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.backend.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Loads the items for the given sources using up to a bounded number of tasks on the given executor, and returns
+ * the non null ones in the same order as the sources.
+ * No threads are created here, the executor is expected to be a managed one, such as the
+ * <code>@Managed</code> uberfire executor service. If no executor is given, or the parallelism is <code>1</code>,
+ * the items are loaded sequentially in the caller's thread.
+ * Notice the loading functions are not run in the caller's thread otherwise, so they should not depend on any
+ * thread bound context, such as the request or the session ones.
+ */
+public class BoundedParallelLoader {
+
+    /**
+     * The system property for the default parallelism, which is <code>1</code> if not present, so the items
+     * are loaded sequentially in the caller's thread.
+     */
+    public static final String PARALLELISM_PROPERTY = "org.kie.stunner.diagrams.loader.parallelism";
+
+    private final ExecutorService executor;
+    private final int parallelism;
+
+    public BoundedParallelLoader() {
+        this(null,
+             1);
+    }
+
+    public BoundedParallelLoader(final ExecutorService executor) {
+        this(executor,
+             getDefaultParallelism());
+    }
+
+    public BoundedParallelLoader(final ExecutorService executor,
+                                 final int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("The parallelism must be greater than zero.");
+        }
+        this.executor = executor;
+        this.parallelism = null != executor ? parallelism : 1;
+    }
+
+    public static int getDefaultParallelism() {
+        return Math.max(1,
+                        Integer.getInteger(PARALLELISM_PROPERTY,
+                                           1));
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Loads the items for the given sources. If some item cannot be loaded, the pending ones are cancelled
+     * and the loader's exception is thrown.
+     */
+    @SuppressWarnings("unchecked")
+    public <S, T> List<T> load(final List<S> sources,
+                               final Function<S, T> loader) {
+        final List<T> result = new ArrayList<>(sources.size());
+        if (parallelism == 1 || sources.size() < 2) {
+            for (final S source : sources) {
+                addIfNotNull(result,
+                             loader.apply(source));
+            }
+            return result;
+        }
+        // Each task loads the next pending source until none is left, so no more than the given parallelism
+        // of the executor's threads are used.
+        final Object[] items = new Object[sources.size()];
+        final AtomicInteger next = new AtomicInteger();
+        final AtomicBoolean failed = new AtomicBoolean();
+        final CompletionService<Void> completionService = new ExecutorCompletionService<>(executor);
+        final int taskCount = Math.min(parallelism,
+                                       sources.size());
+        final List<Future<Void>> futures = new ArrayList<>(taskCount);
+        try {
+            for (int i = 0; i < taskCount; i++) {
+                futures.add(completionService.submit(() -> {
+                    int index;
+                    while (!failed.get() && (index = next.getAndIncrement()) < items.length) {
+                        try {
+                            items[index] = loader.apply(sources.get(index));
+                        } catch (final RuntimeException | Error e) {
+                            failed.set(true);
+                            throw e;
+                        }
+                    }
+                    return null;
+                }));
+            }
+            // The tasks are awaited as these complete, so a failure is thrown without waiting for the others.
+            for (int i = 0; i < taskCount; i++) {
+                completionService.take().get();
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading.",
+                                            e);
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        } finally {
+            failed.set(true);
+            futures.forEach(future -> future.cancel(true));
+        }
+        Arrays.stream(items).forEach(item -> addIfNotNull(result,
+                                                           (T) item));
+        return result;
+    }
+
+    private static <T> void addIfNotNull(final List<T> result,
+                                         final T item) {
+        if (null != item) {
+            result.add(item);
+        }
+    }
+}
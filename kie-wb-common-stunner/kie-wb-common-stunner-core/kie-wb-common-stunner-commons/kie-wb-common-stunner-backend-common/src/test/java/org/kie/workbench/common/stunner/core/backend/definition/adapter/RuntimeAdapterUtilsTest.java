@@ -0,0 +1,189 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.backend.definition.adapter;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class RuntimeAdapterUtilsTest {
+
+    @Test
+    public void testPrivateFieldValue() throws Exception {
+        final Parent parent = new Parent();
+        assertEquals("parent-name",
+                     RuntimeAdapterUtils.getFieldValue(parent,
+                                                       "name"));
+        assertEquals(1,
+                     (int) RuntimeAdapterUtils.getFieldValue(parent,
+                                                             "count"));
+        assertNull(RuntimeAdapterUtils.getFieldValue(parent,
+                                                     "unknown"));
+    }
+
+    @Test
+    public void testInheritedFieldValue() throws Exception {
+        final Child child = new Child();
+        assertEquals("parent-only",
+                     RuntimeAdapterUtils.getFieldValue(child,
+                                                       "parentOnly"));
+        assertEquals(Parent.class,
+                     RuntimeAdapterUtils.getField(child,
+                                                  "parentOnly").getDeclaringClass());
+    }
+
+    @Test
+    public void testShadowedFieldValue() throws Exception {
+        final Child child = new Child();
+        // The declaration in the most specific class wins, unless a source type is given.
+        assertEquals("child-name",
+                     RuntimeAdapterUtils.getFieldValue(child,
+                                                       "name"));
+        assertEquals("parent-name",
+                     RuntimeAdapterUtils.getFieldValue(child,
+                                                       Parent.class,
+                                                       "name"));
+        assertEquals("parent-name",
+                     RuntimeAdapterUtils.getFieldValue(child,
+                                                       Parent.class.getDeclaredField("name")));
+        assertEquals(new HashSet<>(Arrays.asList("child-name",
+                                                 "parent-name")),
+                     RuntimeAdapterUtils.getFieldValues(child,
+                                                        new HashSet<>(Arrays.asList("name"))));
+    }
+
+    @Test
+    public void testSetFieldValue() throws Exception {
+        final Child child = new Child();
+        RuntimeAdapterUtils.setFieldValue(child,
+                                          Parent.class.getDeclaredField("name"),
+                                          "new-parent-name");
+        RuntimeAdapterUtils.setFieldValue(child,
+                                          Parent.class.getDeclaredField("count"),
+                                          5);
+        RuntimeAdapterUtils.setFieldValue(child,
+                                          Child.class.getDeclaredField("fixed"),
+                                          "new-fixed");
+        assertEquals("new-parent-name",
+                     RuntimeAdapterUtils.getFieldValue(child,
+                                                       Parent.class,
+                                                       "name"));
+        assertEquals("child-name",
+                     RuntimeAdapterUtils.getFieldValue(child,
+                                                       "name"));
+        assertEquals(5,
+                     (int) RuntimeAdapterUtils.getFieldValue(child,
+                                                             "count"));
+        assertEquals("new-fixed",
+                     RuntimeAdapterUtils.getFieldValue(child,
+                                                       "fixed"));
+    }
+
+    @Test
+    public void testAnnotatedFieldValue() throws Exception {
+        final Child child = new Child();
+        assertEquals("child-name",
+                     RuntimeAdapterUtils.getAnnotatedFieldValue(child,
+                                                                Marker.class));
+        assertEquals("parent-name",
+                     RuntimeAdapterUtils.getAnnotatedFieldValue(child,
+                                                                Parent.class,
+                                                                Marker.class));
+        assertNull(RuntimeAdapterUtils.getAnnotatedFieldValue(child,
+                                                              Inherited.class));
+    }
+
+    @Test
+    public void testFieldAnnotations() throws Exception {
+        final Collection<Field> fields = RuntimeAdapterUtils.getFieldAnnotations(Child.class,
+                                                                                 Marker.class);
+        assertEquals(Arrays.asList(Child.class.getDeclaredField("name"),
+                                   Parent.class.getDeclaredField("name")),
+                     fields);
+        // Each call returns its own collection.
+        fields.clear();
+        final List<String> declaringClasses = RuntimeAdapterUtils.getFieldAnnotations(Child.class,
+                                                                                      Marker.class)
+                .stream()
+                .map(field -> field.getDeclaringClass().getSimpleName())
+                .collect(Collectors.toList());
+        assertEquals(Arrays.asList("Child",
+                                   "Parent"),
+                     declaringClasses);
+        assertNull(RuntimeAdapterUtils.getFieldAnnotations(null,
+                                                           Marker.class));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testCachedFieldAnnotations() throws Exception {
+        final Collection<Field> fields = RuntimeAdapterUtils.getCachedFieldAnnotations(Child.class,
+                                                                                       Marker.class);
+        assertEquals(Arrays.asList(Child.class.getDeclaredField("name"),
+                                   Parent.class.getDeclaredField("name")),
+                     fields);
+        // The same cached collection is returned on each call, and it cannot be modified.
+        assertSame(fields,
+                   RuntimeAdapterUtils.getCachedFieldAnnotations(Child.class,
+                                                                 Marker.class));
+        fields.clear();
+    }
+
+    @Test
+    public void testClassAnnotation() {
+        assertNotNull(RuntimeAdapterUtils.getClassAnnotation(Child.class,
+                                                             Marker.class));
+        assertNull(RuntimeAdapterUtils.getClassAnnotation(Object.class,
+                                                          Marker.class));
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.TYPE, ElementType.FIELD})
+    public @interface Marker {
+
+    }
+
+    @Marker
+    private static class Parent {
+
+        @Marker
+        private String name = "parent-name";
+        private int count = 1;
+        private String parentOnly = "parent-only";
+    }
+
+    private static class Child extends Parent {
+
+        @Marker
+        private String name = "child-name";
+        private final String fixed = new String("fixed");
+    }
+}
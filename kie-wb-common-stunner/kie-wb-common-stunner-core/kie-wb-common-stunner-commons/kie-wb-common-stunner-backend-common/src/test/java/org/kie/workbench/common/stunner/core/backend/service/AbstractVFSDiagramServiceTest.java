@@ -0,0 +1,323 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.backend.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import javax.enterprise.inject.Instance;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.stunner.core.api.DefinitionManager;
+import org.kie.workbench.common.stunner.core.api.FactoryManager;
+import org.kie.workbench.common.stunner.core.definition.DefinitionSetResourceType;
+import org.kie.workbench.common.stunner.core.definition.service.DefinitionSetService;
+import org.kie.workbench.common.stunner.core.definition.service.DiagramMarshaller;
+import org.kie.workbench.common.stunner.core.definition.service.DiagramMetadataMarshaller;
+import org.kie.workbench.common.stunner.core.diagram.Diagram;
+import org.kie.workbench.common.stunner.core.diagram.Metadata;
+import org.kie.workbench.common.stunner.core.diagram.MetadataImpl;
+import org.kie.workbench.common.stunner.core.graph.Graph;
+import org.kie.workbench.common.stunner.core.registry.BackendRegistryFactory;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.backend.vfs.PathFactory;
+import org.uberfire.io.IOService;
+import org.uberfire.workbench.events.ResourceBatchChangesEvent;
+import org.uberfire.workbench.events.ResourceChange;
+import org.uberfire.workbench.events.ResourceRename;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AbstractVFSDiagramServiceTest {
+
+    private static final String DEF_SET_ID = "defSet1";
+
+    @Mock
+    private DefinitionManager definitionManager;
+
+    @Mock
+    private FactoryManager factoryManager;
+
+    @Mock
+    private Instance<DefinitionSetService> definitionSetServiceInstances;
+
+    @Mock
+    private DefinitionSetService definitionSetService;
+
+    @Mock
+    private DefinitionSetResourceType resourceType;
+
+    @Mock
+    private DiagramMarshaller<Graph, Metadata, Diagram<Graph, Metadata>> diagramMarshaller;
+
+    @Mock
+    private DiagramMetadataMarshaller<Metadata> metadataMarshaller;
+
+    @Mock
+    private IOService ioService;
+
+    @Mock
+    private BackendRegistryFactory registryFactory;
+
+    @Mock
+    private Diagram<Graph, Metadata> diagram;
+
+    private Path path1;
+    private Path path2;
+    private TestDiagramService tested;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setup() throws Exception {
+        path1 = PathFactory.newPath("diagram1.test",
+                                    "default://master@diagrams/diagram1.test");
+        path2 = PathFactory.newPath("diagram.two.test",
+                                    "default://master@diagrams/diagram.two.test");
+        when(definitionSetServiceInstances.iterator()).thenReturn(Collections.singletonList(definitionSetService).iterator());
+        when(definitionSetService.accepts(DEF_SET_ID)).thenReturn(true);
+        when(definitionSetService.getResourceType()).thenReturn(resourceType);
+        when(definitionSetService.getDiagramMarshaller()).thenReturn(diagramMarshaller);
+        when(diagramMarshaller.marshall(any(Diagram.class))).thenReturn("raw");
+        when(diagramMarshaller.getMetadataMarshaller()).thenReturn(metadataMarshaller);
+        when(metadataMarshaller.marshall(any(Metadata.class))).thenReturn("metadata");
+        when(resourceType.accept(any(Path.class))).thenReturn(true);
+        when(resourceType.getSuffix()).thenReturn("test");
+        when(resourceType.getDefinitionSetType()).thenReturn((Class) Object.class);
+        final Metadata metadata = new MetadataImpl.MetadataImplBuilder(DEF_SET_ID).setPath(path1).build();
+        when(diagram.getMetadata()).thenReturn(metadata);
+        tested = new TestDiagramService();
+        tested.initialize();
+    }
+
+    @Test
+    public void testMetadataIsCached() {
+        final Metadata metadata = tested.getMetadataByPath(path1);
+        assertEquals(path1,
+                     metadata.getPath());
+        assertEquals("diagram1",
+                     metadata.getTitle());
+        assertEquals("diagram1",
+                     tested.getMetadataByPath(path1).getTitle());
+        assertEquals(1,
+                     tested.loadCount);
+        assertEquals("diagram.two",
+                     tested.getMetadataByPath(path2).getTitle());
+        assertEquals(2,
+                     tested.loadCount);
+    }
+
+    @Test
+    public void testCachedMetadataIsNotShared() {
+        final Metadata metadata = tested.getMetadataByPath(path1);
+        metadata.setTitle("changed");
+        final Metadata cached = tested.getMetadataByPath(path1);
+        assertNotSame(metadata,
+                      cached);
+        assertEquals("diagram1",
+                     cached.getTitle());
+        assertEquals(path1,
+                     cached.getPath());
+        cached.setTitle("changed");
+        assertEquals("diagram1",
+                     tested.getMetadataByPath(path1).getTitle());
+        assertEquals(1,
+                     tested.loadCount);
+    }
+
+    @Test
+    public void testMetadataIsEvictedOnSave() {
+        tested.getMetadataByPath(path1);
+        tested.saveOrUpdate(diagram);
+        assertEquals("raw",
+                     tested.savedRaw);
+        assertEquals("metadata",
+                     tested.savedMetadata);
+        tested.getMetadataByPath(path1);
+        assertEquals(2,
+                     tested.loadCount);
+    }
+
+    @Test
+    public void testMetadataIsEvictedOnDelete() {
+        tested.getMetadataByPath(path1);
+        tested.delete(diagram);
+        tested.getMetadataByPath(path1);
+        assertEquals(2,
+                     tested.loadCount);
+    }
+
+    @Test
+    public void testMetadataIsEvictedByPath() {
+        tested.getMetadataByPath(path1);
+        tested.getMetadataByPath(path2);
+        tested.evictMetadata(path1);
+        tested.getMetadataByPath(path1);
+        tested.getMetadataByPath(path2);
+        assertEquals(3,
+                     tested.loadCount);
+    }
+
+    @Test
+    public void testMetadataIsEvictedByBatch() {
+        tested.getMetadataByPath(path1);
+        tested.getMetadataByPath(path2);
+        tested.evictMetadata(batch(path1,
+                                   mock(ResourceChange.class)));
+        tested.getMetadataByPath(path1);
+        tested.getMetadataByPath(path2);
+        assertEquals(3,
+                     tested.loadCount);
+    }
+
+    @Test
+    public void testMetadataIsClearedByBatchWithRenames() {
+        tested.getMetadataByPath(path1);
+        tested.getMetadataByPath(path2);
+        tested.evictMetadata(batch(PathFactory.newPath("diagram3.test",
+                                                       "default://master@diagrams/diagram3.test"),
+                                   mock(ResourceRename.class)));
+        tested.getMetadataByPath(path1);
+        tested.getMetadataByPath(path2);
+        assertEquals(4,
+                     tested.loadCount);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testWriteOpensThePathAfterMarshalling() throws Exception {
+        final org.uberfire.java.nio.file.Path nioPath = mock(org.uberfire.java.nio.file.Path.class);
+        final DiagramMarshaller.Content content = mock(DiagramMarshaller.Content.class);
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        when(diagramMarshaller.marshallContent(diagram)).thenReturn(content);
+        when(ioService.newOutputStream(nioPath)).thenReturn(output);
+        tested.write(nioPath,
+                     diagram);
+        final InOrder inOrder = inOrder(diagramMarshaller,
+                                        ioService,
+                                        content);
+        inOrder.verify(diagramMarshaller).marshallContent(diagram);
+        inOrder.verify(ioService).newOutputStream(nioPath);
+        inOrder.verify(content).writeTo(output);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testWriteDoesNotOpenThePathWhenMarshallingFails() throws Exception {
+        final org.uberfire.java.nio.file.Path nioPath = mock(org.uberfire.java.nio.file.Path.class);
+        when(diagramMarshaller.marshallContent(diagram)).thenThrow(new IOException("marshalling error"));
+        try {
+            tested.write(nioPath,
+                         diagram);
+            fail("The marshalling error should be thrown.");
+        } catch (IOException e) {
+            assertEquals("marshalling error",
+                         e.getMessage());
+        }
+        verify(ioService,
+               never()).newOutputStream(nioPath);
+    }
+
+    private static ResourceBatchChangesEvent batch(final Path path,
+                                                   final ResourceChange change) {
+        final Map<Path, Collection<ResourceChange>> batch = new HashMap<>();
+        batch.put(path,
+                  Collections.singletonList(change));
+        final ResourceBatchChangesEvent event = mock(ResourceBatchChangesEvent.class);
+        when(event.getBatch()).thenReturn(batch);
+        return event;
+    }
+
+    private class TestDiagramService extends AbstractVFSDiagramService<Metadata, Diagram<Graph, Metadata>> {
+
+        private int loadCount = 0;
+        private String savedRaw;
+        private String savedMetadata;
+
+        private TestDiagramService() {
+            super(definitionManager,
+                  factoryManager,
+                  definitionSetServiceInstances,
+                  ioService,
+                  registryFactory);
+        }
+
+        @Override
+        public Path create(final Path path,
+                           final String name,
+                           final String defSetId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        protected Class<? extends Metadata> getMetadataType() {
+            return Metadata.class;
+        }
+
+        @Override
+        protected InputStream loadMetadataForPath(final Path path) {
+            loadCount++;
+            return null;
+        }
+
+        @Override
+        protected Metadata copyMetadata(final Metadata metadata) {
+            return copyMetadataValues(metadata,
+                                      new MetadataImpl.MetadataImplBuilder(metadata.getDefinitionSetId()).build());
+        }
+
+        @Override
+        protected Metadata buildMetadataInstance(final Path path,
+                                                 final String defSetId,
+                                                 final String title) {
+            final MetadataImpl metadata = new MetadataImpl.MetadataImplBuilder(defSetId).build();
+            metadata.setTitle(title);
+            return metadata;
+        }
+
+        @Override
+        protected boolean doDelete(final Path path) {
+            return true;
+        }
+
+        @Override
+        protected Metadata doSave(final Diagram<Graph, Metadata> diagram,
+                                  final String raw,
+                                  final String metadata) {
+            this.savedRaw = raw;
+            this.savedMetadata = metadata;
+            return diagram.getMetadata();
+        }
+    }
+}
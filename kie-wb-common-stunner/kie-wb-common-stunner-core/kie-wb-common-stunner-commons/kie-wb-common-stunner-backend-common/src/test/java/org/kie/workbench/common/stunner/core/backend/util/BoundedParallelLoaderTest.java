@@ -0,0 +1,197 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.backend.util;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class BoundedParallelLoaderTest {
+
+    private static final List<Integer> SOURCES = Arrays.asList(1,
+                                                               2,
+                                                               3,
+                                                               4,
+                                                               5,
+                                                               6);
+
+    private ExecutorService executor;
+
+    @Before
+    public void setup() {
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testSequentialLoadInCallerThread() {
+        assertSequentialLoadInCallerThread(new BoundedParallelLoader(executor,
+                                                                     1));
+    }
+
+    @Test
+    public void testSequentialLoadWithoutExecutor() {
+        final BoundedParallelLoader tested = new BoundedParallelLoader(null,
+                                                                       3);
+        assertEquals(1,
+                     tested.getParallelism());
+        assertSequentialLoadInCallerThread(tested);
+    }
+
+    @Test
+    public void testParallelLoadKeepsOrderAndSkipsNulls() {
+        final BoundedParallelLoader tested = new BoundedParallelLoader(executor,
+                                                                       3);
+        final Thread caller = Thread.currentThread();
+        final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        final List<String> result = tested.load(SOURCES,
+                                                source -> {
+                                                    threads.add(Thread.currentThread());
+                                                    // The first sources complete last.
+                                                    sleep(10 * (SOURCES.size() - source));
+                                                    return source % 3 == 0 ? null : "item" + source;
+                                                });
+        assertEquals(Arrays.asList("item1",
+                                   "item2",
+                                   "item4",
+                                   "item5"),
+                     result);
+        assertFalse(threads.contains(caller));
+        assertTrue(threads.size() <= 3);
+    }
+
+    @Test
+    public void testLoaderExceptionIsThrown() {
+        final BoundedParallelLoader tested = new BoundedParallelLoader(executor,
+                                                                       2);
+        final IllegalStateException error = new IllegalStateException("Cannot load 4.");
+        try {
+            tested.load(SOURCES,
+                        source -> {
+                            if (source == 4) {
+                                throw error;
+                            }
+                            return source;
+                        });
+            fail("The loader exception should have been thrown.");
+        } catch (final IllegalStateException e) {
+            assertSame(error,
+                       e);
+        }
+    }
+
+    @Test
+    public void testLoaderErrorIsThrown() {
+        final BoundedParallelLoader tested = new BoundedParallelLoader(executor,
+                                                                       2);
+        final AssertionError error = new AssertionError("Cannot load 2.");
+        try {
+            tested.load(SOURCES,
+                        source -> {
+                            if (source == 2) {
+                                throw error;
+                            }
+                            return source;
+                        });
+            fail("The loader error should have been thrown.");
+        } catch (final AssertionError e) {
+            assertSame(error,
+                       e);
+        }
+    }
+
+    @Test
+    public void testPendingLoadsAreCancelledOnError() throws Exception {
+        final BoundedParallelLoader tested = new BoundedParallelLoader(executor,
+                                                                       2);
+        final AtomicInteger started = new AtomicInteger();
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        try {
+            tested.load(SOURCES,
+                        source -> {
+                            started.incrementAndGet();
+                            if (source == 1) {
+                                throw new IllegalStateException("Cannot load 1.");
+                            }
+                            try {
+                                // Blocks until the pending loads are cancelled.
+                                new CountDownLatch(1).await(10,
+                                                            TimeUnit.SECONDS);
+                            } catch (final InterruptedException e) {
+                                interrupted.countDown();
+                            }
+                            return source;
+                        });
+            fail("The loader exception should have been thrown.");
+        } catch (final IllegalStateException e) {
+            assertEquals("Cannot load 1.",
+                         e.getMessage());
+        }
+        assertTrue(interrupted.await(5,
+                                     TimeUnit.SECONDS));
+        assertTrue(started.get() < SOURCES.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidParallelism() {
+        new BoundedParallelLoader(executor,
+                                  0);
+    }
+
+    private static void assertSequentialLoadInCallerThread(final BoundedParallelLoader tested) {
+        final Thread caller = Thread.currentThread();
+        final List<String> result = tested.load(SOURCES,
+                                                source -> {
+                                                    assertSame(caller,
+                                                               Thread.currentThread());
+                                                    return source % 3 == 0 ? null : "item" + source;
+                                                });
+        assertEquals(Arrays.asList("item1",
+                                   "item2",
+                                   "item4",
+                                   "item5"),
+                     result);
+    }
+
+    private static void sleep(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -20,15 +20,22 @@ import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.logging.Logger;
+import javax.enterprise.event.Observes;
 
 import org.kie.workbench.common.stunner.core.client.api.ClientDefinitionManager;
 import org.kie.workbench.common.stunner.core.client.canvas.AbstractCanvasHandler;
 import org.kie.workbench.common.stunner.core.client.canvas.controls.AbstractCanvasHandlerControl;
 import org.kie.workbench.common.stunner.core.client.canvas.controls.builder.ElementBuilderControl;
 import org.kie.workbench.common.stunner.core.client.canvas.controls.builder.request.ElementBuildRequest;
+import org.kie.workbench.common.stunner.core.client.canvas.event.AbstractCanvasHandlerEvent;
+import org.kie.workbench.common.stunner.core.client.canvas.event.registration.CanvasElementAddedEvent;
+import org.kie.workbench.common.stunner.core.client.canvas.event.registration.CanvasElementRemovedEvent;
+import org.kie.workbench.common.stunner.core.client.canvas.event.registration.CanvasElementUpdatedEvent;
+import org.kie.workbench.common.stunner.core.client.canvas.event.registration.CanvasElementsClearEvent;
 import org.kie.workbench.common.stunner.core.client.canvas.util.CanvasLayoutUtils;
 import org.kie.workbench.common.stunner.core.client.command.CanvasCommandFactory;
 import org.kie.workbench.common.stunner.core.client.command.CanvasCommandManager;
@@ -41,6 +48,7 @@ import org.kie.workbench.common.stunner.core.command.Command;
 import org.kie.workbench.common.stunner.core.command.impl.CompositeCommandImpl;
 import org.kie.workbench.common.stunner.core.graph.Edge;
 import org.kie.workbench.common.stunner.core.graph.Element;
+import org.kie.workbench.common.stunner.core.graph.Graph;
 import org.kie.workbench.common.stunner.core.graph.Node;
 import org.kie.workbench.common.stunner.core.graph.content.view.MagnetConnection;
 import org.kie.workbench.common.stunner.core.graph.content.view.Point2D;
@@ -69,6 +77,8 @@ public abstract class AbstractElementBuilderControl extends AbstractCanvasHandle
     private final GraphBoundsIndexer graphBoundsIndexer;
     private final CanvasLayoutUtils canvasLayoutUtils;
     private RequiresCommandManager.CommandManagerProvider<AbstractCanvasHandler> commandManagerProvider;
+    private Graph indexedGraph;
+    private String indexedRootUUID;
 
     public AbstractElementBuilderControl(final ClientDefinitionManager clientDefinitionManager,
                                          final ClientFactoryService clientFactoryServices,
@@ -116,6 +126,7 @@ public abstract class AbstractElementBuilderControl extends AbstractCanvasHandle
         }
         // Check cardinality rules.
         final Map<String, Integer> graphLabelCount = GraphUtils.getLabelsCount(canvasHandler.getDiagram().getGraph(),
+                                                                               canvasHandler.getGraphIndex(),
                                                                                labels);
         final DefaultRuleViolations cardinalityViolations = new DefaultRuleViolations();
         labels.forEach(role -> {
@@ -191,6 +202,8 @@ public abstract class AbstractElementBuilderControl extends AbstractCanvasHandle
     @Override
     protected void doDisable() {
         graphBoundsIndexer.destroy();
+        indexedGraph = null;
+        indexedRootUUID = null;
         commandManagerProvider = null;
     }
 
@@ -271,8 +284,7 @@ public abstract class AbstractElementBuilderControl extends AbstractCanvasHandle
     public Node<View<?>, Edge> getParent(final double _x,
                                          final double _y) {
         if (_x > -1 && _y > -1) {
-            final String rootUUID = canvasHandler.getDiagram().getMetadata().getCanvasRootUUID();
-            graphBoundsIndexer.setRootUUID(rootUUID).build(canvasHandler.getDiagram().getGraph());
+            ensureBoundsIndex();
             final Node<View<?>, Edge> r = graphBoundsIndexer.getAt(_x,
                                                                    _y);
             return r;
@@ -280,6 +292,54 @@ public abstract class AbstractElementBuilderControl extends AbstractCanvasHandle
         return null;
     }
 
+    /**
+     * Builds the bounds index only when the diagram or its root change. Then it's kept up to date
+     * from the canvas element registration events.
+     */
+    @SuppressWarnings("unchecked")
+    private void ensureBoundsIndex() {
+        final Graph graph = canvasHandler.getDiagram().getGraph();
+        final String rootUUID = canvasHandler.getDiagram().getMetadata().getCanvasRootUUID();
+        if (graph != indexedGraph || !Objects.equals(rootUUID,
+                                                     indexedRootUUID)) {
+            graphBoundsIndexer.setRootUUID(rootUUID).build(graph);
+            indexedGraph = graph;
+            indexedRootUUID = rootUUID;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    void onCanvasElementAddedEvent(final @Observes CanvasElementAddedEvent event) {
+        if (isBoundsIndexEvent(event) && event.getElement() instanceof Node) {
+            graphBoundsIndexer.update((Node) event.getElement());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    void onCanvasElementUpdatedEvent(final @Observes CanvasElementUpdatedEvent event) {
+        if (isBoundsIndexEvent(event) && event.getElement() instanceof Node) {
+            graphBoundsIndexer.update((Node) event.getElement());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    void onCanvasElementRemovedEvent(final @Observes CanvasElementRemovedEvent event) {
+        if (isBoundsIndexEvent(event) && event.getElement() instanceof Node) {
+            graphBoundsIndexer.remove((Node) event.getElement());
+        }
+    }
+
+    void onCanvasElementsClearEvent(final @Observes CanvasElementsClearEvent event) {
+        if (isBoundsIndexEvent(event)) {
+            indexedGraph = null;
+            indexedRootUUID = null;
+        }
+    }
+
+    private boolean isBoundsIndexEvent(final AbstractCanvasHandlerEvent<?> event) {
+        return null != indexedGraph && null != canvasHandler && canvasHandler.equals(event.getCanvasHandler());
+    }
+
     public Point2D getChildCoordinates(final Node<View<?>, Edge> parent,
                                        final double _x,
                                        final double _y) {
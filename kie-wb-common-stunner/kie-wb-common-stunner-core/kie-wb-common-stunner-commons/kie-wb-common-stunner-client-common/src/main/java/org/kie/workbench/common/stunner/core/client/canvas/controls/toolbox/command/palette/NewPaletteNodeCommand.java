@@ -81,9 +81,10 @@ public abstract class NewPaletteNodeCommand<I> extends AbstractPaletteCommand<I>
     protected Set<String> getDefinitions() {
         // TODO: Finish this implementation & Handle all response buckets/pages. Currently no palettes
         // are used on toolbox ( no implementation for this class )
-        final Set<Object> allowedDefinitions = commonLookups.getAllowedTargetDefinitions(
+        final Set<String> allowedDefinitions = commonLookups.getAllowedTargetDefinitionIds(
                 getDefinitionSetIdentifier(),
                 canvasHandler.getDiagram().getGraph(),
+                canvasHandler.getGraphIndex(),
                 this.sourceNode,
                 getEdgeIdentifier(),
                 0,
@@ -22,11 +22,14 @@ import org.kie.workbench.common.stunner.core.command.Command;
 import org.kie.workbench.common.stunner.core.command.CommandResult;
 import org.kie.workbench.common.stunner.core.command.exception.BadCommandArgumentsException;
 import org.kie.workbench.common.stunner.core.graph.Edge;
+import org.kie.workbench.common.stunner.core.graph.Element;
 import org.kie.workbench.common.stunner.core.graph.Graph;
 import org.kie.workbench.common.stunner.core.graph.Node;
 import org.kie.workbench.common.stunner.core.graph.command.GraphCommandExecutionContext;
 import org.kie.workbench.common.stunner.core.graph.command.GraphCommandResultBuilder;
 import org.kie.workbench.common.stunner.core.graph.content.view.View;
+import org.kie.workbench.common.stunner.core.graph.impl.GraphImpl;
+import org.kie.workbench.common.stunner.core.graph.processing.index.Index;
 import org.kie.workbench.common.stunner.core.graph.processing.index.MutableIndex;
 import org.kie.workbench.common.stunner.core.rule.RuleEvaluationContext;
 import org.kie.workbench.common.stunner.core.rule.RuleSet;
@@ -64,6 +67,18 @@ public abstract class AbstractGraphCommand implements Command<GraphCommandExecut
         return (Graph<?, Node>) context.getGraphIndex().getGraph();
     }
 
+    /**
+     * Updates the structural hash of the graph once the given node or edge has been modified.
+     */
+    protected void updateStructuralHash(final GraphCommandExecutionContext context,
+                                        final Element<?> element) {
+        final Index<?, ?> index = context.getGraphIndex();
+        final Graph<?, ?> graph = null != index ? index.getGraph() : null;
+        if (graph instanceof GraphImpl) {
+            ((GraphImpl) graph).updateStructuralHash(element);
+        }
+    }
+
     @SuppressWarnings("unchecked")
     protected Node<?, Edge> getNode(final GraphCommandExecutionContext context,
                                     final String uuid) {
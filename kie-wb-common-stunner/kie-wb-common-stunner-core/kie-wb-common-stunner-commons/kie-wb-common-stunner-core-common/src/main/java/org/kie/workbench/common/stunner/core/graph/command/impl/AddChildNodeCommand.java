@@ -110,6 +110,7 @@ public class AddChildNodeCommand extends AbstractGraphCompositeCommand {
         final Collection<RuleViolation> cardinalityRuleViolations =
                 doEvaluate(context,
                            RuleContextBuilder.GraphContexts.cardinality(getGraph(context),
+                                                                        context.getGraphIndex(),
                                                                         Optional.of(candidate),
                                                                         Optional.of(CardinalityContext.Operation.ADD)));
         final Collection<RuleViolation> violations = new LinkedList<RuleViolation>();
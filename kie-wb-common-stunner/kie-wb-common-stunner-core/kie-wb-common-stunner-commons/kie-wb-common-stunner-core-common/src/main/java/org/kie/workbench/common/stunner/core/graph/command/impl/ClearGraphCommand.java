@@ -16,11 +16,14 @@
 package org.kie.workbench.common.stunner.core.graph.command.impl;
 
 import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
 
 import org.jboss.errai.common.client.api.annotations.MapsTo;
 import org.jboss.errai.common.client.api.annotations.Portable;
 import org.kie.workbench.common.stunner.core.command.CommandResult;
 import org.kie.workbench.common.stunner.core.graph.Edge;
+import org.kie.workbench.common.stunner.core.graph.Element;
 import org.kie.workbench.common.stunner.core.graph.Graph;
 import org.kie.workbench.common.stunner.core.graph.Node;
 import org.kie.workbench.common.stunner.core.graph.command.GraphCommandExecutionContext;
@@ -47,19 +50,25 @@ public final class ClearGraphCommand extends AbstractGraphCommand {
         if (!results.getType().equals(CommandResult.Type.ERROR)) {
             final Graph<?, Node> graph = getGraph(context);
             if (hasRootUUID()) {
+                final List<Element> removed = new LinkedList<>();
                 Iterator<Node> nodes = graph.nodes().iterator();
                 if (null != nodes) {
                     nodes.forEachRemaining(node -> {
                         if (!node.getUUID().equals(rootUUID)) {
                             getMutableIndex(context).removeNode(node);
                             nodes.remove();
+                            removed.add(node);
                         } else {
                             // Clear outgoing edges for canvas root element.
                             node.getOutEdges().stream().forEach(edge -> getMutableIndex(context).removeEdge((Edge) edge));
+                            removed.addAll(node.getOutEdges());
                             node.getOutEdges().clear();
                         }
                     });
                 }
+                // Nodes have been removed from the store directly, so the graph hash must be updated here.
+                removed.forEach(element -> updateStructuralHash(context,
+                                                                element));
             } else {
                 graph.clear();
                 getMutableIndex(context).clear();
@@ -89,6 +89,7 @@ public class DeregisterNodeCommand extends AbstractGraphCommand {
         final Collection<RuleViolation> cardinalityRuleViolations =
                 doEvaluate(context,
                            RuleContextBuilder.GraphContexts.cardinality(graph,
+                                                                        context.getGraphIndex(),
                                                                         Optional.of(candidate),
                                                                         Optional.of(CardinalityContext.Operation.DELETE)));
         builder.addViolations(cardinalityRuleViolations);
@@ -76,6 +76,8 @@ public final class DockNodeCommand extends AbstractGraphCommand {
             parent.getOutEdges().add(edge);
             candidate.getInEdges().add(edge);
             getMutableIndex(context).addEdge(edge);
+            updateStructuralHash(context,
+                                 edge);
         }
         return results;
     }
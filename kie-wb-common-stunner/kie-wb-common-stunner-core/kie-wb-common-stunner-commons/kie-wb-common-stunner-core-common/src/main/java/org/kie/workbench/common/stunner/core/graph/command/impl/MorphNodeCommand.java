@@ -84,6 +84,10 @@ public final class MorphNodeCommand extends AbstractGraphCommand {
             if (null != newLabels) {
                 candidate.getLabels().addAll(newLabels);
             }
+            // Index the node again, so the label counts are updated as well.
+            getMutableIndex(context).addNode(candidate);
+            updateStructuralHash(context,
+                                 candidate);
         }
         return results;
     }
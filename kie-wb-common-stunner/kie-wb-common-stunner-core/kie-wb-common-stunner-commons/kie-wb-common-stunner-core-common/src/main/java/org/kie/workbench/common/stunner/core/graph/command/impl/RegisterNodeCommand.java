@@ -69,6 +69,7 @@ public class RegisterNodeCommand extends AbstractGraphCommand {
         final Collection<RuleViolation> cardinalityRuleViolations =
                 doEvaluate(context,
                            RuleContextBuilder.GraphContexts.cardinality(graph,
+                                                                        context.getGraphIndex(),
                                                                         Optional.of(getCandidate()),
                                                                         Optional.of(CardinalityContext.Operation.ADD)));
         return new GraphCommandResultBuilder(cardinalityRuleViolations).build();
@@ -71,6 +71,8 @@ public class RemoveChildCommand extends AbstractGraphCommand {
                 parent.getOutEdges().remove(edge);
                 candidate.getInEdges().remove(edge);
                 getMutableIndex(context).removeEdge(edge);
+                updateStructuralHash(context,
+                                     edge);
             }
         }
         return results;
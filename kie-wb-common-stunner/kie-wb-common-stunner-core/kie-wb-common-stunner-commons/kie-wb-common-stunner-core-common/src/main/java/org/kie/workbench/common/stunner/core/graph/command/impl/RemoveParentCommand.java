@@ -70,6 +70,8 @@ public final class RemoveParentCommand extends AbstractGraphCommand {
                 parent.getInEdges().remove(edge);
                 candidate.getOutEdges().remove(edge);
                 getMutableIndex(context).removeEdge(edge);
+                updateStructuralHash(context,
+                                     edge);
             }
         }
         return results;
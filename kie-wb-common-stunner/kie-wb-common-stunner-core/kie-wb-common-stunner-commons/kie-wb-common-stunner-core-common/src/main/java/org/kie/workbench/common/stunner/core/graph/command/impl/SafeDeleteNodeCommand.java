@@ -205,6 +205,7 @@ public final class SafeDeleteNodeCommand extends AbstractGraphCompositeCommand {
             final Collection<RuleViolation> cardinalityRuleViolations =
                     doEvaluate(context,
                                RuleContextBuilder.GraphContexts.cardinality(target,
+                                                                            context.getGraphIndex(),
                                                                             Optional.of(candidate),
                                                                             Optional.of(CardinalityContext.Operation.DELETE)));
             builder.addViolations(cardinalityRuleViolations);
@@ -106,6 +106,8 @@ public final class SetConnectionSourceNodeCommand extends AbstractGraphCommand {
             ViewConnector connectionContent = (ViewConnector) edge.getContent();
             lastConnection = (Connection) connectionContent.getSourceConnection().orElse(null);
             connectionContent.setSourceConnection(connection);
+            updateStructuralHash(context,
+                                 edge);
         }
         return results;
     }
@@ -107,6 +107,8 @@ public final class SetConnectionTargetNodeCommand extends AbstractGraphCommand {
             ViewConnector connectionContent = (ViewConnector) edge.getContent();
             lastConnection = (Connection) connectionContent.getTargetConnection().orElse(null);
             connectionContent.setTargetConnection(connection);
+            updateStructuralHash(context,
+                                 edge);
         }
         return results;
     }
@@ -77,6 +77,8 @@ public final class SetParentNodeCommand extends AbstractGraphCommand {
             parent.getOutEdges().add(edge);
             candidate.getInEdges().add(edge);
             getMutableIndex(context).addEdge(edge);
+            updateStructuralHash(context,
+                                 edge);
         }
         return results;
     }
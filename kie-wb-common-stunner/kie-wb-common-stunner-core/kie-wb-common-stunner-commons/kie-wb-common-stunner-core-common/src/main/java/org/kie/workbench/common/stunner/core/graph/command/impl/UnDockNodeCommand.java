@@ -82,6 +82,8 @@ public class UnDockNodeCommand extends AbstractGraphCommand {
         parent.getOutEdges().remove(edge);
         candidate.getInEdges().remove(edge);
         getMutableIndex(context).removeEdge(edge);
+        updateStructuralHash(context,
+                             edge);
     }
 
     protected CommandResult<RuleViolation> check(final GraphCommandExecutionContext context) {
@@ -79,6 +79,8 @@ public final class UpdateElementPropertyValueCommand extends AbstractGraphComman
         oldValue = adapter.getValue(p);
         adapter.setValue(p,
                          value);
+        updateStructuralHash(context,
+                             element);
         return GraphCommandResultBuilder.SUCCESS;
     }
 
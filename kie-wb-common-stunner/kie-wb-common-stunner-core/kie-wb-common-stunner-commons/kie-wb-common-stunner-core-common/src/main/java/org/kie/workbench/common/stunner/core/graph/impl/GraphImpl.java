@@ -16,19 +16,23 @@
 
 package org.kie.workbench.common.stunner.core.graph.impl;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
 import org.jboss.errai.common.client.api.annotations.MapsTo;
 import org.jboss.errai.common.client.api.annotations.Portable;
 import org.kie.workbench.common.stunner.core.graph.Edge;
+import org.kie.workbench.common.stunner.core.graph.Element;
 import org.kie.workbench.common.stunner.core.graph.Graph;
 import org.kie.workbench.common.stunner.core.graph.Node;
 import org.kie.workbench.common.stunner.core.graph.content.definition.Definition;
 import org.kie.workbench.common.stunner.core.graph.content.definition.DefinitionSet;
-import org.kie.workbench.common.stunner.core.graph.content.relationship.Child;
-import org.kie.workbench.common.stunner.core.graph.content.relationship.Dock;
-import org.kie.workbench.common.stunner.core.graph.content.view.View;
-import org.kie.workbench.common.stunner.core.graph.processing.traverse.tree.AbstractTreeTraverseCallback;
-import org.kie.workbench.common.stunner.core.graph.processing.traverse.tree.TreeWalkTraverseProcessor;
-import org.kie.workbench.common.stunner.core.graph.processing.traverse.tree.TreeWalkTraverseProcessorImpl;
 import org.kie.workbench.common.stunner.core.graph.store.GraphNodeStore;
 import org.kie.workbench.common.stunner.core.util.HashUtil;
 import org.uberfire.commons.validation.PortablePreconditions;
@@ -36,7 +40,17 @@ import org.uberfire.commons.validation.PortablePreconditions;
 @Portable
 public class GraphImpl<C> extends ElementImpl<C> implements Graph<C, Node> {
 
+    // The number of changes kept for getChangedElements(revision).
+    static final int CHANGE_LOG_SIZE = 4096;
+
     private final GraphNodeStore<Node> nodeStore;
+    // The structural hash contribution of each node and connected edge, by uuid.
+    private transient Map<String, Integer> elementHashes;
+    private transient int structuralHash;
+    // The elements which hash contribution changed, in order. The first one is the change for changeLogRevision.
+    private transient List<Element<?>> changeLog;
+    private transient int changeLogRevision;
+    private transient int revision;
 
     public GraphImpl(final @MapsTo("uuid") String uuid,
                      final @MapsTo("nodeStore") GraphNodeStore<Node> nodeStore) {
@@ -47,12 +61,18 @@ public class GraphImpl<C> extends ElementImpl<C> implements Graph<C, Node> {
 
     @Override
     public Node addNode(final Node node) {
-        return nodeStore.add(node);
+        final Node result = nodeStore.add(node);
+        updateStructuralHash(node);
+        return result;
     }
 
     @Override
     public Node removeNode(final String uuid) {
-        return nodeStore.remove(uuid);
+        final Node removed = nodeStore.remove(uuid);
+        if (null != removed) {
+            updateStructuralHash(removed);
+        }
+        return removed;
     }
 
     @Override
@@ -68,42 +88,199 @@ public class GraphImpl<C> extends ElementImpl<C> implements Graph<C, Node> {
     @Override
     public void clear() {
         nodeStore.clear();
+        if (null != elementHashes) {
+            elementHashes.clear();
+            structuralHash = 0;
+            resetChangeLog();
+        }
     }
 
     @Override
     public int hashCode() {
-        int[] hashArr = {0};//dirty trick to allow inner class to modify variable
-        final TreeWalkTraverseProcessor treeWalkTraverseProcessor = new TreeWalkTraverseProcessorImpl();
-
-        treeWalkTraverseProcessor
-                .traverse(this,
-                          new AbstractTreeTraverseCallback<Graph, Node, Edge>() {
-                              int[] myHashArr = hashArr;
-
-                              @Override
-                              public boolean startEdgeTraversal(final Edge edge) {
-                                  super.startEdgeTraversal(edge);
-                                  final Object content = edge.getContent();
-                                  myHashArr[0] = HashUtil.combineHashCodes(myHashArr[0],
-                                                                           content.hashCode());
-                                  return true;
-                              }
-
-                              @Override
-                              public boolean startNodeTraversal(final Node node) {
-                                  super.startNodeTraversal(node);
-                                  myHashArr[0] = HashUtil.combineHashCodes(myHashArr[0],
-                                                                           node.hashCode());
-                                  if (!(node.getContent() instanceof DefinitionSet) &&
-                                          node.getContent() instanceof Definition) {
-                                      Object def = ((Definition) (node.getContent())).getDefinition();
-                                      myHashArr[0] = HashUtil.combineHashCodes(myHashArr[0],
-                                                                               def.hashCode());
-                                  }
-                                  return true;
-                              }
-                          });
-        return hashArr[0];//Get the hash from the graph traversal
+        return getStructuralHash();
+    }
+
+    /**
+     * Returns the structural hash of the graph contents, that is the nodes, their definitions and the edges
+     * connected to them. Each element contributes an order independent value, which is kept up to date as the
+     * graph gets modified by the graph commands, so this call does not have to traverse the graph.
+     * The per element values are computed on first use.
+     */
+    public int getStructuralHash() {
+        if (null == elementHashes) {
+            elementHashes = collectElementHashes();
+            structuralHash = combineElementHashes(elementHashes);
+            resetChangeLog();
+        }
+        return structuralHash;
+    }
+
+    /**
+     * Returns the current revision of the structural hash, which increases each time the contribution of
+     * some element changes. It can be given to {@link #getChangedElements(int)} later on.
+     */
+    public int getRevision() {
+        getStructuralHash();
+        return revision;
+    }
+
+    /**
+     * Returns the elements which contribution to the structural hash changed since the given revision, by uuid,
+     * so added, removed and modified nodes and edges. It's empty when the changes are no longer known, as only
+     * the last changes are kept and they're discarded when the structural hash is reset or the graph cleared,
+     * so the caller has to look at the whole graph instead.
+     */
+    public Optional<Map<String, Element<?>>> getChangedElements(final int revision) {
+        getStructuralHash();
+        if (revision < changeLogRevision || revision > this.revision) {
+            return Optional.empty();
+        }
+        final Map<String, Element<?>> changed = new LinkedHashMap<>();
+        for (final Element<?> element : changeLog.subList(revision - changeLogRevision,
+                                                          changeLog.size())) {
+            changed.put(element.getUUID(),
+                        element);
+        }
+        return Optional.of(changed);
+    }
+
+    /**
+     * Returns a read only view of the structural hash contribution of each node and connected edge, by uuid.
+     * Comparing a copy of it with a later view tells which elements have been added, removed or modified since.
+     */
+    public Map<String, Integer> getElementHashes() {
+        getStructuralHash();
+        return Collections.unmodifiableMap(elementHashes);
+    }
+
+    /**
+     * Computes the structural hash by visiting the whole graph, ignoring the incrementally maintained value.
+     */
+    public int computeStructuralHash() {
+        return combineElementHashes(collectElementHashes());
+    }
+
+    /**
+     * Updates the contribution of the given node or edge to the structural hash. Must be called once an element
+     * has been added, removed, connected or disconnected, or its content has been modified, unless it has been
+     * done through the graph's own methods.
+     */
+    @SuppressWarnings("unchecked")
+    public void updateStructuralHash(final Element<?> element) {
+        if (null == elementHashes) {
+            return;
+        }
+        if (element instanceof Node) {
+            final Node<?, Edge> node = (Node<?, Edge>) element;
+            final Node stored = nodeStore.get(node.getUUID());
+            putElementHash(node,
+                           null != stored ? getNodeHash(stored) : null);
+            node.getInEdges().forEach(this::updateStructuralHash);
+            node.getOutEdges().forEach(this::updateStructuralHash);
+        } else if (element instanceof Edge) {
+            final Edge<?, Node> edge = (Edge<?, Node>) element;
+            putElementHash(edge,
+                           isConnected(edge) ? getEdgeHash(edge) : null);
+        }
+    }
+
+    /**
+     * Discards the incrementally maintained structural hash, it gets computed again on next use.
+     */
+    public void resetStructuralHash() {
+        elementHashes = null;
+        structuralHash = 0;
+        changeLog = null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Integer> collectElementHashes() {
+        final Map<String, Integer> hashes = new HashMap<>();
+        for (final Node<?, Edge> node : nodeStore) {
+            hashes.put(node.getUUID(),
+                       getNodeHash(node));
+            node.getInEdges().forEach(edge -> hashes.put(edge.getUUID(),
+                                                         getEdgeHash(edge)));
+            node.getOutEdges().forEach(edge -> hashes.put(edge.getUUID(),
+                                                          getEdgeHash(edge)));
+        }
+        return hashes;
+    }
+
+    private void putElementHash(final Element<?> element,
+                                final Integer hash) {
+        final Integer previous = null != hash ?
+                elementHashes.put(element.getUUID(),
+                                  hash) :
+                elementHashes.remove(element.getUUID());
+        if (null != previous) {
+            structuralHash ^= previous;
+        }
+        if (null != hash) {
+            structuralHash ^= hash;
+        }
+        if (!Objects.equals(previous,
+                            hash)) {
+            logChange(element);
+        }
+    }
+
+    private void logChange(final Element<?> element) {
+        if (changeLog.size() == CHANGE_LOG_SIZE) {
+            // Drop the oldest half, callers asking for changes before it will look at the whole graph.
+            final int dropped = CHANGE_LOG_SIZE / 2;
+            changeLog = new ArrayList<>(changeLog.subList(dropped,
+                                                          changeLog.size()));
+            changeLogRevision += dropped;
+        }
+        changeLog.add(element);
+        revision++;
+    }
+
+    /**
+     * Starts a new change log, any revision given before is no longer valid.
+     */
+    private void resetChangeLog() {
+        revision++;
+        changeLog = new ArrayList<>();
+        changeLogRevision = revision;
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean isConnected(final Edge<?, Node> edge) {
+        final Node<?, Edge> source = edge.getSourceNode();
+        final Node<?, Edge> target = edge.getTargetNode();
+        return (null != source && null != nodeStore.get(source.getUUID()) && source.getOutEdges().contains(edge)) ||
+                (null != target && null != nodeStore.get(target.getUUID()) && target.getInEdges().contains(edge));
+    }
+
+    private static int combineElementHashes(final Map<String, Integer> hashes) {
+        int hash = 0;
+        for (final Integer elementHash : hashes.values()) {
+            hash ^= elementHash;
+        }
+        return hash;
+    }
+
+    private static int getNodeHash(final Node<?, ?> node) {
+        final Object content = node.getContent();
+        if (!(content instanceof DefinitionSet) &&
+                content instanceof Definition) {
+            final Object def = ((Definition) content).getDefinition();
+            return HashUtil.combineHashCodes(node.hashCode(),
+                                             null != def ? def.hashCode() : 0);
+        }
+        return HashUtil.combineHashCodes(node.hashCode());
+    }
+
+    private static int getEdgeHash(final Edge<?, ?> edge) {
+        final Object content = edge.getContent();
+        final Node source = edge.getSourceNode();
+        final Node target = edge.getTargetNode();
+        return HashUtil.combineHashCodes(edge.hashCode(),
+                                         null != content ? content.hashCode() : 0,
+                                         null != source ? source.getUUID().hashCode() : 0,
+                                         null != target ? target.getUUID().hashCode() : 0);
     }
 
     @Override
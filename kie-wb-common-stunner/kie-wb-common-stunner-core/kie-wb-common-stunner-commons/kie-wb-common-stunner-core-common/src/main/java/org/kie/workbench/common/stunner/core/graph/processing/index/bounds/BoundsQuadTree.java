@@ -0,0 +1,314 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.graph.processing.index.bounds;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A region quad-tree over axis aligned rectangles.
+ * Each value is kept in the deepest quadrant that fully contains its rectangle, so big containers
+ * (lanes, subprocesses) stay near the top of the tree and small shapes sink down to the leaves.
+ * Point and area lookups only visit the quadrants that intersect the query.
+ */
+class BoundsQuadTree<T> {
+
+    static final int MAX_DEPTH = 8;
+
+    private final Quadrant root;
+    private int size;
+
+    BoundsQuadTree(final double ulX,
+                   final double ulY,
+                   final double lrX,
+                   final double lrY) {
+        this.root = new Quadrant(ulX,
+                                 ulY,
+                                 lrX,
+                                 lrY,
+                                 0);
+        this.size = 0;
+    }
+
+    void add(final double ulX,
+             final double ulY,
+             final double lrX,
+             final double lrY,
+             final T value) {
+        root.add(new Item<>(ulX,
+                            ulY,
+                            lrX,
+                            lrY,
+                            value));
+        size++;
+    }
+
+    /**
+     * Removes the value added with the given bounds. The bounds are used to find the quadrant
+     * the value was stored in, so they must be the ones it was added with.
+     * @return whether the value was found.
+     */
+    boolean remove(final double ulX,
+                   final double ulY,
+                   final double lrX,
+                   final double lrY,
+                   final T value) {
+        final boolean removed = root.remove(new Item<>(ulX,
+                                                       ulY,
+                                                       lrX,
+                                                       lrY,
+                                                       value));
+        if (removed) {
+            size--;
+        }
+        return removed;
+    }
+
+    /**
+     * Visits the values which bounds contain the given point, borders included.
+     */
+    void findAt(final double x,
+                final double y,
+                final Consumer<T> consumer) {
+        root.findAt(x,
+                    y,
+                    consumer);
+    }
+
+    /**
+     * Visits the values which bounds intersect the given area, borders included.
+     */
+    void findIn(final double ulX,
+                final double ulY,
+                final double lrX,
+                final double lrY,
+                final Consumer<T> consumer) {
+        root.findIn(ulX,
+                    ulY,
+                    lrX,
+                    lrY,
+                    consumer);
+    }
+
+    int size() {
+        return size;
+    }
+
+    private static class Item<T> {
+
+        private final double ulX;
+        private final double ulY;
+        private final double lrX;
+        private final double lrY;
+        private final T value;
+
+        private Item(final double ulX,
+                     final double ulY,
+                     final double lrX,
+                     final double lrY,
+                     final T value) {
+            this.ulX = ulX;
+            this.ulY = ulY;
+            this.lrX = lrX;
+            this.lrY = lrY;
+            this.value = value;
+        }
+
+        private boolean contains(final double x,
+                                 final double y) {
+            return x >= ulX && x <= lrX && y >= ulY && y <= lrY;
+        }
+
+        private boolean intersects(final double ulX,
+                                   final double ulY,
+                                   final double lrX,
+                                   final double lrY) {
+            return this.ulX <= lrX && this.lrX >= ulX && this.ulY <= lrY && this.lrY >= ulY;
+        }
+    }
+
+    private class Quadrant {
+
+        private final double ulX;
+        private final double ulY;
+        private final double lrX;
+        private final double lrY;
+        private final double midX;
+        private final double midY;
+        private final int depth;
+        private final List<Item<T>> items = new ArrayList<>();
+        // Upper left, upper right, lower left, lower right. Created on demand.
+        private Quadrant[] children;
+
+        private Quadrant(final double ulX,
+                         final double ulY,
+                         final double lrX,
+                         final double lrY,
+                         final int depth) {
+            this.ulX = ulX;
+            this.ulY = ulY;
+            this.lrX = lrX;
+            this.lrY = lrY;
+            this.midX = ulX + (lrX - ulX) / 2;
+            this.midY = ulY + (lrY - ulY) / 2;
+            this.depth = depth;
+        }
+
+        private void add(final Item<T> item) {
+            final int index = depth < MAX_DEPTH ? getChildIndex(item) : -1;
+            if (index < 0) {
+                items.add(item);
+            } else {
+                getOrCreateChild(index).add(item);
+            }
+        }
+
+        private boolean remove(final Item<T> item) {
+            final int index = depth < MAX_DEPTH ? getChildIndex(item) : -1;
+            if (index < 0) {
+                return items.removeIf(i -> i.value == item.value);
+            }
+            return null != children
+                    && null != children[index]
+                    && children[index].remove(item);
+        }
+
+        private void findAt(final double x,
+                            final double y,
+                            final Consumer<T> consumer) {
+            for (final Item<T> item : items) {
+                if (item.contains(x,
+                                  y)) {
+                    consumer.accept(item.value);
+                }
+            }
+            if (null != children) {
+                // Points on the middle lines may belong to any of the adjacent quadrants.
+                final boolean left = x <= midX;
+                final boolean right = x >= midX;
+                final boolean top = y <= midY;
+                final boolean bottom = y >= midY;
+                findAt(0,
+                       left && top,
+                       x,
+                       y,
+                       consumer);
+                findAt(1,
+                       right && top,
+                       x,
+                       y,
+                       consumer);
+                findAt(2,
+                       left && bottom,
+                       x,
+                       y,
+                       consumer);
+                findAt(3,
+                       right && bottom,
+                       x,
+                       y,
+                       consumer);
+            }
+        }
+
+        private void findAt(final int index,
+                            final boolean accepts,
+                            final double x,
+                            final double y,
+                            final Consumer<T> consumer) {
+            if (accepts && null != children[index]) {
+                children[index].findAt(x,
+                                       y,
+                                       consumer);
+            }
+        }
+
+        private void findIn(final double ulX,
+                            final double ulY,
+                            final double lrX,
+                            final double lrY,
+                            final Consumer<T> consumer) {
+            for (final Item<T> item : items) {
+                if (item.intersects(ulX,
+                                    ulY,
+                                    lrX,
+                                    lrY)) {
+                    consumer.accept(item.value);
+                }
+            }
+            if (null != children) {
+                for (final Quadrant child : children) {
+                    if (null != child && child.intersects(ulX,
+                                                          ulY,
+                                                          lrX,
+                                                          lrY)) {
+                        child.findIn(ulX,
+                                     ulY,
+                                     lrX,
+                                     lrY,
+                                     consumer);
+                    }
+                }
+            }
+        }
+
+        private boolean intersects(final double ulX,
+                                   final double ulY,
+                                   final double lrX,
+                                   final double lrY) {
+            return this.ulX <= lrX && this.lrX >= ulX && this.ulY <= lrY && this.lrY >= ulY;
+        }
+
+        private int getChildIndex(final Item<T> item) {
+            final boolean left = item.ulX >= ulX && item.lrX < midX;
+            final boolean right = item.ulX >= midX && item.lrX <= lrX;
+            final boolean top = item.ulY >= ulY && item.lrY < midY;
+            final boolean bottom = item.ulY >= midY && item.lrY <= lrY;
+            if (top && left) {
+                return 0;
+            }
+            if (top && right) {
+                return 1;
+            }
+            if (bottom && left) {
+                return 2;
+            }
+            if (bottom && right) {
+                return 3;
+            }
+            return -1;
+        }
+
+        @SuppressWarnings("unchecked")
+        private Quadrant getOrCreateChild(final int index) {
+            if (null == children) {
+                children = (Quadrant[]) new BoundsQuadTree.Quadrant[4];
+            }
+            if (null == children[index]) {
+                final boolean right = index == 1 || index == 3;
+                final boolean bottom = index >= 2;
+                children[index] = new Quadrant(right ? midX : ulX,
+                                               bottom ? midY : ulY,
+                                               right ? lrX : midX,
+                                               bottom ? lrY : midY,
+                                               depth + 1);
+            }
+            return children[index];
+        }
+    }
+}
@@ -16,12 +16,17 @@
 
 package org.kie.workbench.common.stunner.core.graph.processing.index.bounds;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import javax.enterprise.context.Dependent;
 import javax.inject.Inject;
 
 import org.kie.workbench.common.stunner.core.graph.Edge;
+import org.kie.workbench.common.stunner.core.graph.Element;
 import org.kie.workbench.common.stunner.core.graph.Graph;
 import org.kie.workbench.common.stunner.core.graph.Node;
 import org.kie.workbench.common.stunner.core.graph.content.Bounds;
@@ -32,11 +37,23 @@ import org.kie.workbench.common.stunner.core.graph.processing.traverse.content.A
 import org.kie.workbench.common.stunner.core.graph.processing.traverse.content.ChildrenTraverseProcessor;
 import org.kie.workbench.common.stunner.core.graph.util.GraphUtils;
 
+/**
+ * Indexes the absolute bounds of the graph nodes in a quad-tree, so looking for the node at some location
+ * does not require to traverse the whole graph on each call.
+ * The index is built on the first lookup after calling <code>build</code> or <code>setRootUUID</code>.
+ * Once built, it can be kept up to date by calling <code>update</code> and <code>remove</code> for the
+ * nodes that change, instead of building it again.
+ */
 @Dependent
 public class GraphBoundsIndexerImpl implements GraphBoundsIndexer {
 
     private Graph<View, Node<View, Edge>> graph;
     private String rootUUID = null;
+    private BoundsQuadTree<IndexedNode> index;
+    private Map<String, IndexedNode> indexedNodes;
+    private IndexedNode indexedRoot;
+    private int nextOrder;
+    private double[] trimmedBounds;
 
     ChildrenTraverseProcessor childrenTraverseProcessor;
 
@@ -48,6 +65,7 @@ public class GraphBoundsIndexerImpl implements GraphBoundsIndexer {
     @Override
     public GraphBoundsIndexerImpl build(final Graph<View, Node<View, Edge>> graph) {
         this.graph = graph;
+        clearIndex();
         return this;
     }
 
@@ -60,73 +78,296 @@ public class GraphBoundsIndexerImpl implements GraphBoundsIndexer {
 
     @Override
     public double[] getTrimmedBounds() {
-        final double[] result = new double[]{Double.MAX_VALUE, Double.MAX_VALUE, 0, 0};
+        if (null == trimmedBounds) {
+            final double[] result = new double[]{Double.MAX_VALUE, Double.MAX_VALUE, 0, 0};
+            if (ensureIndex()) {
+                for (final IndexedNode indexedNode : indexedNodes.values()) {
+                    final boolean isInRoot = null == rootUUID || indexedNode.isRootChild;
+                    if (isInRoot && indexedNode != indexedRoot) {
+                        if (indexedNode.ulX < result[0]) {
+                            result[0] = indexedNode.ulX;
+                        }
+                        if (indexedNode.ulY < result[1]) {
+                            result[1] = indexedNode.ulY;
+                        }
+                        if (indexedNode.lrX > result[2]) {
+                            result[2] = indexedNode.lrX;
+                        }
+                        if (indexedNode.lrY > result[3]) {
+                            result[3] = indexedNode.lrY;
+                        }
+                    }
+                }
+            }
+            trimmedBounds = result;
+        }
+        return new double[]{trimmedBounds[0], trimmedBounds[1], trimmedBounds[2], trimmedBounds[3]};
+    }
+
+    /**
+     * Returns the node at the given location. When several nodes are found, the last one in the graph
+     * traversal order is returned, which is the most nested one. The root node, if any, is considered
+     * to be present at any location.
+     */
+    @SuppressWarnings("unchecked")
+    public Node<View<?>, Edge> findElementAt(final double x,
+                                             final double y) {
+        if (!ensureIndex()) {
+            return null;
+        }
+        final IndexedNode[] result = new IndexedNode[]{indexedRoot};
+        index.findAt(x,
+                     y,
+                     indexedNode -> {
+                         if (null == result[0] || indexedNode.order > result[0].order) {
+                             result[0] = indexedNode;
+                         }
+                     });
+        return null != result[0] ? (Node) result[0].node : null;
+    }
+
+    /**
+     * Returns the nodes which bounds intersect with the given area, in graph traversal order.
+     */
+    @SuppressWarnings("unchecked")
+    public List<Node<View<?>, Edge>> findElementsAt(final double x,
+                                                    final double y,
+                                                    final double width,
+                                                    final double height) {
+        if (!ensureIndex()) {
+            return Collections.emptyList();
+        }
+        final List<IndexedNode> found = new ArrayList<>();
+        index.findIn(x,
+                     y,
+                     x + width,
+                     y + height,
+                     found::add);
+        found.sort((n1, n2) -> Integer.compare(n1.order,
+                                               n2.order));
+        final List<Node<View<?>, Edge>> result = new ArrayList<>(found.size());
+        for (final IndexedNode indexedNode : found) {
+            result.add((Node) indexedNode.node);
+        }
+        return result;
+    }
+
+    private boolean ensureIndex() {
+        if (null == graph) {
+            return false;
+        }
+        if (null == index) {
+            buildIndex();
+        }
+        return true;
+    }
+
+    private void buildIndex() {
+        final List<IndexedNode> nodes = new ArrayList<>();
+        final IndexedNode[] root = new IndexedNode[1];
+        final double[] area = new double[]{Double.MAX_VALUE, Double.MAX_VALUE, -Double.MAX_VALUE, -Double.MAX_VALUE};
         childrenTraverseProcessor
-                .setRootUUID(this.rootUUID)
+                .setRootUUID(null)
                 .traverse(graph,
                           new GraphBoundIndexerTraverseCallback(new NodeBoundsTraverseCallback() {
 
                               @Override
                               public void onNodeTraverse(final Node<View, Edge> node,
                                                          final double parentX,
-                                                         final double parentY) {
-                                  final String uuid = node.getUUID();
-                                  final boolean isRoot = null != GraphBoundsIndexerImpl.this.rootUUID
-                                          && GraphBoundsIndexerImpl.this.rootUUID.equals(uuid);
-                                  if (!isRoot) {
-                                      final double[] absCoords = getNodeAbsoluteCoordinates(node,
-                                                                                            parentX,
-                                                                                            parentY);
-                                      final double x = absCoords[0];
-                                      final double y = absCoords[1];
-                                      final double w = absCoords[2];
-                                      final double h = absCoords[3];
-                                      if (x < result[0]) {
-                                          result[0] = x;
-                                      }
-                                      if (y < result[1]) {
-                                          result[1] = y;
-                                      }
-                                      if (w > result[2]) {
-                                          result[2] = w;
-                                      }
-                                      if (h > result[3]) {
-                                          result[3] = h;
-                                      }
+                                                         final double parentY,
+                                                         final boolean isRootChild) {
+                                  final double[] absCoords = getNodeAbsoluteCoordinates(node,
+                                                                                        parentX,
+                                                                                        parentY);
+                                  final IndexedNode indexedNode = new IndexedNode(node,
+                                                                                  absCoords,
+                                                                                  nodes.size(),
+                                                                                  isRootChild);
+                                  nodes.add(indexedNode);
+                                  if (null != rootUUID && rootUUID.equals(node.getUUID())) {
+                                      root[0] = indexedNode;
                                   }
+                                  area[0] = Math.min(area[0],
+                                                     absCoords[0]);
+                                  area[1] = Math.min(area[1],
+                                                     absCoords[1]);
+                                  area[2] = Math.max(area[2],
+                                                     absCoords[2]);
+                                  area[3] = Math.max(area[3],
+                                                     absCoords[3]);
                               }
                           }));
-        return result;
+        final BoundsQuadTree<IndexedNode> tree = nodes.isEmpty() ?
+                new BoundsQuadTree<>(0,
+                                     0,
+                                     0,
+                                     0) :
+                new BoundsQuadTree<>(area[0],
+                                     area[1],
+                                     area[2],
+                                     area[3]);
+        for (final IndexedNode indexedNode : nodes) {
+            tree.add(indexedNode.ulX,
+                     indexedNode.ulY,
+                     indexedNode.lrX,
+                     indexedNode.lrY,
+                     indexedNode);
+        }
+        final Map<String, IndexedNode> nodesByUUID = new LinkedHashMap<>(nodes.size());
+        for (final IndexedNode indexedNode : nodes) {
+            nodesByUUID.put(indexedNode.node.getUUID(),
+                            indexedNode);
+        }
+        this.index = tree;
+        this.indexedNodes = nodesByUUID;
+        this.indexedRoot = root[0];
+        this.nextOrder = nodes.size();
     }
 
+    @Override
     @SuppressWarnings("unchecked")
-    public Node<View<?>, Edge> findElementAt(final double x,
-                                             final double y) {
-        final Node[] result = new Node[1];
-        childrenTraverseProcessor.traverse(graph,
-                                           new GraphBoundIndexerTraverseCallback(new NodeBoundsTraverseCallback() {
-
-                                               @Override
-                                               public void onNodeTraverse(final Node<View, Edge> node,
-                                                                          final double parentX,
-                                                                          final double parentY) {
-                                                   if (isNodeAt(node,
-                                                                parentX,
-                                                                parentY,
-                                                                x,
-                                                                y)) {
-                                                       result[0] = node;
-                                                   }
-                                               }
-                                           }));
-        return result[0];
+    public GraphBoundsIndexer update(final Node<View, Edge> node) {
+        // Nothing to update if the index has not been built yet, it will be built from the graph on next lookup.
+        if (null != index && node.getContent() instanceof View) {
+            double parentX = 0;
+            double parentY = 0;
+            boolean isRootChild = false;
+            Element<?> parent = GraphUtils.getParent(node);
+            final IndexedNode indexedParent = null != parent ? indexedNodes.get(parent.getUUID()) : null;
+            while (parent instanceof Node) {
+                final Point2D parentCoordinates = getNodeCoordinates((Node) parent);
+                if (null != parentCoordinates) {
+                    parentX += parentCoordinates.getX();
+                    parentY += parentCoordinates.getY();
+                }
+                if (null != rootUUID && rootUUID.equals(parent.getUUID())) {
+                    isRootChild = true;
+                }
+                parent = GraphUtils.getParent((Node) parent);
+            }
+            reindex(node,
+                    indexedParent,
+                    parentX,
+                    parentY,
+                    isRootChild);
+            trimmedBounds = null;
+        }
+        return this;
+    }
+
+    @Override
+    public GraphBoundsIndexer remove(final Node<View, Edge> node) {
+        if (null != index) {
+            final IndexedNode indexedNode = indexedNodes.remove(node.getUUID());
+            if (null != indexedNode) {
+                index.remove(indexedNode.ulX,
+                             indexedNode.ulY,
+                             indexedNode.lrX,
+                             indexedNode.lrY,
+                             indexedNode);
+                if (indexedNode == indexedRoot) {
+                    indexedRoot = null;
+                }
+                trimmedBounds = null;
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Replaces the entries for the given node and its children, as the absolute bounds of the children
+     * depend on the location of the node. A node keeps its traversal order unless it is not after its
+     * parent anymore (new nodes, or nodes moved into a container), in which case it is placed last.
+     */
+    @SuppressWarnings("unchecked")
+    private void reindex(final Node<View, Edge> node,
+                         final IndexedNode indexedParent,
+                         final double parentX,
+                         final double parentY,
+                         final boolean isRootChild) {
+        final IndexedNode previous = indexedNodes.get(node.getUUID());
+        if (null != previous) {
+            index.remove(previous.ulX,
+                         previous.ulY,
+                         previous.lrX,
+                         previous.lrY,
+                         previous);
+        }
+        final boolean keepsOrder = null != previous && (null == indexedParent || previous.order > indexedParent.order);
+        final double[] absCoords = getNodeAbsoluteCoordinates(node,
+                                                              parentX,
+                                                              parentY);
+        final IndexedNode indexedNode = new IndexedNode(node,
+                                                        absCoords,
+                                                        keepsOrder ? previous.order : nextOrder++,
+                                                        isRootChild);
+        indexedNodes.put(node.getUUID(),
+                         indexedNode);
+        index.add(indexedNode.ulX,
+                  indexedNode.ulY,
+                  indexedNode.lrX,
+                  indexedNode.lrY,
+                  indexedNode);
+        if (null != rootUUID && rootUUID.equals(node.getUUID())) {
+            indexedRoot = indexedNode;
+        }
+        final Point2D coordinates = getNodeCoordinates(node);
+        final double childrenX = parentX + (null != coordinates ? coordinates.getX() : 0);
+        final double childrenY = parentY + (null != coordinates ? coordinates.getY() : 0);
+        final boolean isChildRootChild = isRootChild || (null != rootUUID && rootUUID.equals(node.getUUID()));
+        final List<Edge> outEdges = node.getOutEdges();
+        if (null != outEdges) {
+            for (final Edge edge : outEdges) {
+                final Node target = edge.getTargetNode();
+                if (edge.getContent() instanceof Child && null != target && target.getContent() instanceof View) {
+                    reindex(target,
+                            indexedNode,
+                            childrenX,
+                            childrenY,
+                            isChildRootChild);
+                }
+            }
+        }
+    }
+
+    private void clearIndex() {
+        this.index = null;
+        this.indexedNodes = null;
+        this.indexedRoot = null;
+        this.nextOrder = 0;
+        this.trimmedBounds = null;
+    }
+
+    private static class IndexedNode {
+
+        private final Node<View, Edge> node;
+        private final double ulX;
+        private final double ulY;
+        private final double lrX;
+        private final double lrY;
+        private final int order;
+        private final boolean isRootChild;
+
+        private IndexedNode(final Node<View, Edge> node,
+                            final double[] absCoords,
+                            final int order,
+                            final boolean isRootChild) {
+            this.node = node;
+            this.ulX = absCoords[0];
+            this.ulY = absCoords[1];
+            this.lrX = absCoords[2];
+            this.lrY = absCoords[3];
+            this.order = order;
+            this.isRootChild = isRootChild;
+        }
     }
 
     private abstract class NodeBoundsTraverseCallback {
 
         public abstract void onNodeTraverse(final Node<View, Edge> node,
                                             final double parentX,
-                                            final double parentY);
+                                            final double parentY,
+                                            final boolean isRootChild);
     }
 
     private class GraphBoundIndexerTraverseCallback extends AbstractChildrenTraverseCallback<Node<View, Edge>, Edge<Child, Node>> {
@@ -157,6 +398,7 @@ public class GraphBoundsIndexerImpl implements GraphBoundsIndexer {
         private void onStartNodeTraversal(final Optional<List<Node<View, Edge>>> parents,
                                           final Node<View, Edge> node) {
             final double[] parentLocation = {0, 0};
+            final boolean[] isRootChild = {false};
             if (parents.isPresent()) {
                 parents.get().forEach(parent -> {
                     final Point2D nodeCoordinates = getNodeCoordinates(parent);
@@ -164,11 +406,15 @@ public class GraphBoundsIndexerImpl implements GraphBoundsIndexer {
                         parentLocation[0] += nodeCoordinates.getX();
                         parentLocation[1] += nodeCoordinates.getY();
                     }
+                    if (null != rootUUID && rootUUID.equals(parent.getUUID())) {
+                        isRootChild[0] = true;
+                    }
                 });
             }
             callback.onNodeTraverse(node,
                                     parentLocation[0],
-                                    parentLocation[1]);
+                                    parentLocation[1],
+                                    isRootChild[0]);
         }
     }
 
@@ -197,31 +443,10 @@ public class GraphBoundsIndexerImpl implements GraphBoundsIndexer {
         return new double[]{ulX, ulY, lrX, lrY};
     }
 
-    private boolean isNodeAt(final Node node,
-                             final double parentX,
-                             final double parentY,
-                             final double mouseX,
-                             final double mouseY) {
-        if (null != rootUUID && node.getUUID().equals(rootUUID)) {
-            return true;
-        }
-        final double[] absoluteCoords = getNodeAbsoluteCoordinates(node,
-                                                                   parentX,
-                                                                   parentY);
-        final double ulX = absoluteCoords[0];
-        final double ulY = absoluteCoords[1];
-        final double lrX = absoluteCoords[2];
-        final double lrY = absoluteCoords[3];
-        if (mouseX >= ulX && mouseX <= lrX &&
-                mouseY >= ulY && mouseY <= lrY) {
-            return true;
-        }
-        return false;
-    }
-
     @Override
     public GraphBoundsIndexer setRootUUID(final String uuid) {
         this.rootUUID = uuid;
+        clearIndex();
         return this;
     }
 
@@ -230,5 +455,6 @@ public class GraphBoundsIndexerImpl implements GraphBoundsIndexer {
         this.graph = null;
         this.rootUUID = null;
         this.childrenTraverseProcessor = null;
+        clearIndex();
     }
 }
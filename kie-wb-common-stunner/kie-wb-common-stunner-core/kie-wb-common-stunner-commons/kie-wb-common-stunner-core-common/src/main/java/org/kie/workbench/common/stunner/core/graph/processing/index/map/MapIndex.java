@@ -16,19 +16,29 @@
 
 package org.kie.workbench.common.stunner.core.graph.processing.index.map;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
 
 import org.kie.workbench.common.stunner.core.graph.Edge;
 import org.kie.workbench.common.stunner.core.graph.Element;
 import org.kie.workbench.common.stunner.core.graph.Graph;
 import org.kie.workbench.common.stunner.core.graph.Node;
 import org.kie.workbench.common.stunner.core.graph.processing.index.MutableIndex;
+import org.kie.workbench.common.stunner.core.graph.processing.index.labeled.LabelCountIndex;
 
-public class MapIndex implements MutableIndex<Node, Edge> {
+public class MapIndex implements MutableIndex<Node, Edge>,
+                                 LabelCountIndex<Node, Edge> {
 
     final Graph<?, Node> graph;
     final Map<String, Node> nodes;
     final Map<String, Edge> edges;
+    // The labels counted for each node, as node labels can be updated (eg: morphing) once indexed.
+    final Map<String, Set<String>> nodeLabels;
+    final Map<String, Integer> labelCounts;
 
     public MapIndex(final Graph<?, Node> graph,
                     final Map<String, Node> nodes,
@@ -36,6 +46,9 @@ public class MapIndex implements MutableIndex<Node, Edge> {
         this.graph = graph;
         this.nodes = nodes;
         this.edges = edges;
+        this.nodeLabels = new HashMap<>(nodes.size());
+        this.labelCounts = new LinkedHashMap<>();
+        countLabels();
     }
 
     @Override
@@ -66,12 +79,15 @@ public class MapIndex implements MutableIndex<Node, Edge> {
     public MutableIndex<Node, Edge> addNode(final Node node) {
         nodes.put(node.getUUID(),
                   node);
+        uncountLabels(node.getUUID());
+        countLabels(node);
         return this;
     }
 
     @Override
     public MutableIndex<Node, Edge> removeNode(final Node node) {
         nodes.remove(node.getUUID());
+        uncountLabels(node.getUUID());
         return this;
     }
 
@@ -92,5 +108,67 @@ public class MapIndex implements MutableIndex<Node, Edge> {
     public void clear() {
         nodes.clear();
         edges.clear();
+        nodeLabels.clear();
+        labelCounts.clear();
+    }
+
+    @Override
+    public int getLabelCount(final String label) {
+        final Integer count = labelCounts.get(label);
+        return null != count ? count : 0;
+    }
+
+    @Override
+    public Map<String, Integer> getLabelsCount(final Set<String> filter) {
+        if (null == filter) {
+            return new LinkedHashMap<>(labelCounts);
+        }
+        final Map<String, Integer> result = new LinkedHashMap<>(filter.size());
+        for (final String label : filter) {
+            final Integer count = labelCounts.get(label);
+            if (null != count) {
+                result.put(label,
+                           count);
+            }
+        }
+        return result;
+    }
+
+    void countLabels() {
+        nodeLabels.clear();
+        labelCounts.clear();
+        for (final Node node : nodes.values()) {
+            countLabels(node);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void countLabels(final Node node) {
+        final Set<String> labels = node.getLabels();
+        if (null != labels && !labels.isEmpty()) {
+            final Set<String> counted = Collections.unmodifiableSet(new HashSet<>(labels));
+            nodeLabels.put(node.getUUID(),
+                           counted);
+            for (final String label : counted) {
+                final Integer count = labelCounts.get(label);
+                labelCounts.put(label,
+                                null != count ? count + 1 : 1);
+            }
+        }
+    }
+
+    private void uncountLabels(final String uuid) {
+        final Set<String> counted = nodeLabels.remove(uuid);
+        if (null != counted) {
+            for (final String label : counted) {
+                final Integer count = labelCounts.get(label);
+                if (null != count && count > 1) {
+                    labelCounts.put(label,
+                                    count - 1);
+                } else {
+                    labelCounts.remove(label);
+                }
+            }
+        }
     }
 }
@@ -64,6 +64,7 @@ public class MapIndexBuilder implements GraphIndexBuilder<MapIndex> {
             current.nodes.putAll(nodes);
             current.edges.clear();
             current.edges.putAll(edges);
+            current.countLabels();
             return current;
         }
     }
@@ -0,0 +1,349 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.graph.store;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.jboss.errai.common.client.api.annotations.Portable;
+import org.kie.workbench.common.stunner.core.graph.Edge;
+import org.kie.workbench.common.stunner.core.graph.Node;
+
+/**
+ * A node store for large graphs. Each node uuid is interned to an int identifier, which is the node's
+ * position in a plain array, and the identifiers are looked up by uuid using an open addressing table of ints,
+ * so no map entry objects are allocated for the nodes. The identifiers of removed nodes are reused.
+ * The graph structure can be obtained as int arrays as well, see {@link #buildAdjacency()}.
+ */
+@Portable
+public class CompactGraphNodeStore implements GraphNodeStore<Node> {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int FREE = 0;
+    private static final int REMOVED = -1;
+
+    // The nodes by identifier. Removed nodes leave a null slot.
+    private Node[] nodes = new Node[INITIAL_CAPACITY];
+    private int size = 0;
+    // The identifiers lookup table, which slots contain the identifier plus one, or FREE, or REMOVED.
+    // It's built on first use, so on demand after unmarshalling as well.
+    private transient int[] table;
+    private transient int usedSlots;
+    private transient int nextId;
+    private transient int[] freeIds;
+    private transient int freeIdsCount;
+
+    @Override
+    public Node add(final Node node) {
+        ensureTable();
+        final String uuid = node.getUUID();
+        final int slot = findSlot(uuid);
+        if (slot >= 0) {
+            final int id = table[slot] - 1;
+            final Node previous = nodes[id];
+            nodes[id] = node;
+            return previous;
+        }
+        final int id = freeIdsCount > 0 ? freeIds[--freeIdsCount] : nextId++;
+        if (id >= nodes.length) {
+            nodes = copyOf(nodes,
+                           nodes.length * 2);
+        }
+        nodes[id] = node;
+        size++;
+        if ((usedSlots + 1) * 2 > table.length) {
+            rebuildTable(Math.max(size,
+                                  nextId));
+        } else {
+            insert(uuid,
+                   id);
+        }
+        return null;
+    }
+
+    @Override
+    public Node remove(final String uuid) {
+        ensureTable();
+        final int slot = findSlot(uuid);
+        if (slot < 0) {
+            return null;
+        }
+        final int id = table[slot] - 1;
+        table[slot] = REMOVED;
+        final Node removed = nodes[id];
+        nodes[id] = null;
+        size--;
+        if (freeIdsCount == freeIds.length) {
+            freeIds = copyOf(freeIds,
+                             freeIds.length * 2);
+        }
+        freeIds[freeIdsCount++] = id;
+        return removed;
+    }
+
+    @Override
+    public Node get(final String uuid) {
+        final int id = getId(uuid);
+        return id >= 0 ? nodes[id] : null;
+    }
+
+    /**
+     * Returns the identifier for the node with the given uuid, or <code>-1</code> if not present.
+     */
+    public int getId(final String uuid) {
+        ensureTable();
+        final int slot = findSlot(uuid);
+        return slot >= 0 ? table[slot] - 1 : -1;
+    }
+
+    /**
+     * Returns the node for the given identifier, or <code>null</code> if no node is present for it.
+     */
+    public Node get(final int id) {
+        return id >= 0 && id < nodes.length ? nodes[id] : null;
+    }
+
+    /**
+     * Returns the upper bound (exclusive) for the identifiers of the present nodes.
+     */
+    public int getIdBound() {
+        ensureTable();
+        return nextId;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        nodes = new Node[INITIAL_CAPACITY];
+        size = 0;
+        table = null;
+    }
+
+    @Override
+    public Iterator<Node> iterator() {
+        return new Iterator<Node>() {
+
+            private int index = advance(0);
+            private int last = -1;
+
+            @Override
+            public boolean hasNext() {
+                return index < nodes.length;
+            }
+
+            @Override
+            public Node next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                last = index;
+                index = advance(index + 1);
+                return nodes[last];
+            }
+
+            @Override
+            public void remove() {
+                if (last < 0 || null == nodes[last]) {
+                    throw new IllegalStateException();
+                }
+                CompactGraphNodeStore.this.remove(nodes[last].getUUID());
+            }
+
+            private int advance(final int from) {
+                int i = from;
+                while (i < nodes.length && null == nodes[i]) {
+                    i++;
+                }
+                return i;
+            }
+        };
+    }
+
+    /**
+     * Builds a read only snapshot of the graph structure, by using the node identifiers. For each node, it
+     * contains the identifiers of the target nodes for its outgoing edges, if present in this store.
+     */
+    @SuppressWarnings("unchecked")
+    public Adjacency buildAdjacency() {
+        final int bound = getIdBound();
+        final int[] offsets = new int[bound + 1];
+        int count = 0;
+        for (int id = 0; id < bound; id++) {
+            offsets[id] = count;
+            if (null != nodes[id]) {
+                for (final Edge edge : (List<Edge>) nodes[id].getOutEdges()) {
+                    if (getTargetId(edge) >= 0) {
+                        count++;
+                    }
+                }
+            }
+        }
+        offsets[bound] = count;
+        final int[] targets = new int[count];
+        int index = 0;
+        for (int id = 0; id < bound; id++) {
+            if (null != nodes[id]) {
+                for (final Edge edge : (List<Edge>) nodes[id].getOutEdges()) {
+                    final int targetId = getTargetId(edge);
+                    if (targetId >= 0) {
+                        targets[index++] = targetId;
+                    }
+                }
+            }
+        }
+        return new Adjacency(offsets,
+                             targets);
+    }
+
+    private int getTargetId(final Edge edge) {
+        final Node target = edge.getTargetNode();
+        if (null == target) {
+            return -1;
+        }
+        final int id = getId(target.getUUID());
+        return id >= 0 && nodes[id] == target ? id : -1;
+    }
+
+    private void ensureTable() {
+        if (null == table) {
+            nextId = 0;
+            for (int id = 0; id < nodes.length; id++) {
+                if (null != nodes[id]) {
+                    nextId = id + 1;
+                }
+            }
+            freeIds = new int[INITIAL_CAPACITY];
+            freeIdsCount = 0;
+            // Reuse the lowest identifiers first.
+            for (int id = nextId - 1; id >= 0; id--) {
+                if (null == nodes[id]) {
+                    if (freeIdsCount == freeIds.length) {
+                        freeIds = copyOf(freeIds,
+                                         freeIds.length * 2);
+                    }
+                    freeIds[freeIdsCount++] = id;
+                }
+            }
+            rebuildTable(size);
+        }
+    }
+
+    private void rebuildTable(final int entries) {
+        int capacity = INITIAL_CAPACITY;
+        while (capacity < entries * 4) {
+            capacity <<= 1;
+        }
+        table = new int[capacity];
+        usedSlots = 0;
+        for (int id = 0; id < nextId; id++) {
+            if (null != nodes[id]) {
+                insert(nodes[id].getUUID(),
+                       id);
+            }
+        }
+    }
+
+    private void insert(final String uuid,
+                        final int id) {
+        final int mask = table.length - 1;
+        int slot = hash(uuid) & mask;
+        while (table[slot] > 0) {
+            slot = (slot + 1) & mask;
+        }
+        if (table[slot] == FREE) {
+            usedSlots++;
+        }
+        table[slot] = id + 1;
+    }
+
+    private int findSlot(final String uuid) {
+        final int mask = table.length - 1;
+        int slot = hash(uuid) & mask;
+        int entry;
+        while ((entry = table[slot]) != FREE) {
+            if (entry != REMOVED && uuid.equals(nodes[entry - 1].getUUID())) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private static int hash(final String uuid) {
+        final int h = uuid.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static Node[] copyOf(final Node[] array,
+                                 final int length) {
+        final Node[] result = new Node[length];
+        System.arraycopy(array,
+                         0,
+                         result,
+                         0,
+                         Math.min(array.length,
+                                  length));
+        return result;
+    }
+
+    private static int[] copyOf(final int[] array,
+                                final int length) {
+        final int[] result = new int[length];
+        System.arraycopy(array,
+                         0,
+                         result,
+                         0,
+                         Math.min(array.length,
+                                  length));
+        return result;
+    }
+
+    /**
+     * The outgoing connections for each node, by node identifier, in compressed rows: the target identifiers
+     * for the node <code>id</code> are the ones in <code>targets</code> from <code>offsets[id]</code>
+     * (inclusive) to <code>offsets[id + 1]</code> (exclusive).
+     */
+    public static final class Adjacency {
+
+        private final int[] offsets;
+        private final int[] targets;
+
+        private Adjacency(final int[] offsets,
+                          final int[] targets) {
+            this.offsets = offsets;
+            this.targets = targets;
+        }
+
+        public int getIdBound() {
+            return offsets.length - 1;
+        }
+
+        public int getOutDegree(final int id) {
+            return offsets[id + 1] - offsets[id];
+        }
+
+        public int getTarget(final int id,
+                             final int index) {
+            return targets[offsets[id] + index];
+        }
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.graph.util;
+
+import java.util.Collection;
+import java.util.function.Consumer;
+
+import org.kie.workbench.common.stunner.core.graph.Edge;
+import org.kie.workbench.common.stunner.core.graph.Element;
+import org.kie.workbench.common.stunner.core.graph.Graph;
+import org.kie.workbench.common.stunner.core.graph.Node;
+import org.kie.workbench.common.stunner.core.graph.content.relationship.Child;
+import org.kie.workbench.common.stunner.core.graph.content.relationship.Dock;
+import org.kie.workbench.common.stunner.core.graph.content.view.BoundImpl;
+import org.kie.workbench.common.stunner.core.graph.content.view.BoundsImpl;
+import org.kie.workbench.common.stunner.core.graph.content.view.Connection;
+import org.kie.workbench.common.stunner.core.graph.content.view.View;
+import org.kie.workbench.common.stunner.core.graph.content.view.ViewConnector;
+import org.kie.workbench.common.stunner.core.graph.impl.EdgeImpl;
+import org.kie.workbench.common.stunner.core.graph.impl.GraphImpl;
+import org.kie.workbench.common.stunner.core.graph.processing.index.MutableIndex;
+import org.kie.workbench.common.stunner.core.rule.RuleSet;
+import org.kie.workbench.common.stunner.core.rule.RuleViolation;
+import org.kie.workbench.common.stunner.core.util.UUID;
+import org.kie.workbench.common.stunner.core.validation.GraphValidator;
+import org.uberfire.commons.validation.PortablePreconditions;
+
+/**
+ * Builds a graph structure by adding the nodes, edges and relationships straight into the graph store and
+ * its index, so the same structure the graph commands produce is obtained but without executing a command,
+ * nor evaluating the rules, for each element.
+ * It's meant for trusted content, for example when unmarshalling diagrams. If the resulting structure has to
+ * be checked, run a single validation pass once the graph is built, see
+ * {@link #validate(GraphValidator, RuleSet, Consumer)}.
+ */
+public class BulkGraphBuilder {
+
+    private final Graph<?, Node> graph;
+    private final MutableIndex<Node, Edge> index;
+
+    public BulkGraphBuilder(final Graph<?, Node> graph,
+                            final MutableIndex<Node, Edge> index) {
+        this.graph = PortablePreconditions.checkNotNull("graph",
+                                                        graph);
+        this.index = PortablePreconditions.checkNotNull("index",
+                                                        index);
+    }
+
+    public Graph<?, Node> getGraph() {
+        return graph;
+    }
+
+    public MutableIndex<Node, Edge> getIndex() {
+        return index;
+    }
+
+    /**
+     * Adds the node into the graph store and the index. Adding an already present node just indexes it again.
+     */
+    public BulkGraphBuilder addNode(final Node node) {
+        graph.addNode(node);
+        index.addNode(node);
+        return this;
+    }
+
+    /**
+     * Adds the edge into the index. The edge gets into the graph structure once connected to any node.
+     */
+    public BulkGraphBuilder addEdge(final Edge edge) {
+        index.addEdge(edge);
+        return this;
+    }
+
+    /**
+     * Sets (or removes, if <code>sourceNode</code> is <code>null</code>) the edge's source node, and the
+     * connection on the source node, if the edge is view based.
+     */
+    @SuppressWarnings("unchecked")
+    public BulkGraphBuilder setSourceNode(final Node<?, Edge> sourceNode,
+                                          final Edge<?, Node> edge,
+                                          final Connection connection) {
+        final Node<?, Edge> lastSourceNode = edge.getSourceNode();
+        if (null != lastSourceNode) {
+            lastSourceNode.getOutEdges().remove(edge);
+        }
+        if (null != sourceNode) {
+            sourceNode.getOutEdges().add(edge);
+        }
+        edge.setSourceNode(sourceNode);
+        if (edge.getContent() instanceof ViewConnector) {
+            ((ViewConnector) edge.getContent()).setSourceConnection(connection);
+        }
+        index.addEdge(edge);
+        updateHash(edge);
+        return this;
+    }
+
+    /**
+     * Sets (or removes, if <code>targetNode</code> is <code>null</code>) the edge's target node, and the
+     * connection on the target node, if the edge is view based.
+     */
+    @SuppressWarnings("unchecked")
+    public BulkGraphBuilder setTargetNode(final Node<?, Edge> targetNode,
+                                          final Edge<?, Node> edge,
+                                          final Connection connection) {
+        final Node<?, Edge> lastTargetNode = edge.getTargetNode();
+        if (null != lastTargetNode) {
+            lastTargetNode.getInEdges().remove(edge);
+        }
+        if (null != targetNode) {
+            targetNode.getInEdges().add(edge);
+        }
+        edge.setTargetNode(targetNode);
+        if (edge.getContent() instanceof ViewConnector) {
+            ((ViewConnector) edge.getContent()).setTargetConnection(connection);
+        }
+        index.addEdge(edge);
+        updateHash(edge);
+        return this;
+    }
+
+    /**
+     * Adds the candidate node, if not present yet, and the parent-child relationship.
+     */
+    public BulkGraphBuilder addChildNode(final Node<?, Edge> parent,
+                                         final Node<?, Edge> candidate) {
+        addNode(candidate);
+        return setChildNode(parent,
+                            candidate);
+    }
+
+    public BulkGraphBuilder setChildNode(final Node<?, Edge> parent,
+                                         final Node<?, Edge> candidate) {
+        final Edge<Child, Node> edge = new EdgeImpl<>(UUID.uuid());
+        edge.setContent(new Child());
+        return connect(parent,
+                       candidate,
+                       edge);
+    }
+
+    /**
+     * Adds the candidate node, if not present yet, and docks it into the parent node.
+     */
+    public BulkGraphBuilder addDockedNode(final Node<?, Edge> parent,
+                                          final Node<?, Edge> candidate) {
+        addNode(candidate);
+        return dockNode(parent,
+                        candidate);
+    }
+
+    public BulkGraphBuilder dockNode(final Node<?, Edge> parent,
+                                     final Node<?, Edge> candidate) {
+        final Edge<Dock, Node> edge = new EdgeImpl<>(UUID.uuid());
+        edge.setContent(new Dock());
+        return connect(parent,
+                       candidate,
+                       edge);
+    }
+
+    /**
+     * Moves the node to the given location, keeping its size.
+     */
+    public BulkGraphBuilder setPosition(final Node<? extends View<?>, Edge> node,
+                                        final double x,
+                                        final double y) {
+        final double[] size = GraphUtils.getNodeSize(node.getContent());
+        node.getContent().setBounds(new BoundsImpl(new BoundImpl(x,
+                                                                 y),
+                                                   new BoundImpl(x + size[0],
+                                                                 y + size[1])));
+        return this;
+    }
+
+    /**
+     * Runs a single validation pass over the whole graph.
+     * @param validator The graph validator.
+     * @param ruleSet The rule set to validate against, or <code>null</code> to use the graph's default one.
+     * @param callback The consumer for the resulting violations.
+     */
+    @SuppressWarnings("unchecked")
+    public void validate(final GraphValidator<Graph, RuleViolation> validator,
+                         final RuleSet ruleSet,
+                         final Consumer<Collection<RuleViolation>> callback) {
+        validator.validate(graph,
+                           ruleSet,
+                           callback);
+    }
+
+    @SuppressWarnings("unchecked")
+    private BulkGraphBuilder connect(final Node<?, Edge> parent,
+                                     final Node<?, Edge> candidate,
+                                     final Edge edge) {
+        edge.setSourceNode(parent);
+        edge.setTargetNode(candidate);
+        parent.getOutEdges().add(edge);
+        candidate.getInEdges().add(edge);
+        index.addEdge(edge);
+        updateHash(edge);
+        return this;
+    }
+
+    private void updateHash(final Element<?> element) {
+        if (graph instanceof GraphImpl) {
+            ((GraphImpl) graph).updateStructuralHash(element);
+        }
+    }
+}
@@ -35,6 +35,8 @@ import org.kie.workbench.common.stunner.core.graph.content.definition.Definition
 import org.kie.workbench.common.stunner.core.graph.content.relationship.Child;
 import org.kie.workbench.common.stunner.core.graph.content.view.Point2D;
 import org.kie.workbench.common.stunner.core.graph.content.view.View;
+import org.kie.workbench.common.stunner.core.graph.processing.index.Index;
+import org.kie.workbench.common.stunner.core.graph.processing.index.labeled.LabelCountIndex;
 
 import static org.uberfire.commons.validation.PortablePreconditions.checkNotNull;
 
@@ -131,6 +133,20 @@ public class GraphUtils {
         return labels;
     }
 
+    /**
+     * Same as <code>getLabelsCount(target, filter)</code>, but uses the label counts
+     * kept by the graph index, if it supports it, instead of going through all the graph nodes.
+     */
+    public static Map<String, Integer> getLabelsCount(final Graph<?, ? extends Node> target,
+                                                      final Index<?, ?> graphIndex,
+                                                      final Set<String> filter) {
+        if (graphIndex instanceof LabelCountIndex && graphIndex.getGraph() == target) {
+            return ((LabelCountIndex<?, ?>) graphIndex).getLabelsCount(filter);
+        }
+        return getLabelsCount(target,
+                              filter);
+    }
+
     @SuppressWarnings("unchecked")
     public static List<String> getParentIds(final DefinitionManager definitionManager,
                                             final Graph<? extends DefinitionSet, ? extends Node> graph,
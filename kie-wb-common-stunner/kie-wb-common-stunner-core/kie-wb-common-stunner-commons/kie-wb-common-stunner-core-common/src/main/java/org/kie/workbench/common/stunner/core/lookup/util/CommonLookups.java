@@ -17,7 +17,8 @@
 package org.kie.workbench.common.stunner.core.lookup.util;
 
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -35,12 +36,9 @@ import org.kie.workbench.common.stunner.core.graph.Edge;
 import org.kie.workbench.common.stunner.core.graph.Graph;
 import org.kie.workbench.common.stunner.core.graph.Node;
 import org.kie.workbench.common.stunner.core.graph.content.definition.Definition;
+import org.kie.workbench.common.stunner.core.graph.processing.index.Index;
 import org.kie.workbench.common.stunner.core.graph.util.GraphUtils;
 import org.kie.workbench.common.stunner.core.lookup.LookupManager;
-import org.kie.workbench.common.stunner.core.lookup.definition.DefinitionLookupManager;
-import org.kie.workbench.common.stunner.core.lookup.definition.DefinitionLookupRequest;
-import org.kie.workbench.common.stunner.core.lookup.definition.DefinitionLookupRequestImpl;
-import org.kie.workbench.common.stunner.core.lookup.definition.DefinitionRepresentation;
 import org.kie.workbench.common.stunner.core.lookup.rule.RuleLookupManager;
 import org.kie.workbench.common.stunner.core.lookup.rule.RuleLookupRequest;
 import org.kie.workbench.common.stunner.core.lookup.rule.RuleLookupRequestImpl;
@@ -61,8 +59,9 @@ import static org.uberfire.commons.validation.PortablePreconditions.checkNotNull
  * An utils class that provides common used look-ups and other logic for querying the domain model and the rules model,
  * that is used along the application.
  * <p/>
- * // TODO: Some kind of cache to avoid frequently used lookups? Consider performance and memory, this class
- * is shared on both server and client sides.
+ * The labels and morph base types for the definitions of each Definition Set are kept in a
+ * {@link DefinitionSetCatalog}, built once on first use, so target definition look-ups do not
+ * need to instantiate the domain model objects.
  */
 @ApplicationScoped
 public class CommonLookups {
@@ -70,14 +69,13 @@ public class CommonLookups {
     private static Logger LOGGER = Logger.getLogger(CommonLookups.class.getName());
 
     private final DefinitionUtils definitionUtils;
-    private final DefinitionLookupManager definitionLookupManager;
     private final RuleManager ruleManager;
     private final RuleLookupManager ruleLookupManager;
     private final FactoryManager factoryManager;
+    private final Map<String, DefinitionSetCatalog> catalogs = new HashMap<>();
 
     protected CommonLookups() {
         this(null,
-             null,
              null,
              null,
              null);
@@ -86,12 +84,10 @@ public class CommonLookups {
     @Inject
     public CommonLookups(final DefinitionUtils definitionUtils,
                          final RuleManager ruleManager,
-                         final DefinitionLookupManager definitionLookupManager,
                          final RuleLookupManager ruleLookupManager,
                          final FactoryManager factoryManager) {
         this.definitionUtils = definitionUtils;
         this.ruleManager = ruleManager;
-        this.definitionLookupManager = definitionLookupManager;
         this.ruleLookupManager = ruleLookupManager;
         this.factoryManager = factoryManager;
     }
@@ -160,26 +156,22 @@ public class CommonLookups {
                                                              final String edgeId,
                                                              final int page,
                                                              final int pageSize) {
-        final Set<Object> allowedDefinitions = getAllowedTargetDefinitions(defSetId,
-                                                                           graph,
-                                                                           sourceNode,
-                                                                           edgeId,
-                                                                           page,
-                                                                           pageSize);
+        final Set<String> allowedDefinitions = getAllowedTargetDefinitionIds(defSetId,
+                                                                             graph,
+                                                                             null,
+                                                                             sourceNode,
+                                                                             edgeId,
+                                                                             page,
+                                                                             pageSize);
         log(Level.FINEST,
             "Target definitions allowed " +
                     "for [" + sourceNode + "] and using the " +
                     "connector [" + edgeId + "] " +
                     "ARE [" + allowedDefinitions + "]");
         if (null != allowedDefinitions) {
+            final DefinitionSetCatalog catalog = getCatalog(defSetId);
             final Set<String> result = new LinkedHashSet<>();
-            allowedDefinitions.stream().forEach(definition -> {
-                final String defId = getDefinitionManager().adapters().forDefinition().getId(definition);
-                final MorphDefinition morphDefinition = definitionUtils.getMorphDefinition(definition);
-                final boolean hasMorphBase = null != morphDefinition;
-                final String id = hasMorphBase ? morphDefinition.getDefault() : defId;
-                result.add(id);
-            });
+            allowedDefinitions.forEach(defId -> result.add(catalog.getMorphDefault(defId)));
             log(Level.FINEST,
                 "Target definitions group by morph base type allowed " +
                         "for [" + sourceNode + "] and using the " +
@@ -196,15 +188,65 @@ public class CommonLookups {
      * <p/>
      * TODO: Handle several result pages.
      */
-    @SuppressWarnings("unchecked")
     public <T> Set<Object> getAllowedTargetDefinitions(final String defSetId,
                                                        final Graph<?, ? extends Node> graph,
                                                        final Node<? extends Definition<T>, ? extends Edge> sourceNode,
                                                        final String edgeId,
                                                        final int page,
                                                        final int pageSize) {
+        return getAllowedTargetDefinitions(defSetId,
+                                           graph,
+                                           null,
+                                           sourceNode,
+                                           edgeId,
+                                           page,
+                                           pageSize);
+    }
+
+    /**
+     * Same as <code>getAllowedTargetDefinitions(defSetId, graph, sourceNode, edgeId, page, pageSize)</code>,
+     * but it uses the given graph index, if not null, for obtaining the graph's label counts.
+     */
+    public <T> Set<Object> getAllowedTargetDefinitions(final String defSetId,
+                                                       final Graph<?, ? extends Node> graph,
+                                                       final Index<?, ?> graphIndex,
+                                                       final Node<? extends Definition<T>, ? extends Edge> sourceNode,
+                                                       final String edgeId,
+                                                       final int page,
+                                                       final int pageSize) {
+        final Set<String> allowedDefinitionIds = getAllowedTargetDefinitionIds(defSetId,
+                                                                               graph,
+                                                                               graphIndex,
+                                                                               sourceNode,
+                                                                               edgeId,
+                                                                               page,
+                                                                               pageSize);
         final Set<Object> result = new LinkedHashSet<>();
+        allowedDefinitionIds.forEach(defId -> {
+            final Object targetDefinition = createDefinition(defId);
+            if (null != targetDefinition) {
+                result.add(targetDefinition);
+            }
+        });
+        return result;
+    }
 
+    /**
+     * Returns the allowed definition identifiers that can be used as target node for the given source node and
+     * the given edge (connector) identifier.
+     * The candidate's roles are obtained from the Definition Set's catalog, so no definitions are instantiated.
+     * It uses the given graph index, if not null, for obtaining the graph's label counts.
+     * <p/>
+     * TODO: Handle several result pages.
+     */
+    public <T> Set<String> getAllowedTargetDefinitionIds(final String defSetId,
+                                                         final Graph<?, ? extends Node> graph,
+                                                         final Index<?, ?> graphIndex,
+                                                         final Node<? extends Definition<T>, ? extends Edge> sourceNode,
+                                                         final String edgeId,
+                                                         final int page,
+                                                         final int pageSize) {
+        final Set<String> result = new LinkedHashSet<>();
         if (null != defSetId && null != graph && null != sourceNode && null != edgeId) {
             final T definition = sourceNode.getContent().getDefinition();
             final RuleSet ruleSet = getRuleSet(defSetId);
@@ -240,60 +282,51 @@ public class CommonLookups {
                             "ARE [" + allowedConnectionRoles + "]");
                 if (null != allowedConnectionRoles) {
                     // Obtain a first set of candidate Defintiion identifiers.
-                    final Set<String> allowedDefinitions = getDefinitions(defSetId,
-                                                                          allowedConnectionRoles);
+                    final DefinitionSetCatalog catalog = getCatalog(defSetId);
+                    final Set<String> allowedDefinitions = catalog.getDefinitionIds(allowedConnectionRoles);
                     log(Level.FINEST,
                         "Allowed target definitions that pass connection rules " +
                                 "ARE [" + allowedConnectionRoles + "]");
                     if (null != allowedDefinitions) {
                         final Map<String, Integer> graphLabelCount = GraphUtils.getLabelsCount(graph,
+                                                                                               graphIndex,
                                                                                                allowedConnectionRoles);
                         final int inConnectorsCount = countIncomingEdges(sourceNode,
                                                                          edgeId);
+                        final Map<String, Boolean> roleCardinalityAllowed = new HashMap<>();
                         allowedDefinitions
                                 .stream()
                                 .forEach(defId -> {
-                                    final Object targetDefinition = createDefinition(defId);
-                                    if (null != targetDefinition) {
-                                        final Set<String> targetDefinitionRoles =
-                                                getDefinitionManager()
-                                                        .adapters()
-                                                        .forDefinition()
-                                                        .getLabels(targetDefinition);
-                                        // Check cardinality for each of the roles for this potential target node.
-                                        final boolean hasCardinalityViolations = targetDefinitionRoles
-                                                .stream()
-                                                .filter(role -> {
-                                                    final Integer roleCount = Optional.ofNullable(graphLabelCount.get(role)).orElse(0);
-                                                    final RuleViolations violations =
-                                                            ruleManager.evaluate(ruleSet,
-                                                                                 RuleContextBuilder.DomainContexts.cardinality(Collections.singleton(role),
-                                                                                                                               roleCount,
-                                                                                                                               Optional.of(CardinalityContext.Operation.ADD)));
-                                                    return !pass(violations);
-                                                })
-                                                .findFirst()
-                                                .isPresent();
+                                    final Set<String> targetDefinitionRoles = catalog.getLabels(defId);
+                                    // Check cardinality for each of the roles for this potential target node.
+                                    // Roles are shared by many definitions, so each role is only evaluated once.
+                                    final boolean hasCardinalityViolations = targetDefinitionRoles
+                                            .stream()
+                                            .filter(role -> !roleCardinalityAllowed.computeIfAbsent(role,
+                                                                                                    r -> isCardinalityAllowed(ruleSet,
+                                                                                                                              r,
+                                                                                                                              graphLabelCount)))
+                                            .findFirst()
+                                            .isPresent();
+                                    log(Level.FINEST,
+                                        "Cardinality rules evaluation " +
+                                                "result = [" + hasCardinalityViolations + "]");
+                                    if (!hasCardinalityViolations) {
+                                        // Check incoming connector cardinality for each the target node.
+                                        final RuleViolations iev =
+                                                ruleManager.evaluate(ruleSet,
+                                                                     RuleContextBuilder.DomainContexts.edgeCardinality(Collections.singleton(defId),
+                                                                                                                       edgeId,
+                                                                                                                       inConnectorsCount,
+                                                                                                                       EdgeCardinalityContext.Direction.INCOMING,
+                                                                                                                       Optional.of(CardinalityContext.Operation.ADD)));
+                                        final boolean ieCardinalityAllowed = pass(iev);
                                         log(Level.FINEST,
-                                            "Cardinality rules evaluation " +
-                                                    "result = [" + hasCardinalityViolations + "]");
-                                        if (!hasCardinalityViolations) {
-                                            // Check incoming connector cardinality for each the target node.
-                                            final RuleViolations iev =
-                                                    ruleManager.evaluate(ruleSet,
-                                                                         RuleContextBuilder.DomainContexts.edgeCardinality(Collections.singleton(defId),
-                                                                                                                           edgeId,
-                                                                                                                           inConnectorsCount,
-                                                                                                                           EdgeCardinalityContext.Direction.INCOMING,
-                                                                                                                           Optional.of(CardinalityContext.Operation.ADD)));
-                                            final boolean ieCardinalityAllowed = pass(iev);
-                                            log(Level.FINEST,
-                                                "Incoming edge cardinality rules evaluation " +
-                                                        "result = [" + ieCardinalityAllowed + "]");
-                                            if (ieCardinalityAllowed) {
-                                                // This potential node can be used as target one, as it passes all rule checks.
-                                                result.add(targetDefinition);
-                                            }
+                                            "Incoming edge cardinality rules evaluation " +
+                                                    "result = [" + ieCardinalityAllowed + "]");
+                                        if (ieCardinalityAllowed) {
+                                            // This potential node can be used as target one, as it passes all rule checks.
+                                            result.add(defId);
                                         }
                                     }
                                 });
@@ -306,32 +339,59 @@ public class CommonLookups {
     }
 
     /**
-     * Returns all the Definition Set's definition identifiers that contains the given labels.
-     * <p/>
-     * TODO: Handle several result pages.
+     * Returns the catalog for the given Definition Set. It's built on first use and kept for further look-ups.
      */
-    private Set<String> getDefinitions(final String defSetId,
-                                       final Set<String> labels) {
-        if (null != labels && !labels.isEmpty()) {
-            final DefinitionLookupRequest request =
-                    new DefinitionLookupRequestImpl.Builder()
-                            .definitionSetId(defSetId)
-                            .labels(labels)
-                            .page(0)
-                            .pageSize(100)
-                            .build();
-            final LookupManager.LookupResponse<DefinitionRepresentation> response = definitionLookupManager.lookup(request);
-            final List<DefinitionRepresentation> definitionRepresentations = response.getResults();
-            if (null != definitionRepresentations && !definitionRepresentations.isEmpty()) {
-                final Set<String> result = new LinkedHashSet<>();
-                for (final DefinitionRepresentation definitionRepresentation : definitionRepresentations) {
-                    final String id = definitionRepresentation.getDefinitionId();
-                    result.add(id);
+    public synchronized DefinitionSetCatalog getCatalog(final String defSetId) {
+        checkNotNull("defSetId",
+                     defSetId);
+        DefinitionSetCatalog catalog = catalogs.get(defSetId);
+        if (null == catalog) {
+            catalog = buildCatalog(defSetId);
+            catalogs.put(defSetId,
+                         catalog);
+        }
+        return catalog;
+    }
+
+    private DefinitionSetCatalog buildCatalog(final String defSetId) {
+        final Map<String, Set<String>> labels = new LinkedHashMap<>();
+        final Map<String, String> morphDefaults = new HashMap<>();
+        final Object definitionSet = getDefinitionManager().definitionSets().getDefinitionSetById(defSetId);
+        final Set<String> definitionIds = null != definitionSet ?
+                getDefinitionManager().adapters().forDefinitionSet().getDefinitions(definitionSet) :
+                null;
+        if (null != definitionIds) {
+            for (final String defId : definitionIds) {
+                // A single instance per definition, only used for reading its metadata.
+                final Object definition = createDefinition(defId);
+                if (null != definition) {
+                    labels.put(defId,
+                               getDefinitionManager()
+                                       .adapters()
+                                       .registry()
+                                       .getDefinitionAdapter(definition.getClass())
+                                       .getLabels(definition));
+                    final MorphDefinition morphDefinition = getMorphDefinition(definition);
+                    if (null != morphDefinition) {
+                        morphDefaults.put(defId,
+                                          morphDefinition.getDefault());
+                    }
                 }
-                return result;
             }
         }
-        return new HashSet<>(0);
+        log(Level.FINEST,
+            "Catalog built for Definition Set [" + defSetId + "] with [" + labels.size() + "] definitions.");
+        return new DefinitionSetCatalog(defSetId,
+                                        labels,
+                                        morphDefaults);
+    }
+
+    private MorphDefinition getMorphDefinition(final Object definition) {
+        final boolean hasMorphAdapter = null != getDefinitionManager()
+                .adapters()
+                .registry()
+                .getMorphAdapter(definition.getClass());
+        return hasMorphAdapter ? definitionUtils.getMorphDefinition(definition) : null;
     }
 
     /**
@@ -438,12 +498,23 @@ public class CommonLookups {
         return getDefinitionManager().adapters().forDefinition().getLabels(definition);
     }
 
+    private boolean isCardinalityAllowed(final RuleSet ruleSet,
+                                         final String role,
+                                         final Map<String, Integer> graphLabelCount) {
+        final Integer roleCount = Optional.ofNullable(graphLabelCount.get(role)).orElse(0);
+        final RuleViolations violations =
+                ruleManager.evaluate(ruleSet,
+                                     RuleContextBuilder.DomainContexts.cardinality(Collections.singleton(role),
+                                                                                   roleCount,
+                                                                                   Optional.of(CardinalityContext.Operation.ADD)));
+        return pass(violations);
+    }
+
     private boolean pass(final RuleViolations violations) {
         return null == violations || !violations.violations(RuleViolation.Type.ERROR).iterator().hasNext();
     }
 
     private Object createDefinition(final String defId) {
-        // TODO: Avoid new instances here.
         return factoryManager.newDefinition(defId);
     }
 
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.lookup.util;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An immutable catalog for the definitions of a Definition Set.
+ * It keeps, for each definition identifier, its labels (roles) and the identifier of the default definition
+ * for its morph base, so lookups can be answered without instantiating the domain model objects.
+ */
+public final class DefinitionSetCatalog {
+
+    private final String definitionSetId;
+    private final Map<String, Set<String>> labels;
+    private final Map<String, String> morphDefaults;
+
+    public DefinitionSetCatalog(final String definitionSetId,
+                                final Map<String, Set<String>> labels,
+                                final Map<String, String> morphDefaults) {
+        this.definitionSetId = definitionSetId;
+        final Map<String, Set<String>> labelsCopy = new LinkedHashMap<>(labels.size());
+        labels.forEach((id, defLabels) -> labelsCopy.put(id,
+                                                         null != defLabels ?
+                                                                 Collections.unmodifiableSet(new LinkedHashSet<>(defLabels)) :
+                                                                 Collections.emptySet()));
+        this.labels = Collections.unmodifiableMap(labelsCopy);
+        this.morphDefaults = Collections.unmodifiableMap(new LinkedHashMap<>(morphDefaults));
+    }
+
+    public String getDefinitionSetId() {
+        return definitionSetId;
+    }
+
+    public Set<String> getDefinitionIds() {
+        return labels.keySet();
+    }
+
+    /**
+     * Returns the labels for the given definition identifier, or an empty set if it's not present in the catalog.
+     */
+    public Set<String> getLabels(final String definitionId) {
+        final Set<String> result = labels.get(definitionId);
+        return null != result ? result : Collections.emptySet();
+    }
+
+    /**
+     * Returns the identifier of the default definition for the morph base of the given definition, or the
+     * given identifier if the definition has no morph base.
+     */
+    public String getMorphDefault(final String definitionId) {
+        final String result = morphDefaults.get(definitionId);
+        return null != result ? result : definitionId;
+    }
+
+    /**
+     * Returns the identifiers of the definitions that contain any of the given labels.
+     */
+    public Set<String> getDefinitionIds(final Set<String> withAnyLabel) {
+        final Set<String> result = new LinkedHashSet<>();
+        if (null != withAnyLabel && !withAnyLabel.isEmpty()) {
+            labels.forEach((id, defLabels) -> {
+                if (defLabels.stream().anyMatch(withAnyLabel::contains)) {
+                    result.add(id);
+                }
+            });
+        }
+        return result;
+    }
+}
@@ -16,29 +16,80 @@
 
 package org.kie.workbench.common.stunner.core.registry.impl;
 
-import java.util.ArrayDeque;
-import java.util.ArrayList;
-import java.util.Deque;
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.ToIntFunction;
 
 import org.kie.workbench.common.stunner.core.command.Command;
 import org.kie.workbench.common.stunner.core.registry.command.CommandRegistry;
-import org.kie.workbench.common.stunner.core.registry.exception.RegistrySizeExceededException;
 
 /**
  * The default generic implementation for the CommandRegistry type.
  * It's implemented for achieving an in-memory and lightweight registry approach, don't do an overuse of it.
- * Note: The Stack class behavior when using the iterator is not the expected one, so used
- * ArrayDeque instead of an Stack to provide right iteration order.
+ * Commands are kept in a ring buffer bounded by the registry's max size. Once it's full, registering
+ * a new command evicts the oldest one. Optionally, a weight budget can be given as well, along with
+ * a function that estimates the weight ( e.g. the retained bytes ) of each command.
  */
 public class CommandRegistryImpl<C extends Command> implements CommandRegistry<C> {
 
-    private final Deque<C> commands = new ArrayDeque<>();
-    private int maxStackSize = 200;
+    public static final int DEFAULT_MAX_SIZE = 200;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private Object[] commands = new Object[0];
+    private int[] weights = new int[0];
+    // The index for the most recently registered command.
+    private int head = -1;
+    private int size = 0;
+    private int maxStackSize = DEFAULT_MAX_SIZE;
+    private ToIntFunction<? super C> weigher = null;
+    private int maxWeight = Integer.MAX_VALUE;
+    private long weight = 0;
+
+    private final List<C> history = new AbstractList<C>() {
+        @Override
+        public C get(final int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            return entry(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    };
 
     @Override
     public void setMaxSize(final int size) {
-        this.maxStackSize = size;
+        this.maxStackSize = Math.max(0,
+                                     size);
+        while (this.size > maxStackSize) {
+            evictOldest();
+        }
+        if (commands.length > maxStackSize) {
+            resize(maxStackSize);
+        }
+    }
+
+    /**
+     * Sets a weight budget for the registry. Once the weight of the registered commands, as given by
+     * the <code>weigher</code>, exceeds the budget, the oldest commands are evicted. The most recently
+     * registered command is always kept.
+     */
+    public void setMaxWeight(final int maxWeight,
+                             final ToIntFunction<? super C> weigher) {
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+        this.weight = 0;
+        for (int i = 0; i < size; i++) {
+            final int index = indexOf(i);
+            weights[index] = weigh(entry(i));
+            weight += weights[index];
+        }
+        evictOverweight();
     }
 
     @Override
@@ -53,7 +104,11 @@ public class CommandRegistryImpl<C extends Command> implements CommandRegistry<C
 
     @Override
     public void clear() {
-        commands.clear();
+        Arrays.fill(commands,
+                    null);
+        head = -1;
+        size = 0;
+        weight = 0;
     }
 
     @Override
@@ -63,34 +118,94 @@ public class CommandRegistryImpl<C extends Command> implements CommandRegistry<C
 
     @Override
     public boolean isEmpty() {
-        return commands.isEmpty();
+        return size == 0;
     }
 
+    /**
+     * Returns a read-only view of the registered commands, the most recent one first.
+     * The view is not a copy, it reflects further changes on this registry.
+     */
     @Override
     public List<C> getCommandHistory() {
-        return new ArrayList<C>(commands);
+        return history;
     }
 
     @Override
     public C peek() {
-        return commands.peek();
+        return isEmpty() ? null : entry(0);
     }
 
     @Override
     public C pop() {
-        return commands.pop();
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        final C command = entry(0);
+        commands[head] = null;
+        weight -= weights[head];
+        head = (head - 1 + commands.length) % commands.length;
+        size--;
+        return command;
     }
 
     private void addIntoStack(final C command) {
-        if (null != command) {
-            if ((commands.size() + 1) > maxStackSize) {
-                stackSizeExceeded();
+        if (null != command && maxStackSize > 0) {
+            if (size == maxStackSize) {
+                evictOldest();
+            } else if (size == commands.length) {
+                resize(Math.min(Math.max(INITIAL_CAPACITY,
+                                         commands.length * 2),
+                                maxStackSize));
             }
-            commands.push(command);
+            head = (head + 1) % commands.length;
+            commands[head] = command;
+            weights[head] = weigh(command);
+            weight += weights[head];
+            size++;
+            evictOverweight();
+        }
+    }
+
+    private void evictOverweight() {
+        while (size > 1 && weight > maxWeight) {
+            evictOldest();
         }
     }
 
-    private void stackSizeExceeded() {
-        throw new RegistrySizeExceededException(maxStackSize);
+    private void evictOldest() {
+        final int index = indexOf(size - 1);
+        commands[index] = null;
+        weight -= weights[index];
+        size--;
+    }
+
+    private void resize(final int capacity) {
+        final Object[] newCommands = new Object[capacity];
+        final int[] newWeights = new int[capacity];
+        // Keep the commands from the oldest to the most recent one.
+        for (int i = 0; i < size; i++) {
+            final int index = indexOf(size - 1 - i);
+            newCommands[i] = commands[index];
+            newWeights[i] = weights[index];
+        }
+        commands = newCommands;
+        weights = newWeights;
+        head = size - 1;
+    }
+
+    private int weigh(final C command) {
+        return null != weigher ? weigher.applyAsInt(command) : 0;
+    }
+
+    /**
+     * The buffer index for the given position, being zero the most recently registered command.
+     */
+    private int indexOf(final int position) {
+        return (head - position + commands.length) % commands.length;
+    }
+
+    @SuppressWarnings("unchecked")
+    private C entry(final int position) {
+        return (C) commands[indexOf(position)];
     }
 }
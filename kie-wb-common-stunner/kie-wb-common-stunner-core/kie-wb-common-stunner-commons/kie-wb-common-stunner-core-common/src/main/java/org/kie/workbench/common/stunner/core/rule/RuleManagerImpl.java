@@ -16,10 +16,11 @@
 
 package org.kie.workbench.common.stunner.core.rule;
 
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Optional;
-import java.util.logging.Logger;
-import java.util.stream.Collectors;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 
@@ -32,12 +33,32 @@ import org.kie.workbench.common.stunner.core.rule.violations.DefaultRuleViolatio
 
 import static org.uberfire.commons.validation.PortablePreconditions.checkNotNull;
 
+/**
+ * The default rule manager.
+ * <p/>
+ * For each rule set and context type, the handlers that can evaluate each rule are resolved
+ * on the first evaluation, based on the handler's rule and context types, and kept in a dispatch table.
+ * Further evaluations only go through the rules that have some handler for the context type, and only
+ * perform the runtime acceptance checks (see <code>RuleEvaluationHandler#accepts</code>).
+ * Tables are discarded when registering or removing handlers.
+ */
 @ApplicationScoped
 public class RuleManagerImpl implements RuleManager {
 
-    private static Logger LOGGER = Logger.getLogger(RuleManagerImpl.class.getName());
+    static final int MAX_CACHED_RULE_SETS = 16;
+
+    private static final RuleEvaluationHandler[] NO_HANDLERS = new RuleEvaluationHandler[0];
 
     private final RuleHandlerRegistry registry;
+    private final Map<RuleSet, Map<Class<?>, RuleDispatchTable>> dispatchTables =
+            new LinkedHashMap<RuleSet, Map<Class<?>, RuleDispatchTable>>(MAX_CACHED_RULE_SETS,
+                                                                          0.75f,
+                                                                          true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<RuleSet, Map<Class<?>, RuleDispatchTable>> eldest) {
+                    return size() > MAX_CACHED_RULE_SETS;
+                }
+            };
 
     protected RuleManagerImpl() {
         this(null);
@@ -45,7 +66,7 @@ public class RuleManagerImpl implements RuleManager {
 
     @Inject
     public RuleManagerImpl(final RegistryFactory registryFactory) {
-        this.registry = null != registryFactory ? registryFactory.newRuleHandlerRegistry() : null;
+        this.registry = null != registryFactory ? new DispatchingRuleHandlerRegistry(registryFactory.newRuleHandlerRegistry()) : null;
     }
 
     @Override
@@ -66,17 +87,11 @@ public class RuleManagerImpl implements RuleManager {
         final DefaultRuleViolations results = new DefaultRuleViolations();
         final boolean hasRules = ruleSet.getRules().iterator().hasNext();
         if (hasRules) {
-            final boolean[] hasEvaluations = {false};
-            ruleSet.getRules().forEach(rule -> {
-                final Optional<RuleViolations> violations = evaluate(rule,
-                                                                     context);
-                if (violations.isPresent()) {
-                    hasEvaluations[0] = true;
-                    LOGGER.info("Rule Evaluation [" + rule + ", " + violations + "]");
-                    results.addViolations(violations.get());
-                }
-            });
-            if (!hasEvaluations[0] && context.isDefaultDeny()) {
+            final RuleDispatchTable table = getDispatchTable(ruleSet,
+                                                             context.getType());
+            final boolean hasEvaluations = table.evaluate(context,
+                                                          results);
+            if (!hasEvaluations && context.isDefaultDeny()) {
                 return getDefaultViolationForContext(context);
             }
         }
@@ -94,82 +109,166 @@ public class RuleManagerImpl implements RuleManager {
         return registry;
     }
 
-    private Optional<RuleViolations> evaluate(final Rule rule,
-                                              final RuleEvaluationContext context) {
-        if (rule instanceof RuleExtension) {
-            return evaluateExtension((RuleExtension) rule,
-                                     context);
+    private synchronized RuleDispatchTable getDispatchTable(final RuleSet ruleSet,
+                                                            final Class<?> contextType) {
+        Map<Class<?>, RuleDispatchTable> tables = dispatchTables.get(ruleSet);
+        if (null == tables) {
+            tables = new LinkedHashMap<>();
+            dispatchTables.put(ruleSet,
+                               tables);
+        }
+        RuleDispatchTable table = tables.get(contextType);
+        if (null == table) {
+            table = buildDispatchTable(ruleSet,
+                                       contextType);
+            tables.put(contextType,
+                       table);
         }
-        return evaluateRule(rule,
-                            context);
+        return table;
     }
 
-    @SuppressWarnings("unchecked")
-    private Optional<RuleViolations> evaluateRule(final Rule rule,
-                                                  final RuleEvaluationContext context) {
-        checkNotNull("rule",
-                     rule);
-        checkNotNull("context",
-                     context);
-        final Collection<RuleEvaluationHandler> handlers = getHandler(rule,
-                                                                      context);
-        final DefaultRuleViolations results = new DefaultRuleViolations();
-        if (!handlers.isEmpty()) {
-            handlers.forEach(h -> results.addViolations(h.evaluate(rule,
-                                                                   context)));
-            return Optional.of(results);
-        }
-        return Optional.empty();
+    private synchronized void clearDispatchTables() {
+        dispatchTables.clear();
     }
 
     @SuppressWarnings("unchecked")
-    private Optional<RuleViolations> evaluateExtension(final RuleExtension rule,
-                                                       final RuleEvaluationContext context) {
-        checkNotNull("rule",
-                     rule);
-        checkNotNull("context",
-                     context);
-        final Optional<RuleExtensionHandler> handler = getExtensionHandler(rule,
-                                                                           context);
-        return handler.isPresent() ? Optional.of(handler.get().evaluate(rule,
-                                                                        context)) : Optional.empty();
+    private RuleDispatchTable buildDispatchTable(final RuleSet ruleSet,
+                                                 final Class<?> contextType) {
+        final Collection<RuleEvaluationHandler> contextHandlers = registry.getHandlersByContext(contextType);
+        final List<Rule> rules = new ArrayList<>();
+        final List<RuleEvaluationHandler[]> handlers = new ArrayList<>();
+        for (final Rule rule : ruleSet.getRules()) {
+            final RuleEvaluationHandler[] ruleHandlers = rule instanceof RuleExtension ?
+                    getExtensionHandler((RuleExtension) rule,
+                                        contextType) :
+                    getHandlers(rule,
+                                contextType,
+                                contextHandlers);
+            if (ruleHandlers.length > 0) {
+                rules.add(rule);
+                handlers.add(ruleHandlers);
+            }
+        }
+        return new RuleDispatchTable(rules.toArray(new Rule[rules.size()]),
+                                     handlers.toArray(new RuleEvaluationHandler[handlers.size()][]));
     }
 
-    private Collection<RuleEvaluationHandler> getHandler(final Rule rule,
-                                                         final RuleEvaluationContext context) {
-        final Collection<RuleEvaluationHandler> handlers = registry.getHandlersByContext(context.getType());
-        return handlers.stream()
-                .filter(h -> accepts(h,
-                                     rule,
-                                     context))
-                .collect(Collectors.toList());
+    private RuleEvaluationHandler[] getHandlers(final Rule rule,
+                                                final Class<?> contextType,
+                                                final Collection<RuleEvaluationHandler> contextHandlers) {
+        if (null == contextHandlers || contextHandlers.isEmpty()) {
+            return NO_HANDLERS;
+        }
+        final List<RuleEvaluationHandler> result = new ArrayList<>(contextHandlers.size());
+        for (final RuleEvaluationHandler handler : contextHandlers) {
+            if (acceptsTypes(handler,
+                             rule,
+                             contextType)) {
+                result.add(handler);
+            }
+        }
+        return result.toArray(new RuleEvaluationHandler[result.size()]);
     }
 
-    private Optional<RuleExtensionHandler> getExtensionHandler(final RuleExtension rule,
-                                                               final RuleEvaluationContext context) {
+    private RuleEvaluationHandler[] getExtensionHandler(final RuleExtension rule,
+                                                        final Class<?> contextType) {
         final RuleExtensionHandler handler = registry.getExtensionHandler(rule.getHandlerType());
         return null != handler
-                && accepts(handler,
-                           rule,
-                           context) ? Optional.of(handler) : Optional.empty();
+                && acceptsTypes(handler,
+                                rule,
+                                contextType) ? new RuleEvaluationHandler[]{handler} : NO_HANDLERS;
     }
 
     /**
      * Handler acceptance based on:
-     * 1- Rule and context types - for performance and computing purposes.
+     * 1- Rule and context types - for performance and computing purposes. This one is resolved
+     * once, when building the dispatch table for a given rule set and context type.
      * 2- Once types are known accepted - do a second acceptance evaluation based
      * on the context's state at runtime.
      * 3.- Once 1) AND 2) - the handler is able to perform more complex runtime
      * evaluation, the evaluation can be delegated to it.
      */
-    @SuppressWarnings("unchecked")
-    private boolean accepts(final RuleEvaluationHandler handler,
-                            final Rule rule,
-                            final RuleEvaluationContext context) {
+    private static boolean acceptsTypes(final RuleEvaluationHandler handler,
+                                        final Rule rule,
+                                        final Class<?> contextType) {
         return handler.getRuleType().equals(rule.getClass())
-                && (handler.getContextType().equals(context.getType())
-                || RuleEvaluationContext.class.equals(handler.getContextType()))
-                && handler.accepts(rule,
-                                   context);
+                && (handler.getContextType().equals(contextType)
+                || RuleEvaluationContext.class.equals(handler.getContextType()));
+    }
+
+    private static class RuleDispatchTable {
+
+        private final Rule[] rules;
+        private final RuleEvaluationHandler[][] handlers;
+
+        private RuleDispatchTable(final Rule[] rules,
+                                  final RuleEvaluationHandler[][] handlers) {
+            this.rules = rules;
+            this.handlers = handlers;
+        }
+
+        /**
+         * Evaluates the rules for the given context and adds the resulting violations.
+         * Returns if any rule has been evaluated.
+         */
+        @SuppressWarnings("unchecked")
+        private boolean evaluate(final RuleEvaluationContext context,
+                                 final DefaultRuleViolations results) {
+            boolean hasEvaluations = false;
+            for (int i = 0; i < rules.length; i++) {
+                final Rule rule = rules[i];
+                for (final RuleEvaluationHandler handler : handlers[i]) {
+                    if (handler.accepts(rule,
+                                        context)) {
+                        hasEvaluations = true;
+                        results.addViolations(handler.evaluate(rule,
+                                                               context));
+                    }
+                }
+            }
+            return hasEvaluations;
+        }
+    }
+
+    private class DispatchingRuleHandlerRegistry implements RuleHandlerRegistry {
+
+        private final RuleHandlerRegistry delegate;
+
+        private DispatchingRuleHandlerRegistry(final RuleHandlerRegistry delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void register(final RuleEvaluationHandler item) {
+            delegate.register(item);
+            clearDispatchTables();
+        }
+
+        @Override
+        public boolean remove(final RuleEvaluationHandler item) {
+            final boolean removed = delegate.remove(item);
+            clearDispatchTables();
+            return removed;
+        }
+
+        @Override
+        public Collection<RuleEvaluationHandler> getHandlersByContext(final Class<?> context) {
+            return delegate.getHandlersByContext(context);
+        }
+
+        @Override
+        public <T extends RuleExtensionHandler> T getExtensionHandler(final Class<T> type) {
+            return delegate.getExtensionHandler(type);
+        }
+
+        @Override
+        public boolean contains(final RuleEvaluationHandler item) {
+            return delegate.contains(item);
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return delegate.isEmpty();
+        }
     }
 }
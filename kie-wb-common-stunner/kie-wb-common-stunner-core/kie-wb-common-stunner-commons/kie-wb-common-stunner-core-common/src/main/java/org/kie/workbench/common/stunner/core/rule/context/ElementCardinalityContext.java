@@ -20,6 +20,7 @@ import java.util.Optional;
 
 import org.kie.workbench.common.stunner.core.graph.Element;
 import org.kie.workbench.common.stunner.core.graph.content.view.View;
+import org.kie.workbench.common.stunner.core.graph.processing.index.Index;
 import org.kie.workbench.common.stunner.core.rule.handler.impl.ElementCardinalityEvaluationHandler;
 import org.kie.workbench.common.stunner.core.rule.impl.Occurrences;
 
@@ -45,4 +46,11 @@ public interface ElementCardinalityContext extends GraphEvaluationContext {
      * discarded although being present.
      */
     Optional<CardinalityContext.Operation> getOperation();
+
+    /**
+     * The index for the graph, if available. Allows obtaining
+     * the cardinality for the graph elements without going through
+     * all of them, if the index supports it.
+     */
+    Optional<Index<?, ?>> getGraphIndex();
 }
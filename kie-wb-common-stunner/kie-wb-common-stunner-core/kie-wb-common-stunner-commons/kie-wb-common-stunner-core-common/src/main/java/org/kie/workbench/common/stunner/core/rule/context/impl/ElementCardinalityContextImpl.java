@@ -22,6 +22,7 @@ import org.kie.workbench.common.stunner.core.graph.Element;
 import org.kie.workbench.common.stunner.core.graph.Graph;
 import org.kie.workbench.common.stunner.core.graph.Node;
 import org.kie.workbench.common.stunner.core.graph.content.view.View;
+import org.kie.workbench.common.stunner.core.graph.processing.index.Index;
 import org.kie.workbench.common.stunner.core.rule.RuleEvaluationContext;
 import org.kie.workbench.common.stunner.core.rule.context.CardinalityContext;
 import org.kie.workbench.common.stunner.core.rule.context.ElementCardinalityContext;
@@ -32,13 +33,16 @@ class ElementCardinalityContextImpl
 
     private final Optional<Element<? extends View<?>>> candidate;
     private final Optional<CardinalityContext.Operation> operation;
+    private final Optional<Index<?, ?>> graphIndex;
 
     ElementCardinalityContextImpl(final String name,
                                   final Graph<?, ? extends Node> graph,
+                                  final Optional<Index<?, ?>> graphIndex,
                                   final Optional<Element<? extends View<?>>> candidate,
                                   final Optional<CardinalityContext.Operation> operation) {
         super(name,
               graph);
+        this.graphIndex = graphIndex;
         this.candidate = candidate;
         this.operation = operation;
     }
@@ -53,6 +57,11 @@ class ElementCardinalityContextImpl
         return operation;
     }
 
+    @Override
+    public Optional<Index<?, ?>> getGraphIndex() {
+        return graphIndex;
+    }
+
     @Override
     public boolean isDefaultDeny() {
         return false;
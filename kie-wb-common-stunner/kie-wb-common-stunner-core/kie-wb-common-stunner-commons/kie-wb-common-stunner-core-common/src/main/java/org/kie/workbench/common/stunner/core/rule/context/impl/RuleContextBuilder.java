@@ -25,6 +25,7 @@ import org.kie.workbench.common.stunner.core.graph.Graph;
 import org.kie.workbench.common.stunner.core.graph.Node;
 import org.kie.workbench.common.stunner.core.graph.content.definition.Definition;
 import org.kie.workbench.common.stunner.core.graph.content.view.View;
+import org.kie.workbench.common.stunner.core.graph.processing.index.Index;
 import org.kie.workbench.common.stunner.core.rule.context.CardinalityContext;
 import org.kie.workbench.common.stunner.core.rule.context.ConnectionContext;
 import org.kie.workbench.common.stunner.core.rule.context.ConnectorCardinalityContext;
@@ -150,6 +151,18 @@ public class RuleContextBuilder {
                                                             final Optional<CardinalityContext.Operation> operation) {
             return new ElementCardinalityContextImpl("Cardinality",
                                                      graph,
+                                                     Optional.empty(),
+                                                     candidate,
+                                                     operation);
+        }
+
+        public static ElementCardinalityContext cardinality(final Graph<?, ? extends Node> graph,
+                                                            final Index<?, ?> graphIndex,
+                                                            final Optional<Element<? extends View<?>>> candidate,
+                                                            final Optional<CardinalityContext.Operation> operation) {
+            return new ElementCardinalityContextImpl("Cardinality",
+                                                     graph,
+                                                     Optional.ofNullable(graphIndex),
                                                      candidate,
                                                      operation);
         }
@@ -28,6 +28,7 @@ import org.kie.workbench.common.stunner.core.graph.Element;
 import org.kie.workbench.common.stunner.core.graph.Graph;
 import org.kie.workbench.common.stunner.core.graph.Node;
 import org.kie.workbench.common.stunner.core.graph.content.view.View;
+import org.kie.workbench.common.stunner.core.graph.processing.index.Index;
 import org.kie.workbench.common.stunner.core.graph.util.GraphUtils;
 import org.kie.workbench.common.stunner.core.rule.RuleEvaluationHandler;
 import org.kie.workbench.common.stunner.core.rule.RuleViolations;
@@ -89,7 +90,7 @@ public class ElementCardinalityEvaluationHandler implements RuleEvaluationHandle
         final Optional<Element<? extends View<?>>> candidate = context.getCandidate();
         final String role = rule.getRole();
         final Set<String> roles = Collections.singleton(role);
-        final Map<String, Integer> graphLabelCount = countLabels(context.getGraph(),
+        final Map<String, Integer> graphLabelCount = countLabels(context,
                                                                  roles);
         // Ensure processing the role even if not used along the graph, so
         // cardinality min rules can be evaluated.
@@ -109,6 +110,18 @@ public class ElementCardinalityEvaluationHandler implements RuleEvaluationHandle
         return results;
     }
 
+    Map<String, Integer> countLabels(final ElementCardinalityContext context,
+                                     final Set<String> filter) {
+        final Optional<Index<?, ?>> graphIndex = context.getGraphIndex();
+        if (graphIndex.isPresent()) {
+            return GraphUtils.getLabelsCount(context.getGraph(),
+                                             graphIndex.get(),
+                                             filter);
+        }
+        return countLabels(context.getGraph(),
+                           filter);
+    }
+
     Map<String, Integer> countLabels(final Graph<?, ? extends Node> target,
                                      final Set<String> filter) {
         return GraphUtils.getLabelsCount(target,
@@ -17,12 +17,11 @@
 package org.kie.workbench.common.stunner.core.validation.impl;
 
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
-import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.function.BiConsumer;
 import java.util.function.Consumer;
-import java.util.function.Supplier;
 
 import org.kie.workbench.common.stunner.core.api.DefinitionManager;
 import org.kie.workbench.common.stunner.core.diagram.Diagram;
@@ -40,20 +39,24 @@ import org.kie.workbench.common.stunner.core.validation.ModelValidator;
 /**
  * An abstraction of the diagram validator, due to the ModelValidator (based on jsr303)
  * is not available on server side yet.
+ * The graph is validated incrementally, see {@link IncrementalGraphValidator}, so the rules and the model
+ * constraints are only evaluated again for the elements modified since the last validation of the same
+ * diagram. The violations for the rest of elements are kept from previous validations.
  */
 public abstract class AbstractDiagramValidator
         implements DiagramValidator<Diagram, RuleViolation> {
 
-    private final GraphValidatorImpl graphValidator;
+    private final IncrementalGraphValidator graphValidator;
     private final ModelValidator modelValidator;
+    private final Map<String, DiagramElementViolation<RuleViolation>> elementViolations = new LinkedHashMap<>();
 
     protected AbstractDiagramValidator(final DefinitionManager definitionManager,
                                        final RuleManager ruleManager,
                                        final TreeWalkTraverseProcessor treeWalkTraverseProcessor,
                                        final ModelValidator modelValidator) {
-        this.graphValidator = new GraphValidatorImpl(definitionManager,
-                                                     ruleManager,
-                                                     treeWalkTraverseProcessor);
+        this.graphValidator = new IncrementalGraphValidator(definitionManager,
+                                                            ruleManager,
+                                                            treeWalkTraverseProcessor);
         this.modelValidator = modelValidator;
     }
 
@@ -62,40 +65,34 @@ public abstract class AbstractDiagramValidator
     public void validate(final Diagram diagram,
                          final Consumer<Collection<DiagramElementViolation<RuleViolation>>> resultConsumer) {
         final Graph graph = diagram.getGraph();
-        final List<DiagramElementViolation<RuleViolation>> violations = new LinkedList<>();
         graphValidator.validate(graph,
-                                Optional.empty(),
-                                Optional.of((g, v) -> consumeBeanAndViolations(() -> violations).accept(g,
-                                                                                                        v)),
-                                Optional.of((n, v) -> consumeBeanAndViolations(() -> violations).accept(n,
-                                                                                                        v)),
-                                Optional.of((e, v) -> consumeBeanAndViolations(() -> violations).accept(e,
-                                                                                                        v)),
+                                null,
+                                this::consumeBeanAndViolations,
+                                elementViolations::remove,
                                 // At this point all violations have been already consumed, so no need
                                 // to use the resulting ones here.
-                                vs -> resultConsumer.accept(violations)
+                                vs -> resultConsumer.accept(new LinkedList<>(elementViolations.values()))
         );
     }
 
-    private BiConsumer<Element, Collection<RuleViolation>> consumeBeanAndViolations(final Supplier<List<DiagramElementViolation<RuleViolation>>> violations) {
-        return (element, ruleViolations) -> {
-            final Optional<Object> bean = getBean(element);
-            if (bean.isPresent()) {
-                // If the underlying bean is a Definition, it accomplishes JSR303 validations.
-                modelValidator.validate(bean.get(),
-                                        modelViolations -> {
-                                            violations.get().add(
-                                                    ElementViolationImpl.Builder.build(element.getUUID(),
-                                                                                       ruleViolations,
-                                                                                       modelViolations)
-                                            );
-                                        });
-            } else {
-                // Otherwise, no need not perform bean validation.
-                violations.get().add(ElementViolationImpl.Builder.build(element.getUUID(),
-                                                                        ruleViolations));
-            }
-        };
+    private void consumeBeanAndViolations(final Element element,
+                                          final Collection<RuleViolation> ruleViolations) {
+        final Optional<Object> bean = getBean(element);
+        if (bean.isPresent()) {
+            // If the underlying bean is a Definition, it accomplishes JSR303 validations.
+            modelValidator.validate(bean.get(),
+                                    modelViolations -> {
+                                        elementViolations.put(element.getUUID(),
+                                                              ElementViolationImpl.Builder.build(element.getUUID(),
+                                                                                                 ruleViolations,
+                                                                                                 modelViolations));
+                                    });
+        } else {
+            // Otherwise, no need not perform bean validation.
+            elementViolations.put(element.getUUID(),
+                                  ElementViolationImpl.Builder.build(element.getUUID(),
+                                                                     ruleViolations));
+        }
     }
 
     private Optional<Object> getBean(final Element element) {
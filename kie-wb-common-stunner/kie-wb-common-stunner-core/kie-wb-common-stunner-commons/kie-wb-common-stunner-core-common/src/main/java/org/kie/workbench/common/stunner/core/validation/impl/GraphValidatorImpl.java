@@ -47,6 +47,7 @@ import org.kie.workbench.common.stunner.core.rule.context.EdgeCardinalityContext
 import org.kie.workbench.common.stunner.core.rule.context.impl.RuleContextBuilder;
 import org.kie.workbench.common.stunner.core.rule.violations.EmptyConnectionViolation;
 import org.kie.workbench.common.stunner.core.validation.GraphValidator;
+import org.kie.workbench.common.stunner.core.validation.Violation;
 
 @ApplicationScoped
 public class GraphValidatorImpl
@@ -94,6 +95,72 @@ public class GraphValidatorImpl
                       callback);
     }
 
+    /**
+     * Checks if the <code>graph</code> instance is valid, so no error violations are produced for it.
+     * It's a pass/fail check, so as soon as an error is found no more rules are evaluated and the traversal
+     * does not go deeper into the graph.
+     * @param graph The instance to validate.
+     * @param ruleSet The rule set to validate against. If <code>null</code>, the default
+     * rule set for the the graph will be used.
+     */
+    @SuppressWarnings("unchecked")
+    public boolean isValid(final Graph graph,
+                           final RuleSet ruleSet) {
+        final RuleSet rules = null != ruleSet ? ruleSet : getRuleSet(graph);
+        final boolean[] valid = new boolean[]{true};
+        treeWalkTraverseProcessor
+                .traverse(graph,
+                          new AbstractTreeTraverseCallback<org.kie.workbench.common.stunner.core.graph.Graph, Node, Edge>() {
+
+                              private final Stack<Node> currentParents = new Stack<Node>();
+
+                              @Override
+                              public void startGraphTraversal(final org.kie.workbench.common.stunner.core.graph.Graph graph) {
+                                  super.startGraphTraversal(graph);
+                                  currentParents.clear();
+                                  valid[0] = !hasErrors(evaluateGraph(rules,
+                                                                      graph));
+                              }
+
+                              @Override
+                              public boolean startEdgeTraversal(final Edge edge) {
+                                  super.startEdgeTraversal(edge);
+                                  if (edge.getContent() instanceof Child) {
+                                      this.currentParents.push(edge.getSourceNode());
+                                  }
+                                  if (valid[0]) {
+                                      valid[0] = !hasErrors(evaluateEdge(rules,
+                                                                         graph,
+                                                                         edge));
+                                  }
+                                  return valid[0];
+                              }
+
+                              @Override
+                              public void endEdgeTraversal(final Edge edge) {
+                                  super.endEdgeTraversal(edge);
+                                  if (edge.getContent() instanceof Child) {
+                                      this.currentParents.pop();
+                                  }
+                              }
+
+                              @Override
+                              public boolean startNodeTraversal(final Node node) {
+                                  super.startNodeTraversal(node);
+                                  if (valid[0]) {
+                                      valid[0] = !hasErrors(evaluateNode(rules,
+                                                                         graph,
+                                                                         node,
+                                                                         currentParents.isEmpty() ?
+                                                                                 null :
+                                                                                 currentParents.peek()));
+                                  }
+                                  return valid[0];
+                              }
+                          });
+        return valid[0];
+    }
+
     /**
      * Performs the validation for the <code>graph</code> instance.
      * @param graph The instance to validate.
@@ -113,7 +180,7 @@ public class GraphValidatorImpl
                   final Optional<BiConsumer<Node, Collection<RuleViolation>>> nodeValidatorConsumer,
                   final Optional<BiConsumer<Edge, Collection<RuleViolation>>> edgeValidatorConsumer,
                   Consumer<Collection<RuleViolation>> resultConsumer) {
-        final RuleSet ruleSet = aRuleSet.orElse(getRuleSet(graph));
+        final RuleSet ruleSet = aRuleSet.orElseGet(() -> getRuleSet(graph));
         final ViolationsSet violations = new ViolationsSet();
         treeWalkTraverseProcessor
                 .traverse(graph,
@@ -127,9 +194,10 @@ public class GraphValidatorImpl
                                   super.startGraphTraversal(graph);
                                   currentParents.clear();
                                   // Evaluate the graph's cardinality rules.
-                                  final Set<RuleViolation> graphCardinalityViolations =
-                                          violations.addViolations(evaluateCardinality(ruleSet,
-                                                                                       graph));
+                                  final Collection<RuleViolation> graphCardinalityViolations =
+                                          evaluateGraph(ruleSet,
+                                                        graph);
+                                  violations.addAll(graphCardinalityViolations);
                                   graphValidatorConsumer.ifPresent(g -> g.accept(graph,
                                                                                  graphCardinalityViolations));
                               }
@@ -137,55 +205,13 @@ public class GraphValidatorImpl
                               @Override
                               public boolean startEdgeTraversal(final Edge edge) {
                                   super.startEdgeTraversal(edge);
-                                  final Object content = edge.getContent();
-                                  final ViolationsSet edgeViolations =
-                                          new ViolationsSet();
-                                  if (content instanceof Child) {
+                                  if (edge.getContent() instanceof Child) {
                                       this.currentParents.push(edge.getSourceNode());
-                                  } else if (content instanceof View) {
-                                      final Optional<Node<? extends View<?>, ? extends Edge>> sourceOpt =
-                                              Optional.ofNullable(edge.getSourceNode());
-                                      final Optional<Node<? extends View<?>, ? extends Edge>> targetOpt =
-                                              Optional.ofNullable(edge.getTargetNode());
-                                      // Check not empty connections.
-                                      final Optional<RuleViolation> emptyConnectionViolation =
-                                              evaluateNotEmptyConnections(graph,
-                                                                          edge,
-                                                                          sourceOpt,
-                                                                          targetOpt);
-                                      emptyConnectionViolation.ifPresent(edgeViolations::add);
-                                      // Evaluate connection rules.
-                                      edgeViolations.addViolations(
-                                              evaluateConnection(ruleSet,
-                                                                 graph,
-                                                                 edge,
-                                                                 sourceOpt,
-                                                                 targetOpt)
-                                      );
-                                      // Evaluate connector cardinality rules for this edge.
-                                      if (null != edge.getTargetNode()) {
-                                          edgeViolations.addViolations(
-                                                  evaluateIncomingEdgeCardinality(ruleSet,
-                                                                                  graph,
-                                                                                  edge)
-                                          );
-                                      }
-                                      if (null != edge.getSourceNode()) {
-                                          edgeViolations.addViolations(
-                                                  evaluateOutgoingEdgeCardinality(ruleSet,
-                                                                                  graph,
-                                                                                  edge)
-                                          );
-                                      }
-                                  } else if (content instanceof Dock) {
-                                      final Node parent = edge.getSourceNode();
-                                      final Node docked = edge.getTargetNode();
-                                      // Evaluate docking rules for the source & target nodes.
-                                      edgeViolations.addViolations(evaluateDocking(ruleSet,
-                                                                                   graph,
-                                                                                   parent,
-                                                                                   docked));
                                   }
+                                  final Collection<RuleViolation> edgeViolations =
+                                          evaluateEdge(ruleSet,
+                                                       graph,
+                                                       edge);
                                   edgeValidatorConsumer.ifPresent(c -> c.accept(edge,
                                                                                 edgeViolations));
                                   violations.addAll(edgeViolations);
@@ -204,10 +230,13 @@ public class GraphValidatorImpl
                               public boolean startNodeTraversal(final Node node) {
                                   super.startNodeTraversal(node);
                                   final Collection<RuleViolation> nodeViolations =
-                                          evaluateNode(node,
+                                          evaluateNode(ruleSet,
+                                                       graph,
+                                                       node,
                                                        currentParents.isEmpty() ?
                                                                null :
                                                                currentParents.peek());
+                                  violations.addAll(nodeViolations);
                                   nodeValidatorConsumer.ifPresent(c -> c.accept(node,
                                                                                 nodeViolations));
                                   return true;
@@ -220,24 +249,105 @@ public class GraphValidatorImpl
                                   // Finished - feed the consumer instance.
                                   resultConsumer.accept(violations);
                               }
-
-                              private Collection<RuleViolation> evaluateNode(final Node node,
-                                                                             final Node parent) {
-                                  // Evaluate containment rules for this node.
-                                  return violations.addViolations(evaluateContainment(ruleSet,
-                                                                                      graph,
-                                                                                      null != parent ? parent : graph,
-                                                                                      node));
-                              }
                           });
     }
 
-    private RuleSet getRuleSet(final Graph<? extends DefinitionSet, ?> graph) {
+    /**
+     * Evaluates the rules that apply to the graph instance itself, so the cardinality rules.
+     */
+    Collection<RuleViolation> evaluateGraph(final RuleSet ruleSet,
+                                            final Graph graph) {
+        final ViolationsSet graphViolations = new ViolationsSet();
+        graphViolations.addViolations(evaluateCardinality(ruleSet,
+                                                          graph));
+        return graphViolations;
+    }
+
+    /**
+     * Evaluates the rules that apply to the given node, so the containment rules for the given parent.
+     * @param parent The node's parent, or <code>null</code> if the node is contained by the graph.
+     */
+    Collection<RuleViolation> evaluateNode(final RuleSet ruleSet,
+                                           final Graph graph,
+                                           final Node node,
+                                           final Node parent) {
+        // Evaluate containment rules for this node.
+        final ViolationsSet nodeViolations = new ViolationsSet();
+        nodeViolations.addViolations(evaluateContainment(ruleSet,
+                                                         graph,
+                                                         null != parent ? parent : graph,
+                                                         node));
+        return nodeViolations;
+    }
+
+    /**
+     * Evaluates the rules that apply to the given edge, depending on its content type: the connection and
+     * connector cardinality rules for view connectors and the docking rules for dock relationships.
+     */
+    @SuppressWarnings("unchecked")
+    Collection<RuleViolation> evaluateEdge(final RuleSet ruleSet,
+                                           final Graph graph,
+                                           final Edge edge) {
+        final Object content = edge.getContent();
+        final ViolationsSet edgeViolations = new ViolationsSet();
+        if (content instanceof View) {
+            final Optional<Node<? extends View<?>, ? extends Edge>> sourceOpt =
+                    Optional.ofNullable(edge.getSourceNode());
+            final Optional<Node<? extends View<?>, ? extends Edge>> targetOpt =
+                    Optional.ofNullable(edge.getTargetNode());
+            // Check not empty connections.
+            final Optional<RuleViolation> emptyConnectionViolation =
+                    evaluateNotEmptyConnections(graph,
+                                                edge,
+                                                sourceOpt,
+                                                targetOpt);
+            emptyConnectionViolation.ifPresent(edgeViolations::add);
+            // Evaluate connection rules.
+            edgeViolations.addViolations(
+                    evaluateConnection(ruleSet,
+                                       graph,
+                                       edge,
+                                       sourceOpt,
+                                       targetOpt)
+            );
+            // Evaluate connector cardinality rules for this edge.
+            if (null != edge.getTargetNode()) {
+                edgeViolations.addViolations(
+                        evaluateIncomingEdgeCardinality(ruleSet,
+                                                        graph,
+                                                        edge)
+                );
+            }
+            if (null != edge.getSourceNode()) {
+                edgeViolations.addViolations(
+                        evaluateOutgoingEdgeCardinality(ruleSet,
+                                                        graph,
+                                                        edge)
+                );
+            }
+        } else if (content instanceof Dock) {
+            final Node parent = edge.getSourceNode();
+            final Node docked = edge.getTargetNode();
+            // Evaluate docking rules for the source & target nodes.
+            edgeViolations.addViolations(evaluateDocking(ruleSet,
+                                                         graph,
+                                                         parent,
+                                                         docked));
+        }
+        return edgeViolations;
+    }
+
+    RuleSet getRuleSet(final Graph<? extends DefinitionSet, ?> graph) {
         final String defSetId = graph.getContent().getDefinition();
         final Object definitionSet = definitionManager.definitionSets().getDefinitionSetById(defSetId);
         return definitionManager.adapters().forRules().getRuleSet(definitionSet);
     }
 
+    private static boolean hasErrors(final Collection<RuleViolation> violations) {
+        return violations.stream()
+                .anyMatch(v -> Violation.Type.ERROR.equals(v.getViolationType()));
+    }
+
     @SuppressWarnings("unchecked")
     private RuleViolations evaluateContainment(final RuleSet ruleSet,
                                                final Graph graph,
@@ -0,0 +1,406 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.validation.impl;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import javax.enterprise.context.Dependent;
+import javax.inject.Inject;
+
+import org.kie.workbench.common.stunner.core.api.DefinitionManager;
+import org.kie.workbench.common.stunner.core.graph.Edge;
+import org.kie.workbench.common.stunner.core.graph.Element;
+import org.kie.workbench.common.stunner.core.graph.Graph;
+import org.kie.workbench.common.stunner.core.graph.Node;
+import org.kie.workbench.common.stunner.core.graph.content.relationship.Child;
+import org.kie.workbench.common.stunner.core.graph.impl.GraphImpl;
+import org.kie.workbench.common.stunner.core.graph.processing.traverse.tree.TreeWalkTraverseProcessor;
+import org.kie.workbench.common.stunner.core.rule.RuleManager;
+import org.kie.workbench.common.stunner.core.rule.RuleSet;
+import org.kie.workbench.common.stunner.core.rule.RuleViolation;
+import org.kie.workbench.common.stunner.core.validation.GraphValidator;
+
+/**
+ * A graph validator that keeps the violations found for each element on the last validation, so further
+ * validations of the same graph only evaluate the rules again for the elements modified since then, and
+ * for their neighbours: the edges of a modified node and the children it contains, and the target node
+ * and the edges of both ends of a modified edge. The violations for the rest of elements are taken from
+ * the previous results.
+ * The modified elements are the ones which structural hash contribution changed since the last validation,
+ * see {@link GraphImpl#getChangedElements(int)}, which the graph commands keep up to date. So no element
+ * other than the modified ones and their neighbours is visited.
+ * The first validation of a graph, the validation using a different rule set, or once the graph no longer
+ * knows about the changes since the last validation, walks the whole graph.
+ * Graph instances other than {@link GraphImpl} are always fully validated.
+ */
+@Dependent
+public class IncrementalGraphValidator
+        implements GraphValidator<Graph, RuleViolation> {
+
+    private final GraphValidatorImpl graphValidator;
+    private final Map<String, ElementEntry> entries = new LinkedHashMap<>();
+    private GraphImpl graph;
+    private RuleSet ruleSet;
+    private int revision;
+    private Collection<RuleViolation> graphViolations;
+
+    protected IncrementalGraphValidator() {
+        this(null,
+             null,
+             null);
+    }
+
+    @Inject
+    public IncrementalGraphValidator(final DefinitionManager definitionManager,
+                                     final RuleManager ruleManager,
+                                     final TreeWalkTraverseProcessor treeWalkTraverseProcessor) {
+        this(new GraphValidatorImpl(definitionManager,
+                                    ruleManager,
+                                    treeWalkTraverseProcessor));
+    }
+
+    IncrementalGraphValidator(final GraphValidatorImpl graphValidator) {
+        this.graphValidator = graphValidator;
+    }
+
+    @Override
+    public void validate(final Graph graph,
+                         final Consumer<Collection<RuleViolation>> callback) {
+        validate(graph,
+                 null,
+                 callback);
+    }
+
+    @Override
+    public void validate(final Graph graph,
+                         final RuleSet ruleSet,
+                         final Consumer<Collection<RuleViolation>> resultConsumer) {
+        validate(graph,
+                 ruleSet,
+                 (element, violations) -> {
+                 },
+                 uuid -> {
+                 },
+                 resultConsumer);
+    }
+
+    /**
+     * Performs the validation for the <code>graph</code> instance.
+     * @param graph The instance to validate.
+     * @param ruleSet The rule set to validate against. If <code>null</code>, the default
+     * rule set for the the graph will be used.
+     * @param evaluatedElementConsumer Called for the graph and for each node and edge which rules are
+     * evaluated on this validation, along with the resulting violations.
+     * @param discardedElementConsumer Called with the uuid of each element which violations from a
+     * previous validation are no longer valid, because it has been removed or the whole graph is
+     * validated again.
+     * @param resultConsumer The consumer for all the violations for the graph, the ones evaluated on this
+     * validation and the ones kept from previous validations.
+     */
+    @SuppressWarnings("unchecked")
+    public void validate(final Graph graph,
+                         final RuleSet ruleSet,
+                         final BiConsumer<Element, Collection<RuleViolation>> evaluatedElementConsumer,
+                         final Consumer<String> discardedElementConsumer,
+                         final Consumer<Collection<RuleViolation>> resultConsumer) {
+        final RuleSet rules = null != ruleSet ? ruleSet : graphValidator.getRuleSet(graph);
+        if (!(graph instanceof GraphImpl)) {
+            discard(discardedElementConsumer);
+            graphValidator.validate(graph,
+                                    Optional.of(rules),
+                                    Optional.of(evaluatedElementConsumer::accept),
+                                    Optional.of(evaluatedElementConsumer::accept),
+                                    Optional.of(evaluatedElementConsumer::accept),
+                                    resultConsumer);
+            return;
+        }
+        final GraphImpl graphImpl = (GraphImpl) graph;
+        final Optional<Map<String, Element<?>>> changes = graph == this.graph && rules == this.ruleSet ?
+                graphImpl.getChangedElements(revision) :
+                Optional.empty();
+        if (changes.isPresent()) {
+            validateChanges(changes.get(),
+                            evaluatedElementConsumer,
+                            discardedElementConsumer);
+        } else {
+            validateAll(graphImpl,
+                        rules,
+                        evaluatedElementConsumer,
+                        discardedElementConsumer);
+        }
+        resultConsumer.accept(getViolations());
+    }
+
+    /**
+     * Discards the violations kept from the last validation, so next one walks the whole graph.
+     */
+    public void clear() {
+        entries.clear();
+        graph = null;
+        ruleSet = null;
+        revision = 0;
+        graphViolations = null;
+    }
+
+    private void discard(final Consumer<String> discardedElementConsumer) {
+        if (null != graph) {
+            discardedElementConsumer.accept(graph.getUUID());
+        }
+        entries.keySet().forEach(discardedElementConsumer);
+        clear();
+    }
+
+    private void validateAll(final GraphImpl graph,
+                             final RuleSet ruleSet,
+                             final BiConsumer<Element, Collection<RuleViolation>> evaluatedElementConsumer,
+                             final Consumer<String> discardedElementConsumer) {
+        discard(discardedElementConsumer);
+        graphValidator.validate(graph,
+                                Optional.of(ruleSet),
+                                Optional.of((g, violations) -> {
+                                    graphViolations = violations;
+                                    evaluatedElementConsumer.accept(g,
+                                                                    violations);
+                                }),
+                                Optional.of((node, violations) -> {
+                                    cache(node,
+                                          violations);
+                                    evaluatedElementConsumer.accept(node,
+                                                                    violations);
+                                }),
+                                Optional.of((edge, violations) -> {
+                                    cache(edge,
+                                          violations);
+                                    evaluatedElementConsumer.accept(edge,
+                                                                    violations);
+                                }),
+                                violations -> {
+                                });
+        this.graph = graph;
+        this.ruleSet = ruleSet;
+        this.revision = graph.getRevision();
+        // The traversal can reach elements which are no longer present in the graph, through the edges.
+        final Map<String, Integer> elementHashes = graph.getElementHashes();
+        entries.keySet().removeIf(uuid -> {
+            if (!elementHashes.containsKey(uuid)) {
+                discardedElementConsumer.accept(uuid);
+                return true;
+            }
+            return false;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private void validateChanges(final Map<String, Element<?>> changes,
+                                 final BiConsumer<Element, Collection<RuleViolation>> evaluatedElementConsumer,
+                                 final Consumer<String> discardedElementConsumer) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        final Map<String, Integer> elementHashes = graph.getElementHashes();
+        final Map<String, Element> pending = new LinkedHashMap<>();
+        final Map<String, Element> neighbours = new LinkedHashMap<>();
+        boolean nodesModified = false;
+        for (final Element<?> element : changes.values()) {
+            final String uuid = element.getUUID();
+            final boolean present = elementHashes.containsKey(uuid);
+            // The element may have been reconnected or removed, so its previous neighbours are validated again.
+            final ElementEntry entry = present ? entries.get(uuid) : entries.remove(uuid);
+            if (null != entry) {
+                neighbours.putAll(entry.related);
+            }
+            if (element instanceof Node) {
+                nodesModified = true;
+                if (present) {
+                    addNode(pending,
+                            (Node) element);
+                }
+            } else if (element instanceof Edge && present) {
+                addEdge(pending,
+                        (Edge) element);
+            }
+            if (!present) {
+                discardedElementConsumer.accept(uuid);
+            }
+        }
+        for (final Element neighbour : neighbours.values()) {
+            if (neighbour instanceof Node) {
+                addEdges(pending,
+                         (Node) neighbour);
+            } else {
+                pending.put(neighbour.getUUID(),
+                            neighbour);
+            }
+        }
+        if (nodesModified) {
+            graphViolations = graphValidator.evaluateGraph(ruleSet,
+                                                           graph);
+            evaluatedElementConsumer.accept(graph,
+                                            graphViolations);
+        }
+        pending.values().stream()
+                .filter(element -> elementHashes.containsKey(element.getUUID()))
+                .forEach(element -> evaluatedElementConsumer.accept(element,
+                                                                    validateElement(element)));
+        this.revision = graph.getRevision();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Collection<RuleViolation> validateElement(final Element element) {
+        final Collection<RuleViolation> violations;
+        if (element instanceof Node) {
+            final Node node = (Node) element;
+            violations = graphValidator.evaluateNode(ruleSet,
+                                                     graph,
+                                                     node,
+                                                     getParent(node));
+            cache(node,
+                  violations);
+        } else {
+            final Edge edge = (Edge) element;
+            violations = graphValidator.evaluateEdge(ruleSet,
+                                                     graph,
+                                                     edge);
+            cache(edge,
+                  violations);
+        }
+        return violations;
+    }
+
+    /**
+     * A modified node is validated along with its edges and its children, as the containment rules for them
+     * depend on it.
+     */
+    @SuppressWarnings("unchecked")
+    private void addNode(final Map<String, Element> pending,
+                         final Node<?, Edge> node) {
+        pending.put(node.getUUID(),
+                    node);
+        node.getInEdges().forEach(edge -> pending.put(edge.getUUID(),
+                                                      edge));
+        node.getOutEdges().forEach(edge -> {
+            pending.put(edge.getUUID(),
+                        edge);
+            if (edge.getContent() instanceof Child && null != edge.getTargetNode()) {
+                pending.put(edge.getTargetNode().getUUID(),
+                            edge.getTargetNode());
+            }
+        });
+    }
+
+    /**
+     * A modified edge is validated along with the edges for both source and target nodes, as the connector
+     * cardinality rules for them depend on it, and along with its target node if it's a parent-child
+     * relationship.
+     */
+    @SuppressWarnings("unchecked")
+    private void addEdge(final Map<String, Element> pending,
+                         final Edge<?, Node> edge) {
+        pending.put(edge.getUUID(),
+                    edge);
+        final Node<?, Edge> source = edge.getSourceNode();
+        final Node<?, Edge> target = edge.getTargetNode();
+        if (edge.getContent() instanceof Child && null != target) {
+            pending.put(target.getUUID(),
+                        target);
+        }
+        if (null != source) {
+            addEdges(pending,
+                     source);
+        }
+        if (null != target) {
+            addEdges(pending,
+                     target);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void addEdges(final Map<String, Element> pending,
+                                 final Node<?, Edge> node) {
+        node.getInEdges().forEach(edge -> pending.put(edge.getUUID(),
+                                                      edge));
+        node.getOutEdges().forEach(edge -> pending.put(edge.getUUID(),
+                                                       edge));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Node getParent(final Node<?, Edge> node) {
+        return node.getInEdges().stream()
+                .filter(edge -> edge.getContent() instanceof Child)
+                .map(Edge::getSourceNode)
+                .findFirst()
+                .orElse(null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void cache(final Node<?, Edge> node,
+                       final Collection<RuleViolation> violations) {
+        final Map<String, Element> related = new HashMap<>();
+        node.getInEdges().forEach(edge -> related.put(edge.getUUID(),
+                                                      edge));
+        node.getOutEdges().forEach(edge -> related.put(edge.getUUID(),
+                                                       edge));
+        entries.put(node.getUUID(),
+                    new ElementEntry(violations,
+                                     related));
+    }
+
+    private void cache(final Edge<?, Node> edge,
+                       final Collection<RuleViolation> violations) {
+        final Map<String, Element> related = new HashMap<>();
+        if (null != edge.getSourceNode()) {
+            related.put(edge.getSourceNode().getUUID(),
+                        edge.getSourceNode());
+        }
+        if (null != edge.getTargetNode()) {
+            related.put(edge.getTargetNode().getUUID(),
+                        edge.getTargetNode());
+        }
+        entries.put(edge.getUUID(),
+                    new ElementEntry(violations,
+                                     related));
+    }
+
+    private Collection<RuleViolation> getViolations() {
+        final Set<RuleViolation> violations = new LinkedHashSet<>();
+        if (null != graphViolations) {
+            violations.addAll(graphViolations);
+        }
+        entries.values().forEach(entry -> violations.addAll(entry.violations));
+        return violations;
+    }
+
+    private static class ElementEntry {
+
+        private final Collection<RuleViolation> violations;
+        // The edges for a node, or the source and target nodes for an edge, by uuid.
+        private final Map<String, Element> related;
+
+        private ElementEntry(final Collection<RuleViolation> violations,
+                             final Map<String, Element> related) {
+            this.violations = violations;
+            this.related = related;
+        }
+    }
+}
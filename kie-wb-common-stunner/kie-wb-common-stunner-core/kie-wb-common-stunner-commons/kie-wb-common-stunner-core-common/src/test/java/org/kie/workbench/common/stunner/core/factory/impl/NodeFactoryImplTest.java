@@ -17,6 +17,7 @@
 package org.kie.workbench.common.stunner.core.factory.impl;
 
 import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -93,4 +94,22 @@ public class NodeFactoryImplTest {
         assertTrue(node.getLabels().contains("label1"));
         assertTrue(node.getLabels().contains("label2"));
     }
+
+    @Test
+    public void testLabelsAreOwnedByEachNode() {
+        final Node<Definition<Object>, Edge> node1 = tested.build(UUID,
+                                                                  definition);
+        final Node<Definition<Object>, Edge> node2 = tested.build("uuid2",
+                                                                  definition);
+        node2.getLabels().add("label3");
+        assertEquals(3,
+                     node1.getLabels().size());
+        assertFalse(node1.getLabels().contains("label3"));
+        assertEquals(4,
+                     node2.getLabels().size());
+        assertTrue(node2.getLabels().contains("label3"));
+        // Labels must keep a portable type, as elements are marshalled.
+        assertEquals(LinkedHashSet.class,
+                     node1.getLabels().getClass());
+    }
 }
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.graph.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.stunner.core.TestingGraphMockHandler;
+import org.kie.workbench.common.stunner.core.command.CommandResult;
+import org.kie.workbench.common.stunner.core.graph.Edge;
+import org.kie.workbench.common.stunner.core.graph.Element;
+import org.kie.workbench.common.stunner.core.graph.Node;
+import org.kie.workbench.common.stunner.core.graph.command.impl.DeregisterNodeCommand;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(MockitoJUnitRunner.class)
+public class GraphImplStructuralHashTest {
+
+    private static final int OPERATIONS = 500;
+
+    private TestingGraphMockHandler graphTestHandler;
+    private GraphImpl graph;
+
+    @Before
+    public void setup() {
+        this.graphTestHandler = new TestingGraphMockHandler();
+        this.graph = (GraphImpl) graphTestHandler.graph;
+    }
+
+    @Test
+    public void testHashChangesAndGetsRestored() {
+        final Node parent = graphTestHandler.newNode("parent",
+                                                     Optional.empty());
+        final Node candidate = graphTestHandler.newNode("candidate",
+                                                        Optional.empty());
+        final int hash = graph.getStructuralHash();
+        graphTestHandler.setChild(parent,
+                                  candidate);
+        assertNotEquals(hash,
+                        graph.getStructuralHash());
+        assertEquals(graph.computeStructuralHash(),
+                     graph.getStructuralHash());
+        graphTestHandler.removeChild(parent,
+                                     candidate);
+        assertEquals(hash,
+                     graph.getStructuralHash());
+        assertEquals(hash,
+                     graph.hashCode());
+    }
+
+    @Test
+    public void testRemoveNode() {
+        final int hash = graph.getStructuralHash();
+        final Node node = graphTestHandler.newNode("node",
+                                                   Optional.empty());
+        assertNotEquals(hash,
+                        graph.getStructuralHash());
+        graph.removeNode("node");
+        assertEquals(hash,
+                     graph.getStructuralHash());
+        assertEquals(graph.computeStructuralHash(),
+                     graph.getStructuralHash());
+    }
+
+    @Test
+    public void testReset() {
+        graphTestHandler.newNode("node",
+                                 Optional.empty());
+        final int hash = graph.getStructuralHash();
+        graph.resetStructuralHash();
+        assertEquals(hash,
+                     graph.getStructuralHash());
+    }
+
+    @Test
+    public void testChangedElements() {
+        final Node parent = graphTestHandler.newNode("parent",
+                                                     Optional.empty());
+        final Node candidate = graphTestHandler.newNode("candidate",
+                                                        Optional.empty());
+        final int revision = graph.getRevision();
+        assertTrue(graph.getChangedElements(revision).get().isEmpty());
+        graphTestHandler.setChild(parent,
+                                  candidate);
+        final Map<String, Element<?>> changed = graph.getChangedElements(revision).get();
+        // Only the new parent-child edge.
+        assertEquals(1,
+                     changed.size());
+        assertEquals(((Edge) parent.getOutEdges().get(0)).getUUID(),
+                     changed.keySet().iterator().next());
+        assertTrue(graph.getChangedElements(graph.getRevision()).get().isEmpty());
+    }
+
+    @Test
+    public void testChangedElementsUnknownAfterReset() {
+        final int revision = graph.getRevision();
+        graph.resetStructuralHash();
+        assertFalse(graph.getChangedElements(revision).isPresent());
+    }
+
+    @Test
+    public void testChangedElementsUnknownOnceDropped() {
+        final int revision = graph.getRevision();
+        for (int i = 0; i <= GraphImpl.CHANGE_LOG_SIZE; i++) {
+            graph.addNode(new NodeImpl<>("node" + i));
+        }
+        assertFalse(graph.getChangedElements(revision).isPresent());
+        assertTrue(graph.getChangedElements(graph.getRevision() - 1).isPresent());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testRandomCommandSequences() {
+        final Random random = new Random(20171018L);
+        final List<Node> nodes = new ArrayList<>();
+        final List<Node[]> children = new ArrayList<>();
+        final List<Edge> edges = new ArrayList<>();
+        // Start tracking changes before the graph gets populated.
+        graph.getStructuralHash();
+        for (int i = 0; i < OPERATIONS; i++) {
+            final int operation = nodes.size() < 2 ? 0 : random.nextInt(7);
+            switch (operation) {
+                case 0:
+                    nodes.add(graphTestHandler.newNode("node" + i,
+                                                       Optional.empty()));
+                    break;
+                case 1:
+                    final Node parent = pick(random,
+                                             nodes);
+                    final Node candidate = pick(random,
+                                                nodes);
+                    graphTestHandler.setChild(parent,
+                                              candidate);
+                    children.add(new Node[]{parent, candidate});
+                    break;
+                case 2:
+                    if (!children.isEmpty()) {
+                        final Node[] child = children.remove(random.nextInt(children.size()));
+                        graphTestHandler.removeChild(child[0],
+                                                     child[1]);
+                    }
+                    break;
+                case 3:
+                    final Edge edge = graphTestHandler.newEdge("edge" + i,
+                                                               Optional.empty());
+                    graphTestHandler.addEdge(edge,
+                                             pick(random,
+                                                  nodes));
+                    edges.add(edge);
+                    break;
+                case 4:
+                    if (!edges.isEmpty()) {
+                        graphTestHandler.connectTo(pick(random,
+                                                        edges),
+                                                   pick(random,
+                                                        nodes));
+                    }
+                    break;
+                case 5:
+                    if (!edges.isEmpty()) {
+                        graphTestHandler.removeTargetConnection(pick(random,
+                                                                     edges));
+                    }
+                    break;
+                case 6:
+                    final Node removed = nodes.remove(random.nextInt(nodes.size()));
+                    final CommandResult result = new DeregisterNodeCommand(removed)
+                            .execute(graphTestHandler.graphCommandExecutionContext);
+                    assertNotEquals(CommandResult.Type.ERROR,
+                                    result.getType());
+                    children.removeIf(child -> child[0] == removed || child[1] == removed);
+                    break;
+            }
+            assertEquals("Structural hash differs after operation #" + i,
+                         graph.computeStructuralHash(),
+                         graph.getStructuralHash());
+        }
+    }
+
+    private static <T> T pick(final Random random,
+                              final List<T> elements) {
+        return elements.get(random.nextInt(elements.size()));
+    }
+}
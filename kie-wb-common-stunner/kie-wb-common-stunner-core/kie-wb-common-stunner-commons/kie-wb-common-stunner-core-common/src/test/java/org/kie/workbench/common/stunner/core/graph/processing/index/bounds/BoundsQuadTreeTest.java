@@ -0,0 +1,151 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.graph.processing.index.bounds;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class BoundsQuadTreeTest {
+
+    private static final int SIZE = 500;
+
+    @Test
+    public void testMatchesLinearScan() {
+        final Random random = new Random(1);
+        final double[][] bounds = new double[SIZE][];
+        final BoundsQuadTree<Integer> tested = new BoundsQuadTree<>(0,
+                                                                    0,
+                                                                    2000,
+                                                                    2000);
+        for (int i = 0; i < SIZE; i++) {
+            final double x = random.nextInt(1900);
+            final double y = random.nextInt(1900);
+            final double w = 1 + random.nextInt(100);
+            final double h = 1 + random.nextInt(100);
+            bounds[i] = new double[]{x, y, x + w, y + h};
+            tested.add(x,
+                       y,
+                       x + w,
+                       y + h,
+                       i);
+        }
+        assertEquals(SIZE,
+                     tested.size());
+        for (int q = 0; q < 200; q++) {
+            final double x = random.nextInt(2000);
+            final double y = random.nextInt(2000);
+            final Set<Integer> expected = new HashSet<>();
+            for (int i = 0; i < SIZE; i++) {
+                if (x >= bounds[i][0] && x <= bounds[i][2] && y >= bounds[i][1] && y <= bounds[i][3]) {
+                    expected.add(i);
+                }
+            }
+            final Set<Integer> found = new HashSet<>();
+            tested.findAt(x,
+                          y,
+                          found::add);
+            assertEquals(expected,
+                         found);
+        }
+        for (int q = 0; q < 200; q++) {
+            final double x = random.nextInt(2000);
+            final double y = random.nextInt(2000);
+            final double lrX = x + random.nextInt(200);
+            final double lrY = y + random.nextInt(200);
+            final Set<Integer> expected = new HashSet<>();
+            for (int i = 0; i < SIZE; i++) {
+                if (bounds[i][0] <= lrX && bounds[i][2] >= x && bounds[i][1] <= lrY && bounds[i][3] >= y) {
+                    expected.add(i);
+                }
+            }
+            final Set<Integer> found = new HashSet<>();
+            tested.findIn(x,
+                          y,
+                          lrX,
+                          lrY,
+                          found::add);
+            assertEquals(expected,
+                         found);
+        }
+    }
+
+    @Test
+    public void testPointOnQuadrantBorders() {
+        final BoundsQuadTree<String> tested = new BoundsQuadTree<>(0,
+                                                                   0,
+                                                                   100,
+                                                                   100);
+        tested.add(50,
+                   50,
+                   60,
+                   60,
+                   "a");
+        tested.add(40,
+                   40,
+                   50,
+                   50,
+                   "b");
+        final Set<String> found = new HashSet<>();
+        tested.findAt(50,
+                      50,
+                      found::add);
+        assertEquals(2,
+                     found.size());
+    }
+
+    @Test
+    public void testRemove() {
+        final BoundsQuadTree<String> tested = new BoundsQuadTree<>(0,
+                                                                   0,
+                                                                   100,
+                                                                   100);
+        tested.add(10,
+                   10,
+                   20,
+                   20,
+                   "a");
+        tested.add(10,
+                   10,
+                   90,
+                   90,
+                   "b");
+        assertFalse(tested.remove(10,
+                                  10,
+                                  20,
+                                  20,
+                                  "b"));
+        assertTrue(tested.remove(10,
+                                 10,
+                                 20,
+                                 20,
+                                 "a"));
+        assertEquals(1,
+                     tested.size());
+        final Set<String> found = new HashSet<>();
+        tested.findAt(15,
+                      15,
+                      found::add);
+        assertEquals(1,
+                     found.size());
+        assertTrue(found.contains("b"));
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.graph.processing.index.bounds;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.stunner.core.TestingGraphMockHandler;
+import org.kie.workbench.common.stunner.core.graph.Edge;
+import org.kie.workbench.common.stunner.core.graph.Node;
+import org.kie.workbench.common.stunner.core.graph.content.view.BoundImpl;
+import org.kie.workbench.common.stunner.core.graph.content.view.BoundsImpl;
+import org.kie.workbench.common.stunner.core.graph.content.view.View;
+import org.kie.workbench.common.stunner.core.graph.processing.traverse.content.ChildrenTraverseProcessorImpl;
+import org.kie.workbench.common.stunner.core.graph.processing.traverse.tree.TreeWalkTraverseProcessorImpl;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static org.junit.Assert.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class GraphBoundsIndexerImplTest {
+
+    private TestingGraphMockHandler graphTestHandler;
+    private Node rootNode;
+    private Node parentNode;
+    private Node childNode;
+    private Node otherNode;
+    private GraphBoundsIndexerImpl tested;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        this.graphTestHandler = new TestingGraphMockHandler();
+        this.rootNode = graphTestHandler.newViewNode("root",
+                                                     Optional.empty(),
+                                                     0,
+                                                     0,
+                                                     1000,
+                                                     1000);
+        this.parentNode = graphTestHandler.newViewNode("parent",
+                                                       Optional.empty(),
+                                                       10,
+                                                       10,
+                                                       200,
+                                                       200);
+        this.childNode = graphTestHandler.newViewNode("child",
+                                                      Optional.empty(),
+                                                      20,
+                                                      20,
+                                                      50,
+                                                      50);
+        this.otherNode = graphTestHandler.newViewNode("other",
+                                                      Optional.empty(),
+                                                      300,
+                                                      300,
+                                                      50,
+                                                      50);
+        graphTestHandler
+                .setChild(rootNode,
+                          parentNode)
+                .setChild(parentNode,
+                          childNode)
+                .setChild(rootNode,
+                          otherNode);
+        this.tested = new GraphBoundsIndexerImpl(new ChildrenTraverseProcessorImpl(new TreeWalkTraverseProcessorImpl()));
+        tested.setRootUUID("root").build(graphTestHandler.graph);
+    }
+
+    @Test
+    public void testGetAt() {
+        assertEquals(childNode,
+                     tested.getAt(50,
+                                  50));
+        assertEquals(parentNode,
+                     tested.getAt(15,
+                                  15));
+        assertEquals(parentNode,
+                     tested.getAt(150,
+                                  150));
+        assertEquals(otherNode,
+                     tested.getAt(350,
+                                  350));
+        assertEquals(rootNode,
+                     tested.getAt(500,
+                                  500));
+        // The root node is present at any location.
+        assertEquals(rootNode,
+                     tested.getAt(5000,
+                                  5000));
+    }
+
+    @Test
+    public void testGetAtWithoutRoot() {
+        tested.setRootUUID(null).build(graphTestHandler.graph);
+        assertEquals(childNode,
+                     tested.getAt(50,
+                                  50));
+        assertEquals(rootNode,
+                     tested.getAt(500,
+                                  500));
+        assertNull(tested.getAt(5000,
+                                5000));
+    }
+
+    @Test
+    public void testTrimmedBounds() {
+        final double[] bounds = tested.getTrimmedBounds();
+        assertArrayEquals(new double[]{10, 10, 350, 350},
+                          bounds,
+                          0d);
+        tested.setRootUUID("parent");
+        assertArrayEquals(new double[]{30, 30, 80, 80},
+                          tested.getTrimmedBounds(),
+                          0d);
+    }
+
+    @Test
+    public void testFindElementsAt() {
+        final List<Node<View<?>, Edge>> nodes = tested.findElementsAt(0,
+                                                                      0,
+                                                                      40,
+                                                                      40);
+        assertEquals(3,
+                     nodes.size());
+        assertEquals(rootNode,
+                     nodes.get(0));
+        assertEquals(parentNode,
+                     nodes.get(1));
+        assertEquals(childNode,
+                     nodes.get(2));
+        assertTrue(tested.findElementsAt(2000,
+                                         2000,
+                                         10,
+                                         10).isEmpty());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testBuildRefreshesTheIndex() {
+        assertEquals(otherNode,
+                     tested.getAt(320,
+                                  320));
+        ((View) otherNode.getContent()).setBounds(new BoundsImpl(new BoundImpl(600d,
+                                                                                600d),
+                                                                  new BoundImpl(650d,
+                                                                                650d)));
+        tested.build(graphTestHandler.graph);
+        assertEquals(rootNode,
+                     tested.getAt(320,
+                                  320));
+        assertEquals(otherNode,
+                     tested.getAt(620,
+                                  620));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testUpdateMovesNodeAndItsChildren() {
+        assertEquals(childNode,
+                     tested.getAt(50,
+                                  50));
+        ((View) parentNode.getContent()).setBounds(new BoundsImpl(new BoundImpl(500d,
+                                                                                 500d),
+                                                                   new BoundImpl(690d,
+                                                                                 690d)));
+        tested.update(parentNode);
+        assertEquals(rootNode,
+                     tested.getAt(50,
+                                  50));
+        assertEquals(childNode,
+                     tested.getAt(550,
+                                  550));
+        assertEquals(parentNode,
+                     tested.getAt(600,
+                                  600));
+        assertArrayEquals(new double[]{300, 300, 690, 690},
+                          tested.getTrimmedBounds(),
+                          0d);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testUpdateIndexesNewNode() {
+        assertEquals(rootNode,
+                     tested.getAt(720,
+                                  720));
+        final Node newNode = graphTestHandler.newViewNode("new",
+                                                          Optional.empty(),
+                                                          700,
+                                                          700,
+                                                          50,
+                                                          50);
+        graphTestHandler.setChild(rootNode,
+                                  newNode);
+        tested.update(newNode);
+        assertEquals(newNode,
+                     tested.getAt(720,
+                                  720));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testRemove() {
+        assertEquals(otherNode,
+                     tested.getAt(350,
+                                  350));
+        tested.remove(otherNode);
+        assertEquals(rootNode,
+                     tested.getAt(350,
+                                  350));
+        assertArrayEquals(new double[]{10, 10, 210, 210},
+                          tested.getTrimmedBounds(),
+                          0d);
+    }
+
+    @Test
+    public void testDestroy() {
+        tested.destroy();
+        assertNull(tested.getAt(50,
+                                50));
+    }
+}
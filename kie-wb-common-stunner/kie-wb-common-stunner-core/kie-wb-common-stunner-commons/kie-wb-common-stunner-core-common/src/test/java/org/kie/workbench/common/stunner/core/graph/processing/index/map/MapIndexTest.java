@@ -0,0 +1,141 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.graph.processing.index.map;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.workbench.common.stunner.core.graph.Graph;
+import org.kie.workbench.common.stunner.core.graph.Node;
+import org.kie.workbench.common.stunner.core.graph.impl.GraphImpl;
+import org.kie.workbench.common.stunner.core.graph.impl.NodeImpl;
+import org.kie.workbench.common.stunner.core.graph.store.GraphNodeStoreImpl;
+import org.kie.workbench.common.stunner.core.graph.util.GraphUtils;
+
+import static org.junit.Assert.*;
+
+public class MapIndexTest {
+
+    private Graph<?, Node> graph;
+    private Node node1;
+    private Node node2;
+    private Node node3;
+    private MapIndex tested;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        graph = new GraphImpl<>("graph",
+                                new GraphNodeStoreImpl());
+        node1 = newNode("node1",
+                        "task",
+                        "all");
+        node2 = newNode("node2",
+                        "task",
+                        "all");
+        node3 = newNode("node3",
+                        "event",
+                        "all");
+        graph.addNode(node1);
+        graph.addNode(node2);
+        tested = new MapIndexBuilder().build(graph);
+    }
+
+    @Test
+    public void testBuildCountsLabels() {
+        assertEquals(2,
+                     tested.getLabelCount("task"));
+        assertEquals(2,
+                     tested.getLabelCount("all"));
+        assertEquals(0,
+                     tested.getLabelCount("event"));
+        assertEquals(GraphUtils.getLabelsCount(graph,
+                                               null),
+                     tested.getLabelsCount(null));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testAddAndRemoveNodes() {
+        graph.addNode(node3);
+        tested.addNode(node3);
+        assertEquals(1,
+                     tested.getLabelCount("event"));
+        assertEquals(3,
+                     tested.getLabelCount("all"));
+        // Adding the same node again does not count it twice.
+        tested.addNode(node3);
+        assertEquals(1,
+                     tested.getLabelCount("event"));
+        graph.removeNode(node1.getUUID());
+        tested.removeNode(node1);
+        assertEquals(1,
+                     tested.getLabelCount("task"));
+        assertEquals(GraphUtils.getLabelsCount(graph,
+                                               null),
+                     tested.getLabelsCount(null));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testNodeLabelsUpdated() {
+        node1.getLabels().clear();
+        node1.getLabels().add("event");
+        tested.addNode(node1);
+        assertEquals(1,
+                     tested.getLabelCount("task"));
+        assertEquals(1,
+                     tested.getLabelCount("event"));
+        assertEquals(1,
+                     tested.getLabelCount("all"));
+    }
+
+    @Test
+    public void testLabelsCountFilter() {
+        final Map<String, Integer> count = tested.getLabelsCount(new HashSet<String>() {{
+            add("task");
+            add("event");
+        }});
+        assertEquals(Collections.singletonMap("task",
+                                              2),
+                     count);
+        assertEquals(count,
+                     GraphUtils.getLabelsCount(graph,
+                                               tested,
+                                               Collections.singleton("task")));
+    }
+
+    @Test
+    public void testClear() {
+        tested.clear();
+        assertEquals(0,
+                     tested.getLabelCount("task"));
+        assertTrue(tested.getLabelsCount(null).isEmpty());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Node newNode(final String uuid,
+                                final String... labels) {
+        final Node node = new NodeImpl<>(uuid);
+        Collections.addAll(node.getLabels(),
+                           labels);
+        return node;
+    }
+}
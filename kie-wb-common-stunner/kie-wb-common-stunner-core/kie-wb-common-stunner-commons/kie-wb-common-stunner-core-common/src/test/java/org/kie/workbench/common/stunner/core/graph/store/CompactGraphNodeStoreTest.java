@@ -0,0 +1,210 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.kie.workbench.common.stunner.core.graph.store;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.workbench.common.stunner.core.graph.Edge;
+import org.kie.workbench.common.stunner.core.graph.Node;
+import org.kie.workbench.common.stunner.core.graph.impl.EdgeImpl;
+import org.kie.workbench.common.stunner.core.graph.impl.NodeImpl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class CompactGraphNodeStoreTest {
+
+    private CompactGraphNodeStore tested;
+
+    @Before
+    public void setup() {
+        this.tested = new CompactGraphNodeStore();
+    }
+
+    @Test
+    public void testAddAndGet() {
+        final Node node1 = new NodeImpl<>("node1");
+        final Node node2 = new NodeImpl<>("node2");
+        assertNull(tested.add(node1));
+        assertNull(tested.add(node2));
+        assertEquals(2,
+                     tested.size());
+        assertEquals(node1,
+                     tested.get("node1"));
+        assertEquals(node2,
+                     tested.get("node2"));
+        assertNull(tested.get("node3"));
+        assertEquals(node2,
+                     tested.get(tested.getId("node2")));
+        assertEquals(-1,
+                     tested.getId("node3"));
+    }
+
+    @Test
+    public void testAddReplaces() {
+        final Node node1 = new NodeImpl<>("node1");
+        final Node other = new NodeImpl<>("node1");
+        tested.add(node1);
+        final int id = tested.getId("node1");
+        assertEquals(node1,
+                     tested.add(other));
+        assertEquals(1,
+                     tested.size());
+        assertEquals(id,
+                     tested.getId("node1"));
+        assertTrue(other == tested.get("node1"));
+    }
+
+    @Test
+    public void testRemoveReusesIds() {
+        final Node node1 = new NodeImpl<>("node1");
+        tested.add(node1);
+        tested.add(new NodeImpl<>("node2"));
+        final int id = tested.getId("node1");
+        assertEquals(node1,
+                     tested.remove("node1"));
+        assertNull(tested.remove("node1"));
+        assertNull(tested.get("node1"));
+        assertEquals(1,
+                     tested.size());
+        tested.add(new NodeImpl<>("node3"));
+        assertEquals(id,
+                     tested.getId("node3"));
+        assertEquals(2,
+                     tested.getIdBound());
+    }
+
+    @Test
+    public void testSameContentsAsDefaultStore() {
+        final GraphNodeStoreImpl expected = new GraphNodeStoreImpl();
+        for (int i = 0; i < 5000; i++) {
+            final Node node = new NodeImpl<>("node" + i);
+            tested.add(node);
+            expected.add(node);
+        }
+        for (int i = 0; i < 5000; i += 3) {
+            assertEquals(expected.remove("node" + i),
+                         tested.remove("node" + i));
+        }
+        for (int i = 0; i < 1000; i++) {
+            final Node node = new NodeImpl<>("other" + i);
+            tested.add(node);
+            expected.add(node);
+        }
+        assertEquals(expected.size(),
+                     tested.size());
+        final Set<Node> nodes = new HashSet<>();
+        tested.forEach(nodes::add);
+        assertEquals(expected.size(),
+                     nodes.size());
+        for (final Node node : expected) {
+            assertEquals(node,
+                         tested.get(node.getUUID()));
+            assertTrue(nodes.contains(node));
+        }
+    }
+
+    @Test
+    public void testIteratorRemove() {
+        tested.add(new NodeImpl<>("node1"));
+        tested.add(new NodeImpl<>("node2"));
+        final Iterator<Node> iterator = tested.iterator();
+        iterator.next();
+        iterator.remove();
+        assertTrue(iterator.hasNext());
+        iterator.next();
+        assertFalse(iterator.hasNext());
+        assertEquals(1,
+                     tested.size());
+    }
+
+    @Test
+    public void testClear() {
+        tested.add(new NodeImpl<>("node1"));
+        tested.clear();
+        assertEquals(0,
+                     tested.size());
+        assertNull(tested.get("node1"));
+        assertFalse(tested.iterator().hasNext());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testAdjacency() {
+        final Node<?, Edge> node1 = new NodeImpl<>("node1");
+        final Node<?, Edge> node2 = new NodeImpl<>("node2");
+        final Node<?, Edge> node3 = new NodeImpl<>("node3");
+        final Node<?, Edge> outside = new NodeImpl<>("outside");
+        tested.add(node1);
+        tested.add(node2);
+        tested.add(node3);
+        connect(node1,
+                node2,
+                "edge1");
+        connect(node1,
+                node3,
+                "edge2");
+        connect(node2,
+                node3,
+                "edge3");
+        connect(node3,
+                outside,
+                "edge4");
+        final CompactGraphNodeStore.Adjacency adjacency = tested.buildAdjacency();
+        final int id1 = tested.getId("node1");
+        final int id2 = tested.getId("node2");
+        final int id3 = tested.getId("node3");
+        assertEquals(3,
+                     adjacency.getIdBound());
+        assertEquals(2,
+                     adjacency.getOutDegree(id1));
+        final List<Integer> targets = new ArrayList<>();
+        targets.add(adjacency.getTarget(id1,
+                                        0));
+        targets.add(adjacency.getTarget(id1,
+                                        1));
+        assertTrue(targets.contains(id2));
+        assertTrue(targets.contains(id3));
+        assertEquals(1,
+                     adjacency.getOutDegree(id2));
+        assertEquals(id3,
+                     adjacency.getTarget(id2,
+                                         0));
+        assertEquals(0,
+                     adjacency.getOutDegree(id3));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void connect(final Node<?, Edge> source,
+                                final Node<?, Edge> target,
+                                final String uuid) {
+        final Edge<Object, Node> edge = new EdgeImpl<>(uuid);
+        edge.setSourceNode(source);
+        edge.setTargetNode(target);
+        source.getOutEdges().add(edge);
+        target.getInEdges().add(edge);
+    }
+}
@@ -0,0 +1,267 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.graph.util;
+
+import java.util.Collection;
+import java.util.function.Consumer;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.stunner.core.graph.Edge;
+import org.kie.workbench.common.stunner.core.graph.Graph;
+import org.kie.workbench.common.stunner.core.graph.Node;
+import org.kie.workbench.common.stunner.core.graph.content.relationship.Child;
+import org.kie.workbench.common.stunner.core.graph.content.relationship.Dock;
+import org.kie.workbench.common.stunner.core.graph.content.view.BoundImpl;
+import org.kie.workbench.common.stunner.core.graph.content.view.BoundsImpl;
+import org.kie.workbench.common.stunner.core.graph.content.view.Connection;
+import org.kie.workbench.common.stunner.core.graph.content.view.MagnetConnection;
+import org.kie.workbench.common.stunner.core.graph.content.view.View;
+import org.kie.workbench.common.stunner.core.graph.content.view.ViewConnector;
+import org.kie.workbench.common.stunner.core.graph.content.view.ViewConnectorImpl;
+import org.kie.workbench.common.stunner.core.graph.content.view.ViewImpl;
+import org.kie.workbench.common.stunner.core.graph.impl.EdgeImpl;
+import org.kie.workbench.common.stunner.core.graph.impl.GraphImpl;
+import org.kie.workbench.common.stunner.core.graph.impl.NodeImpl;
+import org.kie.workbench.common.stunner.core.graph.processing.index.map.MapIndex;
+import org.kie.workbench.common.stunner.core.graph.processing.index.map.MapIndexBuilder;
+import org.kie.workbench.common.stunner.core.graph.store.GraphNodeStoreImpl;
+import org.kie.workbench.common.stunner.core.rule.RuleSet;
+import org.kie.workbench.common.stunner.core.rule.RuleViolation;
+import org.kie.workbench.common.stunner.core.validation.GraphValidator;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.verify;
+
+@RunWith(MockitoJUnitRunner.class)
+public class BulkGraphBuilderTest {
+
+    @Mock
+    private GraphValidator<Graph, RuleViolation> validator;
+
+    @Mock
+    private RuleSet ruleSet;
+
+    @Mock
+    private Consumer<Collection<RuleViolation>> callback;
+
+    private GraphImpl<Object> graph;
+    private MapIndex index;
+    private BulkGraphBuilder tested;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        this.graph = new GraphImpl<>("graph",
+                                     new GraphNodeStoreImpl());
+        this.index = new MapIndexBuilder().build(graph);
+        this.tested = new BulkGraphBuilder(graph,
+                                           index);
+    }
+
+    @Test
+    public void testAddNode() {
+        final Node<View<Object>, Edge> node = newNode("node1");
+        tested.addNode(node);
+        assertEquals(node,
+                     graph.getNode("node1"));
+        assertEquals(node,
+                     index.getNode("node1"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testConnect() {
+        final Node<View<Object>, Edge> source = newNode("source");
+        final Node<View<Object>, Edge> target = newNode("target");
+        final Edge<ViewConnector<Object>, Node> edge = newEdge("edge1");
+        final Connection sourceConnection = MagnetConnection.Builder.at(10d,
+                                                                        10d);
+        final Connection targetConnection = MagnetConnection.Builder.at(20d,
+                                                                        20d);
+        tested.addNode(source)
+                .addNode(target)
+                .addEdge(edge)
+                .setSourceNode(source,
+                               edge,
+                               sourceConnection)
+                .setTargetNode(target,
+                               edge,
+                               targetConnection);
+        assertEquals(source,
+                     edge.getSourceNode());
+        assertEquals(target,
+                     edge.getTargetNode());
+        assertTrue(source.getOutEdges().contains(edge));
+        assertTrue(target.getInEdges().contains(edge));
+        assertEquals(sourceConnection,
+                     edge.getContent().getSourceConnection().get());
+        assertEquals(targetConnection,
+                     edge.getContent().getTargetConnection().get());
+        assertEquals(edge,
+                     index.getEdge("edge1"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testReconnectTarget() {
+        final Node<View<Object>, Edge> source = newNode("source");
+        final Node<View<Object>, Edge> target1 = newNode("target1");
+        final Node<View<Object>, Edge> target2 = newNode("target2");
+        final Edge<ViewConnector<Object>, Node> edge = newEdge("edge1");
+        tested.addNode(source)
+                .addNode(target1)
+                .addNode(target2)
+                .setSourceNode(source,
+                               edge,
+                               null)
+                .setTargetNode(target1,
+                               edge,
+                               null)
+                .setTargetNode(target2,
+                               edge,
+                               null);
+        assertFalse(target1.getInEdges().contains(edge));
+        assertTrue(target2.getInEdges().contains(edge));
+        assertEquals(target2,
+                     edge.getTargetNode());
+    }
+
+    @Test
+    public void testAddChildNode() {
+        final Node<View<Object>, Edge> parent = newNode("parent");
+        final Node<View<Object>, Edge> child = newNode("child");
+        tested.addNode(parent)
+                .addChildNode(parent,
+                              child);
+        assertEquals(child,
+                     graph.getNode("child"));
+        assertEquals(1,
+                     parent.getOutEdges().size());
+        final Edge edge = parent.getOutEdges().get(0);
+        assertTrue(edge.getContent() instanceof Child);
+        assertEquals(parent,
+                     edge.getSourceNode());
+        assertEquals(child,
+                     edge.getTargetNode());
+        assertEquals(edge,
+                     child.getInEdges().get(0));
+        assertEquals(edge,
+                     index.getEdge(edge.getUUID()));
+    }
+
+    @Test
+    public void testAddDockedNode() {
+        final Node<View<Object>, Edge> parent = newNode("parent");
+        final Node<View<Object>, Edge> docked = newNode("docked");
+        tested.addNode(parent)
+                .addDockedNode(parent,
+                               docked)
+                .setPosition(docked,
+                             50d,
+                             60d);
+        assertEquals(docked,
+                     graph.getNode("docked"));
+        final Edge edge = parent.getOutEdges().get(0);
+        assertTrue(edge.getContent() instanceof Dock);
+        assertEquals(docked,
+                     edge.getTargetNode());
+        assertEquals(50d,
+                     docked.getContent().getBounds().getUpperLeft().getX(),
+                     0d);
+        assertEquals(60d,
+                     docked.getContent().getBounds().getUpperLeft().getY(),
+                     0d);
+        assertEquals(150d,
+                     docked.getContent().getBounds().getLowerRight().getX(),
+                     0d);
+        assertEquals(160d,
+                     docked.getContent().getBounds().getLowerRight().getY(),
+                     0d);
+    }
+
+    @Test
+    public void testStructuralHashIsKeptUpdated() {
+        final Node<View<Object>, Edge> parent = newNode("parent");
+        final Node<View<Object>, Edge> child = newNode("child");
+        final Edge<ViewConnector<Object>, Node> edge = newEdge("edge1");
+        graph.getStructuralHash();
+        tested.addNode(parent)
+                .addChildNode(parent,
+                              child)
+                .setSourceNode(parent,
+                               edge,
+                               null)
+                .setTargetNode(child,
+                               edge,
+                               null);
+        assertEquals(graph.computeStructuralHash(),
+                     graph.getStructuralHash());
+    }
+
+    @Test
+    public void testValidate() {
+        tested.validate(validator,
+                        ruleSet,
+                        callback);
+        verify(validator).validate(graph,
+                                   ruleSet,
+                                   callback);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testRemoveSourceNode() {
+        final Node<View<Object>, Edge> source = newNode("source");
+        final Edge<ViewConnector<Object>, Node> edge = newEdge("edge1");
+        tested.addNode(source)
+                .setSourceNode(source,
+                               edge,
+                               null)
+                .setSourceNode(null,
+                               edge,
+                               null);
+        assertNull(edge.getSourceNode());
+        assertTrue(source.getOutEdges().isEmpty());
+    }
+
+    private static Node<View<Object>, Edge> newNode(final String uuid) {
+        final Node<View<Object>, Edge> node = new NodeImpl<>(uuid);
+        node.setContent(new ViewImpl<>(new Object(),
+                                       new BoundsImpl(new BoundImpl(0d,
+                                                                    0d),
+                                                      new BoundImpl(100d,
+                                                                    100d))));
+        return node;
+    }
+
+    private static Edge<ViewConnector<Object>, Node> newEdge(final String uuid) {
+        final Edge<ViewConnector<Object>, Node> edge = new EdgeImpl<>(uuid);
+        edge.setContent(new ViewConnectorImpl<>(new Object(),
+                                                new BoundsImpl(new BoundImpl(0d,
+                                                                             0d),
+                                                               new BoundImpl(30d,
+                                                                             30d))));
+        return edge;
+    }
+}
@@ -29,18 +29,16 @@ import org.kie.workbench.common.stunner.core.definition.adapter.AdapterManager;
 import org.kie.workbench.common.stunner.core.definition.adapter.DefinitionAdapter;
 import org.kie.workbench.common.stunner.core.definition.adapter.DefinitionSetAdapter;
 import org.kie.workbench.common.stunner.core.definition.adapter.DefinitionSetRuleAdapter;
+import org.kie.workbench.common.stunner.core.definition.adapter.MorphAdapter;
+import org.kie.workbench.common.stunner.core.definition.morph.MorphDefinition;
 import org.kie.workbench.common.stunner.core.factory.graph.EdgeFactory;
 import org.kie.workbench.common.stunner.core.factory.graph.NodeFactory;
 import org.kie.workbench.common.stunner.core.graph.Graph;
 import org.kie.workbench.common.stunner.core.graph.Node;
 import org.kie.workbench.common.stunner.core.graph.content.definition.Definition;
-import org.kie.workbench.common.stunner.core.lookup.definition.DefinitionLookupManager;
-import org.kie.workbench.common.stunner.core.lookup.definition.DefinitionLookupManagerImpl;
 import org.kie.workbench.common.stunner.core.lookup.rule.RuleLookupManager;
 import org.kie.workbench.common.stunner.core.lookup.rule.RuleLookupManagerImpl;
-import org.kie.workbench.common.stunner.core.registry.RegistryFactory;
 import org.kie.workbench.common.stunner.core.registry.definition.AdapterRegistry;
-import org.kie.workbench.common.stunner.core.registry.definition.TypeDefinitionRegistry;
 import org.kie.workbench.common.stunner.core.registry.definition.TypeDefinitionSetRegistry;
 import org.kie.workbench.common.stunner.core.rule.EmptyRuleSet;
 import org.kie.workbench.common.stunner.core.rule.Rule;
@@ -89,16 +87,16 @@ public class CommonLookupsTest {
     private FactoryManager factoryManager;
 
     @Mock
-    private RegistryFactory registryFactory;
+    private DefinitionAdapter mockDefinitionAdaptor;
 
     @Mock
-    private TypeDefinitionRegistry typeDefinitionRegistry;
+    private DefinitionAdapter mockConnectionAdaptor;
 
     @Mock
-    private DefinitionAdapter mockDefinitionAdaptor;
+    private MorphAdapter morphAdapter;
 
     @Mock
-    private DefinitionAdapter mockConnectionAdaptor;
+    private MorphDefinition morphDefinition;
 
     @Mock
     private Graph graph;
@@ -113,25 +111,15 @@ public class CommonLookupsTest {
 
     private RuleLookupManager ruleLookupManager;
 
-    private DefinitionLookupManager definitionLookupManager;
-
     private CommonLookups lookups;
 
     @Before
     @SuppressWarnings("unchecked")
     public void setup() {
-        when(registryFactory.newDefinitionRegistry()).thenReturn(typeDefinitionRegistry);
-        when(typeDefinitionRegistry.getDefinitionById(eq(MockDefinition.class.getName()))).thenReturn(new MockDefinition());
-        when(typeDefinitionRegistry.getDefinitionById(eq(MockConnector.class.getName()))).thenReturn(new MockConnector());
-
         this.ruleSet = new EmptyRuleSet();
         this.ruleLookupManager = new RuleLookupManagerImpl(definitionManager);
-        this.definitionLookupManager = new DefinitionLookupManagerImpl(definitionManager,
-                                                                       factoryManager,
-                                                                       registryFactory);
         this.lookups = new CommonLookups(definitionUtils,
                                          ruleManager,
-                                         definitionLookupManager,
                                          ruleLookupManager,
                                          factoryManager);
 
@@ -241,6 +229,91 @@ public class CommonLookupsTest {
         assertTrue(targetDefinitions.isEmpty());
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void checkAllowedTargetDefinitionIdsDoNotCreateDefinitions() {
+        this.ruleSet = new RuleSetImpl("connection-rules",
+                                       new ArrayList<Rule>() {{
+                                           add(new CanConnect(MockConnector.class.getName(),
+                                                              MockConnector.class.getName(),
+                                                              new ArrayList<CanConnect.PermittedConnection>() {{
+                                                                  add(new CanConnect.PermittedConnection("definition-role",
+                                                                                                         "definition-role"));
+                                                              }}));
+                                       }});
+
+        when(definitionAdapter.getLabels(any(MockDefinition.class))).thenReturn(Collections.singleton("definition-role"));
+        when(definitionSetRuleAdapter.getRuleSet(any(MockDefinitionSet.class))).thenReturn(ruleSet);
+
+        for (int i = 0; i < 3; i++) {
+            final Set<String> targetDefinitionIds = lookups.getAllowedTargetDefinitionIds(MockDefinitionSet.class.getName(),
+                                                                                          graph,
+                                                                                          null,
+                                                                                          node,
+                                                                                          MockConnector.class.getName(),
+                                                                                          0,
+                                                                                          10);
+            assertEquals(1,
+                         targetDefinitionIds.size());
+            assertEquals(MockDefinition.class.getName(),
+                         targetDefinitionIds.iterator().next());
+        }
+        // Only used once, for building the definition set's catalog.
+        verify(factoryManager,
+               times(1)).newDefinition(eq(MockDefinition.class.getName()));
+        verify(factoryManager,
+               times(1)).newDefinition(eq(MockConnector.class.getName()));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void checkAllowedMorphDefaultDefinitions() {
+        this.ruleSet = new RuleSetImpl("connection-rules",
+                                       new ArrayList<Rule>() {{
+                                           add(new CanConnect(MockConnector.class.getName(),
+                                                              MockConnector.class.getName(),
+                                                              new ArrayList<CanConnect.PermittedConnection>() {{
+                                                                  add(new CanConnect.PermittedConnection("definition-role",
+                                                                                                         "definition-role"));
+                                                              }}));
+                                       }});
+
+        when(definitionAdapter.getLabels(any(MockDefinition.class))).thenReturn(Collections.singleton("definition-role"));
+        when(definitionSetRuleAdapter.getRuleSet(any(MockDefinitionSet.class))).thenReturn(ruleSet);
+        when(adapterRegistry.getMorphAdapter(eq(MockDefinition.class))).thenReturn(morphAdapter);
+        when(definitionUtils.getMorphDefinition(any(MockDefinition.class))).thenReturn(morphDefinition);
+        when(morphDefinition.getDefault()).thenReturn("morph-default");
+
+        final Set<String> morphDefaults = lookups.getAllowedMorphDefaultDefinitions(MockDefinitionSet.class.getName(),
+                                                                                    graph,
+                                                                                    node,
+                                                                                    MockConnector.class.getName(),
+                                                                                    0,
+                                                                                    10);
+        assertEquals(1,
+                     morphDefaults.size());
+        assertEquals("morph-default",
+                     morphDefaults.iterator().next());
+    }
+
+    @Test
+    public void checkCatalog() {
+        final DefinitionSetCatalog catalog = lookups.getCatalog(MockDefinitionSet.class.getName());
+        assertSame(catalog,
+                   lookups.getCatalog(MockDefinitionSet.class.getName()));
+        assertEquals(2,
+                     catalog.getDefinitionIds().size());
+        assertEquals(Collections.singleton("definition-role"),
+                     catalog.getLabels(MockDefinition.class.getName()));
+        assertEquals(Collections.singleton("connector-role"),
+                     catalog.getLabels(MockConnector.class.getName()));
+        assertEquals(Collections.singleton(MockConnector.class.getName()),
+                     catalog.getDefinitionIds(Collections.singleton("connector-role")));
+        assertEquals(MockDefinition.class.getName(),
+                     catalog.getMorphDefault(MockDefinition.class.getName()));
+        assertTrue(catalog.getLabels("unknown").isEmpty());
+    }
+
     private static class MockDefinitionSet {
 
     }
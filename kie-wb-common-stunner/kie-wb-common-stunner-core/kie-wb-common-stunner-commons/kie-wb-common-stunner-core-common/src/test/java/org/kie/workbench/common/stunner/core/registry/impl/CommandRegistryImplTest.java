@@ -22,11 +22,11 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.kie.workbench.common.stunner.core.command.Command;
-import org.kie.workbench.common.stunner.core.registry.exception.RegistrySizeExceededException;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
 import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
 
 @RunWith(MockitoJUnitRunner.class)
 public class CommandRegistryImplTest {
@@ -110,18 +110,100 @@ public class CommandRegistryImplTest {
         assertTrue(result2.isEmpty());
     }
 
-    @Test(expected = RegistrySizeExceededException.class)
+    @Test
     public void testAddCommandStackExceeded() {
         tested.setMaxSize(1);
         tested.register(command);
         tested.register(command1);
+        List<Command> result = tested.getCommandHistory();
+        assertEquals(1,
+                     result.size());
+        assertEquals(command1,
+                     result.get(0));
+    }
+
+    @Test
+    public void testEvictOldestCommands() {
+        final Command[] commands = new Command[CommandRegistryImpl.DEFAULT_MAX_SIZE + 50];
+        for (int i = 0; i < commands.length; i++) {
+            commands[i] = mock(Command.class);
+            tested.register(commands[i]);
+        }
+        List<Command> result = tested.getCommandHistory();
+        assertEquals(CommandRegistryImpl.DEFAULT_MAX_SIZE,
+                     result.size());
+        assertEquals(commands[commands.length - 1],
+                     result.get(0));
+        assertEquals(commands[50],
+                     result.get(CommandRegistryImpl.DEFAULT_MAX_SIZE - 1));
+        for (int i = commands.length - 1; i >= 50; i--) {
+            assertEquals(commands[i],
+                         tested.pop());
+        }
+        assertTrue(tested.isEmpty());
     }
 
-    @Test(expected = RegistrySizeExceededException.class)
-    public void testAddCollectionStackExceeded() {
+    @Test
+    public void testShrinkMaxSize() {
+        tested.register(command);
+        tested.register(command1);
         tested.setMaxSize(1);
+        List<Command> result = tested.getCommandHistory();
+        assertEquals(1,
+                     result.size());
+        assertEquals(command1,
+                     result.get(0));
+    }
+
+    @Test
+    public void testMaxWeight() {
+        final Command command2 = mock(Command.class);
+        tested.setMaxWeight(5,
+                            c -> c == command1 ? 4 : 1);
+        tested.register(command);
+        tested.register(command1);
+        assertEquals(2,
+                     tested.getCommandHistory().size());
+        tested.register(command2);
+        List<Command> result = tested.getCommandHistory();
+        assertEquals(2,
+                     result.size());
+        assertEquals(command2,
+                     result.get(0));
+        assertEquals(command1,
+                     result.get(1));
+    }
+
+    @Test
+    public void testMaxWeightKeepsLastCommand() {
+        tested.setMaxWeight(1,
+                            c -> 10);
         tested.register(command);
         tested.register(command1);
+        List<Command> result = tested.getCommandHistory();
+        assertEquals(1,
+                     result.size());
+        assertEquals(command1,
+                     result.get(0));
+    }
+
+    @Test
+    public void testCommandHistoryIsAView() {
+        List<Command> result = tested.getCommandHistory();
+        tested.register(command);
+        tested.register(command1);
+        assertEquals(2,
+                     result.size());
+        tested.pop();
+        assertEquals(1,
+                     result.size());
+        assertEquals(command,
+                     result.get(0));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testCommandHistoryIsReadOnly() {
+        tested.getCommandHistory().add(command);
     }
 
     @Test
@@ -149,10 +231,12 @@ public class CommandRegistryImplTest {
                      r2);
     }
 
-    @Test(expected = RegistrySizeExceededException.class)
+    @Test
     public void testStackSize() {
         tested.setMaxSize(1);
         tested.register(command);
         tested.register(command);
+        assertEquals(1,
+                     tested.getCommandHistory().size());
     }
 }
@@ -33,6 +33,7 @@ import org.kie.workbench.common.stunner.core.rule.context.impl.RuleContextBuilde
 import org.kie.workbench.common.stunner.core.rule.ext.RuleExtension;
 import org.kie.workbench.common.stunner.core.rule.ext.RuleExtensionHandler;
 import org.kie.workbench.common.stunner.core.rule.impl.CanContain;
+import org.kie.workbench.common.stunner.core.rule.impl.Occurrences;
 import org.kie.workbench.common.stunner.core.rule.violations.ContextOperationNotAllowedViolation;
 import org.kie.workbench.common.stunner.core.rule.violations.DefaultRuleViolations;
 import org.kie.workbench.common.stunner.core.rule.violations.RuleViolationImpl;
@@ -260,4 +261,60 @@ public class RuleManagerImplTest {
         assertTrue(violations.contains(ruleViolation2));
         assertTrue(violations.contains(ruleViolation3));
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testDispatchTableIsReused() {
+        when(handler1.accepts(eq(rule1),
+                              eq(ruleEvaluationContext))).thenReturn(true);
+        when(handler1.evaluate(eq(rule1),
+                               eq(ruleEvaluationContext))).thenReturn(ruleViolations1);
+        tested.evaluate(ruleSet,
+                        ruleEvaluationContext);
+        final RuleViolations result = tested.evaluate(ruleSet,
+                                                      ruleEvaluationContext);
+        final Collection<RuleViolation> violations = (Collection<RuleViolation>) result.violations();
+        assertEquals(1,
+                     violations.size());
+        assertTrue(violations.contains(ruleViolation1));
+        verify(registry,
+               times(1)).getHandlersByContext(eq(ContainmentContext.class));
+        verify(handler1,
+               times(2)).evaluate(eq(rule1),
+                                  eq(ruleEvaluationContext));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testDispatchTableIsClearedOnRegister() {
+        when(handler1.accepts(eq(rule1),
+                              eq(ruleEvaluationContext))).thenReturn(true);
+        tested.evaluate(ruleSet,
+                        ruleEvaluationContext);
+        tested.registry().register(handler2);
+        verify(registry,
+               times(1)).register(eq(handler2));
+        tested.evaluate(ruleSet,
+                        ruleEvaluationContext);
+        verify(registry,
+               times(2)).getHandlersByContext(eq(ContainmentContext.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testRulesWithoutHandlersForContextAreSkipped() {
+        when(handler1.getRuleType()).thenReturn(Occurrences.class);
+        when(handler2.getRuleType()).thenReturn(Occurrences.class);
+        when(registry.getExtensionHandler(any(Class.class))).thenReturn(null);
+        final RuleViolations result = tested.evaluate(ruleSet,
+                                                      ruleEvaluationContext);
+        final Collection<RuleViolation> violations = (Collection<RuleViolation>) result.violations();
+        assertEquals(1,
+                     violations.size());
+        assertEquals(ContextOperationNotAllowedViolation.class,
+                     violations.iterator().next().getClass());
+        verify(handler1,
+               never()).accepts(any(Rule.class),
+                                any(RuleEvaluationContext.class));
+    }
 }
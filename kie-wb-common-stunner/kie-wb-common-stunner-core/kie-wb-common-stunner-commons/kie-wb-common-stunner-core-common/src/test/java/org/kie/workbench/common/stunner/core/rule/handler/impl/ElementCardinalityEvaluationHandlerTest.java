@@ -16,6 +16,7 @@
 
 package org.kie.workbench.common.stunner.core.rule.handler.impl;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -24,6 +25,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.kie.workbench.common.stunner.core.graph.Graph;
+import org.kie.workbench.common.stunner.core.graph.processing.index.labeled.LabelCountIndex;
 import org.kie.workbench.common.stunner.core.rule.RuleViolation;
 import org.kie.workbench.common.stunner.core.rule.RuleViolations;
 import org.kie.workbench.common.stunner.core.rule.context.CardinalityContext;
@@ -68,6 +70,7 @@ public class ElementCardinalityEvaluationHandlerTest extends AbstractGraphRuleHa
     @SuppressWarnings("unchecked")
     public void setup() throws Exception {
         super.setup();
+        when(context.getGraphIndex()).thenReturn(Optional.empty());
         tested = spy(new ElementCardinalityEvaluationHandler(definitionManager,
                                                              HANDLER));
     }
@@ -288,4 +291,25 @@ public class ElementCardinalityEvaluationHandlerTest extends AbstractGraphRuleHa
         assertNotNull(violations);
         assertTrue(violations.violations(RuleViolation.Type.WARNING).iterator().hasNext());
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testEvaluateUsingGraphIndex() {
+        final Graph graph = mock(Graph.class);
+        final LabelCountIndex graphIndex = mock(LabelCountIndex.class);
+        when(graphIndex.getGraph()).thenReturn(graph);
+        when(graphIndex.getLabelsCount(anySet())).thenReturn(Collections.singletonMap(CANDIDATE_ROLE1,
+                                                                                    1));
+        when(context.getGraph()).thenReturn(graph);
+        when(context.getGraphIndex()).thenReturn(Optional.of(graphIndex));
+        when(context.getCandidate()).thenReturn(Optional.of(candidate));
+        when(context.getOperation()).thenReturn(Optional.of(CardinalityContext.Operation.ADD));
+        final RuleViolations violations = tested.evaluate(RULE_MAX_1,
+                                                          context);
+        assertNotNull(violations);
+        assertTrue(violations.violations(RuleViolation.Type.ERROR).iterator().hasNext());
+        verify(tested,
+               never()).countLabels(any(Graph.class),
+                                    anySet());
+    }
 }
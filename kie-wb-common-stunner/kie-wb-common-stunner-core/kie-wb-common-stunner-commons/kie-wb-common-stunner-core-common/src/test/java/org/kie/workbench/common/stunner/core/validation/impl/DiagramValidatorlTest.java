@@ -138,6 +138,44 @@ public class DiagramValidatorlTest {
                                  any(Consumer.class));
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testValidateDiagram1Incrementally() {
+        final TestingGraphInstanceBuilder.TestGraph1 graph1 = TestingGraphInstanceBuilder.newGraph1(graphTestHandler);
+        when(diagram.getGraph()).thenReturn(graphTestHandler.graph);
+        doAnswer(invocationOnMock -> {
+            final Consumer<Collection<ModelBeanViolation>> validationsConsumer =
+                    (Consumer<Collection<ModelBeanViolation>>) invocationOnMock.getArguments()[1];
+            validationsConsumer.accept(Collections.emptyList());
+            return null;
+        }).when(modelValidator).validate(any(),
+                                         any(Consumer.class));
+        tested.validate(diagram,
+                        this::assertNoErrors);
+        tested.validate(diagram,
+                        this::assertNoErrors);
+        graphTestHandler.removeTargetConnection(graph1.edge2);
+        tested.validate(diagram,
+                        violations -> assertElementError(violations,
+                                                         TestingGraphInstanceBuilder.EDGE2_UUID));
+        // Only the modified edge and the edges connected to the same nodes are validated again.
+        verify(modelValidator,
+               times(1)).validate(eq(graph1.startNodeBean),
+                                  any(Consumer.class));
+        verify(modelValidator,
+               times(1)).validate(eq(graph1.intermNodeBean),
+                                  any(Consumer.class));
+        verify(modelValidator,
+               times(1)).validate(eq(graph1.endNodeBean),
+                                  any(Consumer.class));
+        verify(modelValidator,
+               times(2)).validate(eq(graph1.edge1Bean),
+                                  any(Consumer.class));
+        verify(modelValidator,
+               times(2)).validate(eq(graph1.edge2Bean),
+                                  any(Consumer.class));
+    }
+
     private void assertNoErrors(final
                                 Collection<DiagramElementViolation<RuleViolation>> violations) {
         assertNotNull(violations);
@@ -39,7 +39,9 @@ import org.kie.workbench.common.stunner.core.rule.context.EdgeCardinalityContext
 import org.kie.workbench.common.stunner.core.rule.context.ElementCardinalityContext;
 import org.kie.workbench.common.stunner.core.rule.context.GraphConnectionContext;
 import org.kie.workbench.common.stunner.core.rule.context.NodeContainmentContext;
+import org.kie.workbench.common.stunner.core.rule.violations.DefaultRuleViolations;
 import org.kie.workbench.common.stunner.core.rule.violations.EmptyConnectionViolation;
+import org.kie.workbench.common.stunner.core.rule.violations.RuleViolationImpl;
 import org.kie.workbench.common.stunner.core.validation.Violation;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
@@ -61,6 +63,9 @@ public class GraphValidatorImplTest {
     @Mock
     private Object defSetBean;
 
+    @Mock
+    private RuleManager validationRuleManager;
+
     private GraphValidatorImpl tested;
     private TestingGraphMockHandler graphTestHandler;
 
@@ -234,6 +239,40 @@ public class GraphValidatorImplTest {
                         });
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testIsValid() {
+        final RuleManager ruleManager = graphTestHandler.ruleManager;
+        final RuleSet ruleSet = graphTestHandler.ruleSet;
+        final TestingGraphInstanceBuilder.TestGraph1 testGraph1 = TestingGraphInstanceBuilder.newGraph1(graphTestHandler);
+        assertTrue(tested.isValid(graphTestHandler.graph,
+                                  ruleSet));
+        verify(ruleManager,
+               times(testGraph1.evaluationsCount + 10)).evaluate(eq(ruleSet),
+                                                                 any(RuleEvaluationContext.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testIsNotValidStopsOnFirstError() {
+        final RuleSet ruleSet = graphTestHandler.ruleSet;
+        TestingGraphInstanceBuilder.newGraph1(graphTestHandler);
+        when(validationRuleManager.evaluate(any(RuleSet.class),
+                                            any(RuleEvaluationContext.class)))
+                .thenReturn(new DefaultRuleViolations().addViolation(new RuleViolationImpl("error")));
+        final GraphValidatorImpl validator = new GraphValidatorImpl(graphTestHandler.definitionManager,
+                                                                    validationRuleManager,
+                                                                    new TreeWalkTraverseProcessorImpl());
+        assertFalse(validator.isValid(graphTestHandler.graph,
+                                      ruleSet));
+        // Only the graph's cardinality rules get evaluated.
+        final ArgumentCaptor<RuleEvaluationContext> contextCaptor = ArgumentCaptor.forClass(RuleEvaluationContext.class);
+        verify(validationRuleManager,
+               times(1)).evaluate(eq(ruleSet),
+                                  contextCaptor.capture());
+        assertTrue(contextCaptor.getValue() instanceof ElementCardinalityContext);
+    }
+
     private void assertNoError(final Collection<RuleViolation> violations) {
         assertFalse(violations.stream()
                             .filter(v -> Violation.Type.ERROR.equals(v.getViolationType()))
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.validation.impl;
+
+import java.util.Collection;
+import java.util.function.Consumer;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.stunner.core.TestingGraphInstanceBuilder;
+import org.kie.workbench.common.stunner.core.TestingGraphMockHandler;
+import org.kie.workbench.common.stunner.core.command.CommandResult;
+import org.kie.workbench.common.stunner.core.graph.command.impl.DeregisterNodeCommand;
+import org.kie.workbench.common.stunner.core.graph.processing.traverse.tree.TreeWalkTraverseProcessorImpl;
+import org.kie.workbench.common.stunner.core.rule.RuleEvaluationContext;
+import org.kie.workbench.common.stunner.core.rule.RuleManager;
+import org.kie.workbench.common.stunner.core.rule.RuleSet;
+import org.kie.workbench.common.stunner.core.rule.RuleViolation;
+import org.kie.workbench.common.stunner.core.rule.violations.DefaultRuleViolations;
+import org.kie.workbench.common.stunner.core.rule.violations.EmptyConnectionViolation;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class IncrementalGraphValidatorTest {
+
+    // Graph cardinality, three nodes containment and two connectors with three rules each.
+    private static final int FULL_EVALUATIONS = 10;
+
+    @Mock
+    private RuleManager ruleManager;
+
+    @Mock
+    private Consumer<Collection<RuleViolation>> callback;
+
+    private TestingGraphMockHandler graphTestHandler;
+    private TestingGraphInstanceBuilder.TestGraph1 testGraph1;
+    private RuleSet ruleSet;
+    private IncrementalGraphValidator tested;
+
+    @Before
+    public void setup() throws Exception {
+        this.graphTestHandler = new TestingGraphMockHandler();
+        this.testGraph1 = TestingGraphInstanceBuilder.newGraph1(graphTestHandler);
+        this.ruleSet = graphTestHandler.ruleSet;
+        when(ruleManager.evaluate(any(RuleSet.class),
+                                  any(RuleEvaluationContext.class))).thenReturn(new DefaultRuleViolations());
+        this.tested = new IncrementalGraphValidator(new GraphValidatorImpl(graphTestHandler.definitionManager,
+                                                                           ruleManager,
+                                                                           new TreeWalkTraverseProcessorImpl()));
+    }
+
+    @Test
+    public void testFirstValidationWalksTheWholeGraph() {
+        validate();
+        verifyEvaluations(FULL_EVALUATIONS);
+    }
+
+    @Test
+    public void testNoChangesNoEvaluations() {
+        validate();
+        validate();
+        verifyEvaluations(FULL_EVALUATIONS);
+    }
+
+    @Test
+    public void testDifferentRuleSetWalksTheWholeGraph() {
+        validate();
+        tested.validate(graphTestHandler.graph,
+                        mock(RuleSet.class),
+                        callback);
+        verify(ruleManager,
+               times(2 * FULL_EVALUATIONS)).evaluate(any(RuleSet.class),
+                                                     any(RuleEvaluationContext.class));
+    }
+
+    @Test
+    public void testClear() {
+        validate();
+        tested.clear();
+        validate();
+        verifyEvaluations(2 * FULL_EVALUATIONS);
+    }
+
+    @Test
+    public void testModifiedEdge() {
+        validate();
+        graphTestHandler.removeTargetConnection(testGraph1.edge2);
+        Collection<RuleViolation> violations = validate();
+        // The edge2 (connection and outgoing cardinality) and the edge1 as connected to same node.
+        verifyEvaluations(FULL_EVALUATIONS + 5);
+        assertEquals(1,
+                     violations.size());
+        assertTrue(violations.iterator().next() instanceof EmptyConnectionViolation);
+        graphTestHandler.connectTo(testGraph1.edge2,
+                                   testGraph1.endNode);
+        violations = validate();
+        verifyEvaluations(FULL_EVALUATIONS + 11);
+        assertTrue(violations.isEmpty());
+    }
+
+    @Test
+    public void testRemovedNode() {
+        validate();
+        graphTestHandler.removeTargetConnection(testGraph1.edge2);
+        validate();
+        final CommandResult result = new DeregisterNodeCommand(testGraph1.endNode)
+                .execute(graphTestHandler.graphCommandExecutionContext);
+        assertNotEquals(CommandResult.Type.ERROR,
+                        result.getType());
+        final Collection<RuleViolation> violations = validate();
+        // The graph's cardinality and the edge2, which was connected to the removed node.
+        verifyEvaluations(FULL_EVALUATIONS + 8);
+        assertEquals(1,
+                     violations.size());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Collection<RuleViolation> validate() {
+        final ArgumentCaptor<Collection> violationsCaptor = ArgumentCaptor.forClass(Collection.class);
+        tested.validate(graphTestHandler.graph,
+                        ruleSet,
+                        callback);
+        verify(callback,
+               atLeastOnce()).accept(violationsCaptor.capture());
+        return violationsCaptor.getValue();
+    }
+
+    private void verifyEvaluations(final int count) {
+        verify(ruleManager,
+               times(count)).evaluate(eq(ruleSet),
+                                      any(RuleEvaluationContext.class));
+    }
+}
@@ -16,18 +16,22 @@
 
 package org.kie.workbench.common.stunner.project.backend.service;
 
+import java.util.concurrent.ExecutorService;
 import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.Instance;
 import javax.inject.Inject;
 import javax.inject.Named;
 
 import org.jboss.errai.bus.server.annotations.Service;
 import org.kie.workbench.common.stunner.backend.service.AbstractDiagramLookupService;
+import org.kie.workbench.common.stunner.core.definition.service.DefinitionSetService;
 import org.kie.workbench.common.stunner.project.diagram.ProjectDiagram;
 import org.kie.workbench.common.stunner.project.diagram.ProjectMetadata;
 import org.kie.workbench.common.stunner.project.service.ProjectDiagramLookupService;
 import org.kie.workbench.common.stunner.project.service.ProjectDiagramService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.uberfire.commons.concurrent.Managed;
 import org.uberfire.io.IOService;
 
 @ApplicationScoped
@@ -41,13 +45,19 @@ public class ProjectDiagramLookupServiceImpl
 
     protected ProjectDiagramLookupServiceImpl() {
         this(null,
+             null,
+             null,
              null);
     }
 
     @Inject
     public ProjectDiagramLookupServiceImpl(final @Named("ioStrategy") IOService ioService,
-                                           final ProjectDiagramService diagramService) {
+                                           final ProjectDiagramService diagramService,
+                                           final Instance<DefinitionSetService> definitionSetServiceInstances,
+                                           final @Managed ExecutorService executorService) {
         super(ioService,
-              diagramService);
+              diagramService,
+              definitionSetServiceInstances);
+        setLoadingExecutor(executorService);
     }
 }
@@ -16,6 +16,7 @@
 
 package org.kie.workbench.common.stunner.project.backend.service;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.util.Map;
 import javax.enterprise.inject.Instance;
@@ -65,6 +66,16 @@ class ProjectDiagramServiceController extends AbstractVFSDiagramService<ProjectM
         return ProjectMetadata.class;
     }
 
+    @Override
+    protected ProjectMetadata copyMetadata(final ProjectMetadata metadata) {
+        return copyMetadataValues(metadata,
+                                  new ProjectMetadataImpl.ProjectMetadataBuilder()
+                                          .forDefinitionSetId(metadata.getDefinitionSetId())
+                                          .forProjectName(metadata.getProjectName())
+                                          .forProjectPackage(metadata.getProjectPackage())
+                                          .build());
+    }
+
     @Override
     public Path create(final Path path,
                        final String name,
@@ -123,37 +134,48 @@ class ProjectDiagramServiceController extends AbstractVFSDiagramService<ProjectM
         return null;
     }
 
+    /**
+     * Notice the diagram is streamed into the file and the metadata attributes are set inside the same batch,
+     * so both get into the same commit.
+     */
     public Path save(final Path path,
                      final ProjectDiagram diagram,
                      final Map<String, ?> attributes,
                      final OpenOption... comment) {
+        final org.uberfire.java.nio.file.Path nioPath = Paths.convert(path);
+        getIoService().startBatch(nioPath.getFileSystem(),
+                                  comment);
         try {
-            String[] raw = serizalize(diagram);
-            getIoService().write(Paths.convert(path),
-                                 raw[0],
-                                 attributes,
-                                 comment);
+            write(nioPath,
+                  diagram,
+                  comment);
+            getIoService().setAttributes(nioPath,
+                                         getIoService().convert(attributes));
         } catch (Exception e) {
             LOG.error("Error while saving diagram with UUID [" + diagram.getName() + "].",
                       e);
             throw new RuntimeException(e);
+        } finally {
+            getIoService().endBatch();
+            evictMetadata(path);
         }
         return path;
     }
 
+    // The metadata is not stored, so the diagram is streamed into the file.
+    @Override
+    protected ProjectMetadata doSave(final ProjectDiagram diagram) throws IOException {
+        write(getDiagramPath(diagram),
+              diagram);
+        return diagram.getMetadata();
+    }
+
     @Override
     protected ProjectMetadata doSave(final ProjectDiagram diagram,
                                      final String raw,
                                      final String metadata) {
         try {
-            Path _path = diagram.getMetadata().getPath();
-            org.uberfire.java.nio.file.Path path = Paths.convert(_path);
-            if (!getIoService().exists(path)) {
-                final org.uberfire.java.nio.file.Path parent = path.getParent();
-                final String fileName = path.getFileName().toString();
-                path = parent.resolve(fileName);
-            }
-            getIoService().write(path,
+            getIoService().write(getDiagramPath(diagram),
                                  raw);
         } catch (Exception e) {
             LOG.error("Error while saving diagram with UUID [" + diagram.getName() + "].",
@@ -163,12 +185,26 @@ class ProjectDiagramServiceController extends AbstractVFSDiagramService<ProjectM
         return diagram.getMetadata();
     }
 
+    private org.uberfire.java.nio.file.Path getDiagramPath(final ProjectDiagram diagram) {
+        org.uberfire.java.nio.file.Path path = Paths.convert(diagram.getMetadata().getPath());
+        if (!getIoService().exists(path)) {
+            final org.uberfire.java.nio.file.Path parent = path.getParent();
+            final String fileName = path.getFileName().toString();
+            path = parent.resolve(fileName);
+        }
+        return path;
+    }
+
     // TODO: Use commit message.
     public boolean delete(final Path _path,
                           final String message) {
         final org.uberfire.java.nio.file.Path path = Paths.convert(_path);
-        return getIoService().deleteIfExists(path,
-                                             StandardDeleteOption.NON_EMPTY_DIRECTORIES);
+        try {
+            return getIoService().deleteIfExists(path,
+                                                 StandardDeleteOption.NON_EMPTY_DIRECTORIES);
+        } finally {
+            evictMetadata(_path);
+        }
     }
 
     @Override
@@ -16,9 +16,12 @@
 
 package org.kie.workbench.common.stunner.project.backend.service;
 
+import java.util.concurrent.ExecutorService;
 import javax.annotation.PostConstruct;
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Event;
+import javax.enterprise.event.Observes;
+import javax.enterprise.event.Reception;
 import javax.enterprise.inject.Instance;
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -40,9 +43,14 @@ import org.kie.workbench.common.stunner.project.service.ProjectDiagramService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.uberfire.backend.vfs.Path;
+import org.uberfire.commons.concurrent.Managed;
 import org.uberfire.io.IOService;
 import org.uberfire.rpc.SessionInfo;
+import org.uberfire.workbench.events.ResourceBatchChangesEvent;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
 import org.uberfire.workbench.events.ResourceOpenedEvent;
+import org.uberfire.workbench.events.ResourceRenamedEvent;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
 
 @Service
 @ApplicationScoped
@@ -69,6 +77,7 @@ public class ProjectDiagramServiceImpl extends KieService<ProjectDiagram>
              null,
              null,
              null,
+             null,
              null);
     }
 
@@ -82,7 +91,8 @@ public class ProjectDiagramServiceImpl extends KieService<ProjectDiagram>
                                      final SessionInfo sessionInfo,
                                      final Event<ResourceOpenedEvent> resourceOpenedEvent,
                                      final KieProjectService projectService,
-                                     final CommentedOptionFactory commentedOptionFactory) {
+                                     final CommentedOptionFactory commentedOptionFactory,
+                                     final @Managed ExecutorService executorService) {
         this.ioService = ioService;
         this.identity = identity;
         this.sessionInfo = sessionInfo;
@@ -95,6 +105,7 @@ public class ProjectDiagramServiceImpl extends KieService<ProjectDiagram>
                                                     definitionSetServiceInstances,
                                                     ioService,
                                                     registryFactory);
+        this.controller.setLoadingExecutor(executorService);
     }
 
     @PostConstruct
@@ -108,6 +119,11 @@ public class ProjectDiagramServiceImpl extends KieService<ProjectDiagram>
         return controller.getDiagramByPath(path);
     }
 
+    @Override
+    public ProjectMetadata getMetadataByPath(final Path path) {
+        return controller.getMetadataByPath(path);
+    }
+
     @Override
     public boolean accepts(final Path path) {
         return controller.accepts(path);
@@ -147,6 +163,23 @@ public class ProjectDiagramServiceImpl extends KieService<ProjectDiagram>
         return null;
     }
 
+    // The metadata cache is only evicted if the service already exists, as a new instance has nothing cached.
+    public void onResourceUpdated(@Observes(notifyObserver = Reception.IF_EXISTS) final ResourceUpdatedEvent event) {
+        controller.evictMetadata(event.getPath());
+    }
+
+    public void onResourceDeleted(@Observes(notifyObserver = Reception.IF_EXISTS) final ResourceDeletedEvent event) {
+        controller.evictMetadata(event.getPath());
+    }
+
+    public void onResourceRenamed(@Observes(notifyObserver = Reception.IF_EXISTS) final ResourceRenamedEvent event) {
+        controller.evictMetadata(event.getPath());
+    }
+
+    public void onBatchResourceChanges(@Observes(notifyObserver = Reception.IF_EXISTS) final ResourceBatchChangesEvent event) {
+        controller.evictMetadata(event);
+    }
+
     @Override
     public Path save(final Path path,
                      final ProjectDiagram content,
@@ -21,20 +21,16 @@ import java.io.InputStream;
 import java.util.HashMap;
 import java.util.Map;
 
-import bpsim.impl.BpsimPackageImpl;
-import org.eclipse.bpmn2.Bpmn2Package;
 import org.eclipse.bpmn2.Definitions;
 import org.eclipse.bpmn2.DocumentRoot;
 import org.eclipse.emf.common.util.URI;
-import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.ResourceSet;
-import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
-import org.jboss.drools.DroolsPackage;
-import org.jboss.drools.impl.DroolsPackageImpl;
 import org.kie.workbench.common.stunner.backend.service.XMLEncoderDiagramMetadataMarshaller;
 import org.kie.workbench.common.stunner.bpmn.backend.legacy.profile.impl.DefaultProfileImpl;
 import org.kie.workbench.common.stunner.bpmn.backend.legacy.resource.JBPMBpmn2ResourceFactoryImpl;
 import org.kie.workbench.common.stunner.bpmn.backend.legacy.resource.JBPMBpmn2ResourceImpl;
+import org.kie.workbench.common.stunner.bpmn.backend.marshall.emf.Bpmn2EmfUnMarshaller;
+import org.kie.workbench.common.stunner.bpmn.backend.marshall.emf.Bpmn2ResourceSetPool;
 import org.kie.workbench.common.stunner.bpmn.backend.marshall.json.Bpmn2Marshaller;
 import org.kie.workbench.common.stunner.bpmn.backend.marshall.json.Bpmn2UnMarshaller;
 import org.kie.workbench.common.stunner.bpmn.backend.marshall.json.builder.GraphObjectBuilderFactory;
@@ -61,6 +57,16 @@ public abstract class BaseDiagramMarshaller<D> implements DiagramMarshaller<Grap
 
     private static final Logger LOG = LoggerFactory.getLogger(BaseDiagramMarshaller.class);
 
+    // The resource sets are given back once the graph is built, as the parsed model is used until then.
+    private static final Bpmn2ResourceSetPool RESOURCE_SETS = new Bpmn2ResourceSetPool(JBPMBpmn2ResourceFactoryImpl::new);
+
+    /**
+     * System property for enabling the direct unmarshalling of the BPMN2 model into the graph, see
+     * {@link Bpmn2EmfUnMarshaller}. Diagrams it does not support are still unmarshalled through the Oryx JSON
+     * representation.
+     */
+    public static final String DIRECT_UNMARSHALLING_PROPERTY = "org.kie.stunner.bpmn.unmarshaller.direct";
+
     private final XMLEncoderDiagramMetadataMarshaller diagramMetadataMarshaller;
     private final GraphObjectBuilderFactory bpmnGraphBuilderFactory;
     private final GraphIndexBuilder<?> indexBuilder;
@@ -68,6 +74,7 @@ public abstract class BaseDiagramMarshaller<D> implements DiagramMarshaller<Grap
     private final RuleManager rulesManager;
     private final GraphCommandManager graphCommandManager;
     private final GraphCommandFactory commandFactory;
+    private boolean directUnmarshalling = Boolean.getBoolean(DIRECT_UNMARSHALLING_PROPERTY);
 
     protected final DefinitionManager definitionManager;
     protected final OryxManager oryxManager;
@@ -116,6 +123,26 @@ public abstract class BaseDiagramMarshaller<D> implements DiagramMarshaller<Grap
         return result;
     }
 
+    /**
+     * Marshalls the diagram into the BPMN2 resource before returning, so the target stream is only opened once
+     * the diagram has been serialized, and no in memory copies of the whole document are needed when saving it.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Content marshallContent(final Diagram diagram) throws IOException {
+        LOG.debug("Starting diagram marshalling...");
+
+        final JBPMBpmn2ResourceImpl resource = marshallToBpmn2Resource(diagram);
+
+        // Update diagram's settings.
+        updateRootUUID(diagram.getMetadata(),
+                       diagram.getGraph());
+
+        LOG.debug("Diagram marshalling finished successfully.");
+        return output -> Bpmn2Marshaller.save(resource,
+                                              output);
+    }
+
     public JBPMBpmn2ResourceImpl marshallToBpmn2Resource(final Diagram<Graph, Metadata> diagram) throws IOException {
         final Bpmn2Marshaller marshaller = new Bpmn2Marshaller(definitionManager,
                                                                oryxManager);
@@ -140,12 +167,23 @@ public abstract class BaseDiagramMarshaller<D> implements DiagramMarshaller<Grap
                                                                getDiagramDefinitionClass());
 
         Graph result = null;
+        final ResourceSet resourceSet = RESOURCE_SETS.acquire();
         try {
             // Unmarshall the diagram definition
-            final Definitions definitions = parseDefinitions(inputStream);
-            parser.setProfile(new DefaultProfileImpl());
-            result = parser.unmarshall(definitions,
-                                       null);
+            final Definitions definitions = parseDefinitions(resourceSet,
+                                                             inputStream);
+            final Bpmn2EmfUnMarshaller directParser = directUnmarshalling ?
+                    new Bpmn2EmfUnMarshaller(factoryManager,
+                                             indexBuilder,
+                                             getDiagramDefinitionSetClass(),
+                                             getDiagramDefinitionClass()) : null;
+            if (null != directParser && directParser.accepts(definitions)) {
+                result = directParser.unmarshall(definitions);
+            } else {
+                parser.setProfile(new DefaultProfileImpl());
+                result = parser.unmarshall(definitions,
+                                           null);
+            }
 
             // Update diagram's settings.
             updateRootUUID(metadata,
@@ -153,12 +191,18 @@ public abstract class BaseDiagramMarshaller<D> implements DiagramMarshaller<Grap
         } catch (IOException e) {
             LOG.error("Error unmarshalling file.",
                       e);
+        } finally {
+            RESOURCE_SETS.release(resourceSet);
         }
 
         LOG.debug("Diagram unmarshalling finished successfully.");
         return result;
     }
 
+    public void setDirectUnmarshalling(final boolean directUnmarshalling) {
+        this.directUnmarshalling = directUnmarshalling;
+    }
+
     public abstract Class<?> getDiagramDefinitionSetClass();
 
     public abstract Class<? extends BPMNDiagram> getDiagramDefinitionClass();
@@ -199,19 +243,9 @@ public abstract class BaseDiagramMarshaller<D> implements DiagramMarshaller<Grap
         return null != diagramNode ? diagramNode.getUUID() : null;
     }
 
-    private Definitions parseDefinitions(final InputStream inputStream) throws IOException {
+    private Definitions parseDefinitions(final ResourceSet resourceSet,
+                                         final InputStream inputStream) throws IOException {
         try {
-            DroolsPackageImpl.init();
-            BpsimPackageImpl.init();
-
-            final ResourceSet resourceSet = new ResourceSetImpl();
-            resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put(Resource.Factory.Registry.DEFAULT_EXTENSION,
-                                                                                    new JBPMBpmn2ResourceFactoryImpl());
-            resourceSet.getPackageRegistry().put("http://www.omg.org/spec/BPMN/20100524/MODEL",
-                                                 Bpmn2Package.eINSTANCE);
-            resourceSet.getPackageRegistry().put("http://www.jboss.org/drools",
-                                                 DroolsPackage.eINSTANCE);
-
             final JBPMBpmn2ResourceImpl resource = (JBPMBpmn2ResourceImpl) resourceSet.createResource(URI.createURI("inputStream://dummyUriWithValidSuffix.xml"));
             resource.getDefaultLoadOptions().put(JBPMBpmn2ResourceImpl.OPTION_ENCODING,
                                                  "UTF-8");
@@ -15,6 +15,7 @@
  */
 package org.kie.workbench.common.stunner.bpmn.backend.indexing;
 
+import java.io.InputStream;
 import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -57,6 +58,12 @@ public class BpmnFileIndexer extends AbstractFileIndexer {
 
     private static final Logger logger = LoggerFactory.getLogger(BpmnFileIndexer.class);
 
+    /**
+     * When enabled, the processes are built and parsed by jBPM in order to collect the indexing information,
+     * instead of being read by the {@link BpmnProcessDataExtractor}.
+     */
+    public static final String BUILD_INDEXING_PROPERTY = "org.kie.stunner.bpmn.indexer.build";
+
     private static final SemanticModules modules = new SemanticModules();
 
     static {
@@ -71,6 +78,14 @@ public class BpmnFileIndexer extends AbstractFileIndexer {
     @Inject
     protected ProjectClassLoaderHelper classLoaderHelper;
 
+    private final BpmnProcessDataExtractor processDataExtractor = new BpmnProcessDataExtractor();
+
+    private boolean buildIndexing = Boolean.getBoolean(BUILD_INDEXING_PROPERTY);
+
+    public void setBuildIndexing(final boolean buildIndexing) {
+        this.buildIndexing = buildIndexing;
+    }
+
     @Override
     public boolean supportsPath(Path path) {
         return bpmnTypeDefinition.accept(Paths.convert(path));
@@ -90,6 +105,37 @@ public class BpmnFileIndexer extends AbstractFileIndexer {
         // responsible for basic index info: project name, branch, etc
         final DefaultIndexBuilder builder = getIndexBuilder(path,
                                                             project);
+        if (!buildIndexing) {
+            return fillIndexBuilderFromStream(builder,
+                                              path);
+        }
+        return fillIndexBuilderFromBuild(builder,
+                                         path,
+                                         project);
+    }
+
+    private DefaultIndexBuilder fillIndexBuilderFromStream(final DefaultIndexBuilder builder,
+                                                           final Path path) {
+        List<BpmnProcessDataExtractor.ProcessData> processDataList = Collections.emptyList();
+        try (final InputStream inputStream = ioService.newInputStream(path)) {
+            processDataList = processDataExtractor.extract(inputStream);
+        } catch (Exception e) {
+            logger.info("Unable to index because BPMN2 parsing failed [" + path.toString() + "]: " + e.getMessage());
+        }
+        if (processDataList.isEmpty()) {
+            logger.warn("No process was found in file: " + path.toUri());
+        }
+        for (BpmnProcessDataExtractor.ProcessData processData : processDataList) {
+            addReferencedResourcesToIndexBuilder(builder,
+                                                 processData);
+            builder.setPackageName(processData.getPackageName());
+        }
+        return builder;
+    }
+
+    private DefaultIndexBuilder fillIndexBuilderFromBuild(final DefaultIndexBuilder builder,
+                                                          final Path path,
+                                                          final KieProject project) {
         String bpmnStr = ioService.readAllString(path);
         ClassLoader projectClassLoader = getProjectClassLoader(project);
 
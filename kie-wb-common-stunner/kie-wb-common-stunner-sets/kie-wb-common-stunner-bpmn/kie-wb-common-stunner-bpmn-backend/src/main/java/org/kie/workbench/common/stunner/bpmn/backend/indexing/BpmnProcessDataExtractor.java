@@ -0,0 +1,359 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.bpmn.backend.indexing;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.apache.commons.lang3.StringUtils;
+import org.kie.workbench.common.services.refactoring.Resource;
+import org.kie.workbench.common.services.refactoring.backend.server.impact.ResourceReferenceCollector;
+import org.kie.workbench.common.services.refactoring.service.PartType;
+import org.kie.workbench.common.services.refactoring.service.ResourceType;
+
+/**
+ * Collects the indexing information for the processes in a BPMN2 file in a single streaming pass over the XML,
+ * so the process is neither built nor validated. It collects the same references as the
+ * {@link BpmnProcessDataEventListener} does during the build: the process id and name, the package, the variables,
+ * the globals, the rule flow groups, the task names, the called processes, the function imports, the signals
+ * and messages, and the data types.
+ * The types that are only referenced from the scripts are not collected, as that requires compiling them.
+ */
+public class BpmnProcessDataExtractor {
+
+    static final String BPMN2_NS = "http://www.omg.org/spec/BPMN/20100524/MODEL";
+    static final String DROOLS_NS = "http://www.jboss.org/drools";
+
+    // Same as the jBPM process handler does for processes without package.
+    static final String DEFAULT_PACKAGE_NAME = "org.drools.bpmn2";
+
+    // The work names jBPM gives to the tasks which are not work item tasks with custom name.
+    private static final Map<String, String> TASK_WORK_NAMES = new HashMap<String, String>() {{
+        put("userTask",
+            "Human Task");
+        put("serviceTask",
+            "Service Task");
+        put("sendTask",
+            "Send Task");
+        put("receiveTask",
+            "Receive Task");
+    }};
+
+    private static final Set<String> JAVA_LANG_TYPES = new HashSet<String>() {{
+        add("Object");
+        add("String");
+        add("Float");
+        add("Integer");
+        add("Boolean");
+    }};
+
+    // The StAX specification does not require the factories to be thread safe, and the extractor is shared by
+    // the indexing threads, so each thread uses its own factory.
+    private static final ThreadLocal<XMLInputFactory> INPUT_FACTORY = ThreadLocal.withInitial(BpmnProcessDataExtractor::newInputFactory);
+
+    /**
+     * Reads the given BPMN2 document and returns the collected data for each process in it.
+     * The stream is not closed.
+     */
+    public List<ProcessData> extract(final InputStream inputStream) throws XMLStreamException {
+        final XMLStreamReader reader = INPUT_FACTORY.get().createXMLStreamReader(inputStream);
+        try {
+            return extract(reader);
+        } finally {
+            reader.close();
+        }
+    }
+
+    private List<ProcessData> extract(final XMLStreamReader reader) throws XMLStreamException {
+        final List<ProcessData> processes = new ArrayList<>();
+        // The root elements can be declared after the processes, so they're resolved at the end.
+        final Map<String, String> itemDefinitions = new LinkedHashMap<>();
+        final Map<String, String> signals = new HashMap<>();
+        final Set<String> messages = new LinkedHashSet<>();
+        ProcessData process = null;
+        int depth = 0;
+        int processDepth = -1;
+        while (reader.hasNext()) {
+            final int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+                final String namespace = reader.getNamespaceURI();
+                final String name = reader.getLocalName();
+                if (BPMN2_NS.equals(namespace)) {
+                    switch (name) {
+                        case "process":
+                            process = new ProcessData(reader.getAttributeValue(null,
+                                                                               "id"),
+                                                      reader.getAttributeValue(null,
+                                                                               "name"),
+                                                      reader.getAttributeValue(DROOLS_NS,
+                                                                               "packageName"));
+                            processDepth = depth;
+                            processes.add(process);
+                            break;
+                        case "itemDefinition":
+                            putIfNotEmpty(itemDefinitions,
+                                          reader.getAttributeValue(null,
+                                                                   "id"),
+                                          reader.getAttributeValue(null,
+                                                                   "structureRef"));
+                            break;
+                        case "signal":
+                            putIfNotEmpty(signals,
+                                          reader.getAttributeValue(null,
+                                                                   "id"),
+                                          reader.getAttributeValue(null,
+                                                                   "name"));
+                            break;
+                        case "message":
+                            addIfNotEmpty(messages,
+                                          reader.getAttributeValue(null,
+                                                                   "id"));
+                            break;
+                        default:
+                            if (null != process) {
+                                process.onElement(name,
+                                                  reader,
+                                                  depth == processDepth + 1);
+                            }
+                    }
+                } else if (DROOLS_NS.equals(namespace) && null != process) {
+                    process.onExtensionElement(name,
+                                               reader);
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                if (depth == processDepth) {
+                    process = null;
+                    processDepth = -1;
+                }
+                depth--;
+            }
+        }
+        processes.forEach(data -> data.onComplete(itemDefinitions,
+                                                  signals,
+                                                  messages));
+        return processes;
+    }
+
+    private static XMLInputFactory newInputFactory() {
+        final XMLInputFactory inputFactory = XMLInputFactory.newInstance();
+        inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD,
+                                 false);
+        inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES,
+                                 false);
+        return inputFactory;
+    }
+
+    private static void putIfNotEmpty(final Map<String, String> map,
+                                      final String key,
+                                      final String value) {
+        if (!StringUtils.isEmpty(key) && !StringUtils.isEmpty(value)) {
+            map.put(key,
+                    value);
+        }
+    }
+
+    private static void addIfNotEmpty(final Collection<String> values,
+                                      final String value) {
+        if (!StringUtils.isEmpty(value)) {
+            values.add(value);
+        }
+    }
+
+    /**
+     * The indexing information for a single process.
+     */
+    public static class ProcessData extends ResourceReferenceCollector {
+
+        private final String id;
+        private final String name;
+        private final String packageName;
+        private final Resource resource;
+        // The variable names and their item definition references.
+        private final Map<String, String> variables = new LinkedHashMap<>();
+        private final Map<String, String> globals = new LinkedHashMap<>();
+        private final Set<String> imports = new LinkedHashSet<>();
+        private final Set<String> signalRefs = new LinkedHashSet<>();
+        private final Set<String> dataTypes = new LinkedHashSet<>();
+
+        private ProcessData(final String id,
+                            final String name,
+                            final String packageName) {
+            this.id = id;
+            this.name = name;
+            this.packageName = StringUtils.isEmpty(packageName) ? DEFAULT_PACKAGE_NAME : packageName;
+            this.resource = !StringUtils.isEmpty(id) ? addResource(id,
+                                                                   ResourceType.BPMN2) : null;
+            if (!StringUtils.isEmpty(name)) {
+                addResource(name,
+                            ResourceType.BPMN2_NAME);
+            }
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getPackageName() {
+            return packageName;
+        }
+
+        /**
+         * Returns the types for the item definitions, the variables, the globals and the imports.
+         */
+        public Set<String> getDataTypes() {
+            return Collections.unmodifiableSet(dataTypes);
+        }
+
+        private void onElement(final String element,
+                               final XMLStreamReader reader,
+                               final boolean processChild) {
+            switch (element) {
+                case "property":
+                    if (processChild) {
+                        final String variable = reader.getAttributeValue(null,
+                                                                         "id");
+                        if (!StringUtils.isEmpty(variable)) {
+                            variables.put(variable,
+                                          reader.getAttributeValue(null,
+                                                                   "itemSubjectRef"));
+                        }
+                    }
+                    break;
+                case "businessRuleTask":
+                    final String ruleFlowGroup = reader.getAttributeValue(DROOLS_NS,
+                                                                          "ruleFlowGroup");
+                    if (!StringUtils.isEmpty(ruleFlowGroup)) {
+                        addSharedReference(ruleFlowGroup,
+                                           PartType.RULEFLOW_GROUP);
+                    }
+                    break;
+                case "task":
+                    final String taskName = reader.getAttributeValue(DROOLS_NS,
+                                                                     "taskName");
+                    if (!StringUtils.isEmpty(taskName)) {
+                        addSharedReference(taskName,
+                                           PartType.TASK_NAME);
+                    }
+                    break;
+                case "callActivity":
+                    final String processName = reader.getAttributeValue(DROOLS_NS,
+                                                                        "calledElementByName");
+                    if (!StringUtils.isEmpty(processName)) {
+                        addResourceReference(processName,
+                                             ResourceType.BPMN2_NAME);
+                    }
+                    final String processId = reader.getAttributeValue(null,
+                                                                      "calledElement");
+                    if (!StringUtils.isEmpty(processId)) {
+                        addResourceReference(processId,
+                                             ResourceType.BPMN2);
+                    }
+                    break;
+                case "signalEventDefinition":
+                    addIfNotEmpty(signalRefs,
+                                  reader.getAttributeValue(null,
+                                                           "signalRef"));
+                    break;
+                default:
+                    final String workName = TASK_WORK_NAMES.get(element);
+                    if (null != workName) {
+                        addSharedReference(workName,
+                                           PartType.TASK_NAME);
+                    }
+            }
+        }
+
+        private void onExtensionElement(final String element,
+                                        final XMLStreamReader reader) {
+            if ("global".equals(element)) {
+                putIfNotEmpty(globals,
+                              reader.getAttributeValue(null,
+                                                       "identifier"),
+                              reader.getAttributeValue(null,
+                                                       "type"));
+            } else if ("import".equals(element)) {
+                addIfNotEmpty(imports,
+                              reader.getAttributeValue(null,
+                                                       "name"));
+            } else if ("functionImport".equals(element)) {
+                // Same as the build does, the wildcard function imports are not referenced.
+                final String functionImport = reader.getAttributeValue(null,
+                                                                       "name");
+                if (!StringUtils.isEmpty(functionImport) && !functionImport.endsWith("*")) {
+                    addResourceReference(functionImport,
+                                         ResourceType.FUNCTION);
+                }
+            }
+        }
+
+        private void onComplete(final Map<String, String> itemDefinitions,
+                                final Map<String, String> signals,
+                                final Set<String> messages) {
+            final Set<String> types = new LinkedHashSet<>(itemDefinitions.values());
+            types.addAll(globals.values());
+            types.addAll(imports);
+            variables.forEach((variable, itemSubjectRef) -> {
+                if (null != resource) {
+                    resource.addPart(variable,
+                                     PartType.VARIABLE);
+                }
+                final String type = null != itemSubjectRef ? itemDefinitions.get(itemSubjectRef) : null;
+                types.add(null != type ? type : "java.lang.Object");
+            });
+            resolveDataTypes(types);
+            globals.keySet().forEach(global -> addSharedReference(global,
+                                                                  PartType.GLOBAL));
+            signalRefs.forEach(signalRef -> addSharedReference(signals.getOrDefault(signalRef,
+                                                                                    signalRef),
+                                                               PartType.SIGNAL));
+            messages.forEach(message -> addSharedReference(message,
+                                                           PartType.SIGNAL));
+        }
+
+        // The unqualified types are dropped when there is a qualified one with the same simple name.
+        private void resolveDataTypes(final Set<String> types) {
+            final Set<String> simpleNames = new HashSet<>();
+            types.stream()
+                    .filter(type -> type.contains("."))
+                    .forEach(type -> {
+                        dataTypes.add(type);
+                        simpleNames.add(type.substring(type.lastIndexOf('.') + 1));
+                    });
+            types.stream()
+                    .filter(type -> !type.contains(".") && !simpleNames.contains(type))
+                    .forEach(type -> dataTypes.add(JAVA_LANG_TYPES.contains(type) ? "java.lang." + type : type));
+        }
+    }
+}
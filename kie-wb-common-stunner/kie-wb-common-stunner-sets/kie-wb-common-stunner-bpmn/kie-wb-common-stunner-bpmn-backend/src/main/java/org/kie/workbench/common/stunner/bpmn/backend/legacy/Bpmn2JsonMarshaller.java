@@ -3960,7 +3960,7 @@ public class Bpmn2JsonMarshaller {
         return false;
     }
 
-    private static String unescapeXML(String str) {
+    public static String unescapeXML(String str) {
         if (str == null || str.length() == 0) {
             return "";
         }
@@ -0,0 +1,685 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.bpmn.backend.marshall.emf;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import bpsim.BPSimDataType;
+import bpsim.BpsimPackage;
+import bpsim.ElementParameters;
+import bpsim.Scenario;
+import org.eclipse.bpmn2.BaseElement;
+import org.eclipse.bpmn2.Bpmn2Package;
+import org.eclipse.bpmn2.Definitions;
+import org.eclipse.bpmn2.EndEvent;
+import org.eclipse.bpmn2.ExclusiveGateway;
+import org.eclipse.bpmn2.ExtensionAttributeValue;
+import org.eclipse.bpmn2.FlowElement;
+import org.eclipse.bpmn2.FlowNode;
+import org.eclipse.bpmn2.FormalExpression;
+import org.eclipse.bpmn2.Gateway;
+import org.eclipse.bpmn2.LaneSet;
+import org.eclipse.bpmn2.ParallelGateway;
+import org.eclipse.bpmn2.Process;
+import org.eclipse.bpmn2.Relationship;
+import org.eclipse.bpmn2.RootElement;
+import org.eclipse.bpmn2.ScriptTask;
+import org.eclipse.bpmn2.SequenceFlow;
+import org.eclipse.bpmn2.StartEvent;
+import org.eclipse.bpmn2.Task;
+import org.eclipse.bpmn2.TerminateEventDefinition;
+import org.eclipse.bpmn2.di.BPMNEdge;
+import org.eclipse.bpmn2.di.BPMNPlane;
+import org.eclipse.bpmn2.di.BPMNShape;
+import org.eclipse.dd.dc.Bounds;
+import org.eclipse.dd.dc.Point;
+import org.eclipse.dd.di.DiagramElement;
+import org.eclipse.emf.ecore.EStructuralFeature;
+import org.jboss.drools.DroolsPackage;
+import org.jboss.drools.MetaDataType;
+import org.kie.workbench.common.stunner.bpmn.backend.legacy.Bpmn2JsonMarshaller;
+import org.kie.workbench.common.stunner.bpmn.backend.legacy.util.Utils;
+import org.kie.workbench.common.stunner.bpmn.backend.marshall.json.builder.BPMNGraphGenerator;
+import org.kie.workbench.common.stunner.bpmn.backend.marshall.json.oryx.Bpmn2OryxManager;
+import org.kie.workbench.common.stunner.bpmn.definition.BPMNDefinition;
+import org.kie.workbench.common.stunner.bpmn.definition.BPMNDiagram;
+import org.kie.workbench.common.stunner.bpmn.definition.BPMNDiagramImpl;
+import org.kie.workbench.common.stunner.bpmn.definition.BaseEndEvent;
+import org.kie.workbench.common.stunner.bpmn.definition.BaseGateway;
+import org.kie.workbench.common.stunner.bpmn.definition.BaseStartEvent;
+import org.kie.workbench.common.stunner.bpmn.definition.BaseTask;
+import org.kie.workbench.common.stunner.bpmn.definition.EndNoneEvent;
+import org.kie.workbench.common.stunner.bpmn.definition.EndTerminateEvent;
+import org.kie.workbench.common.stunner.bpmn.definition.ExclusiveDatabasedGateway;
+import org.kie.workbench.common.stunner.bpmn.definition.NoneTask;
+import org.kie.workbench.common.stunner.bpmn.definition.StartNoneEvent;
+import org.kie.workbench.common.stunner.bpmn.definition.property.connectors.SequenceFlowExecutionSet;
+import org.kie.workbench.common.stunner.bpmn.definition.property.diagram.DiagramSet;
+import org.kie.workbench.common.stunner.bpmn.definition.property.dimensions.CircleDimensionSet;
+import org.kie.workbench.common.stunner.bpmn.definition.property.general.Documentation;
+import org.kie.workbench.common.stunner.bpmn.definition.property.general.Name;
+import org.kie.workbench.common.stunner.bpmn.definition.property.simulation.CatchEventAttributes;
+import org.kie.workbench.common.stunner.bpmn.definition.property.simulation.SimulationSet;
+import org.kie.workbench.common.stunner.bpmn.definition.property.simulation.ThrowEventAttributes;
+import org.kie.workbench.common.stunner.bpmn.definition.property.task.ScriptTaskExecutionSet;
+import org.kie.workbench.common.stunner.bpmn.definition.property.task.TaskTypes;
+import org.kie.workbench.common.stunner.core.api.FactoryManager;
+import org.kie.workbench.common.stunner.core.definition.adapter.binding.BindableAdapterUtils;
+import org.kie.workbench.common.stunner.core.graph.Edge;
+import org.kie.workbench.common.stunner.core.graph.Graph;
+import org.kie.workbench.common.stunner.core.graph.Node;
+import org.kie.workbench.common.stunner.core.graph.content.definition.DefinitionSet;
+import org.kie.workbench.common.stunner.core.graph.content.view.BoundImpl;
+import org.kie.workbench.common.stunner.core.graph.content.view.BoundsImpl;
+import org.kie.workbench.common.stunner.core.graph.content.view.Connection;
+import org.kie.workbench.common.stunner.core.graph.content.view.MagnetConnection;
+import org.kie.workbench.common.stunner.core.graph.content.view.View;
+import org.kie.workbench.common.stunner.core.graph.content.view.ViewConnector;
+import org.kie.workbench.common.stunner.core.graph.processing.index.GraphIndexBuilder;
+import org.kie.workbench.common.stunner.core.graph.processing.index.MutableIndex;
+import org.kie.workbench.common.stunner.core.graph.util.BulkGraphBuilder;
+import org.kie.workbench.common.stunner.core.graph.util.GraphUtils;
+
+import static org.kie.workbench.common.stunner.bpmn.backend.marshall.emf.Bpmn2PropertyConverters.getAnyAttributeValue;
+import static org.kie.workbench.common.stunner.bpmn.backend.marshall.emf.Bpmn2PropertyConverters.getConditionExpressionLanguage;
+import static org.kie.workbench.common.stunner.bpmn.backend.marshall.emf.Bpmn2PropertyConverters.getDefaultRoute;
+import static org.kie.workbench.common.stunner.bpmn.backend.marshall.emf.Bpmn2PropertyConverters.getDocumentation;
+import static org.kie.workbench.common.stunner.bpmn.backend.marshall.emf.Bpmn2PropertyConverters.getName;
+import static org.kie.workbench.common.stunner.bpmn.backend.marshall.emf.Bpmn2PropertyConverters.getPriority;
+import static org.kie.workbench.common.stunner.bpmn.backend.marshall.emf.Bpmn2PropertyConverters.getProcessVariables;
+import static org.kie.workbench.common.stunner.bpmn.backend.marshall.emf.Bpmn2PropertyConverters.getScriptLanguage;
+import static org.kie.workbench.common.stunner.bpmn.backend.marshall.emf.Bpmn2PropertyConverters.setCostAndResources;
+import static org.kie.workbench.common.stunner.bpmn.backend.marshall.emf.Bpmn2PropertyConverters.setProcessingTime;
+import static org.kie.workbench.common.stunner.bpmn.backend.marshall.emf.Bpmn2PropertyConverters.toCoordinate;
+
+/**
+ * Unmarshalls the BPMN2 EMF model straight into the graph structure, so neither the Oryx JSON representation
+ * nor the graph object builders are used, see {@link org.kie.workbench.common.stunner.bpmn.backend.marshall.json.Bpmn2UnMarshaller}.
+ * The resulting graph is the same as the one the legacy path produces.
+ * It only supports a subset of the BPMN2 elements, so callers are expected to check if a given diagram can be
+ * unmarshalled by using {@link #accepts(Definitions)}, and to use the legacy path otherwise:
+ * <ul>
+ * <li>A single process, without lanes or artifacts, using the default diagram definition.</li>
+ * <li>None start events and none or terminate end events, without data inputs or outputs.</li>
+ * <li>Plain and script tasks, without data inputs or outputs, multiple instance or on entry/exit actions.</li>
+ * <li>Exclusive and parallel gateways.</li>
+ * <li>Sequence flows between the above nodes.</li>
+ * </ul>
+ */
+public class Bpmn2EmfUnMarshaller {
+
+    private static final float GATEWAY_SIZE = 40;
+
+    private final FactoryManager factoryManager;
+    private final GraphIndexBuilder<?> indexBuilder;
+    private final Class<?> diagramDefinitionSetClass;
+    private final Class<? extends BPMNDiagram> diagramDefinitionClass;
+
+    public Bpmn2EmfUnMarshaller(final FactoryManager factoryManager,
+                                final GraphIndexBuilder<?> indexBuilder,
+                                final Class<?> diagramDefinitionSetClass,
+                                final Class<? extends BPMNDiagram> diagramDefinitionClass) {
+        this.factoryManager = factoryManager;
+        this.indexBuilder = indexBuilder;
+        this.diagramDefinitionSetClass = diagramDefinitionSetClass;
+        this.diagramDefinitionClass = diagramDefinitionClass;
+    }
+
+    public boolean accepts(final Definitions definitions) {
+        if (null == definitions || !BPMNDiagramImpl.class.equals(diagramDefinitionClass)) {
+            return false;
+        }
+        final Process process = getProcess(definitions);
+        if (null == process || !process.getArtifacts().isEmpty() || hasLanes(process)) {
+            return false;
+        }
+        final BPMNPlane plane = getPlane(definitions,
+                                         process);
+        if (null == plane) {
+            return false;
+        }
+        final Map<String, DiagramElement> diagramElements = getDiagramElements(plane);
+        final Set<String> nodeIds = new HashSet<>();
+        for (final FlowElement element : process.getFlowElements()) {
+            if (element instanceof SequenceFlow) {
+                continue;
+            }
+            final DiagramElement shape = diagramElements.get(element.getId());
+            if (!isSupportedNode(element) || !(shape instanceof BPMNShape) || null == ((BPMNShape) shape).getBounds()) {
+                return false;
+            }
+            nodeIds.add(element.getId());
+        }
+        for (final FlowElement element : process.getFlowElements()) {
+            if (element instanceof SequenceFlow) {
+                final SequenceFlow sequenceFlow = (SequenceFlow) element;
+                final FlowNode source = sequenceFlow.getSourceRef();
+                final FlowNode target = sequenceFlow.getTargetRef();
+                // The legacy path connects the sequence flows through the outgoing references for the source nodes.
+                if (null == source || null == target || !nodeIds.contains(source.getId()) || !nodeIds.contains(target.getId())
+                        || !source.getOutgoing().contains(sequenceFlow)
+                        || !(diagramElements.get(sequenceFlow.getId()) instanceof BPMNEdge)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    public Graph<DefinitionSet, Node> unmarshall(final Definitions definitions) {
+        final Process process = getProcess(definitions);
+        final Map<String, DiagramElement> diagramElements = getDiagramElements(getPlane(definitions,
+                                                                                        process));
+        final Map<String, List<ElementParameters>> simulationParameters = getSimulationParameters(definitions);
+        final List<FlowElement> flowElements = process.getFlowElements();
+        final Graph<DefinitionSet, Node> graph = BPMNGraphGenerator.newGraph(factoryManager,
+                                                                             diagramDefinitionSetClass,
+                                                                             flowElements.size() + 1);
+        // Clears the nodes present, if any, on the recently new graph instance.
+        graph.clear();
+        final BulkGraphBuilder graphBuilder = new BulkGraphBuilder(graph,
+                                                                   (MutableIndex<Node, Edge>) indexBuilder.build(graph));
+        final Node<View<BPMNDefinition>, Edge> diagramNode = newNode(definitions.getId(),
+                                                                     diagramDefinitionClass);
+        convertDiagram(definitions,
+                       process,
+                       (BPMNDiagramImpl) diagramNode.getContent().getDefinition());
+        graphBuilder.addNode(diagramNode);
+        final Map<String, Node<View<BPMNDefinition>, Edge>> nodes = new HashMap<>();
+        // The legacy path resizes the gateways when converting them, and the sequence flows use the resulting bounds
+        // only if converted after the gateway, so the bounds are kept as the elements are converted.
+        final Map<String, ShapeBounds> nodeBounds = new HashMap<>();
+        final List<Connector> connectors = new ArrayList<>();
+        for (final FlowElement element : flowElements) {
+            if (element instanceof SequenceFlow) {
+                final SequenceFlow sequenceFlow = (SequenceFlow) element;
+                connectors.add(convertSequenceFlow(sequenceFlow,
+                                                   getBounds(sequenceFlow.getSourceRef(),
+                                                             nodeBounds,
+                                                             diagramElements),
+                                                   getBounds(sequenceFlow.getTargetRef(),
+                                                             nodeBounds,
+                                                             diagramElements),
+                                                   ((BPMNEdge) diagramElements.get(sequenceFlow.getId())).getWaypoint()));
+            } else {
+                ShapeBounds bounds = ShapeBounds.of(((BPMNShape) diagramElements.get(element.getId())).getBounds());
+                if (element instanceof Gateway) {
+                    bounds = bounds.resize(GATEWAY_SIZE,
+                                           GATEWAY_SIZE);
+                }
+                nodeBounds.put(element.getId(),
+                               bounds);
+                final Node<View<BPMNDefinition>, Edge> node = convertNode(element,
+                                                                          bounds,
+                                                                          simulationParameters.getOrDefault(element.getId(),
+                                                                                                            Collections.emptyList()));
+                graphBuilder.addChildNode(diagramNode,
+                                          node);
+                nodes.put(element.getId(),
+                          node);
+            }
+        }
+        for (final Connector connector : connectors) {
+            graphBuilder
+                    .addEdge(connector.edge)
+                    .setSourceNode(nodes.get(connector.sourceId),
+                                   connector.edge,
+                                   connector.sourceConnection)
+                    .setTargetNode(nodes.get(connector.targetId),
+                                   connector.edge,
+                                   connector.targetConnection);
+        }
+        return graph;
+    }
+
+    private void convertDiagram(final Definitions definitions,
+                                final Process process,
+                                final BPMNDiagramImpl diagram) {
+        final DiagramSet diagramSet = diagram.getDiagramSet();
+        String documentation = getDocumentation(definitions);
+        if (!process.getDocumentation().isEmpty() && null != process.getDocumentation().get(0).getText()) {
+            documentation = process.getDocumentation().get(0).getText();
+        }
+        if (null != documentation) {
+            diagramSet.getDocumentation().setValue(documentation);
+        }
+        diagramSet.getId().setValue(process.getId());
+        diagramSet.getExecutable().setValue(process.isIsExecutable());
+        if (null != process.getName() && process.getName().length() > 0) {
+            diagramSet.getName().setValue(Bpmn2JsonMarshaller.unescapeXML(process.getName()));
+        }
+        if (!process.getProperties().isEmpty()) {
+            diagram.getProcessData().getProcessVariables().setValue(getProcessVariables(process));
+        }
+        final String packageName = getAnyAttributeValue(process,
+                                                        "packageName");
+        if (null != packageName) {
+            diagramSet.getPackageProperty().setValue(packageName);
+        }
+        final String version = getAnyAttributeValue(process,
+                                                    "version");
+        if (null != version) {
+            diagramSet.getVersion().setValue(version);
+        }
+        final String adHoc = getAnyAttributeValue(process,
+                                                  "adHoc");
+        if (null != adHoc) {
+            diagramSet.getAdHoc().setValue(Boolean.parseBoolean(adHoc));
+        }
+        // The legacy path takes the value for the last metadata entry present, whatever its name.
+        for (final MetaDataType metaData : Bpmn2EmfUnMarshaller.<MetaDataType>getExtensionElements(process,
+                                                                                                   DroolsPackage.Literals.DOCUMENT_ROOT__META_DATA)) {
+            if (null != metaData.getMetaValue()) {
+                diagramSet.getProcessInstanceDescription().setValue(metaData.getMetaValue());
+            }
+        }
+    }
+
+    private Node<View<BPMNDefinition>, Edge> convertNode(final FlowElement element,
+                                                         final ShapeBounds bounds,
+                                                         final List<ElementParameters> simulation) {
+        final Node<View<BPMNDefinition>, Edge> node;
+        if (element instanceof StartEvent) {
+            node = newNode(element.getId(),
+                           StartNoneEvent.class);
+            final BaseStartEvent event = (BaseStartEvent) node.getContent().getDefinition();
+            setGeneral(element,
+                       event.getGeneral().getName(),
+                       event.getGeneral().getDocumentation());
+            final CatchEventAttributes attributes = event.getCatchEventAttributes();
+            simulation.forEach(parameters -> setProcessingTime(parameters,
+                                                               attributes.getMin(),
+                                                               attributes.getMax(),
+                                                               attributes.getMean(),
+                                                               attributes.getStandardDeviation(),
+                                                               attributes.getDistributionType()));
+            setRadius(node,
+                      bounds,
+                      event.getDimensionsSet());
+        } else if (element instanceof EndEvent) {
+            node = newNode(element.getId(),
+                           ((EndEvent) element).getEventDefinitions().isEmpty() ? EndNoneEvent.class : EndTerminateEvent.class);
+            final BaseEndEvent event = (BaseEndEvent) node.getContent().getDefinition();
+            setGeneral(element,
+                       event.getGeneral().getName(),
+                       event.getGeneral().getDocumentation());
+            final ThrowEventAttributes attributes = event.getThrowEventAttributes();
+            simulation.forEach(parameters -> setProcessingTime(parameters,
+                                                               attributes.getMin(),
+                                                               attributes.getMax(),
+                                                               attributes.getMean(),
+                                                               attributes.getStandardDeviation(),
+                                                               attributes.getDistributionType()));
+            setRadius(node,
+                      bounds,
+                      event.getDimensionsSet());
+        } else if (element instanceof Task) {
+            final boolean isScript = element instanceof ScriptTask;
+            node = newNode(element.getId(),
+                           isScript ? org.kie.workbench.common.stunner.bpmn.definition.ScriptTask.class : NoneTask.class);
+            final BaseTask task = (BaseTask) node.getContent().getDefinition();
+            setGeneral(element,
+                       task.getGeneral().getName(),
+                       task.getGeneral().getDocumentation());
+            task.getTaskType().setValue(isScript ? TaskTypes.SCRIPT : TaskTypes.NONE);
+            if (isScript) {
+                convertScript((ScriptTask) element,
+                              ((org.kie.workbench.common.stunner.bpmn.definition.ScriptTask) task).getExecutionSet());
+            }
+            final SimulationSet simulationSet = task.getSimulationSet();
+            simulation.forEach(parameters -> {
+                setProcessingTime(parameters,
+                                  simulationSet.getMin(),
+                                  simulationSet.getMax(),
+                                  simulationSet.getMean(),
+                                  simulationSet.getStandardDeviation(),
+                                  simulationSet.getDistributionType());
+                setCostAndResources(parameters,
+                                    simulationSet.getUnitCost(),
+                                    simulationSet.getQuantity(),
+                                    simulationSet.getWorkingHours());
+            });
+            setBounds(node,
+                      bounds);
+            final double[] size = GraphUtils.getNodeSize(node.getContent());
+            task.getDimensionsSet().getWidth().setValue(size[0]);
+            task.getDimensionsSet().getHeight().setValue(size[1]);
+        } else {
+            final boolean isExclusive = element instanceof ExclusiveGateway;
+            node = newNode(element.getId(),
+                           isExclusive ? ExclusiveDatabasedGateway.class : org.kie.workbench.common.stunner.bpmn.definition.ParallelGateway.class);
+            final BaseGateway gateway = (BaseGateway) node.getContent().getDefinition();
+            setGeneral(element,
+                       gateway.getGeneral().getName(),
+                       gateway.getGeneral().getDocumentation());
+            if (isExclusive) {
+                final String defaultRoute = getDefaultRoute((ExclusiveGateway) element);
+                if (null != defaultRoute) {
+                    ((ExclusiveDatabasedGateway) gateway).getExecutionSet().getDefaultRoute().setValue(defaultRoute);
+                }
+            }
+            setRadius(node,
+                      bounds,
+                      gateway.getDimensionsSet());
+        }
+        return node;
+    }
+
+    private static void convertScript(final ScriptTask scriptTask,
+                                      final ScriptTaskExecutionSet executionSet) {
+        executionSet.getScript().setValue(null != scriptTask.getScript() ? scriptTask.getScript() : "");
+        final String format = scriptTask.getScriptFormat();
+        if (null != format && format.length() > 0) {
+            executionSet.getScriptLanguage().setValue(getScriptLanguage(format));
+        }
+        final String customAsync = Utils.getMetaDataValue(scriptTask.getExtensionValues(),
+                                                          "customAsync");
+        executionSet.getIsAsync().setValue(Boolean.parseBoolean(customAsync));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Connector convertSequenceFlow(final SequenceFlow sequenceFlow,
+                                          final ShapeBounds sourceBounds,
+                                          final ShapeBounds targetBounds,
+                                          final List<Point> waypoints) {
+        final Edge<ViewConnector<BPMNDefinition>, Node> edge =
+                (Edge<ViewConnector<BPMNDefinition>, Node>) factoryManager.newElement(sequenceFlow.getId(),
+                                                                                      BindableAdapterUtils.getDefinitionId(org.kie.workbench.common.stunner.bpmn.definition.SequenceFlow.class));
+        final org.kie.workbench.common.stunner.bpmn.definition.SequenceFlow definition =
+                (org.kie.workbench.common.stunner.bpmn.definition.SequenceFlow) edge.getContent().getDefinition();
+        setGeneral(sequenceFlow,
+                   definition.getGeneral().getName(),
+                   definition.getGeneral().getDocumentation());
+        final SequenceFlowExecutionSet executionSet = definition.getExecutionSet();
+        final String priority = getPriority(sequenceFlow);
+        if (null != priority) {
+            executionSet.getPriority().setValue(priority);
+        }
+        if (sequenceFlow.getConditionExpression() instanceof FormalExpression) {
+            final FormalExpression expression = (FormalExpression) sequenceFlow.getConditionExpression();
+            if (null != expression.getBody()) {
+                executionSet.getConditionExpression().setValue(expression.getBody());
+            }
+            if (null != expression.getLanguage()) {
+                executionSet.getConditionExpressionLanguage().setValue(getConditionExpressionLanguage(expression.getLanguage()));
+            }
+        }
+        // Magnet locations are relative to the source and target bounds.
+        final MagnetConnection sourceConnection;
+        final MagnetConnection targetConnection;
+        if (waypoints.size() > 1) {
+            final Point first = waypoints.get(0);
+            final Point last = waypoints.get(waypoints.size() - 1);
+            sourceConnection = MagnetConnection.Builder.at(toCoordinate(first.getX() - sourceBounds.x),
+                                                           toCoordinate(first.getY() - sourceBounds.y));
+            targetConnection = MagnetConnection.Builder.at(toCoordinate(last.getX() - targetBounds.x),
+                                                           toCoordinate(last.getY() - targetBounds.y));
+        } else {
+            sourceConnection = MagnetConnection.Builder.at(toCoordinate(sourceBounds.width / 2),
+                                                           toCoordinate(sourceBounds.height / 2));
+            targetConnection = MagnetConnection.Builder.at(toCoordinate(targetBounds.width / 2),
+                                                           toCoordinate(targetBounds.height / 2));
+        }
+        sourceConnection.setAuto(isAutoConnection(sequenceFlow,
+                                                  Bpmn2OryxManager.SOURCE));
+        targetConnection.setAuto(isAutoConnection(sequenceFlow,
+                                                  Bpmn2OryxManager.TARGET));
+        return new Connector(edge,
+                             sequenceFlow.getSourceRef().getId(),
+                             sourceConnection,
+                             sequenceFlow.getTargetRef().getId(),
+                             targetConnection);
+    }
+
+    private static boolean isAutoConnection(final SequenceFlow sequenceFlow,
+                                            final String type) {
+        return Boolean.parseBoolean(Utils.getMetaDataValue(sequenceFlow.getExtensionValues(),
+                                                           Bpmn2OryxManager.MAGNET_AUTO_CONNECTION + type));
+    }
+
+    private static void setGeneral(final FlowElement element,
+                                   final Name name,
+                                   final Documentation documentation) {
+        name.setValue(getName(element));
+        final String value = getDocumentation(element);
+        if (null != value) {
+            documentation.setValue(value);
+        }
+    }
+
+    private static void setBounds(final Node<View<BPMNDefinition>, Edge> node,
+                                  final ShapeBounds bounds) {
+        node.getContent().setBounds(new BoundsImpl(new BoundImpl(toCoordinate(bounds.x),
+                                                                 toCoordinate(bounds.y)),
+                                                   new BoundImpl(toCoordinate(bounds.x + bounds.width),
+                                                                 toCoordinate(bounds.y + bounds.height))));
+    }
+
+    private static void setRadius(final Node<View<BPMNDefinition>, Edge> node,
+                                  final ShapeBounds bounds,
+                                  final CircleDimensionSet dimensionSet) {
+        setBounds(node,
+                  bounds);
+        dimensionSet.getRadius().setValue(GraphUtils.getNodeSize(node.getContent())[0] / 2);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Node<View<BPMNDefinition>, Edge> newNode(final String uuid,
+                                                     final Class<?> type) {
+        return (Node<View<BPMNDefinition>, Edge>) factoryManager.newElement(uuid,
+                                                                            BindableAdapterUtils.getDefinitionId(type));
+    }
+
+    private static ShapeBounds getBounds(final FlowNode node,
+                                         final Map<String, ShapeBounds> nodeBounds,
+                                         final Map<String, DiagramElement> diagramElements) {
+        final ShapeBounds bounds = nodeBounds.get(node.getId());
+        return null != bounds ? bounds : ShapeBounds.of(((BPMNShape) diagramElements.get(node.getId())).getBounds());
+    }
+
+    private static boolean isSupportedNode(final FlowElement element) {
+        if (element instanceof StartEvent) {
+            final StartEvent event = (StartEvent) element;
+            return event.getEventDefinitions().isEmpty() && null == event.getOutputSet() && event.getDataOutputAssociation().isEmpty();
+        }
+        if (element instanceof EndEvent) {
+            final EndEvent event = (EndEvent) element;
+            final boolean isNoneOrTerminate = event.getEventDefinitions().isEmpty() ||
+                    (event.getEventDefinitions().size() == 1 && event.getEventDefinitions().get(0) instanceof TerminateEventDefinition);
+            return isNoneOrTerminate && null == event.getInputSet() && event.getDataInputAssociation().isEmpty();
+        }
+        if (element instanceof Task) {
+            final Task task = (Task) element;
+            final boolean isPlainOrScript = Bpmn2Package.Literals.TASK.equals(task.eClass()) ||
+                    Bpmn2Package.Literals.SCRIPT_TASK.equals(task.eClass());
+            final String taskName = getAnyAttributeValue(task,
+                                                         "taskName");
+            return isPlainOrScript &&
+                    null == task.getLoopCharacteristics() &&
+                    null == task.getIoSpecification() &&
+                    task.getDataInputAssociations().isEmpty() &&
+                    task.getDataOutputAssociations().isEmpty() &&
+                    (null == taskName || taskName.isEmpty()) &&
+                    getExtensionElements(task,
+                                         DroolsPackage.Literals.DOCUMENT_ROOT__ON_ENTRY_SCRIPT).isEmpty() &&
+                    getExtensionElements(task,
+                                         DroolsPackage.Literals.DOCUMENT_ROOT__ON_EXIT_SCRIPT).isEmpty();
+        }
+        return element instanceof ExclusiveGateway || element instanceof ParallelGateway;
+    }
+
+    private static Process getProcess(final Definitions definitions) {
+        Process process = null;
+        for (final RootElement rootElement : definitions.getRootElements()) {
+            if (rootElement instanceof Process) {
+                if (null != process) {
+                    return null;
+                }
+                process = (Process) rootElement;
+            }
+        }
+        return process;
+    }
+
+    private static boolean hasLanes(final Process process) {
+        for (final LaneSet laneSet : process.getLaneSets()) {
+            if (!laneSet.getLanes().isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static BPMNPlane getPlane(final Definitions definitions,
+                                      final Process process) {
+        for (final org.eclipse.bpmn2.di.BPMNDiagram diagram : definitions.getDiagrams()) {
+            if (null != diagram && null != diagram.getPlane() && diagram.getPlane().getBpmnElement() == process) {
+                return diagram.getPlane();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The diagram elements by BPMN2 element identifier. As on the legacy path, the first one found is used.
+     */
+    private static Map<String, DiagramElement> getDiagramElements(final BPMNPlane plane) {
+        final Map<String, DiagramElement> elements = new HashMap<>();
+        for (final DiagramElement element : plane.getPlaneElement()) {
+            BaseElement bpmnElement = null;
+            if (element instanceof BPMNShape) {
+                bpmnElement = ((BPMNShape) element).getBpmnElement();
+            } else if (element instanceof BPMNEdge) {
+                bpmnElement = ((BPMNEdge) element).getBpmnElement();
+            }
+            if (null != bpmnElement && null != bpmnElement.getId()) {
+                elements.putIfAbsent(bpmnElement.getId(),
+                                     element);
+            }
+        }
+        return elements;
+    }
+
+    /**
+     * The simulation parameters by element identifier, for the first scenario present.
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<String, List<ElementParameters>> getSimulationParameters(final Definitions definitions) {
+        Scenario scenario = null;
+        if (!definitions.getRelationships().isEmpty()) {
+            final Relationship relationship = definitions.getRelationships().get(0);
+            for (final ExtensionAttributeValue extension : relationship.getExtensionValues()) {
+                final List<BPSimDataType> simulation = (List<BPSimDataType>) extension.getValue().get(BpsimPackage.Literals.DOCUMENT_ROOT__BP_SIM_DATA,
+                                                                                                       true);
+                if (null != simulation && !simulation.isEmpty() && !simulation.get(0).getScenario().isEmpty()) {
+                    scenario = simulation.get(0).getScenario().get(0);
+                }
+            }
+        }
+        final Map<String, List<ElementParameters>> parameters = new HashMap<>();
+        if (null != scenario && null != scenario.getElementParameters()) {
+            for (final ElementParameters elementParameters : scenario.getElementParameters()) {
+                if (null != elementParameters.getElementRef()) {
+                    parameters.computeIfAbsent(elementParameters.getElementRef(),
+                                               id -> new ArrayList<>()).add(elementParameters);
+                }
+            }
+        }
+        return parameters;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> getExtensionElements(final BaseElement element,
+                                                    final EStructuralFeature feature) {
+        final List<T> result = new ArrayList<>();
+        for (final ExtensionAttributeValue extension : element.getExtensionValues()) {
+            result.addAll((List<T>) extension.getValue().get(feature,
+                                                             true));
+        }
+        return result;
+    }
+
+    /**
+     * The bounds for a BPMN2 shape, in the model's float precision.
+     */
+    private static final class ShapeBounds {
+
+        private final float x;
+        private final float y;
+        private final float width;
+        private final float height;
+
+        private ShapeBounds(final float x,
+                            final float y,
+                            final float width,
+                            final float height) {
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+        }
+
+        private static ShapeBounds of(final Bounds bounds) {
+            return new ShapeBounds(bounds.getX(),
+                                   bounds.getY(),
+                                   bounds.getWidth(),
+                                   bounds.getHeight());
+        }
+
+        /**
+         * Resizes the bounds by keeping the same center.
+         */
+        private ShapeBounds resize(final float newWidth,
+                                   final float newHeight) {
+            if (width == newWidth && height == newHeight) {
+                return this;
+            }
+            return new ShapeBounds(x - ((newWidth - width) / 2),
+                                   y - ((newHeight - height) / 2),
+                                   newWidth,
+                                   newHeight);
+        }
+    }
+
+    private static final class Connector {
+
+        private final Edge<ViewConnector<BPMNDefinition>, Node> edge;
+        private final String sourceId;
+        private final Connection sourceConnection;
+        private final String targetId;
+        private final Connection targetConnection;
+
+        private Connector(final Edge<ViewConnector<BPMNDefinition>, Node> edge,
+                          final String sourceId,
+                          final Connection sourceConnection,
+                          final String targetId,
+                          final Connection targetConnection) {
+            this.edge = edge;
+            this.sourceId = sourceId;
+            this.sourceConnection = sourceConnection;
+            this.targetId = targetId;
+            this.targetConnection = targetConnection;
+        }
+    }
+}
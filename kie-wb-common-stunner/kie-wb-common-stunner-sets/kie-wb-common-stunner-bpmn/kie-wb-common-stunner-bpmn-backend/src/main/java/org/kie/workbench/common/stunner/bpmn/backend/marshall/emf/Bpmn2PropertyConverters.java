@@ -0,0 +1,232 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.kie.workbench.common.stunner.bpmn.backend.marshall.emf;
+
+import java.util.List;
+import java.util.Objects;
+
+import bpsim.CostParameters;
+import bpsim.ElementParameters;
+import bpsim.FloatingParameterType;
+import bpsim.NormalDistributionType;
+import bpsim.Parameter;
+import bpsim.ParameterValue;
+import bpsim.PoissonDistributionType;
+import bpsim.ResourceParameters;
+import bpsim.TimeParameters;
+import bpsim.UniformDistributionType;
+import org.eclipse.bpmn2.BaseElement;
+import org.eclipse.bpmn2.Documentation;
+import org.eclipse.bpmn2.ExclusiveGateway;
+import org.eclipse.bpmn2.FlowElement;
+import org.eclipse.bpmn2.Process;
+import org.eclipse.bpmn2.Property;
+import org.eclipse.bpmn2.SequenceFlow;
+import org.eclipse.emf.ecore.util.FeatureMap;
+import org.kie.workbench.common.stunner.bpmn.backend.legacy.Bpmn2JsonMarshaller;
+import org.kie.workbench.common.stunner.bpmn.backend.legacy.util.Utils;
+import org.kie.workbench.common.stunner.bpmn.definition.property.simulation.DistributionType;
+import org.kie.workbench.common.stunner.bpmn.definition.property.simulation.Max;
+import org.kie.workbench.common.stunner.bpmn.definition.property.simulation.Mean;
+import org.kie.workbench.common.stunner.bpmn.definition.property.simulation.Min;
+import org.kie.workbench.common.stunner.bpmn.definition.property.simulation.Quantity;
+import org.kie.workbench.common.stunner.bpmn.definition.property.simulation.StandardDeviation;
+import org.kie.workbench.common.stunner.bpmn.definition.property.simulation.UnitCost;
+import org.kie.workbench.common.stunner.bpmn.definition.property.simulation.WorkingHours;
+
+/**
+ * Typed conversions from the EMF BPMN2 model values into the values for the BPMN definitions properties.
+ * They produce the same values as the legacy Oryx JSON based unmarshalling, once the JSON values have been
+ * parsed by the Oryx property serializers.
+ */
+public final class Bpmn2PropertyConverters {
+
+    private static final String ELEMENT_NAME = "elementname";
+
+    private Bpmn2PropertyConverters() {
+    }
+
+    /**
+     * The coordinates are floats in the BPMN2 model and the legacy path parses them from their string
+     * representation, so the resulting doubles are the shortest decimal ones for the float values.
+     */
+    public static double toCoordinate(final float value) {
+        return Double.valueOf(Float.toString(value));
+    }
+
+    public static String getName(final FlowElement element) {
+        final String elementName = Utils.getMetaDataValue(element.getExtensionValues(),
+                                                          ELEMENT_NAME);
+        if (null != elementName) {
+            return elementName;
+        }
+        return Bpmn2JsonMarshaller.unescapeXML(element.getName());
+    }
+
+    /**
+     * Returns the text for the first documentation present, or <code>null</code> if there is none.
+     */
+    public static String getDocumentation(final BaseElement element) {
+        return element.getDocumentation().stream()
+                .filter(Objects::nonNull)
+                .map(Documentation::getText)
+                .filter(Objects::nonNull)
+                .findFirst()
+                .orElse(null);
+    }
+
+    public static String getAnyAttributeValue(final BaseElement element,
+                                              final String name) {
+        String value = null;
+        for (final FeatureMap.Entry entry : element.getAnyAttribute()) {
+            if (name.equals(entry.getEStructuralFeature().getName())) {
+                value = String.valueOf(entry.getValue());
+            }
+        }
+        return value;
+    }
+
+    public static String getProcessVariables(final Process process) {
+        final List<Property> properties = process.getProperties();
+        final StringBuilder variables = new StringBuilder();
+        for (final Property property : properties) {
+            if (variables.length() > 0) {
+                variables.append(",");
+            }
+            variables.append(property.getId());
+            if (null != property.getItemSubjectRef() && null != property.getItemSubjectRef().getStructureRef()) {
+                variables.append(":").append(property.getItemSubjectRef().getStructureRef());
+            }
+            final String kpi = Utils.getMetaDataValue(property.getExtensionValues(),
+                                                      "customKPI");
+            if (null != kpi) {
+                variables.append(":").append(kpi);
+            }
+        }
+        return variables.toString();
+    }
+
+    public static String getScriptLanguage(final String format) {
+        if ("http://www.mvel.org/2.0".equals(format)) {
+            return "mvel";
+        } else if ("http://www.javascript.com/javascript".equals(format)) {
+            return "javascript";
+        }
+        return "java";
+    }
+
+    public static String getConditionExpressionLanguage(final String language) {
+        if ("http://www.java.com/java".equalsIgnoreCase(language)) {
+            return "java";
+        } else if ("http://www.jboss.org/drools/rule".equalsIgnoreCase(language)) {
+            return "drools";
+        } else if ("http://www.javascript.com/javascript".equalsIgnoreCase(language)) {
+            return "javascript";
+        }
+        return "mvel";
+    }
+
+    /**
+     * Returns the priority for the sequence flow, or <code>null</code> if not present or not valid.
+     */
+    public static String getPriority(final SequenceFlow sequenceFlow) {
+        String priority = null;
+        for (final FeatureMap.Entry entry : sequenceFlow.getAnyAttribute()) {
+            if ("priority".equals(entry.getEStructuralFeature().getName())) {
+                final String value = String.valueOf(entry.getValue());
+                try {
+                    if (Integer.parseInt(value) >= 1) {
+                        priority = value;
+                    }
+                } catch (NumberFormatException e) {
+                    // Not a valid priority, as on the legacy path.
+                }
+            }
+        }
+        return priority;
+    }
+
+    public static String getDefaultRoute(final ExclusiveGateway gateway) {
+        final SequenceFlow defaultFlow = gateway.getDefault();
+        if (null == defaultFlow) {
+            return null;
+        }
+        final String name = defaultFlow.getName();
+        return null != name && name.length() > 0 ? name + " : " + defaultFlow.getId() : defaultFlow.getId();
+    }
+
+    public static void setProcessingTime(final ElementParameters parameters,
+                                         final Min min,
+                                         final Max max,
+                                         final Mean mean,
+                                         final StandardDeviation standardDeviation,
+                                         final DistributionType distributionType) {
+        final TimeParameters timeParameters = parameters.getTimeParameters();
+        final Parameter processingTime = null != timeParameters ? timeParameters.getProcessingTime() : null;
+        if (null == processingTime || null == processingTime.getParameterValue() || processingTime.getParameterValue().isEmpty()) {
+            return;
+        }
+        final ParameterValue value = processingTime.getParameterValue().get(0);
+        if (value instanceof NormalDistributionType) {
+            mean.setValue(((NormalDistributionType) value).getMean());
+            standardDeviation.setValue(((NormalDistributionType) value).getStandardDeviation());
+            distributionType.setValue("normal");
+        } else if (value instanceof UniformDistributionType) {
+            min.setValue(((UniformDistributionType) value).getMin());
+            max.setValue(((UniformDistributionType) value).getMax());
+            distributionType.setValue("uniform");
+        } else if (value instanceof PoissonDistributionType) {
+            mean.setValue(((PoissonDistributionType) value).getMean());
+            distributionType.setValue("poisson");
+        }
+    }
+
+    public static void setCostAndResources(final ElementParameters parameters,
+                                           final UnitCost unitCost,
+                                           final Quantity quantity,
+                                           final WorkingHours workingHours) {
+        final CostParameters costParameters = parameters.getCostParameters();
+        if (null != costParameters) {
+            final Double cost = getFloatingValue(costParameters.getUnitCost());
+            if (null != cost) {
+                unitCost.setValue(cost);
+            }
+        }
+        final ResourceParameters resourceParameters = parameters.getResourceParameters();
+        if (null != resourceParameters) {
+            final Double quantityValue = getFloatingValue(resourceParameters.getQuantity());
+            if (null != quantityValue) {
+                quantity.setValue(quantityValue);
+            }
+            final Double availability = getFloatingValue(resourceParameters.getAvailability());
+            if (null != availability) {
+                workingHours.setValue(availability);
+            }
+        }
+    }
+
+    private static Double getFloatingValue(final Parameter parameter) {
+        if (null != parameter && null != parameter.getParameterValue() && !parameter.getParameterValue().isEmpty()) {
+            final ParameterValue value = parameter.getParameterValue().get(0);
+            if (value instanceof FloatingParameterType) {
+                return ((FloatingParameterType) value).getValue();
+            }
+        }
+        return null;
+    }
+}
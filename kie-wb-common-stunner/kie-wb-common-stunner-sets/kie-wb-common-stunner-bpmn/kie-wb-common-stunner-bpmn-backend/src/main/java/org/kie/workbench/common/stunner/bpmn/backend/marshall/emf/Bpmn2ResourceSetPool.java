@@ -0,0 +1,108 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.kie.workbench.common.stunner.bpmn.backend.marshall.emf;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import bpsim.BpsimPackage;
+import bpsim.impl.BpsimPackageImpl;
+import org.eclipse.bpmn2.Bpmn2Package;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.jboss.drools.DroolsPackage;
+import org.jboss.drools.impl.DroolsPackageImpl;
+
+/**
+ * A pool of resource sets for loading BPMN2 resources, with the Drools, BPMN2 and BPSim packages already
+ * registered, so these can be used concurrently. Each loading checks out a resource set and gives it back
+ * once the loaded model is no longer used, see {@link #release(ResourceSet)}, which unloads and removes
+ * the resources it contains.
+ * Resource sets are created on demand, and up to a maximum number of them is kept idle for further use.
+ */
+public class Bpmn2ResourceSetPool {
+
+    public static final int DEFAULT_MAX_IDLE = Runtime.getRuntime().availableProcessors() * 2;
+
+    private final Supplier<Resource.Factory> resourceFactory;
+    private final int maxIdle;
+    private final Queue<ResourceSet> idle = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger idleCount = new AtomicInteger();
+
+    public Bpmn2ResourceSetPool(final Supplier<Resource.Factory> resourceFactory) {
+        this(resourceFactory,
+             DEFAULT_MAX_IDLE);
+    }
+
+    public Bpmn2ResourceSetPool(final Supplier<Resource.Factory> resourceFactory,
+                                final int maxIdle) {
+        this.resourceFactory = resourceFactory;
+        this.maxIdle = maxIdle;
+    }
+
+    public ResourceSet acquire() {
+        final ResourceSet resourceSet = idle.poll();
+        if (null != resourceSet) {
+            idleCount.decrementAndGet();
+            return resourceSet;
+        }
+        return newResourceSet();
+    }
+
+    /**
+     * Gives back a resource set obtained from this pool. The models loaded by using it cannot be used
+     * after releasing it.
+     */
+    public void release(final ResourceSet resourceSet) {
+        if (null == resourceSet) {
+            return;
+        }
+        final List<Resource> resources = new ArrayList<>(resourceSet.getResources());
+        resourceSet.getResources().clear();
+        resources.forEach(Resource::unload);
+        if (idleCount.incrementAndGet() <= maxIdle) {
+            idle.offer(resourceSet);
+        } else {
+            idleCount.decrementAndGet();
+        }
+    }
+
+    public int getIdleCount() {
+        return idleCount.get();
+    }
+
+    private ResourceSet newResourceSet() {
+        DroolsPackageImpl.init();
+        BpsimPackageImpl.init();
+        final ResourceSet resourceSet = new ResourceSetImpl();
+        resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put(Resource.Factory.Registry.DEFAULT_EXTENSION,
+                                                                                resourceFactory.get());
+        resourceSet.getPackageRegistry().put("http://www.omg.org/spec/BPMN/20100524/MODEL",
+                                             Bpmn2Package.eINSTANCE);
+        resourceSet.getPackageRegistry().put(DroolsPackage.eNS_URI,
+                                             DroolsPackage.eINSTANCE);
+        resourceSet.getPackageRegistry().put(BpsimPackage.eNS_URI,
+                                             BpsimPackage.eINSTANCE);
+        return resourceSet;
+    }
+}
@@ -18,10 +18,13 @@ package org.kie.workbench.common.stunner.bpmn.backend.marshall.json;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Map;
 
 import bpsim.impl.BpsimFactoryImpl;
-import org.apache.commons.lang3.StringEscapeUtils;
+import org.eclipse.emf.ecore.xmi.XMLResource;
 import org.jboss.drools.impl.DroolsFactoryImpl;
 import org.kie.workbench.common.stunner.bpmn.backend.legacy.Bpmn2JsonUnmarshaller;
 import org.kie.workbench.common.stunner.bpmn.backend.legacy.resource.JBPMBpmn2ResourceImpl;
@@ -35,6 +38,13 @@ import org.kie.workbench.common.stunner.core.graph.Graph;
 
 public class Bpmn2Marshaller extends Bpmn2JsonUnmarshaller {
 
+    /**
+     * The values in the model are already escaped when needed, as for the CDATA blocks, so the save process
+     * does not escape the attribute values and contents again.
+     */
+    private static final Map<String, Object> SAVE_OPTIONS = Collections.singletonMap(XMLResource.OPTION_SKIP_ESCAPE,
+                                                                                     Boolean.TRUE);
+
     private final DefinitionManager definitionManager;
     private final OryxManager oryxManager;
 
@@ -45,11 +55,29 @@ public class Bpmn2Marshaller extends Bpmn2JsonUnmarshaller {
     }
 
     public String marshall(final Diagram<Graph, Metadata> diagram) throws IOException {
-        JBPMBpmn2ResourceImpl res = marshallToBpmn2Resource(diagram);
         ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        res.save(outputStream,
-                 new HashMap<>());
-        return StringEscapeUtils.unescapeHtml4(outputStream.toString("UTF-8"));
+        marshall(diagram,
+                 outputStream);
+        return outputStream.toString("UTF-8");
+    }
+
+    /**
+     * Writes the BPMN2 xml for the diagram to the given stream, using UTF-8 encoding. The stream is not closed.
+     */
+    public void marshall(final Diagram<Graph, Metadata> diagram,
+                         final OutputStream outputStream) throws IOException {
+        save(marshallToBpmn2Resource(diagram),
+             outputStream);
+    }
+
+    /**
+     * Writes the BPMN2 xml for an already marshalled resource to the given stream, using UTF-8 encoding.
+     * The stream is not closed.
+     */
+    public static void save(final JBPMBpmn2ResourceImpl resource,
+                            final OutputStream outputStream) throws IOException {
+        resource.save(outputStream,
+                      new HashMap<>(SAVE_OPTIONS));
     }
 
     public JBPMBpmn2ResourceImpl marshallToBpmn2Resource(final Diagram<Graph, Metadata> diagram) throws IOException {
@@ -23,19 +23,15 @@ import java.util.HashMap;
 import java.util.Map;
 
 import bpsim.impl.BpsimPackageImpl;
-import org.eclipse.bpmn2.Bpmn2Package;
 import org.eclipse.bpmn2.Definitions;
 import org.eclipse.bpmn2.DocumentRoot;
 import org.eclipse.bpmn2.util.Bpmn2ResourceFactoryImpl;
 import org.eclipse.emf.common.util.URI;
-import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.ResourceSet;
-import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
 import org.eclipse.emf.ecore.xmi.XMLResource;
-import org.jboss.drools.DroolsPackage;
 import org.jboss.drools.impl.DroolsPackageImpl;
-import org.jboss.drools.util.DroolsResourceFactoryImpl;
 import org.kie.workbench.common.stunner.bpmn.backend.legacy.Bpmn2JsonMarshaller;
+import org.kie.workbench.common.stunner.bpmn.backend.marshall.emf.Bpmn2ResourceSetPool;
 import org.kie.workbench.common.stunner.bpmn.backend.marshall.json.builder.BPMNGraphGenerator;
 import org.kie.workbench.common.stunner.bpmn.backend.marshall.json.builder.GraphObjectBuilderFactory;
 import org.kie.workbench.common.stunner.bpmn.backend.marshall.json.oryx.OryxManager;
@@ -53,18 +49,7 @@ import org.kie.workbench.common.stunner.core.util.UUID;
 
 public class Bpmn2UnMarshaller extends Bpmn2JsonMarshaller {
 
-    final static ResourceSet resourceSet = new ResourceSetImpl();
-
-    static {
-        resourceSet.getPackageRegistry().put(DroolsPackage.eNS_URI,
-                                             DroolsPackage.eINSTANCE);
-        resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put(Resource.Factory.Registry.DEFAULT_EXTENSION,
-                                                                                new DroolsResourceFactoryImpl());
-        resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put(Resource.Factory.Registry.DEFAULT_EXTENSION,
-                                                                                new Bpmn2ResourceFactoryImpl());
-        resourceSet.getPackageRegistry().put("http://www.omg.org/spec/BPMN/20100524/MODEL",
-                                             Bpmn2Package.eINSTANCE);
-    }
+    final static Bpmn2ResourceSetPool resourceSets = new Bpmn2ResourceSetPool(Bpmn2ResourceFactoryImpl::new);
 
     BPMNGraphGenerator bpmnGraphGenerator;
 
@@ -91,22 +76,28 @@ public class Bpmn2UnMarshaller extends Bpmn2JsonMarshaller {
     }
 
     public Graph unmarshall(final String content) throws IOException {
-        final XMLResource outResource = (XMLResource) resourceSet.createResource(URI.createURI("inputStream://" + UUID.uuid() + ".xml"));
-        outResource.getDefaultLoadOptions().put(XMLResource.OPTION_ENCODING,
-                                                "UTF-8");
-        outResource.setEncoding("UTF-8");
+        final ResourceSet resourceSet = resourceSets.acquire();
+        try {
+            final XMLResource outResource = (XMLResource) resourceSet.createResource(URI.createURI("inputStream://" + UUID.uuid() + ".xml"));
+            outResource.getDefaultLoadOptions().put(XMLResource.OPTION_ENCODING,
+                                                    "UTF-8");
+            outResource.setEncoding("UTF-8");
 
-        final Map<String, Object> options = new HashMap<String, Object>();
-        options.put(XMLResource.OPTION_ENCODING,
-                    "UTF-8");
-        outResource.load(new BufferedInputStream(new ByteArrayInputStream(content.getBytes("UTF-8"))),
-                         options);
+            final Map<String, Object> options = new HashMap<String, Object>();
+            options.put(XMLResource.OPTION_ENCODING,
+                        "UTF-8");
+            outResource.load(new BufferedInputStream(new ByteArrayInputStream(content.getBytes("UTF-8"))),
+                             options);
 
-        final DocumentRoot root = (DocumentRoot) outResource.getContents().get(0);
-        final Definitions definitions = root.getDefinitions();
+            final DocumentRoot root = (DocumentRoot) outResource.getContents().get(0);
+            final Definitions definitions = root.getDefinitions();
 
-        return unmarshall(definitions,
-                          null);
+            return unmarshall(definitions,
+                              null);
+        } finally {
+            // The resource is unloaded, so it's not kept in memory once the graph is built.
+            resourceSets.release(resourceSet);
+        }
     }
 
     public Graph unmarshall(final Definitions def,
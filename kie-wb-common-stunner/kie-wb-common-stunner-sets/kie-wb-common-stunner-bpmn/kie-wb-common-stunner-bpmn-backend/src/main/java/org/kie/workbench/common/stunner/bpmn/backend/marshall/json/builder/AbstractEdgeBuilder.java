@@ -19,16 +19,11 @@ package org.kie.workbench.common.stunner.bpmn.backend.marshall.json.builder;
 import org.kie.workbench.common.stunner.bpmn.backend.marshall.json.oryx.Bpmn2OryxManager;
 import org.kie.workbench.common.stunner.bpmn.definition.BPMNDefinition;
 import org.kie.workbench.common.stunner.core.api.FactoryManager;
-import org.kie.workbench.common.stunner.core.command.CommandResult;
 import org.kie.workbench.common.stunner.core.graph.Edge;
 import org.kie.workbench.common.stunner.core.graph.Node;
-import org.kie.workbench.common.stunner.core.graph.command.impl.AddNodeCommand;
-import org.kie.workbench.common.stunner.core.graph.command.impl.SetConnectionTargetNodeCommand;
 import org.kie.workbench.common.stunner.core.graph.content.view.Connection;
 import org.kie.workbench.common.stunner.core.graph.content.view.MagnetConnection;
 import org.kie.workbench.common.stunner.core.graph.content.view.View;
-import org.kie.workbench.common.stunner.core.graph.processing.index.MutableIndex;
-import org.kie.workbench.common.stunner.core.rule.RuleViolation;
 
 // TODO: Improve error handling.
 public abstract class AbstractEdgeBuilder<W, T extends Edge<View<W>, Node>>
@@ -73,9 +68,9 @@ public abstract class AbstractEdgeBuilder<W, T extends Edge<View<W>, Node>>
                     throw new RuntimeException("No edge for " + outgoingNodeId);
                 }
                 Node node = (Node) outgoingNodeBuilder.build(context);
-                // Command - Add the node into the graph store.
-                AddNodeCommand addNodeCommand = context.getCommandFactory().addNode(node);
-                // Command - Set the edge connection's target node.
+                // Add the node into the graph store.
+                context.getGraphBuilder().addNode(node);
+                // Set the edge connection's target node.
                 Double targetDocker[] = null;
                 if (dockers != null && dockers.size() > 1) {
                     targetDocker = dockers.get(dockers.size() - 1);
@@ -89,17 +84,9 @@ public abstract class AbstractEdgeBuilder<W, T extends Edge<View<W>, Node>>
                             .setAuto(isTargetAutoConnection());
                 }
 
-                SetConnectionTargetNodeCommand setTargetNodeCommand = context.getCommandFactory().setTargetNode(node,
-                                                                                                                edge,
-                                                                                                                targetConnection);
-                CommandResult<RuleViolation> results1 = context.execute(addNodeCommand);
-                if (hasErrors(results1)) {
-                    throw new RuntimeException("Error building BPMN graph. Command 'addNodeCommand' execution failed.");
-                }
-                CommandResult<RuleViolation> results2 = context.execute(setTargetNodeCommand);
-                if (hasErrors(results2)) {
-                    throw new RuntimeException("Error building BPMN graph. Command 'SetConnectionTargetNodeCommand' execution failed.");
-                }
+                context.getGraphBuilder().setTargetNode(node,
+                                                        edge,
+                                                        targetConnection);
             }
         }
     }
@@ -120,8 +107,7 @@ public abstract class AbstractEdgeBuilder<W, T extends Edge<View<W>, Node>>
     @SuppressWarnings("unchecked")
     protected void addEdgeIntoIndex(final BuilderContext context,
                                     final T edge) {
-        MutableIndex<Node, Edge> index = (MutableIndex<Node, Edge>) context.getIndex();
-        index.addEdge(edge);
+        context.getGraphBuilder().addEdge(edge);
     }
 
     @Override
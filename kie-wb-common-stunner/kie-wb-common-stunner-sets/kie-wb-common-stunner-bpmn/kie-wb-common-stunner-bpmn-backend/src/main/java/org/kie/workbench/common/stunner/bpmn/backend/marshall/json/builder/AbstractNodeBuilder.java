@@ -17,7 +17,6 @@
 package org.kie.workbench.common.stunner.bpmn.backend.marshall.json.builder;
 
 import java.util.LinkedHashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
 
@@ -26,12 +25,8 @@ import org.kie.workbench.common.stunner.bpmn.definition.property.dimensions.Heig
 import org.kie.workbench.common.stunner.bpmn.definition.property.dimensions.Radius;
 import org.kie.workbench.common.stunner.bpmn.definition.property.dimensions.Width;
 import org.kie.workbench.common.stunner.core.api.FactoryManager;
-import org.kie.workbench.common.stunner.core.command.Command;
-import org.kie.workbench.common.stunner.core.command.CommandResult;
 import org.kie.workbench.common.stunner.core.graph.Edge;
 import org.kie.workbench.common.stunner.core.graph.Node;
-import org.kie.workbench.common.stunner.core.graph.command.GraphCommandExecutionContext;
-import org.kie.workbench.common.stunner.core.graph.command.impl.AddNodeCommand;
 import org.kie.workbench.common.stunner.core.graph.content.Bounds;
 import org.kie.workbench.common.stunner.core.graph.content.view.BoundImpl;
 import org.kie.workbench.common.stunner.core.graph.content.view.BoundsImpl;
@@ -39,7 +34,6 @@ import org.kie.workbench.common.stunner.core.graph.content.view.Connection;
 import org.kie.workbench.common.stunner.core.graph.content.view.MagnetConnection;
 import org.kie.workbench.common.stunner.core.graph.content.view.View;
 import org.kie.workbench.common.stunner.core.graph.util.GraphUtils;
-import org.kie.workbench.common.stunner.core.rule.RuleViolation;
 
 // TODO: Improve error handling.
 public abstract class AbstractNodeBuilder<W, T extends Node<View<W>, Edge>>
@@ -78,15 +72,10 @@ public abstract class AbstractNodeBuilder<W, T extends Node<View<W>, Edge>>
         // View Bounds.
         setBounds(context,
                   result);
-        AddNodeCommand addNodeCommand = context.getCommandFactory().addNode(result);
-        if (doExecuteCommand(context,
-                             addNodeCommand)) {
-            // Post processing.
-            afterNodeBuild(context,
-                           result);
-        } else {
-            // TODO: throw an exception and handle the error.
-        }
+        context.getGraphBuilder().addNode(result);
+        // Post processing.
+        afterNodeBuild(context,
+                       result);
         return result;
     }
 
@@ -169,13 +158,12 @@ public abstract class AbstractNodeBuilder<W, T extends Node<View<W>, Edge>>
                 if (outgoingBuilder == null) {
                     throw new RuntimeException("No outgoing edge builder for " + outgoingNodeId);
                 }
-                final List<Command<GraphCommandExecutionContext, RuleViolation>> commands = new LinkedList<>();
                 // If outgoing element it's a node means that it's docked.
                 if (outgoingBuilder instanceof AbstractNodeBuilder) {
-                    // Command - Create the docked node.
+                    // Create the docked node.
                     Node docked = (Node) outgoingBuilder.build(context);
-                    commands.add(context.getCommandFactory().addDockedNode(node,
-                                                                           docked));
+                    context.getGraphBuilder().addDockedNode(node,
+                                                            docked);
                     // Obtain docked position and use those for the docked node.
                     final List<Double[]> dockers = ((AbstractNodeBuilder) outgoingBuilder).dockers;
                     if (!dockers.isEmpty()) {
@@ -183,16 +171,16 @@ public abstract class AbstractNodeBuilder<W, T extends Node<View<W>, Edge>>
                         Double[] dCoords = dockers.get(0);
                         double x = dCoords[0];
                         double y = dCoords[1];
-                        commands.add(context.getCommandFactory().updatePosition(docked,
-                                                                                x,
-                                                                                y));
+                        context.getGraphBuilder().setPosition(docked,
+                                                              x,
+                                                              y);
                     }
                 } else {
                     // Create the outgoing edge.
 
                     AbstractEdgeBuilder edgeBuilder = (AbstractEdgeBuilder) outgoingBuilder;
                     Edge edge = (Edge) edgeBuilder.build(context);
-                    // Command - Execute the graph command to set the node as the edge connection's source..
+                    // Obtain the source connection, if any.
                     Double sourceDocker[] = null;
                     final List<Double[]> dockers = ((AbstractEdgeBuilder) outgoingBuilder).dockers;
                     if (dockers != null && dockers.size() > 1) {
@@ -207,16 +195,10 @@ public abstract class AbstractNodeBuilder<W, T extends Node<View<W>, Edge>>
                                 .setAuto(edgeBuilder.isSourceAutoConnection());
                     }
 
-                    commands.add(context.getCommandFactory().setSourceNode(node,
-                                                                           edge,
-                                                                           sourceConnection));
-                    ;
-                }
-                if (!commands.isEmpty()) {
-                    for (Command<GraphCommandExecutionContext, RuleViolation> command : commands) {
-                        doExecuteCommand(context,
-                                         command);
-                    }
+                    // Set the node as the edge connection's source.
+                    context.getGraphBuilder().setSourceNode(node,
+                                                            edge,
+                                                            sourceConnection);
                 }
             }
         }
@@ -228,32 +210,16 @@ public abstract class AbstractNodeBuilder<W, T extends Node<View<W>, Edge>>
                 if (childNodeBuilder == null) {
                     throw new RuntimeException("No child node builder for " + childNodeId);
                 }
-                Command<GraphCommandExecutionContext, RuleViolation> command = null;
                 if (childNodeBuilder instanceof NodeObjectBuilder) {
-                    // Command - Create the child node and the parent-child relationship.
+                    // Create the child node and the parent-child relationship.
                     Node childNode = (Node) childNodeBuilder.build(context);
-                    command = context.getCommandFactory().addChildNode(node,
-                                                                       childNode);
-                }
-                if (null != command) {
-                    doExecuteCommand(context,
-                                     command);
+                    context.getGraphBuilder().addChildNode(node,
+                                                           childNode);
                 }
             }
         }
     }
 
-    private boolean doExecuteCommand(final BuilderContext context,
-                                     final Command<GraphCommandExecutionContext, RuleViolation> command) {
-        CommandResult<RuleViolation> results = context.execute(command);
-        if (hasErrors(results)) {
-            throw new RuntimeException("Error building BPMN graph. " +
-                                               "Command = [" + command.toString() + "] " +
-                                               " Resutls = [" + results.toString() + "]");
-        }
-        return true;
-    }
-
     @Override
     public String toString() {
         return super.toString() + " [defClass=" + definitionClass.getName() + "] [childrenIds=" + childNodeIds + "] ";
@@ -50,8 +50,12 @@ import org.kie.workbench.common.stunner.core.graph.content.definition.Definition
 import org.kie.workbench.common.stunner.core.graph.content.view.BoundImpl;
 import org.kie.workbench.common.stunner.core.graph.content.view.BoundsImpl;
 import org.kie.workbench.common.stunner.core.graph.content.view.View;
+import org.kie.workbench.common.stunner.core.graph.impl.GraphImpl;
 import org.kie.workbench.common.stunner.core.graph.processing.index.GraphIndexBuilder;
 import org.kie.workbench.common.stunner.core.graph.processing.index.Index;
+import org.kie.workbench.common.stunner.core.graph.processing.index.MutableIndex;
+import org.kie.workbench.common.stunner.core.graph.store.CompactGraphNodeStore;
+import org.kie.workbench.common.stunner.core.graph.util.BulkGraphBuilder;
 import org.kie.workbench.common.stunner.core.rule.RuleManager;
 import org.kie.workbench.common.stunner.core.rule.RuleViolation;
 import org.kie.workbench.common.stunner.core.util.UUID;
@@ -61,6 +65,13 @@ import org.kie.workbench.common.stunner.core.util.UUID;
  */
 public class BPMNGraphGenerator extends JsonGenerator {
 
+    /**
+     * The number of elements in the diagram from which the resulting graph uses a
+     * {@link CompactGraphNodeStore}, instead of the default node store. A negative value disables it.
+     */
+    public static final String COMPACT_STORE_THRESHOLD_PROPERTY = "org.kie.stunner.bpmn.graph.compactStoreThreshold";
+    static final int DEFAULT_COMPACT_STORE_THRESHOLD = 1000;
+
     private final GraphObjectBuilderFactory bpmnGraphBuilderFactory;
     private final DefinitionManager definitionManager;
     private final FactoryManager factoryManager;
@@ -140,17 +151,9 @@ public class BPMNGraphGenerator extends JsonGenerator {
     @SuppressWarnings("unchecked")
     public void close() throws IOException {
         logBuilders();
-        this.graph = (Graph<DefinitionSet, Node>) factoryManager.newElement(UUID.uuid(),
-                                                                            diagramDefinitionSetClass);
-        // TODO: Where are the BPMN diagram bounds in the Oryx json structure? Exist?
-        if (null == graph.getContent().getBounds()) {
-            graph.getContent().setBounds(new BoundsImpl(
-                    new BoundImpl(0d,
-                                  0d),
-                    new BoundImpl(BPMNGraphFactory.GRAPH_DEFAULT_WIDTH,
-                                  BPMNGraphFactory.GRAPH_DEFAULT_HEIGHT)
-            ));
-        }
+        this.graph = newGraph(factoryManager,
+                              diagramDefinitionSetClass,
+                              builders.size());
         builderContext
                 // Initialize the builder context.
                 .init(graph)
@@ -166,6 +169,45 @@ public class BPMNGraphGenerator extends JsonGenerator {
         this.isClosed = true;
     }
 
+    /**
+     * Creates the graph instance for a diagram with the given number of elements. The resulting graph may
+     * contain some initial nodes, so callers have to clear it before adding the diagram's ones.
+     */
+    @SuppressWarnings("unchecked")
+    public static Graph<DefinitionSet, Node> newGraph(final FactoryManager factoryManager,
+                                                      final Class<?> diagramDefinitionSetClass,
+                                                      final int elementsCount) {
+        Graph<DefinitionSet, Node> graph = (Graph<DefinitionSet, Node>) factoryManager.newElement(UUID.uuid(),
+                                                                                                  diagramDefinitionSetClass);
+        if (useCompactStore(elementsCount)) {
+            graph = newCompactGraph(graph);
+        }
+        // TODO: Where are the BPMN diagram bounds in the Oryx json structure? Exist?
+        if (null == graph.getContent().getBounds()) {
+            graph.getContent().setBounds(new BoundsImpl(
+                    new BoundImpl(0d,
+                                  0d),
+                    new BoundImpl(BPMNGraphFactory.GRAPH_DEFAULT_WIDTH,
+                                  BPMNGraphFactory.GRAPH_DEFAULT_HEIGHT)
+            ));
+        }
+        return graph;
+    }
+
+    static boolean useCompactStore(final int elementsCount) {
+        final int threshold = Integer.getInteger(COMPACT_STORE_THRESHOLD_PROPERTY,
+                                                 DEFAULT_COMPACT_STORE_THRESHOLD);
+        return threshold >= 0 && elementsCount >= threshold;
+    }
+
+    private static Graph<DefinitionSet, Node> newCompactGraph(final Graph<DefinitionSet, Node> graph) {
+        final GraphImpl<DefinitionSet> compactGraph = new GraphImpl<>(graph.getUUID(),
+                                                                      new CompactGraphNodeStore());
+        compactGraph.setContent(graph.getContent());
+        compactGraph.getLabels().addAll(graph.getLabels());
+        return compactGraph;
+    }
+
     @SuppressWarnings("unchecked")
     protected NodeObjectBuilder getDiagramBuilder(final GraphObjectBuilder.BuilderContext context) {
         Collection<GraphObjectBuilder<?, ?>> builders = context.getBuilders();
@@ -193,11 +235,15 @@ public class BPMNGraphGenerator extends JsonGenerator {
 
         Graph<DefinitionSet, Node> graph;
         Index<?, ?> index;
+        BulkGraphBuilder graphBuilder;
 
         @Override
+        @SuppressWarnings("unchecked")
         public GraphObjectBuilder.BuilderContext init(final Graph<DefinitionSet, Node> graph) {
             this.graph = graph;
             this.index = indexBuilder.build(graph);
+            this.graphBuilder = new BulkGraphBuilder(graph,
+                                                     (MutableIndex<Node, Edge>) index);
             return this;
         }
 
@@ -240,6 +286,11 @@ public class BPMNGraphGenerator extends JsonGenerator {
         public GraphCommandFactory getCommandFactory() {
             return commandFactory;
         }
+
+        @Override
+        public BulkGraphBuilder getGraphBuilder() {
+            return graphBuilder;
+        }
     };
 
     // For local testing...
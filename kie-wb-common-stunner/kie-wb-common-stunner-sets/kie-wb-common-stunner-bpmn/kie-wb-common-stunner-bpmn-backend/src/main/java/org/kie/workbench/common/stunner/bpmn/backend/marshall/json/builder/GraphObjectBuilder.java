@@ -31,6 +31,7 @@ import org.kie.workbench.common.stunner.core.graph.command.impl.GraphCommandFact
 import org.kie.workbench.common.stunner.core.graph.content.definition.DefinitionSet;
 import org.kie.workbench.common.stunner.core.graph.content.view.View;
 import org.kie.workbench.common.stunner.core.graph.processing.index.Index;
+import org.kie.workbench.common.stunner.core.graph.util.BulkGraphBuilder;
 import org.kie.workbench.common.stunner.core.rule.RuleViolation;
 
 public interface GraphObjectBuilder<W, T extends Element<View<W>>> {
@@ -71,6 +72,11 @@ public interface GraphObjectBuilder<W, T extends Element<View<W>>> {
 
         GraphCommandFactory getCommandFactory();
 
+        /**
+         * The builder used to add the elements into the graph, once it's initialized.
+         */
+        BulkGraphBuilder getGraphBuilder();
+
         CommandResult<RuleViolation> execute(final Command<GraphCommandExecutionContext, RuleViolation> command);
     }
 }
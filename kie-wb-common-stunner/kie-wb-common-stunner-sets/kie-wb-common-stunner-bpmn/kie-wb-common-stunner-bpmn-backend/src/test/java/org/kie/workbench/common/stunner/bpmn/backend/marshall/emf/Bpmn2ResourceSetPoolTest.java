@@ -0,0 +1,147 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.kie.workbench.common.stunner.bpmn.backend.marshall.emf;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import bpsim.BpsimPackage;
+import org.eclipse.bpmn2.Bpmn2Factory;
+import org.eclipse.bpmn2.Bpmn2Package;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.jboss.drools.DroolsPackage;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.workbench.common.stunner.bpmn.backend.legacy.resource.JBPMBpmn2ResourceFactoryImpl;
+import org.kie.workbench.common.stunner.bpmn.backend.legacy.resource.JBPMBpmn2ResourceImpl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class Bpmn2ResourceSetPoolTest {
+
+    private static final int MAX_IDLE = 2;
+
+    private Bpmn2ResourceSetPool tested;
+
+    @Before
+    public void setup() {
+        this.tested = new Bpmn2ResourceSetPool(JBPMBpmn2ResourceFactoryImpl::new,
+                                               MAX_IDLE);
+    }
+
+    @Test
+    public void testPackagesRegistered() {
+        final ResourceSet resourceSet = tested.acquire();
+        assertSame(Bpmn2Package.eINSTANCE,
+                   resourceSet.getPackageRegistry().getEPackage("http://www.omg.org/spec/BPMN/20100524/MODEL"));
+        assertSame(DroolsPackage.eINSTANCE,
+                   resourceSet.getPackageRegistry().getEPackage(DroolsPackage.eNS_URI));
+        assertSame(BpsimPackage.eINSTANCE,
+                   resourceSet.getPackageRegistry().getEPackage(BpsimPackage.eNS_URI));
+        assertTrue(newResource(resourceSet) instanceof JBPMBpmn2ResourceImpl);
+    }
+
+    @Test
+    public void testReleaseUnloadsResources() {
+        final ResourceSet resourceSet = tested.acquire();
+        final Resource resource = newResource(resourceSet);
+        assertTrue(resource.isLoaded());
+        tested.release(resourceSet);
+        assertFalse(resource.isLoaded());
+        assertTrue(resourceSet.getResources().isEmpty());
+    }
+
+    @Test
+    public void testReuse() {
+        final ResourceSet resourceSet = tested.acquire();
+        tested.release(resourceSet);
+        assertEquals(1,
+                     tested.getIdleCount());
+        assertSame(resourceSet,
+                   tested.acquire());
+        assertEquals(0,
+                     tested.getIdleCount());
+        assertNotSame(resourceSet,
+                      tested.acquire());
+    }
+
+    @Test
+    public void testMaxIdle() {
+        final List<ResourceSet> resourceSets = new ArrayList<>();
+        for (int i = 0; i < MAX_IDLE + 2; i++) {
+            resourceSets.add(tested.acquire());
+        }
+        resourceSets.forEach(tested::release);
+        assertEquals(MAX_IDLE,
+                     tested.getIdleCount());
+    }
+
+    @Test
+    public void testConcurrentLoadsDoNotRetainResources() throws Exception {
+        final int threads = 4;
+        final int loads = 2500;
+        final AtomicInteger count = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < loads; i++) {
+                        final ResourceSet resourceSet = tested.acquire();
+                        try {
+                            newResource(resourceSet);
+                            assertEquals(1,
+                                         resourceSet.getResources().size());
+                            count.incrementAndGet();
+                        } finally {
+                            tested.release(resourceSet);
+                        }
+                    }
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(threads * loads,
+                     count.get());
+        assertTrue(tested.getIdleCount() <= MAX_IDLE);
+        final int idle = tested.getIdleCount();
+        for (int i = 0; i < idle; i++) {
+            assertTrue(tested.acquire().getResources().isEmpty());
+        }
+    }
+
+    private static Resource newResource(final ResourceSet resourceSet) {
+        final Resource resource = resourceSet.createResource(URI.createURI("inputStream://" + System.nanoTime() + ".xml"));
+        resource.getContents().add(Bpmn2Factory.eINSTANCE.createDocumentRoot());
+        return resource;
+    }
+}
@@ -17,22 +17,29 @@
 package org.kie.workbench.common.stunner.bpmn.backend.service.diagram;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 import javax.enterprise.inject.spi.BeanManager;
 
+import org.apache.commons.lang3.StringEscapeUtils;
 import org.eclipse.bpmn2.Activity;
 import org.eclipse.bpmn2.DataInput;
 import org.eclipse.bpmn2.DataInputAssociation;
 import org.eclipse.bpmn2.DataOutput;
 import org.eclipse.bpmn2.DataOutputAssociation;
 import org.eclipse.bpmn2.Definitions;
+import org.eclipse.bpmn2.DocumentRoot;
 import org.eclipse.bpmn2.ExtensionAttributeValue;
 import org.eclipse.bpmn2.FlowElement;
 import org.eclipse.bpmn2.InputOutputSpecification;
@@ -41,7 +48,10 @@ import org.eclipse.bpmn2.ItemDefinition;
 import org.eclipse.bpmn2.Process;
 import org.eclipse.bpmn2.Property;
 import org.eclipse.bpmn2.RootElement;
+import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.impl.EStructuralFeatureImpl;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.emf.ecore.util.FeatureMap;
 import org.jboss.drools.MetaDataType;
 import org.junit.Before;
@@ -52,7 +62,10 @@ import org.kie.workbench.common.stunner.backend.definition.factory.TestScopeMode
 import org.kie.workbench.common.stunner.backend.service.XMLEncoderDiagramMetadataMarshaller;
 import org.kie.workbench.common.stunner.bpmn.BPMNDefinitionSet;
 import org.kie.workbench.common.stunner.bpmn.backend.BPMNDiagramMarshaller;
+import org.kie.workbench.common.stunner.bpmn.backend.legacy.resource.JBPMBpmn2ResourceFactoryImpl;
 import org.kie.workbench.common.stunner.bpmn.backend.legacy.resource.JBPMBpmn2ResourceImpl;
+import org.kie.workbench.common.stunner.bpmn.backend.marshall.emf.Bpmn2EmfUnMarshaller;
+import org.kie.workbench.common.stunner.bpmn.backend.marshall.emf.Bpmn2ResourceSetPool;
 import org.kie.workbench.common.stunner.bpmn.backend.marshall.json.builder.BPMNGraphObjectBuilderFactory;
 import org.kie.workbench.common.stunner.bpmn.backend.marshall.json.oryx.Bpmn2OryxIdMappings;
 import org.kie.workbench.common.stunner.bpmn.backend.marshall.json.oryx.Bpmn2OryxManager;
@@ -123,9 +136,11 @@ import org.kie.workbench.common.stunner.core.graph.command.GraphCommandManagerIm
 import org.kie.workbench.common.stunner.core.graph.command.impl.GraphCommandFactory;
 import org.kie.workbench.common.stunner.core.graph.content.Bounds;
 import org.kie.workbench.common.stunner.core.graph.content.definition.Definition;
+import org.kie.workbench.common.stunner.core.graph.content.relationship.Child;
 import org.kie.workbench.common.stunner.core.graph.content.relationship.Dock;
 import org.kie.workbench.common.stunner.core.graph.content.view.Connection;
 import org.kie.workbench.common.stunner.core.graph.content.view.DiscreteConnection;
+import org.kie.workbench.common.stunner.core.graph.content.view.MagnetConnection;
 import org.kie.workbench.common.stunner.core.graph.content.view.View;
 import org.kie.workbench.common.stunner.core.graph.content.view.ViewConnector;
 import org.kie.workbench.common.stunner.core.graph.content.view.ViewConnectorImpl;
@@ -1403,6 +1418,18 @@ public class BPMNDiagramMarshallerTest {
                       2);
     }
 
+    @Test
+    public void testMarshallToOutputStream() throws Exception {
+        Diagram<Graph, Metadata> diagram = unmarshall(BPMN_SCRIPTTASK);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        tested.marshall(diagram,
+                        outputStream);
+        String result = outputStream.toString("UTF-8");
+        assertEquals(tested.marshall(diagram),
+                     result);
+        assertTrue(result.contains("<bpmn2:script><![CDATA[var str = FirstName + LastName;]]></bpmn2:script>"));
+    }
+
     @Test
     public void testMarshallEvaluation() throws Exception {
         Diagram<Graph, Metadata> diagram = unmarshall(BPMN_EVALUATION);
@@ -1821,6 +1848,58 @@ public class BPMNDiagramMarshallerTest {
                                            "10;]]></bpmn2:conditionExpression>"));
     }
 
+    @Test
+    public void testMarshallSpecialCharacters() throws Exception {
+        final String name = "a & b < c &amp; &eacute; \"d\"";
+        final String documentation = "x < y && z &gt; 0 &lt;b&gt;";
+        final String condition = "return a < b && c.equals(\"&amp;\");";
+        Diagram<Graph, Metadata> diagram = unmarshall(BPMN_SEQUENCEFLOW);
+        ScriptTask task = (ScriptTask) ((View) diagram.getGraph().getNode("_49174AAE-333F-414C-B7D2-276058A7B4B7").getContent()).getDefinition();
+        task.getGeneral().getName().setValue(name);
+        task.getGeneral().getDocumentation().setValue(documentation);
+        SequenceFlow flow = getSequenceFlow(diagram,
+                                            "route1");
+        flow.getGeneral().getName().setValue(name);
+        flow.getExecutionSet().getConditionExpression().setValue(condition);
+
+        String result = tested.marshall(diagram);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        tested.marshall(diagram,
+                        outputStream);
+        assertEquals(result,
+                     outputStream.toString("UTF-8"));
+        // Same document as escaping the values on save and unescaping the whole output.
+        ByteArrayOutputStream escapedStream = new ByteArrayOutputStream();
+        tested.marshallToBpmn2Resource(diagram).save(escapedStream,
+                                                     new HashMap<>());
+        assertEquals(StringEscapeUtils.unescapeHtml4(escapedStream.toString("UTF-8")),
+                     result);
+
+        Diagram<Graph, Metadata> result2 = unmarshall(new ByteArrayInputStream(result.getBytes("UTF-8")));
+        ScriptTask task2 = (ScriptTask) ((View) result2.getGraph().getNode("_49174AAE-333F-414C-B7D2-276058A7B4B7").getContent()).getDefinition();
+        assertEquals(name,
+                     task2.getGeneral().getName().getValue());
+        assertEquals(documentation,
+                     task2.getGeneral().getDocumentation().getValue());
+        SequenceFlow flow2 = getSequenceFlow(result2,
+                                             name);
+        assertNotNull(flow2);
+        assertEquals(condition,
+                     flow2.getExecutionSet().getConditionExpression().getValue());
+    }
+
+    private SequenceFlow getSequenceFlow(Diagram<Graph, Metadata> diagram,
+                                         String name) {
+        Node<?, Edge> gateway = diagram.getGraph().getNode("_2E678472-70B0-48E6-AE89-7A04A315C150");
+        for (Edge edge : gateway.getOutEdges()) {
+            SequenceFlow flow = (SequenceFlow) ((ViewConnector) edge.getContent()).getDefinition();
+            if (name.equals(flow.getGeneral().getName().getValue())) {
+                return flow;
+            }
+        }
+        return null;
+    }
+
     @Test
     @SuppressWarnings("unchecked")
     public void testMarshallBusinessRuleTask() throws Exception {
@@ -1965,6 +2044,173 @@ public class BPMNDiagramMarshallerTest {
         assertEquals(value, documentationValue);
     }
 
+    @Test
+    public void testDirectUnmarshallBasic() throws Exception {
+        assertTrue(acceptsDirectUnmarshalling(BPMN_BASIC));
+        assertSameGraph(BPMN_BASIC);
+    }
+
+    @Test
+    public void testDirectUnmarshallSequenceFlow() throws Exception {
+        assertTrue(acceptsDirectUnmarshalling(BPMN_SEQUENCEFLOW));
+        assertSameGraph(BPMN_SEQUENCEFLOW);
+    }
+
+    @Test
+    public void testDirectUnmarshallProcessProperties() throws Exception {
+        assertTrue(acceptsDirectUnmarshalling(BPMN_PROCESSPROPERTIES));
+        assertSameGraph(BPMN_PROCESSPROPERTIES);
+    }
+
+    @Test
+    public void testDirectUnmarshallScriptTask() throws Exception {
+        assertTrue(acceptsDirectUnmarshalling(BPMN_SCRIPTTASK));
+        assertSameGraph(BPMN_SCRIPTTASK);
+    }
+
+    @Test
+    public void testDirectUnmarshallFallbackToLegacy() throws Exception {
+        assertFalse(acceptsDirectUnmarshalling(BPMN_XORGATEWAY));
+        assertSameGraph(BPMN_XORGATEWAY);
+        assertFalse(acceptsDirectUnmarshalling(BPMN_LANES));
+        assertSameGraph(BPMN_LANES);
+    }
+
+    // Same check as the marshaller does for choosing between the direct and the legacy unmarshalling.
+    private boolean acceptsDirectUnmarshalling(final String fileName) throws Exception {
+        final Bpmn2ResourceSetPool resourceSets = new Bpmn2ResourceSetPool(JBPMBpmn2ResourceFactoryImpl::new);
+        final ResourceSet resourceSet = resourceSets.acquire();
+        try {
+            final Resource resource = resourceSet.createResource(URI.createURI("inputStream://dummyUriWithValidSuffix.xml"));
+            final Map<String, Object> options = new HashMap<>();
+            options.put(JBPMBpmn2ResourceImpl.OPTION_ENCODING,
+                        "UTF-8");
+            options.put(JBPMBpmn2ResourceImpl.OPTION_DEFER_IDREF_RESOLUTION,
+                        true);
+            resource.load(loadStream(fileName),
+                          options);
+            final Definitions definitions = ((DocumentRoot) resource.getContents().get(0)).getDefinitions();
+            return new Bpmn2EmfUnMarshaller(applicationFactoryManager,
+                                            new MapIndexBuilder(),
+                                            BPMNDefinitionSet.class,
+                                            BPMNDiagramImpl.class).accepts(definitions);
+        } finally {
+            resourceSets.release(resourceSet);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void assertSameGraph(final String fileName) throws Exception {
+        tested.setDirectUnmarshalling(false);
+        final Diagram<Graph, Metadata> expected = unmarshall(fileName);
+        tested.setDirectUnmarshalling(true);
+        final Diagram<Graph, Metadata> actual = unmarshall(fileName);
+        tested.setDirectUnmarshalling(false);
+        assertEquals(expected.getMetadata().getCanvasRootUUID(),
+                     actual.getMetadata().getCanvasRootUUID());
+        final Map<String, Node> expectedNodes = getNodes(expected);
+        final Map<String, Node> actualNodes = getNodes(actual);
+        assertEquals(expectedNodes.keySet(),
+                     actualNodes.keySet());
+        final Map<String, Edge> expectedEdges = new HashMap<>();
+        final Map<String, Edge> actualEdges = new HashMap<>();
+        for (final String uuid : expectedNodes.keySet()) {
+            final Node expectedNode = expectedNodes.get(uuid);
+            final Node actualNode = actualNodes.get(uuid);
+            final View expectedView = (View) expectedNode.getContent();
+            final View actualView = (View) actualNode.getContent();
+            assertEquals(expectedView.getDefinition(),
+                         actualView.getDefinition());
+            assertBounds(expectedView.getBounds(),
+                         actualView.getBounds());
+            expectedEdges.putAll(getOutEdges(expectedNode));
+            actualEdges.putAll(getOutEdges(actualNode));
+        }
+        // The parent-child relationships do not have fixed identifiers, so these are compared by the related nodes.
+        assertEquals(getChildRelationships(expectedEdges),
+                     getChildRelationships(actualEdges));
+        final Map<String, Edge> expectedConnectors = getConnectors(expectedEdges);
+        final Map<String, Edge> actualConnectors = getConnectors(actualEdges);
+        assertEquals(expectedConnectors.keySet(),
+                     actualConnectors.keySet());
+        for (final String uuid : expectedConnectors.keySet()) {
+            final Edge expectedEdge = expectedConnectors.get(uuid);
+            final Edge actualEdge = actualConnectors.get(uuid);
+            final ViewConnector expectedConnector = (ViewConnector) expectedEdge.getContent();
+            final ViewConnector actualConnector = (ViewConnector) actualEdge.getContent();
+            assertEquals(expectedConnector.getDefinition(),
+                         actualConnector.getDefinition());
+            assertEquals(expectedEdge.getSourceNode().getUUID(),
+                         actualEdge.getSourceNode().getUUID());
+            assertEquals(expectedEdge.getTargetNode().getUUID(),
+                         actualEdge.getTargetNode().getUUID());
+            assertConnection((Optional<Connection>) expectedConnector.getSourceConnection(),
+                             (Optional<Connection>) actualConnector.getSourceConnection());
+            assertConnection((Optional<Connection>) expectedConnector.getTargetConnection(),
+                             (Optional<Connection>) actualConnector.getTargetConnection());
+        }
+    }
+
+    private static void assertBounds(final Bounds expected,
+                                     final Bounds actual) {
+        assertEquals(expected.getUpperLeft().getX(),
+                     actual.getUpperLeft().getX());
+        assertEquals(expected.getUpperLeft().getY(),
+                     actual.getUpperLeft().getY());
+        assertEquals(expected.getLowerRight().getX(),
+                     actual.getLowerRight().getX());
+        assertEquals(expected.getLowerRight().getY(),
+                     actual.getLowerRight().getY());
+    }
+
+    private static void assertConnection(final Optional<Connection> expected,
+                                         final Optional<Connection> actual) {
+        assertEquals(expected.isPresent(),
+                     actual.isPresent());
+        if (expected.isPresent()) {
+            final MagnetConnection expectedConnection = (MagnetConnection) expected.get();
+            final MagnetConnection actualConnection = (MagnetConnection) actual.get();
+            assertEquals(expectedConnection.getLocation().getX(),
+                         actualConnection.getLocation().getX(),
+                         0d);
+            assertEquals(expectedConnection.getLocation().getY(),
+                         actualConnection.getLocation().getY(),
+                         0d);
+            assertEquals(expectedConnection.isAuto(),
+                         actualConnection.isAuto());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Node> getNodes(final Diagram<Graph, Metadata> diagram) {
+        final Map<String, Node> nodes = new HashMap<>();
+        diagram.getGraph().nodes().forEach(node -> nodes.put(((Node) node).getUUID(),
+                                                             (Node) node));
+        return nodes;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Edge> getOutEdges(final Node node) {
+        final Map<String, Edge> edges = new HashMap<>();
+        ((List<Edge>) node.getOutEdges()).forEach(edge -> edges.put(edge.getUUID(),
+                                                                     edge));
+        return edges;
+    }
+
+    private static Set<String> getChildRelationships(final Map<String, Edge> edges) {
+        return edges.values().stream()
+                .filter(edge -> edge.getContent() instanceof Child)
+                .map(edge -> edge.getSourceNode().getUUID() + "->" + edge.getTargetNode().getUUID())
+                .collect(Collectors.toSet());
+    }
+
+    private static Map<String, Edge> getConnectors(final Map<String, Edge> edges) {
+        return edges.values().stream()
+                .filter(edge -> edge.getContent() instanceof ViewConnector)
+                .collect(Collectors.toMap(Edge::getUUID,
+                                          edge -> edge));
+    }
+
     private Diagram<Graph, Metadata> unmarshall(String fileName) throws Exception {
         InputStream is = loadStream(fileName);
         return unmarshall(is);
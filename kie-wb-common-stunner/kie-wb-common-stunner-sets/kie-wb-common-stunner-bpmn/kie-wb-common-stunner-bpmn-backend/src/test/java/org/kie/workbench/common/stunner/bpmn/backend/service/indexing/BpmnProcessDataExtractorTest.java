@@ -0,0 +1,257 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.bpmn.backend.service.indexing;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.drools.core.xml.SemanticModules;
+import org.jbpm.bpmn2.xml.BPMNDISemanticModule;
+import org.jbpm.bpmn2.xml.BPMNExtensionsSemanticModule;
+import org.jbpm.bpmn2.xml.BPMNSemanticModule;
+import org.jbpm.compiler.xml.XmlProcessReader;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.api.definition.process.Process;
+import org.kie.workbench.common.services.refactoring.IndexElementsGenerator;
+import org.kie.workbench.common.services.refactoring.Resource;
+import org.kie.workbench.common.services.refactoring.ResourceReference;
+import org.kie.workbench.common.services.refactoring.SharedPart;
+import org.kie.workbench.common.services.refactoring.service.PartType;
+import org.kie.workbench.common.services.refactoring.service.ResourceType;
+import org.kie.workbench.common.stunner.bpmn.backend.indexing.BpmnProcessDataEventListener;
+import org.kie.workbench.common.stunner.bpmn.backend.indexing.BpmnProcessDataExtractor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BpmnProcessDataExtractorTest {
+
+    private static final List<String> BPMN_FILES = Arrays.asList("callActivity.bpmn",
+                                                                 "callActivityByName.bpmn",
+                                                                 "hiring.bpmn",
+                                                                 "multipleRuleTasksWithDataInput.bpmn",
+                                                                 "signal.bpmn");
+
+    private BpmnProcessDataExtractor tested;
+
+    @Before
+    public void setup() {
+        this.tested = new BpmnProcessDataExtractor();
+    }
+
+    @Test
+    public void testProcess() throws Exception {
+        final BpmnProcessDataExtractor.ProcessData processData = extractSingle("hiring.bpmn");
+        assertEquals("hiring",
+                     processData.getId());
+        assertEquals("Hiring a Developer",
+                     processData.getName());
+        assertEquals("HR.src.main.resources.kbase",
+                     processData.getPackageName());
+        final Set<String> resources = toStrings(processData.getResources());
+        assertEquals(2,
+                     resources.size());
+        assertTrue(resources.contains(new Resource("hiring",
+                                                   ResourceType.BPMN2).toString()));
+        assertTrue(resources.contains(new Resource("Hiring a Developer",
+                                                   ResourceType.BPMN2_NAME).toString()));
+        assertTrue(toStrings(processData.getSharedReferences()).contains(new SharedPart("Human Task",
+                                                                                        PartType.TASK_NAME).toString()));
+        assertTrue(processData.getDataTypes().contains("java.lang.Integer"));
+        assertTrue(processData.getDataTypes().contains("java.lang.Boolean"));
+    }
+
+    @Test
+    public void testDefaultPackageName() throws Exception {
+        assertEquals("org.drools.bpmn2",
+                     extractSingle("callActivity.bpmn").getPackageName());
+    }
+
+    @Test
+    public void testCalledElement() throws Exception {
+        final Set<String> references = toStrings(extractSingle("callActivity.bpmn").getResourceReferences());
+        assertEquals(1,
+                     references.size());
+        assertTrue(references.contains(new ResourceReference("SubProcess",
+                                                             ResourceType.BPMN2).toString()));
+    }
+
+    @Test
+    public void testCalledElementByName() throws Exception {
+        final Set<String> references = toStrings(extractSingle("callActivityByName.bpmn").getResourceReferences());
+        assertEquals(1,
+                     references.size());
+        assertTrue(references.contains(new ResourceReference("Sub Process",
+                                                             ResourceType.BPMN2_NAME).toString()));
+    }
+
+    @Test
+    public void testRuleFlowGroupsAndGlobals() throws Exception {
+        final BpmnProcessDataExtractor.ProcessData processData = extractSingle("multipleRuleTasksWithDataInput.bpmn");
+        final Set<String> sharedReferences = toStrings(processData.getSharedReferences());
+        assertTrue(sharedReferences.contains(new SharedPart("person-rules",
+                                                            PartType.RULEFLOW_GROUP).toString()));
+        assertTrue(sharedReferences.contains(new SharedPart("address-rules",
+                                                            PartType.RULEFLOW_GROUP).toString()));
+        assertTrue(sharedReferences.contains(new SharedPart("list",
+                                                            PartType.GLOBAL).toString()));
+        assertTrue(sharedReferences.contains(new SharedPart("TaskWithGlobalScripts",
+                                                            PartType.TASK_NAME).toString()));
+        assertTrue(processData.getDataTypes().contains("java.util.List"));
+    }
+
+    @Test
+    public void testSignalsAndGlobals() throws Exception {
+        final BpmnProcessDataExtractor.ProcessData processData = extractSingle("signal.bpmn");
+        final Set<String> sharedReferences = toStrings(processData.getSharedReferences());
+        assertTrue(sharedReferences.contains(new SharedPart("MySignal",
+                                                            PartType.SIGNAL).toString()));
+        assertTrue(sharedReferences.contains(new SharedPart("person",
+                                                            PartType.GLOBAL).toString()));
+        assertTrue(sharedReferences.contains(new SharedPart("name",
+                                                            PartType.GLOBAL).toString()));
+        assertTrue(sharedReferences.contains(new SharedPart("MyTask",
+                                                            PartType.TASK_NAME).toString()));
+        assertTrue(processData.getDataTypes().contains("org.kie.test.objects.Person"));
+        assertTrue(processData.getDataTypes().contains("java.lang.String"));
+    }
+
+    @Test
+    public void testSignalAndMessageNames() throws Exception {
+        final String bpmn = "<definitions xmlns=\"http://www.omg.org/spec/BPMN/20100524/MODEL\">" +
+                "<signal id=\"_signal1\" name=\"Signal One\"/>" +
+                "<message id=\"message1\"/>" +
+                "<process id=\"p1\">" +
+                "<intermediateCatchEvent id=\"_1\"><signalEventDefinition signalRef=\"_signal1\"/></intermediateCatchEvent>" +
+                "</process>" +
+                "</definitions>";
+        final Set<String> sharedReferences = toStrings(extractSingle(new ByteArrayInputStream(bpmn.getBytes("UTF-8")))
+                                                               .getSharedReferences());
+        assertEquals(2,
+                     sharedReferences.size());
+        assertTrue(sharedReferences.contains(new SharedPart("Signal One",
+                                                            PartType.SIGNAL).toString()));
+        assertTrue(sharedReferences.contains(new SharedPart("message1",
+                                                            PartType.SIGNAL).toString()));
+    }
+
+    @Test
+    public void testFunctionImports() throws Exception {
+        final String bpmn = "<definitions xmlns=\"http://www.omg.org/spec/BPMN/20100524/MODEL\" xmlns:drools=\"http://www.jboss.org/drools\">" +
+                "<process id=\"p1\">" +
+                "<extensionElements>" +
+                "<drools:functionImport name=\"org.kie.test.Functions.hello\"/>" +
+                "<drools:functionImport name=\"org.kie.test.Functions.*\"/>" +
+                "</extensionElements>" +
+                "</process>" +
+                "</definitions>";
+        final Set<String> references = toStrings(extractSingle(new ByteArrayInputStream(bpmn.getBytes("UTF-8")))
+                                                         .getResourceReferences());
+        assertEquals(1,
+                     references.size());
+        assertTrue(references.contains(new ResourceReference("org.kie.test.Functions.hello",
+                                                             ResourceType.FUNCTION).toString()));
+    }
+
+    @Test
+    public void testSameReferencesAsProcessDataEventListener() throws Exception {
+        for (final String file : BPMN_FILES) {
+            final BpmnProcessDataExtractor.ProcessData processData = extractSingle(file);
+            final BpmnProcessDataEventListener listener = readWithEventListener(file);
+            assertEquals(file,
+                         toIndexTerms(listener.getResources()),
+                         toIndexTerms(processData.getResources()));
+            assertEquals(file,
+                         toIndexTerms(listener.getResourceReferences()),
+                         toIndexTerms(processData.getResourceReferences()));
+            assertEquals(file,
+                         toIndexTerms(listener.getSharedReferences()),
+                         toIndexTerms(processData.getSharedReferences()));
+            assertEquals(file,
+                         listener.getProcess().getPackageName(),
+                         processData.getPackageName());
+        }
+    }
+
+    @Test
+    public void testNoProcess() throws Exception {
+        final String bpmn = "<definitions xmlns=\"http://www.omg.org/spec/BPMN/20100524/MODEL\"/>";
+        assertTrue(tested.extract(new ByteArrayInputStream(bpmn.getBytes("UTF-8"))).isEmpty());
+    }
+
+    @Test
+    public void testUnqualifiedTypesResolved() throws Exception {
+        final Set<String> dataTypes = extractSingle("callActivity.bpmn").getDataTypes();
+        assertTrue(dataTypes.contains("java.lang.String"));
+        assertFalse(dataTypes.contains("String"));
+    }
+
+    private BpmnProcessDataExtractor.ProcessData extractSingle(final String file) throws Exception {
+        try (final InputStream inputStream = getClass().getResourceAsStream(file)) {
+            return extractSingle(inputStream);
+        }
+    }
+
+    private BpmnProcessDataExtractor.ProcessData extractSingle(final InputStream inputStream) throws Exception {
+        final List<BpmnProcessDataExtractor.ProcessData> processes = tested.extract(inputStream);
+        assertEquals(1,
+                     processes.size());
+        return processes.get(0);
+    }
+
+    // Reads the process the same way the indexer does when it cannot be built, so the listener collects its data.
+    private BpmnProcessDataEventListener readWithEventListener(final String file) throws Exception {
+        final SemanticModules modules = new SemanticModules();
+        modules.addSemanticModule(new BPMNSemanticModule());
+        modules.addSemanticModule(new BPMNDISemanticModule());
+        modules.addSemanticModule(new BPMNExtensionsSemanticModule());
+        final XmlProcessReader processReader = new XmlProcessReader(modules,
+                                                                    getClass().getClassLoader());
+        final List<Process> processes;
+        try (final InputStream inputStream = getClass().getResourceAsStream(file)) {
+            processes = processReader.read(new InputStreamReader(inputStream,
+                                                                 StandardCharsets.UTF_8));
+        }
+        assertEquals(1,
+                     processes.size());
+        final Process process = processes.get(0);
+        processReader.getProcessBuildData().onBuildComplete(process);
+        return (BpmnProcessDataEventListener) process.getMetaData().get(BpmnProcessDataEventListener.NAME);
+    }
+
+    private static Set<String> toIndexTerms(final Collection<? extends IndexElementsGenerator> values) {
+        return values.stream()
+                .flatMap(value -> value.toIndexElements().stream())
+                .map(property -> property.getName() + " => " + property.getValue())
+                .collect(Collectors.toSet());
+    }
+
+    private static Set<String> toStrings(final Collection<?> values) {
+        return values.stream()
+                .map(Object::toString)
+                .collect(Collectors.toSet());
+    }
+}
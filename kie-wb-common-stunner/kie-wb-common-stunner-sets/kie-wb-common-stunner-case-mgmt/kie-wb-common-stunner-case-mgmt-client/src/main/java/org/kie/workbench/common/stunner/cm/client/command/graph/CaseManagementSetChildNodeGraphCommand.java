@@ -107,6 +107,8 @@ public class CaseManagementSetChildNodeGraphCommand extends AbstractGraphCommand
         parent.getOutEdges().remove(e);
         child.getInEdges().remove(e);
         getMutableIndex(context).removeEdge(e);
+        updateStructuralHash(context,
+                             e);
     }
 
     @SuppressWarnings("unchecked")
@@ -127,6 +129,8 @@ public class CaseManagementSetChildNodeGraphCommand extends AbstractGraphCommand
         }
         child.getInEdges().add(edge);
         getMutableIndex(context).addEdge(edge);
+        updateStructuralHash(context,
+                             edge);
     }
 
     @SuppressWarnings("unchecked")
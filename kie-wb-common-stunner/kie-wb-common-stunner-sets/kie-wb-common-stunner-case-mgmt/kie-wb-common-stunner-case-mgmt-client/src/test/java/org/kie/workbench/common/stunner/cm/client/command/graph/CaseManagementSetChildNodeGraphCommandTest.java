@@ -16,19 +16,36 @@
 
 package org.kie.workbench.common.stunner.cm.client.command.graph;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.kie.workbench.common.stunner.cm.client.command.CommandTestUtils;
+import org.kie.workbench.common.stunner.core.api.DefinitionManager;
 import org.kie.workbench.common.stunner.core.graph.Edge;
 import org.kie.workbench.common.stunner.core.graph.Node;
 import org.kie.workbench.common.stunner.core.graph.content.relationship.Child;
 import org.kie.workbench.common.stunner.core.graph.content.view.View;
+import org.kie.workbench.common.stunner.core.graph.impl.GraphImpl;
+import org.kie.workbench.common.stunner.core.graph.processing.traverse.tree.TreeWalkTraverseProcessorImpl;
+import org.kie.workbench.common.stunner.core.rule.RuleEvaluationContext;
+import org.kie.workbench.common.stunner.core.rule.RuleManager;
+import org.kie.workbench.common.stunner.core.rule.RuleSet;
+import org.kie.workbench.common.stunner.core.rule.RuleViolation;
+import org.kie.workbench.common.stunner.core.rule.context.NodeContainmentContext;
+import org.kie.workbench.common.stunner.core.rule.violations.DefaultRuleViolations;
+import org.kie.workbench.common.stunner.core.validation.impl.IncrementalGraphValidator;
 import org.mockito.runners.MockitoJUnitRunner;
 
 import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
 public class CaseManagementSetChildNodeGraphCommandTest extends AbstractGraphCommandTest {
@@ -179,4 +196,116 @@ public class CaseManagementSetChildNodeGraphCommandTest extends AbstractGraphCom
                      edge.getTargetNode());
         assertTrue(edge.getContent() instanceof Child);
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void checkStructuralHashIsUpdated() {
+        final GraphImpl graphImpl = (GraphImpl) graph;
+        final Node<View<?>, Edge> newParent = CommandTestUtils.makeNode("uuid3",
+                                                                        "existingParent",
+                                                                        10.0,
+                                                                        20.0,
+                                                                        50.0,
+                                                                        50.0);
+        graph.addNode(parent);
+        graph.addNode(newParent);
+        graph.addNode(candidate);
+        final int initialHash = graphImpl.getStructuralHash();
+
+        setChildNode(parent,
+                     candidate,
+                     index,
+                     originalParent,
+                     originalIndex);
+        final int childHash = graphImpl.getStructuralHash();
+        assertNotEquals(initialHash,
+                        childHash);
+        assertEquals(graphImpl.computeStructuralHash(),
+                     childHash);
+
+        final int revision = graphImpl.getRevision();
+        final Edge originalEdge = parent.getOutEdges().get(0);
+        final CaseManagementSetChildNodeGraphCommand command = setChildNode(newParent,
+                                                                            candidate,
+                                                                            index,
+                                                                            Optional.of(parent),
+                                                                            Optional.of(0));
+        assertEquals(graphImpl.computeStructuralHash(),
+                     graphImpl.getStructuralHash());
+        //Both the removed and the added relationship are reported as changed
+        final Edge newEdge = newParent.getOutEdges().get(0);
+        assertTrue(graphImpl.getChangedElements(revision).get().containsKey(originalEdge.getUUID()));
+        assertTrue(graphImpl.getChangedElements(revision).get().containsKey(newEdge.getUUID()));
+
+        command.undo(context);
+        assertEquals(graphImpl.computeStructuralHash(),
+                     graphImpl.getStructuralHash());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void checkIncrementalValidationAfterReparenting() {
+        final Node<View<?>, Edge> newParent = CommandTestUtils.makeNode("uuid3",
+                                                                        "existingParent",
+                                                                        10.0,
+                                                                        20.0,
+                                                                        50.0,
+                                                                        50.0);
+        graph.addNode(parent);
+        graph.addNode(newParent);
+        graph.addNode(candidate);
+
+        //The candidate can only be contained by the new parent
+        final RuleViolation violation = mock(RuleViolation.class);
+        final RuleManager ruleManager = mock(RuleManager.class);
+        when(ruleManager.evaluate(any(RuleSet.class),
+                                  any(RuleEvaluationContext.class))).thenAnswer(invocation -> {
+            final Object ruleContext = invocation.getArguments()[1];
+            final DefaultRuleViolations violations = new DefaultRuleViolations();
+            if (ruleContext instanceof NodeContainmentContext &&
+                    candidate.equals(((NodeContainmentContext) ruleContext).getCandidate()) &&
+                    parent.equals(((NodeContainmentContext) ruleContext).getParent())) {
+                violations.addViolation(violation);
+            }
+            return violations;
+        });
+        final IncrementalGraphValidator validator = new IncrementalGraphValidator(mock(DefinitionManager.class),
+                                                                                  ruleManager,
+                                                                                  new TreeWalkTraverseProcessorImpl());
+        final RuleSet ruleSet = mock(RuleSet.class);
+
+        setChildNode(parent,
+                     candidate,
+                     index,
+                     originalParent,
+                     originalIndex);
+        assertEquals(Collections.singletonList(violation),
+                     validate(validator,
+                              ruleSet));
+
+        //Only the changes since the last validation are evaluated again
+        final int revision = ((GraphImpl) graph).getRevision();
+        final CaseManagementSetChildNodeGraphCommand command = setChildNode(newParent,
+                                                                            candidate,
+                                                                            index,
+                                                                            Optional.of(parent),
+                                                                            Optional.of(0));
+        assertTrue(((GraphImpl) graph).getChangedElements(revision).isPresent());
+        assertTrue(validate(validator,
+                            ruleSet).isEmpty());
+
+        command.undo(context);
+        assertEquals(Collections.singletonList(violation),
+                     validate(validator,
+                              ruleSet));
+    }
+
+    private Collection<RuleViolation> validate(final IncrementalGraphValidator validator,
+                                               final RuleSet ruleSet) {
+        final List<RuleViolation> violations = new ArrayList<>();
+        validator.validate(graph,
+                           ruleSet,
+                           violations::addAll);
+        return violations;
+    }
 }